@@ -1,6 +1,20 @@
 package com.alienworkspace.cdr.demographic;
 
 import com.alienworkspace.cdr.demographic.config.AppConfig;
+import com.alienworkspace.cdr.demographic.config.AttributeLookupConfig;
+import com.alienworkspace.cdr.demographic.config.BulkImportConfig;
+import com.alienworkspace.cdr.demographic.config.ChangeFeedConfig;
+import com.alienworkspace.cdr.demographic.config.DeduplicationConfig;
+import com.alienworkspace.cdr.demographic.config.EnrichmentConfig;
+import com.alienworkspace.cdr.demographic.config.LocationCacheConfig;
+import com.alienworkspace.cdr.demographic.config.OutboxConfig;
+import com.alienworkspace.cdr.demographic.config.PaginationConfig;
+import com.alienworkspace.cdr.demographic.config.ResponseCacheConfig;
+import com.alienworkspace.cdr.demographic.config.SearchConfig;
+import com.alienworkspace.cdr.demographic.config.SecondLevelCacheConfig;
+import com.alienworkspace.cdr.demographic.config.SqlInstrumentationConfig;
+import com.alienworkspace.cdr.demographic.config.SummaryConfig;
+import com.alienworkspace.cdr.demographic.event.PersonAttributeTypesChangedEvent;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
@@ -9,6 +23,7 @@ import io.swagger.v3.oas.annotations.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
@@ -44,8 +59,12 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
                 url = "https://enumahin.com/cdr-page"
         )
 )
-@EnableConfigurationProperties(value = AppConfig.class)
+@EnableConfigurationProperties(value = {AppConfig.class, PaginationConfig.class, LocationCacheConfig.class,
+        EnrichmentConfig.class, BulkImportConfig.class, SecondLevelCacheConfig.class, ResponseCacheConfig.class,
+        SearchConfig.class, DeduplicationConfig.class, AttributeLookupConfig.class, OutboxConfig.class,
+        ChangeFeedConfig.class, SqlInstrumentationConfig.class, SummaryConfig.class})
 @EnableFeignClients
+@RemoteApplicationEventScan(basePackageClasses = PersonAttributeTypesChangedEvent.class)
 public class DemographicApplication {
 
     /**
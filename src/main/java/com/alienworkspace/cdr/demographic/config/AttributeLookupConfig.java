@@ -0,0 +1,31 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for looking people up by attribute value.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.attribute-lookup")
+public class AttributeLookupConfig {
+
+    /**
+     * Largest number of values resolved by one batch lookup.
+     */
+    private int maxBatchSize = 10000;
+
+    /**
+     * Number of values bound to one {@code IN} list when a batch is resolved.
+     */
+    private int queryChunkSize = 1000;
+
+    /**
+     * Number of attributes normalized per transaction when normalized values are filled in.
+     */
+    private int backfillChunkSize = 1000;
+}
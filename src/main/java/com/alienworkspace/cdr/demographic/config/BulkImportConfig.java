@@ -0,0 +1,32 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for bulk person registration and voiding.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.bulk")
+public class BulkImportConfig {
+
+    /**
+     * Number of people persisted and flushed per transaction. Keep it a multiple of
+     * {@code hibernate.jdbc.batch_size} so every JDBC batch is full.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Number of people voided per transaction by a bulk void, with their names, addresses and attributes.
+     */
+    private int voidChunkSize = 1000;
+
+    /**
+     * Maximum number of person IDs a bulk void accepts; larger sets are voided with a filter.
+     */
+    private int maxVoidIds = 100000;
+}
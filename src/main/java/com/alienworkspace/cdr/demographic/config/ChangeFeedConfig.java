@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the feed of changed people.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.change-feed")
+public class ChangeFeedConfig {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private int defaultPageSize = 1000;
+
+    /**
+     * Upper bound on the page size a client may ask for.
+     */
+    private int maxPageSize = 10000;
+
+    /**
+     * Changes younger than this are held back, so that a transaction stamped earlier but committed later is
+     * not skipped by a client that has already moved past its timestamp.
+     */
+    private Duration settleTime = Duration.ofSeconds(5);
+}
@@ -0,0 +1,137 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for duplicate person detection.
+ *
+ * <p>Pairs are scored with Fellegi-Sunter weights: a field that agrees adds {@code log2(m / u)} and a field that
+ * disagrees adds {@code log2((1 - m) / (1 - u))}, where {@code m} is the chance the field agrees on two records
+ * of the same person and {@code u} the chance it agrees on two records of different people. Missing values add
+ * nothing.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.deduplication")
+public class DeduplicationConfig {
+
+    /**
+     * What registering a person does when it matches someone already registered.
+     */
+    private PreInsertPolicy preInsertPolicy = PreInsertPolicy.WARN;
+
+    /**
+     * Score from which a pair is taken to be the same person.
+     */
+    private double matchThreshold = 12.0;
+
+    /**
+     * Score from which a pair is kept as a possible match for review.
+     */
+    private double reviewThreshold = 6.0;
+
+    /**
+     * Largest number of matches reported for a new person.
+     */
+    private int maxMatches = 10;
+
+    /**
+     * Largest block compared pair by pair. Larger blocks are sorted by name and each record is only compared
+     * with its {@link #windowSize} neighbours.
+     */
+    private int maxBlockSize = 1000;
+
+    /**
+     * Number of following records each record of an oversized block is compared with.
+     */
+    private int windowSize = 50;
+
+    /**
+     * Number of people loaded per query when the whole table is scanned.
+     */
+    private int scanChunkSize = 1000;
+
+    /**
+     * Number of candidate pairs written per transaction when the whole table is scanned.
+     */
+    private int writeChunkSize = 500;
+
+    /**
+     * Number of threads comparing blocks when the whole table is scanned, or 0 for one per processor.
+     */
+    private int parallelism = 0;
+
+    private Weights firstName = new Weights(0.90, 0.02);
+
+    private Weights lastName = new Weights(0.95, 0.01);
+
+    private Weights birthDate = new Weights(0.95, 0.005);
+
+    private Weights gender = new Weights(0.98, 0.5);
+
+    private Weights address = new Weights(0.80, 0.05);
+
+    private Weights attribute = new Weights(0.90, 0.001);
+
+    /**
+     * The agreement probabilities of one field.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Weights {
+
+        /**
+         * Chance the field agrees on two records of the same person.
+         */
+        private double m;
+
+        /**
+         * Chance the field agrees on two records of different people.
+         */
+        private double u;
+
+        /**
+         * Returns the weight added when the field agrees.
+         *
+         * @return {@code log2(m / u)}
+         */
+        public double agreement() {
+            return Math.log(m / u) / Math.log(2);
+        }
+
+        /**
+         * Returns the weight added when the field disagrees.
+         *
+         * @return {@code log2((1 - m) / (1 - u))}
+         */
+        public double disagreement() {
+            return Math.log((1 - m) / (1 - u)) / Math.log(2);
+        }
+    }
+
+    /**
+     * Policy applied when a person being registered matches a registered person.
+     */
+    public enum PreInsertPolicy {
+        /**
+         * Do not look for matches.
+         */
+        OFF,
+        /**
+         * Register the person and log the matches.
+         */
+        WARN,
+        /**
+         * Refuse the person unless the caller confirms it is not a duplicate.
+         */
+        REJECT
+    }
+}
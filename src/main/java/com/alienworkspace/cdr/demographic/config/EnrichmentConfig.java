@@ -0,0 +1,61 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for address enrichment against the metadata service.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.enrichment")
+public class EnrichmentConfig {
+
+    /**
+     * Whether the distinct locations of a request are looked up concurrently.
+     */
+    private boolean parallel = true;
+
+    /**
+     * Deadline for all the lookups of one request, measured from when the first lookup is submitted.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * What to do with lookups that fail or miss the deadline.
+     */
+    private PartialResultPolicy partialResultPolicy = PartialResultPolicy.PARTIAL;
+
+    /**
+     * Whether lookups run on virtual threads when the runtime supports them (Java 21+).
+     */
+    private boolean virtualThreads = true;
+
+    /**
+     * Number of platform threads used for lookups when virtual threads are not used.
+     */
+    private int poolSize = 16;
+
+    /**
+     * Number of lookups that may wait for a platform thread before further lookups are dropped.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Policy applied to location lookups that fail or do not finish before the deadline.
+     */
+    public enum PartialResultPolicy {
+        /**
+         * Return the address without location names and log the lookup that was dropped.
+         */
+        PARTIAL,
+        /**
+         * Fail the whole request.
+         */
+        FAIL
+    }
+}
@@ -0,0 +1,52 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import com.alienworkspace.cdr.demographic.helpers.VirtualThreads;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the executor that location lookups are fanned out on.
+ *
+ * <p>On Java 21 and later the executor starts one virtual thread per lookup, see {@link VirtualThreads}.
+ * Otherwise a bounded platform thread pool is used, and once its queue is full further lookups are rejected;
+ * {@link com.alienworkspace.cdr.demographic.service.impl.LocationServiceImpl} reports them as dropped lookups
+ * under the configured partial result policy.</p>
+ */
+@Configuration
+public class EnrichmentExecutorConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrichmentExecutorConfiguration.class);
+
+    /**
+     * Creates the executor used for concurrent location lookups.
+     *
+     * @param enrichmentConfig the enrichment configuration
+     * @return the executor service
+     */
+    @Bean(name = "locationEnrichmentExecutor", destroyMethod = "shutdown")
+    public ExecutorService locationEnrichmentExecutor(EnrichmentConfig enrichmentConfig) {
+        if (enrichmentConfig.isVirtualThreads() && VirtualThreads.isSupported()) {
+            try {
+                Optional<ExecutorService> executor = VirtualThreads.newPerTaskExecutor();
+                if (executor.isPresent()) {
+                    logger.info("Location enrichment runs on virtual threads");
+                    return executor.get();
+                }
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Virtual threads are not available, falling back to a platform thread pool", e);
+            }
+        }
+        return new ThreadPoolExecutor(enrichmentConfig.getPoolSize(), enrichmentConfig.getPoolSize(),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(enrichmentConfig.getQueueCapacity()),
+                new ThreadFactoryBuilder().setNameFormat("location-enrichment-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
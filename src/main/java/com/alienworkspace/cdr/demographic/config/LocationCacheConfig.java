@@ -0,0 +1,27 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-process cache of resolved person locations.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.location-cache")
+public class LocationCacheConfig {
+
+    /**
+     * Maximum number of location tuples kept in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a resolved location is kept after it was fetched.
+     */
+    private Duration timeToLive = Duration.ofHours(1);
+}
@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the person change event outbox and the relay publishing it to the broker.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.outbox")
+public class OutboxConfig {
+
+    /**
+     * Whether this instance drains the outbox. Events are still recorded when it is off.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Topic exchange the events are published to, with routing keys such as {@code person.person_created}.
+     */
+    private String exchange = "demographic.person.events";
+
+    /**
+     * Largest number of events read, published and confirmed together.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Time the relay waits after a partial batch before it polls the outbox again.
+     */
+    private Duration linger = Duration.ofMillis(500);
+
+    /**
+     * Time the relay waits for the broker to confirm a batch before it is retried.
+     */
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+}
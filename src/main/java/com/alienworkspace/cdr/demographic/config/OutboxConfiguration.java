@@ -0,0 +1,26 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Declares the exchange person change events are published to and schedules the outbox relay.
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfiguration {
+
+    /**
+     * Declares the durable topic exchange for person change events, so consumers can bind queues to the
+     * routing keys they need.
+     *
+     * @param outboxConfig the outbox configuration
+     * @return the exchange
+     */
+    @Bean
+    public TopicExchange personEventsExchange(OutboxConfig outboxConfig) {
+        return new TopicExchange(outboxConfig.getExchange(), true, false);
+    }
+}
@@ -0,0 +1,31 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for paginated and streamed person listings.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.pagination")
+public class PaginationConfig {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Upper bound on the page size a client may ask for.
+     */
+    private int maxPageSize = 500;
+
+    /**
+     * Number of people loaded per keyset query while streaming.
+     */
+    private int streamChunkSize = 500;
+}
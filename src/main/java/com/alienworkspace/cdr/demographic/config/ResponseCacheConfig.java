@@ -0,0 +1,28 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the cache of rendered person responses.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.response-cache")
+public class ResponseCacheConfig {
+
+    /**
+     * Maximum number of rendered people kept in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a rendered person is kept after it was rendered. Writes on this instance evict it at once;
+     * this bounds how long writes made on other instances can go unseen.
+     */
+    private Duration timeToLive = Duration.ofMinutes(1);
+}
@@ -0,0 +1,36 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-process person name search index.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.search")
+public class SearchConfig {
+
+    /**
+     * Number of results returned when the client does not ask for a limit.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Upper bound on the number of results a client may ask for.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Upper bound on the edit distance of a fuzzy match.
+     */
+    private int maxEdits = 2;
+
+    /**
+     * Number of people loaded per keyset query while the index is built at startup.
+     */
+    private int rebuildChunkSize = 500;
+}
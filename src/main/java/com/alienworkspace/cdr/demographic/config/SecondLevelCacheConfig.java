@@ -0,0 +1,84 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the Hibernate second-level cache of person aggregates.
+ *
+ * <p>Every region gets {@link #getMaximumSize()} and {@link #getTimeToLive()} unless it is listed under
+ * {@link #getRegions()}, where either value can be overridden per region name.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+@ConfigurationProperties(prefix = "demographic.second-level-cache")
+public class SecondLevelCacheConfig {
+
+    /**
+     * Whether entities and collections are cached between sessions. Off by default.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Default maximum number of entries per region.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Default time an entry is kept after it was written.
+     */
+    private Duration timeToLive = Duration.ofMinutes(30);
+
+    /**
+     * Per-region overrides, keyed by region name.
+     */
+    private Map<String, Region> regions = new HashMap<>();
+
+    /**
+     * Returns the maximum number of entries of the given region.
+     *
+     * @param regionName the region name
+     * @return the override of the region, or the default size
+     */
+    public long maximumSizeOf(String regionName) {
+        Region region = regions.get(regionName);
+        return region == null || region.getMaximumSize() == null ? maximumSize : region.getMaximumSize();
+    }
+
+    /**
+     * Returns the time to live of the given region.
+     *
+     * @param regionName the region name
+     * @return the override of the region, or the default time to live
+     */
+    public Duration timeToLiveOf(String regionName) {
+        Region region = regions.get(regionName);
+        return region == null || region.getTimeToLive() == null ? timeToLive : region.getTimeToLive();
+    }
+
+    /**
+     * Size and time to live overrides of one region.
+     */
+    @Getter
+    @Setter
+    public static class Region {
+
+        /**
+         * Maximum number of entries, or null for the default.
+         */
+        private Long maximumSize;
+
+        /**
+         * Time an entry is kept after it was written, or null for the default.
+         */
+        private Duration timeToLive;
+    }
+}
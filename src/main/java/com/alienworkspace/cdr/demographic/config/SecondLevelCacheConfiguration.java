@@ -0,0 +1,94 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import com.alienworkspace.cdr.demographic.model.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the Hibernate second-level cache to a local Caffeine JCache provider.
+ *
+ * <p>Every region in {@link CacheRegions} is created up front with its configured size and time to live,
+ * and Hibernate is told to fail on any other region name, so a typo in a {@code @Cache} mapping shows up
+ * at startup rather than as an unbounded cache. Region hits, misses, puts and evictions are published as
+ * {@code cache.*} meters tagged with the region name.</p>
+ *
+ * <p>When {@code demographic.second-level-cache.enabled} is false the cache is switched off explicitly,
+ * since Hibernate would otherwise pick up the JCache region factory from the classpath on its own.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * Creates the JCache manager holding the second-level cache regions.
+     *
+     * @param secondLevelCacheConfig the region sizes and times to live
+     * @return the cache manager
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "demographic.second-level-cache", name = "enabled", havingValue = "true")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheConfig secondLevelCacheConfig) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+        for (String region : CacheRegions.ALL) {
+            // The default manager is shared by every application context in the JVM, as in the test suite.
+            if (cacheManager.getCache(region) != null) {
+                continue;
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(secondLevelCacheConfig.maximumSizeOf(region)));
+            configuration.setExpireAfterWrite(
+                    OptionalLong.of(secondLevelCacheConfig.timeToLiveOf(region).toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Publishes the statistics of every second-level cache region to Micrometer.
+     *
+     * @param secondLevelCacheManager the cache manager holding the regions
+     * @return the meter binder
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "demographic.second-level-cache", name = "enabled", havingValue = "true")
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return meterRegistry -> CacheRegions.ALL.forEach(region ->
+                JCacheMetrics.monitor(meterRegistry, secondLevelCacheManager.getCache(region)));
+    }
+
+    /**
+     * Turns the second-level cache on or off in the Hibernate settings.
+     *
+     * @param secondLevelCacheConfig the second-level cache configuration
+     * @param secondLevelCacheManager the cache manager, available only when the cache is enabled
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(
+            SecondLevelCacheConfig secondLevelCacheConfig, ObjectProvider<CacheManager> secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, secondLevelCacheConfig.isEnabled());
+            if (secondLevelCacheConfig.isEnabled()) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager.getObject());
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+}
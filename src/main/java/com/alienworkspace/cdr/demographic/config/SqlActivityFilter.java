@@ -0,0 +1,50 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import com.alienworkspace.cdr.demographic.helpers.SqlActivity;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL work of each HTTP request and records it under the route the request was mapped to.
+ *
+ * <p>Only work done on the request thread is counted, so the body of a streamed response, written on another
+ * thread, is left out. Requests that were not mapped to a handler are not recorded.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class SqlActivityFilter extends OncePerRequestFilter {
+
+    private static final String CORRELATION_ID_HEADER = "X-cdr-correlation-id";
+
+    private final SqlActivityRecorder sqlActivityRecorder;
+
+    /**
+     * Creates the filter.
+     *
+     * @param sqlActivityRecorder the recorder the SQL work of each request is published to
+     */
+    public SqlActivityFilter(SqlActivityRecorder sqlActivityRecorder) {
+        this.sqlActivityRecorder = sqlActivityRecorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlActivity activity = SqlActivity.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlActivity.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                sqlActivityRecorder.recordRequest(request.getMethod() + " " + pattern,
+                        request.getHeader(CORRELATION_ID_HEADER), activity.usage());
+            }
+        }
+    }
+}
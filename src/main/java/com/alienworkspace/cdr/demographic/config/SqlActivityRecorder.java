@@ -0,0 +1,87 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import com.alienworkspace.cdr.demographic.helpers.SqlActivity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes the SQL work of HTTP requests and person service calls to Micrometer, and logs requests over the
+ * configured thresholds.
+ *
+ * <p>Requests are published as {@code demographic.sql.request.*} meters tagged with their {@code route}, and
+ * service calls as {@code demographic.sql.service.*} meters tagged with their {@code method}. Each family holds
+ * the {@code statements}, {@code rows} and {@code entities} distribution summaries and the {@code time} timer.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class SqlActivityRecorder {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final MeterRegistry meterRegistry;
+    private final SqlInstrumentationConfig sqlInstrumentationConfig;
+
+    /**
+     * Creates the recorder.
+     *
+     * @param meterRegistry the registry the meters are published to
+     * @param sqlInstrumentationConfig the logging thresholds
+     */
+    public SqlActivityRecorder(MeterRegistry meterRegistry, SqlInstrumentationConfig sqlInstrumentationConfig) {
+        this.meterRegistry = meterRegistry;
+        this.sqlInstrumentationConfig = sqlInstrumentationConfig;
+    }
+
+    /**
+     * Records the SQL work of an HTTP request, and logs it if it is over a threshold.
+     *
+     * @param route the HTTP method and path pattern of the request
+     * @param correlationId the correlation ID of the request, if any
+     * @param usage the SQL work of the request
+     */
+    public void recordRequest(String route, String correlationId, SqlActivity.Usage usage) {
+        record("demographic.sql.request", "route", route, usage);
+        if (usage.statements() >= sqlInstrumentationConfig.getStatementThreshold()
+                || usage.jdbcTime().compareTo(sqlInstrumentationConfig.getJdbcTimeThreshold()) >= 0) {
+            logger.warn("{} executed {} statements fetching {} rows and {} entities in {} ms of JDBC time,"
+                            + " correlation id {}", route, usage.statements(), usage.rows(), usage.entities(),
+                    usage.jdbcTime().toMillis(), correlationId);
+        }
+    }
+
+    /**
+     * Records the SQL work of a person service call.
+     *
+     * @param method the name of the service method
+     * @param usage the SQL work of the call
+     */
+    public void recordMethod(String method, SqlActivity.Usage usage) {
+        record("demographic.sql.service", "method", method, usage);
+    }
+
+    private void record(String prefix, String tag, String value, SqlActivity.Usage usage) {
+        DistributionSummary.builder(prefix + ".statements")
+                .description("SQL statements executed")
+                .tag(tag, value)
+                .register(meterRegistry)
+                .record(usage.statements());
+        DistributionSummary.builder(prefix + ".rows")
+                .description("Rows fetched from result sets")
+                .tag(tag, value)
+                .register(meterRegistry)
+                .record(usage.rows());
+        DistributionSummary.builder(prefix + ".entities")
+                .description("Entities hydrated by Hibernate")
+                .tag(tag, value)
+                .register(meterRegistry)
+                .record(usage.entities());
+        Timer.builder(prefix + ".time")
+                .description("Time spent in the JDBC driver")
+                .tag(tag, value)
+                .register(meterRegistry)
+                .record(usage.jdbcTime());
+    }
+}
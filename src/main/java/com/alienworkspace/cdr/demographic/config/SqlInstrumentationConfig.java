@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the SQL statements, rows, entities and JDBC time recorded per HTTP route and per
+ * person service method.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.sql-instrumentation")
+public class SqlInstrumentationConfig {
+
+    /**
+     * Whether SQL work is recorded. Takes effect at startup.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests executing at least this many statements are logged.
+     */
+    private int statementThreshold = 50;
+
+    /**
+     * Requests spending at least this long in the JDBC driver are logged.
+     */
+    private Duration jdbcTimeThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,149 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import com.alienworkspace.cdr.demographic.helpers.SqlActivity;
+import com.alienworkspace.cdr.demographic.helpers.SqlActivityDataSource;
+import com.alienworkspace.cdr.demographic.service.PersonService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import javax.sql.DataSource;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records the SQL statements, rows, entities and JDBC time of every HTTP request and {@link PersonService} call,
+ * so N+1 and Cartesian fetches show up in the metrics before they reach production.
+ *
+ * <p>The data source is wrapped in a {@link SqlActivityDataSource}, entities are counted by a Hibernate post-load
+ * listener, and {@link SqlActivityFilter} and an advisor on the person service publish the counts through
+ * {@link SqlActivityRecorder}.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "demographic.sql-instrumentation", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class SqlInstrumentationConfiguration {
+
+    /**
+     * Creates the recorder publishing SQL work to Micrometer.
+     *
+     * @param meterRegistry the registry the meters are published to
+     * @param sqlInstrumentationConfig the logging thresholds
+     * @return the recorder
+     */
+    @Bean
+    public SqlActivityRecorder sqlActivityRecorder(MeterRegistry meterRegistry,
+                                                   SqlInstrumentationConfig sqlInstrumentationConfig) {
+        return new SqlActivityRecorder(meterRegistry, sqlInstrumentationConfig);
+    }
+
+    /**
+     * Creates the filter recording the SQL work of each HTTP request.
+     *
+     * @param sqlActivityRecorder the recorder
+     * @return the filter
+     */
+    @Bean
+    public SqlActivityFilter sqlActivityFilter(SqlActivityRecorder sqlActivityRecorder) {
+        return new SqlActivityFilter(sqlActivityRecorder);
+    }
+
+    /**
+     * Wraps every data source so the statements and rows going through it are counted.
+     *
+     * @return the bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor sqlActivityDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlActivityDataSource)) {
+                    return new SqlActivityDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Advises the person service so the SQL work of each of its methods is recorded.
+     *
+     * @param sqlActivityRecorder the recorder, looked up on the first call
+     * @return the bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor personServiceSqlActivityPostProcessor(
+            ObjectProvider<SqlActivityRecorder> sqlActivityRecorder) {
+        return new PersonServiceSqlActivityPostProcessor(sqlActivityRecorder);
+    }
+
+    /**
+     * Counts the entities Hibernate hydrates, once the entity manager factory is built.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the initializer registering the post-load listener
+     */
+    @Bean
+    public SmartInitializingSingleton sqlActivityEntityListener(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> SqlActivity.entityLoaded());
+    }
+
+    /**
+     * Applies the SQL activity advice to the methods of {@link PersonService}, ahead of the transaction advice so
+     * the statements flushed on commit are counted too.
+     */
+    static class PersonServiceSqlActivityPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+        PersonServiceSqlActivityPostProcessor(ObjectProvider<SqlActivityRecorder> sqlActivityRecorder) {
+            StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return ClassUtils.hasMethod(PersonService.class, method);
+                }
+            };
+            pointcut.setClassFilter(new RootClassFilter(PersonService.class));
+            this.advisor = new DefaultPointcutAdvisor(pointcut,
+                    (MethodInterceptor) invocation -> record(invocation, sqlActivityRecorder.getObject()));
+            setBeforeExistingAdvisors(true);
+        }
+
+        private static Object record(MethodInvocation invocation, SqlActivityRecorder sqlActivityRecorder)
+                throws Throwable {
+            SqlActivity activity = SqlActivity.current();
+            boolean started = activity == null;
+            if (started) {
+                activity = SqlActivity.start();
+            }
+            SqlActivity.Usage before = activity.usage();
+            try {
+                return invocation.proceed();
+            } finally {
+                SqlActivity.Usage usage = activity.usage().minus(before);
+                if (started) {
+                    SqlActivity.stop();
+                }
+                sqlActivityRecorder.recordMethod(PersonService.class.getSimpleName() + "."
+                        + invocation.getMethod().getName(), usage);
+            }
+        }
+    }
+}
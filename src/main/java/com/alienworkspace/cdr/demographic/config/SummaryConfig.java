@@ -0,0 +1,32 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the denormalized {@code person_summary} table.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "demographic.summary")
+public class SummaryConfig {
+
+    /**
+     * Number of people whose summary rows a rebuild replaces per transaction.
+     */
+    private int rebuildChunkSize = 1000;
+
+    /**
+     * Number of chunks a rebuild writes at the same time, or 0 for one per processor.
+     */
+    private int parallelism = 0;
+
+    /**
+     * Cron expression of the scheduled rebuild, which also moves people into their current age bucket, or
+     * {@code -} to disable it.
+     */
+    private String rebuildCron = "0 30 2 * * *";
+}
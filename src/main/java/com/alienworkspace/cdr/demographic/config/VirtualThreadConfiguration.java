@@ -0,0 +1,56 @@
+package com.alienworkspace.cdr.demographic.config;
+
+import com.alienworkspace.cdr.demographic.helpers.VirtualThreads;
+import java.util.concurrent.ExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Moves the remaining platform thread pools of the request path onto virtual threads when
+ * {@code spring.threads.virtual.enabled} is set on Java 21 or later.
+ *
+ * <p>Spring Boot already runs Tomcat request handlers, {@code @Async} and {@code @Scheduled} tasks and the
+ * RabbitMQ listeners on virtual threads in that mode, and Feign calls run on the calling thread. The circuit
+ * breaker around the metadata client hands each call to its own cached thread pool to enforce the time
+ * limit, so that pool is replaced here.</p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    /**
+     * Creates the executor circuit breaker calls run on.
+     *
+     * @return an executor starting one virtual thread per call
+     * @throws ReflectiveOperationException if the virtual thread factory can not be called
+     */
+    @Bean(name = "circuitBreakerExecutor", destroyMethod = "shutdown")
+    public ExecutorService circuitBreakerExecutor() throws ReflectiveOperationException {
+        return VirtualThreads.newPerTaskExecutor()
+                .orElseThrow(() -> new IllegalStateException("Virtual threads are enabled on a JVM without them"));
+    }
+
+    /**
+     * Runs the calls guarded by the circuit breakers on virtual threads.
+     *
+     * @param circuitBreakerExecutor the executor circuit breaker calls run on
+     * @return the customizer of the circuit breaker factory
+     */
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakers(
+            @Qualifier("circuitBreakerExecutor") ExecutorService circuitBreakerExecutor) {
+        return factory -> {
+            factory.configureExecutorService(circuitBreakerExecutor);
+            logger.info("Circuit breaker calls run on virtual threads");
+        };
+    }
+}
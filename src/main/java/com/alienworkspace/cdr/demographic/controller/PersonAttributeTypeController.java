@@ -3,6 +3,7 @@ package com.alienworkspace.cdr.demographic.controller;
 import com.alienworkspace.cdr.demographic.helpers.Constants;
 import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeService;
 import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
+import com.alienworkspace.cdr.model.helper.ErrorResponseDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -33,6 +35,8 @@ import org.springframework.web.bind.annotation.RestController;
  *   <li>{@code GET /demographic/person-attribute-type/{id}} - Retrieves a person attribute type by ID</li>
  *   <li>{@code POST /demographic/person-attribute-type} - Adds a new person attribute type</li>
  *   <li>{@code PUT /demographic/person-attribute-type} - Updates a person attribute type</li>
+ *   <li>{@code PUT /demographic/person-attribute-type/{id}/unique-values} - Turns uniqueness of the values of a
+ *   person attribute type on or off</li>
  *   <li>{@code DELETE /demographic/person-attribute-type/{id}} - Deletes a person attribute type by ID</li>
  * </ul>
  *
@@ -119,6 +123,26 @@ public class PersonAttributeTypeController {
         return ResponseEntity.ok(personAttributeTypeService.updatePersonAttributeType(id, personAttributeTypeDto));
     }
 
+    /**
+     * Turns uniqueness of the values of a person attribute type on or off. Uniqueness can only be turned on
+     * while no value is held by more than one person.
+     *
+     * @param id the id of the person attribute type
+     * @param enabled whether a value may be held by one person only
+     * @return an empty {@link ResponseEntity}
+     */
+    @Operation(summary = "Set Person Attribute Type Uniqueness REST API Endpoint",
+            description = "Endpoint to require that each value of a person attribute type is held by one person.")
+    @ApiResponse(responseCode = "204", description = "Http Status NO_CONTENT")
+    @ApiResponse(responseCode = "409", description = "Http Status CONFLICT", content = @Content(
+            schema = @Schema(implementation = ErrorResponseDto.class)
+        ))
+    @PutMapping("/{id}/unique-values")
+    public ResponseEntity<Void> setUniqueValues(@PathVariable int id, @RequestParam boolean enabled) {
+        personAttributeTypeService.setUniqueValues(id, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Deletes a person attribute type from the database.
      *
@@ -1,7 +1,28 @@
 package com.alienworkspace.cdr.demographic.controller;
 
 import com.alienworkspace.cdr.demographic.helpers.Constants;
+import com.alienworkspace.cdr.demographic.helpers.JsonArrayPersonReader;
+import com.alienworkspace.cdr.demographic.helpers.NdjsonPersonReader;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonResult;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidRequest;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidResult;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.model.dto.PersonPage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchHit;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummary;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummaryPage;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+import com.alienworkspace.cdr.demographic.model.dto.SummaryRebuildResult;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeLookupService;
+import com.alienworkspace.cdr.demographic.service.PersonBulkService;
+import com.alienworkspace.cdr.demographic.service.PersonChangeFeedService;
+import com.alienworkspace.cdr.demographic.service.PersonDeduplicationService;
+import com.alienworkspace.cdr.demographic.service.PersonResponseCache;
 import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.alienworkspace.cdr.demographic.service.PersonSummaryService;
 import com.alienworkspace.cdr.demographic.service.impl.PersonServiceImpl;
 import com.alienworkspace.cdr.model.dto.person.PersonAddressDto;
 import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
@@ -10,18 +31,30 @@ import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
 import com.alienworkspace.cdr.model.helper.ErrorResponseDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.alienworkspace.cdr.model.helper.ResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,8 +64,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 /**
@@ -41,11 +76,27 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <p>Endpoints:</p>
  * <ul>
- *   <li>{@code GET /demographic/person} - Retrieves all persons</li>
- *   <li>{@code GET /demographic/person/{id}} - Retrieves a person by ID</li>
+ *   <li>{@code GET /demographic/person} - Retrieves a page of persons; {@code view=summary} retrieves a page of
+ *   person summaries</li>
+ *   <li>{@code GET /demographic/person/stream} - Streams all persons as NDJSON; {@code view=summary} streams
+ *   their summaries</li>
+ *   <li>{@code GET /demographic/person/search} - Searches persons by name</li>
+ *   <li>{@code GET /demographic/person/changes} - Lists the persons changed since a watermark or cursor</li>
+ *   <li>{@code GET /demographic/person/{id}/{includeVoided}} - Retrieves a person by ID; {@code view=summary}
+ *   retrieves their summary</li>
+ *   <li>{@code GET /demographic/person/by-attribute/{typeId}/{value}} - Retrieves the persons holding an
+ *   attribute value</li>
+ *   <li>{@code POST /demographic/person/by-attribute/{typeId}} - Resolves many attribute values to person IDs</li>
  *   <li>{@code POST /demographic/person} - Adds a new person</li>
+ *   <li>{@code POST /demographic/person/bulk} - Adds many persons from a JSON array or NDJSON</li>
+ *   <li>{@code POST /demographic/person/duplicates/scan} - Starts looking for duplicate persons across all
+ *   records</li>
+ *   <li>{@code GET /demographic/person/duplicates/scans/{scanId}} - Retrieves the state of a duplicate scan</li>
+ *   <li>{@code POST /demographic/person/summaries/rebuild} - Rebuilds the person summaries from scratch</li>
+ *   <li>{@code GET /demographic/person/{id}/duplicates} - Retrieves the possible duplicates of a person</li>
  *   <li>{@code PUT /demographic/person} - Updates a person</li>
  *   <li>{@code DELETE /demographic/person/{id}} - Deletes a person by ID</li>
+ *   <li>{@code POST /demographic/person/void} - Voids many persons by ID or filter</li>
  * </ul>
  *
  * <p>Uses {@link PersonServiceImpl} to perform operations and {@link PersonDto} as the data transfer object.</p>
@@ -65,23 +116,58 @@ public class PersonController {
 
     private final PersonService personService;
 
+    private final PersonBulkService personBulkService;
+
+    private final PersonResponseCache personResponseCache;
+
+    private final PersonDeduplicationService personDeduplicationService;
+
+    private final PersonAttributeLookupService personAttributeLookupService;
+
+    private final PersonChangeFeedService personChangeFeedService;
+
+    private final PersonSummaryService personSummaryService;
+
+    private final ObjectMapper objectMapper;
+
     /**
      * Constructs a new {@code PersonController} instance with the given {@link PersonServiceImpl}.
      *
      * @param personService the service to use for performing operations
+     * @param personBulkService the service to use for bulk registration
+     * @param personResponseCache the cache of rendered persons, evicted by every write
+     * @param personDeduplicationService the service to use for duplicate detection
+     * @param personAttributeLookupService the service to use for lookups by attribute value
+     * @param personChangeFeedService the service to use for the change feed
+     * @param personSummaryService the service to use for rebuilding person summaries
+     * @param objectMapper the mapper used to read and write streamed persons
      */
-    public PersonController(PersonService personService) {
+    public PersonController(PersonService personService, PersonBulkService personBulkService,
+                            PersonResponseCache personResponseCache,
+                            PersonDeduplicationService personDeduplicationService,
+                            PersonAttributeLookupService personAttributeLookupService,
+                            PersonChangeFeedService personChangeFeedService,
+                            PersonSummaryService personSummaryService, ObjectMapper objectMapper) {
         this.personService = personService;
+        this.personBulkService = personBulkService;
+        this.personResponseCache = personResponseCache;
+        this.personDeduplicationService = personDeduplicationService;
+        this.personAttributeLookupService = personAttributeLookupService;
+        this.personChangeFeedService = personChangeFeedService;
+        this.personSummaryService = personSummaryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all persons.
+     * Retrieves a keyset-paginated page of persons.
      *
-     * @return a list of all persons as PersonDto objects
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the number of persons per page, omitted for the configured default
+     * @return a page of persons and the cursor of the next page
      */
     @Operation(
             summary = "Get Persons REST API Endpoint",
-            description = "Endpoint to fetch all persons record."
+            description = "Endpoint to fetch a page of persons record, seeking after the given cursor."
     )
 
     @ApiResponse(
@@ -99,13 +185,235 @@ public class PersonController {
             )
     )
     @GetMapping
-    public ResponseEntity<List<PersonDto>> getPersons() {
-        return ResponseEntity.ok(personService.getPersons());
+    public ResponseEntity<PersonPage> getPersons(@RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(personService.getPersons(cursor, size));
+    }
+
+    /**
+     * Retrieves a keyset-paginated page of person summaries.
+     *
+     * <p>A summary holds the person's demographics, preferred name and preferred address location IDs, read
+     * from the person summary table, for consumers that do not need the full record.</p>
+     *
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the number of persons per page, omitted for the configured default
+     * @return a page of person summaries and the cursor of the next page
+     */
+    @Operation(
+            summary = "Get Person Summaries REST API Endpoint",
+            description = "Endpoint to fetch a page of person summaries, seeking after the given cursor."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK",
+            content = @Content(
+                    schema = @Schema(implementation = PersonSummaryPage.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<PersonSummaryPage> getPersonSummaries(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(personService.getPersonSummaries(cursor, size));
+    }
+
+    /**
+     * Streams all persons as newline-delimited JSON.
+     *
+     * <p>Each person is written as soon as it is mapped, so the response is never held in memory.</p>
+     *
+     * @return a streaming response body writing one PersonDto per line
+     */
+    @Operation(
+            summary = "Stream Persons REST API Endpoint",
+            description = "Endpoint to stream all persons record as newline-delimited JSON."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersons() {
+        StreamingResponseBody body = outputStream -> {
+            personService.streamPersons(personDto -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(personDto));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error streaming person", e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Streams the summaries of all persons as newline-delimited JSON.
+     *
+     * @return a streaming response body writing one PersonSummary per line
+     */
+    @Operation(
+            summary = "Stream Person Summaries REST API Endpoint",
+            description = "Endpoint to stream the summaries of all persons as newline-delimited JSON."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping(value = "/stream", params = "view=summary", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPersonSummaries() {
+        StreamingResponseBody body = outputStream -> {
+            personService.streamPersonSummaries(summary -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(summary));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error streaming person summary", e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieves a keyset-paginated page of the persons changed after a watermark or a cursor.
+     *
+     * <p>Changes to names, addresses and attributes count as changes to their person. Each person is listed
+     * once, with the time of their latest change as their version, oldest change first.</p>
+     *
+     * @param since only list changes after this time, omitted to start from the beginning
+     * @param cursor the cursor returned with the previous page; takes precedence over {@code since}
+     * @param size the number of persons per page, omitted for the configured default
+     * @return a page of changed persons and the cursor to continue from
+     */
+    @Operation(
+            summary = "Get Person Changes REST API Endpoint",
+            description = "Endpoint to fetch the IDs and versions of the persons changed after a timestamp or cursor."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Http Status BAD_REQUEST",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping("/changes")
+    public ResponseEntity<PersonChangePage> getChanges(
+            @RequestParam(value = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(personChangeFeedService.getChanges(since, cursor, size));
+    }
+
+    /**
+     * Searches non-voided persons by name.
+     *
+     * <p>Every word of the query must match one of the person's names, either exactly, as a prefix, within a
+     * small number of edits, or by sound. Results are ranked by how closely they match.</p>
+     *
+     * @param text the names to search for
+     * @param gender only return persons of this gender, if given
+     * @param birthDateFrom only return persons born on or after this date, if given
+     * @param birthDateTo only return persons born on or before this date, if given
+     * @param maxEdits the largest number of edits a fuzzy match may need, or null for the default
+     * @param limit the largest number of results to return, or null for the configured default
+     * @return the matching persons with their scores, best match first
+     */
+    @Operation(
+            summary = "Search Persons REST API Endpoint",
+            description = "Endpoint to search persons by name, with optional gender and birth date filters."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Http Status BAD_REQUEST",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<PersonSearchHit>> searchPersons(
+            @RequestParam("q") String text,
+            @RequestParam(value = "gender", required = false) Character gender,
+            @RequestParam(value = "birthDateFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthDateFrom,
+            @RequestParam(value = "birthDateTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthDateTo,
+            @RequestParam(value = "maxEdits", required = false) Integer maxEdits,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        PersonSearchQuery query = PersonSearchQuery.builder()
+                .text(text)
+                .gender(gender)
+                .birthDateFrom(birthDateFrom)
+                .birthDateTo(birthDateTo)
+                .maxEdits(maxEdits)
+                .limit(limit)
+                .build();
+        return ResponseEntity.ok(personService.searchPersons(query));
     }
 
     /**
      * Retrieves a person by their ID.
      *
+     * <p>The rendered person is served from {@link PersonResponseCache} with a strong {@code ETag}. A request
+     * whose {@code If-None-Match} header carries the current tag is answered with {@code 304 Not Modified}
+     * and no body.</p>
+     *
      * @param id the ID of the person to retrieve
      * @return the person with the specified ID as a PersonDto
      */
@@ -121,6 +429,10 @@ public class PersonController {
                     schema = @Schema(implementation = ResponseDto.class)
             )
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Http Status NOT_MODIFIED"
+    )
     @ApiResponse(
             responseCode = "500",
             description = "Http Status INTERNAL_SERVER_ERROR",
@@ -132,13 +444,65 @@ public class PersonController {
     public ResponseEntity<PersonDto> getPerson(@RequestHeader("X-cdr-correlation-id") String correlationId,
                                                @PathVariable("id") long id, @PathVariable boolean includeVoided) {
         log.debug("Retrieving person with ID: {}", id);
-        return ResponseEntity.ok(personService.getPerson(correlationId, id, includeVoided));
+        RenderedPerson renderedPerson = personResponseCache.getPerson(correlationId, id, includeVoided);
+        // Spring answers 304 itself when the ETag matches If-None-Match.
+        return ResponseEntity.ok()
+                .eTag(renderedPerson.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(renderedPerson.getPerson());
+    }
+
+    /**
+     * Retrieves the summary of a person by their ID.
+     *
+     * <p>Summaries never include voided names or addresses, so {@code includeVoided} does not change the
+     * response.</p>
+     *
+     * @param id the ID of the person to retrieve
+     * @return the summary of the person
+     */
+    @Operation(
+            summary = "Get Person Summary REST API Endpoint",
+            description = "Endpoint to fetch a person's demographics, preferred name and preferred address IDs."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK",
+            content = @Content(
+                    schema = @Schema(implementation = PersonSummary.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Http Status NotFound",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping(value = "{id}/{includeVoided}", params = "view=summary")
+    public ResponseEntity<PersonSummary> getPersonSummary(@PathVariable("id") long id) {
+        log.debug("Retrieving the summary of person with ID: {}", id);
+        return ResponseEntity.ok(personService.getPersonSummary(id));
     }
 
     /**
      * Adds a new person.
      *
+     * <p>The person is first compared with the registered people they may duplicate. When the pre-insert
+     * policy is {@code REJECT}, a likely duplicate is refused with {@code 409 Conflict} naming the matching
+     * people, unless {@code allowDuplicate} confirms the person is someone else. A value of a unique attribute
+     * type that another person holds is always refused with {@code 409 Conflict}.</p>
+     *
      * @param personDto the data transfer object containing the details of the person to add
+     * @param allowDuplicate whether to register the person even if they match a registered person
      * @return the added person as a PersonDto
      */
     @ResponseStatus(HttpStatus.CREATED)
@@ -161,11 +525,270 @@ public class PersonController {
                     schema = @Schema(implementation = ErrorResponseDto.class)
             )
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Http Status CONFLICT",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
     @PostMapping
     public PersonDto addPerson(@RequestHeader("X-cdr-correlation-id") String correlationId,
-                               @Valid @RequestBody PersonDto personDto) {
+                               @Valid @RequestBody PersonDto personDto,
+                               @RequestParam(value = "allowDuplicate", defaultValue = "false")
+                               boolean allowDuplicate) {
         log.debug("Adding person with correlationId: {}", correlationId);
-        return personService.addPerson(personDto, correlationId);
+        return personService.addPerson(personDto, correlationId, allowDuplicate);
+    }
+
+    /**
+     * Starts comparing every person with the persons they may duplicate and storing the likely pairs.
+     *
+     * <p>The scan runs in the background; the request returns the scan at once. The stored pairs of the previous
+     * scan are served until this one completes.</p>
+     *
+     * @return the running scan, to follow with {@code GET /duplicates/scans/{scanId}}
+     */
+    @Operation(
+            summary = "Scan Duplicate Persons REST API Endpoint",
+            description = "Endpoint to start looking for duplicate persons across all records."
+    )
+
+    @ApiResponse(
+            responseCode = "202",
+            description = "Http Status ACCEPTED"
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @PostMapping("/duplicates/scan")
+    public ResponseEntity<DuplicateScanResult> scanDuplicates() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(personDeduplicationService.startScan());
+    }
+
+    /**
+     * Retrieves the state of a duplicate scan, with its counts once it has finished.
+     *
+     * @param scanId the ID of the scan
+     * @return the scan
+     */
+    @Operation(
+            summary = "Get Duplicate Scan REST API Endpoint",
+            description = "Endpoint to get the state of a duplicate scan."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Http Status NOT_FOUND",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping("/duplicates/scans/{scanId}")
+    public ResponseEntity<DuplicateScanResult> getDuplicateScan(@PathVariable("scanId") long scanId) {
+        return ResponseEntity.ok(personDeduplicationService.getScan(scanId));
+    }
+
+    /**
+     * Rebuilds the person summary table from the person records, in parallel chunks.
+     *
+     * <p>Summaries stay readable while the table is rebuilt. The request returns when the rebuild has
+     * finished.</p>
+     *
+     * @return the number of people and chunks refreshed and of stale rows removed
+     */
+    @Operation(
+            summary = "Rebuild Person Summaries REST API Endpoint",
+            description = "Endpoint to rebuild the person summary table from scratch."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<SummaryRebuildResult> rebuildPersonSummaries() {
+        return ResponseEntity.ok(personSummaryService.rebuild());
+    }
+
+    /**
+     * Retrieves the persons the latest completed duplicate scan paired with a person.
+     *
+     * @param personId the ID of the person
+     * @return the possible duplicates of the person, best match first
+     */
+    @Operation(
+            summary = "Get Person Duplicates REST API Endpoint",
+            description = "Endpoint to get the possible duplicates of a person found by the last scan."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping("/{personId}/duplicates")
+    public ResponseEntity<List<PersonMatch>> getDuplicates(@PathVariable("personId") long personId) {
+        return ResponseEntity.ok(personDeduplicationService.getCandidates(personId));
+    }
+
+    /**
+     * Retrieves the persons holding a value of an attribute type, such as a national ID or phone number.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param value the value to look up; it is normalized with the format of the attribute type
+     * @return the persons holding the value
+     */
+    @Operation(
+            summary = "Get Persons By Attribute REST API Endpoint",
+            description = "Endpoint to find the persons holding an attribute value, such as a national ID."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Http Status NOT_FOUND",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @GetMapping("/by-attribute/{personAttributeTypeId}/{value}")
+    public ResponseEntity<List<PersonDto>> getPersonsByAttribute(
+            @PathVariable("personAttributeTypeId") int personAttributeTypeId,
+            @PathVariable("value") String value) {
+        return ResponseEntity.ok(personAttributeLookupService.findPersons(personAttributeTypeId, value));
+    }
+
+    /**
+     * Resolves many values of an attribute type to the IDs of the persons holding them, in one round trip.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param values the values to look up
+     * @return the IDs of the persons holding each value, keyed by the value as submitted
+     */
+    @Operation(
+            summary = "Resolve Persons By Attribute REST API Endpoint",
+            description = "Endpoint to resolve a batch of attribute values, such as hospital numbers, to person IDs."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Http Status BAD_REQUEST",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @PostMapping("/by-attribute/{personAttributeTypeId}")
+    public ResponseEntity<Map<String, List<Long>>> resolvePersonsByAttribute(
+            @PathVariable("personAttributeTypeId") int personAttributeTypeId,
+            @RequestBody List<String> values) {
+        return ResponseEntity.ok(personAttributeLookupService.resolvePersonIds(personAttributeTypeId, values));
+    }
+
+    /**
+     * Registers a JSON array of new persons.
+     *
+     * <p>Elements are read as the load progresses, so the request is never held in memory, and an element that
+     * is not a valid person is reported as failed at its index instead of failing the whole request.</p>
+     *
+     * @param request the request whose body holds a JSON array of PersonDto
+     * @return one outcome per submitted person, in submission order
+     * @throws IOException if the request body can not be read
+     */
+    @Operation(
+            summary = "Bulk Create Persons REST API Endpoint",
+            description = "Endpoint to register many person records; a bad record does not abort the load."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK",
+            content = @Content(
+                    schema = @Schema(implementation = BulkPersonResult.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Http Status BAD_REQUEST",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkPersonResult> addPersons(HttpServletRequest request) throws IOException {
+        try (InputStream input = request.getInputStream()) {
+            return ResponseEntity.ok(personBulkService.addPersons(new JsonArrayPersonReader(input, objectMapper)));
+        }
+    }
+
+    /**
+     * Registers new persons streamed as newline-delimited JSON.
+     *
+     * <p>Lines are read as the load progresses, so the request is never held in memory.</p>
+     *
+     * @param request the request whose body holds one PersonDto per line
+     * @return one outcome per submitted line, in submission order
+     * @throws IOException if the request body can not be read
+     */
+    @Operation(
+            summary = "Bulk Create Persons From NDJSON REST API Endpoint",
+            description = "Endpoint to register many person records sent as newline-delimited JSON."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK",
+            content = @Content(
+                    schema = @Schema(implementation = BulkPersonResult.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkPersonResult> addPersonsNdjson(HttpServletRequest request) throws IOException {
+        try (BufferedReader reader = request.getReader()) {
+            return ResponseEntity.ok(personBulkService.addPersons(new NdjsonPersonReader(reader, objectMapper)));
+        }
     }
 
     /**
@@ -205,7 +828,9 @@ public class PersonController {
                                                   @PathVariable("id") Long id,
                                                   @Valid @RequestBody PersonDto personDto) {
         log.debug("Updating person with ID: {} with correlationId: {}", id, correlationId);
-        return ResponseEntity.ok(personService.updatePerson(id, personDto, correlationId));
+        PersonDto updatedPerson = personService.updatePerson(id, personDto, correlationId);
+        personResponseCache.evict(id);
+        return ResponseEntity.ok(updatedPerson);
     }
 
     /**
@@ -243,7 +868,47 @@ public class PersonController {
     @DeleteMapping("/{id}")
     public ResponseEntity<ResponseDto> deletePerson(@PathVariable("id") long id,
                                                     @RequestBody RecordVoidRequest voidRequest) {
-        return ResponseEntity.ok(personService.deletePerson(id, voidRequest));
+        ResponseDto response = personService.deletePerson(id, voidRequest);
+        personResponseCache.evict(id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Voids many persons, chosen by ID or by filter, optionally with their names, addresses and attributes.
+     *
+     * @param request the persons to void and the reason
+     * @return the number of persons, names, addresses and attributes voided
+     */
+    @Operation(
+            summary = "Bulk Void Persons REST API Endpoint",
+            description = "Endpoint to void many person records with set-based updates, in chunks."
+    )
+
+    @ApiResponse(
+            responseCode = "200",
+            description = "Http Status OK",
+            content = @Content(
+                    schema = @Schema(implementation = BulkVoidResult.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Http Status BAD_REQUEST",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "500",
+            description = "Http Status INTERNAL_SERVER_ERROR",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
+    @PostMapping("/void")
+    public ResponseEntity<BulkVoidResult> voidPersons(@RequestBody BulkVoidRequest request) {
+        log.debug("Bulk voiding persons, cascade: {}", request.isCascade());
+        return ResponseEntity.ok(personBulkService.voidPersons(request));
     }
 
     /**
@@ -275,7 +940,9 @@ public class PersonController {
     @PostMapping("/{personId}/names")
     public ResponseEntity<PersonNameDto> addPersonName(@PathVariable("personId") long personId,
                                                    @Valid @RequestBody PersonNameDto personNameDto) {
-        return ResponseEntity.ok(personService.addPersonName(personId, personNameDto));
+        PersonNameDto personName = personService.addPersonName(personId, personNameDto);
+        personResponseCache.evict(personId);
+        return ResponseEntity.ok(personName);
     }
 
     /**
@@ -308,7 +975,9 @@ public class PersonController {
     public ResponseEntity<PersonNameDto> updatePersonName(@PathVariable("personId") long personId,
                                                       @PathVariable("personNameId") long personNameId,
                                                       @RequestBody boolean preferred) {
-        return ResponseEntity.ok(personService.updatePersonName(personId, personNameId, preferred));
+        PersonNameDto personName = personService.updatePersonName(personId, personNameId, preferred);
+        personResponseCache.evict(personId);
+        return ResponseEntity.ok(personName);
     }
 
     /**
@@ -341,6 +1010,7 @@ public class PersonController {
                                  @PathVariable("personNameId") long personNameId,
                                  @RequestBody RecordVoidRequest voidRequest) {
         personService.deletePersonName(personId, personNameId, voidRequest);
+        personResponseCache.evict(personId);
     }
 
     /**
@@ -375,7 +1045,9 @@ public class PersonController {
             @PathVariable("personId") long personId,
             @Valid @RequestBody PersonAddressDto personAddressDto) {
         log.info("Correlation ID: {}", correlationId);
-        return ResponseEntity.ok(personService.addAddress(personId, personAddressDto, correlationId));
+        PersonAddressDto personAddress = personService.addAddress(personId, personAddressDto, correlationId);
+        personResponseCache.evict(personId);
+        return ResponseEntity.ok(personAddress);
     }
 
     /**
@@ -411,7 +1083,10 @@ public class PersonController {
                                                          @PathVariable("personAddressId") long personAddressId,
                                                          @RequestBody boolean preferred) {
         log.info("Correlation ID: {}", correlationId);
-        return ResponseEntity.ok(personService.updateAddress(personId, personAddressId, preferred, correlationId));
+        PersonAddressDto personAddress = personService.updateAddress(personId, personAddressId, preferred,
+                correlationId);
+        personResponseCache.evict(personId);
+        return ResponseEntity.ok(personAddress);
     }
 
     /**
@@ -504,6 +1179,7 @@ public class PersonController {
                                     @PathVariable("personAddressId") long personAddressId,
                                     @RequestBody RecordVoidRequest voidRequest) {
         personService.deleteAddress(personId, personAddressId, voidRequest);
+        personResponseCache.evict(personId);
     }
 
     /**
@@ -524,6 +1200,13 @@ public class PersonController {
                     schema = @Schema(implementation = ResponseDto.class)
             )
     )
+    @ApiResponse(
+            responseCode = "409",
+            description = "Http Status CONFLICT",
+            content = @Content(
+                    schema = @Schema(implementation = ErrorResponseDto.class)
+            )
+    )
     @ApiResponse(
             responseCode = "500",
             description = "Http Status INTERNAL_SERVER_ERROR",
@@ -535,7 +1218,9 @@ public class PersonController {
     @PostMapping("/{personId}/attributes")
     public ResponseEntity<PersonAttributeDto> addPersonAttribute(@PathVariable("personId") long personId,
                                                         @Valid @RequestBody PersonAttributeDto personAttributeDto) {
-        return ResponseEntity.ok(personService.addAttribute(personId, personAttributeDto));
+        PersonAttributeDto personAttribute = personService.addAttribute(personId, personAttributeDto);
+        personResponseCache.evict(personId);
+        return ResponseEntity.ok(personAttribute);
     }
 
     /**
@@ -568,7 +1253,9 @@ public class PersonController {
     public ResponseEntity<PersonAttributeDto> updatePersonAttribute(@PathVariable("personId") long personId,
                                                            @PathVariable("personAttributeId") long personAttributeId,
                                                            @RequestBody boolean preferred) {
-        return ResponseEntity.ok(personService.updateAttribute(personId, personAttributeId, preferred));
+        PersonAttributeDto personAttribute = personService.updateAttribute(personId, personAttributeId, preferred);
+        personResponseCache.evict(personId);
+        return ResponseEntity.ok(personAttribute);
     }
 
     /**
@@ -600,5 +1287,6 @@ public class PersonController {
                                       @PathVariable("personAttributeId") long personAttributeId,
                                       @RequestBody RecordVoidRequest voidRequest) {
         personService.deleteAttribute(personId, personAttributeId, voidRequest);
+        personResponseCache.evict(personId);
     }
 }
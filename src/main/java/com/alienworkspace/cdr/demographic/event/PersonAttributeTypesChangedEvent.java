@@ -0,0 +1,31 @@
+package com.alienworkspace.cdr.demographic.event;
+
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Bus event telling every demographic instance that the person attribute types have changed and their
+ * in-memory registry must be reloaded.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class PersonAttributeTypesChangedEvent extends RemoteApplicationEvent {
+
+    /**
+     * Constructor used by the bus to deserialize the event.
+     */
+    public PersonAttributeTypesChangedEvent() {
+        super();
+    }
+
+    /**
+     * Creates a new event.
+     *
+     * @param source the object publishing the event
+     * @param originService the bus id of the publishing instance
+     * @param destination the instances that should handle the event
+     */
+    public PersonAttributeTypesChangedEvent(Object source, String originService, Destination destination) {
+        super(source, originService, destination);
+    }
+}
@@ -0,0 +1,236 @@
+package com.alienworkspace.cdr.demographic.event;
+
+import com.alienworkspace.cdr.demographic.config.OutboxConfig;
+import com.alienworkspace.cdr.demographic.model.PersonOutboxEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.repository.PersonOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes the person change events recorded in the outbox to the broker.
+ *
+ * <p>The oldest events are read by sequence and locked in batches of {@link OutboxConfig#getBatchSize()},
+ * published to the configured topic exchange and deleted once the broker has confirmed them. Full batches are
+ * drained back to back; after a partial one the relay waits {@link OutboxConfig#getLinger()} so that small
+ * changes are grouped. The head of the outbox is locked without skipping locked rows, so one instance relays
+ * at a time and the others back off until the next round. Only the confirmed prefix of a batch is deleted, so
+ * events of a person are published in the order they were committed. Delivery is at least once: consumers drop
+ * redeliveries by the event ID, and events a retry published again after a newer one by the sequence.</p>
+ *
+ * <p>An event that can not be serialized is parked in the outbox rather than retried, so that it does not
+ * hold back the events behind it.</p>
+ *
+ * <p>Throughput is published as the {@code demographic.outbox.published}, {@code demographic.outbox.failed}
+ * and {@code demographic.outbox.parked} counters, the {@code demographic.outbox.batch} timer and the
+ * {@code demographic.outbox.batch.size} summary.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+@ConditionalOnProperty(prefix = "demographic.outbox", name = "relay-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class PersonOutboxRelay {
+
+    static final String METRIC_PREFIX = "demographic.outbox";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonOutboxEventRepository personOutboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+
+    /**
+     * Creates the relay and registers its metrics.
+     *
+     * @param personOutboxEventRepository the outbox repository
+     * @param rabbitTemplate the template the events are published with
+     * @param objectMapper the mapper the events are serialized with
+     * @param outboxConfig the exchange, batch size and timeouts
+     * @param transactionTemplate the template each batch runs in
+     * @param meterRegistry the registry the throughput metrics are published to
+     */
+    public PersonOutboxRelay(PersonOutboxEventRepository personOutboxEventRepository, RabbitTemplate rabbitTemplate,
+                             ObjectMapper objectMapper, OutboxConfig outboxConfig,
+                             TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.personOutboxEventRepository = personOutboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.published = Counter.builder(METRIC_PREFIX + ".published")
+                .description("Person change events published and confirmed by the broker")
+                .register(meterRegistry);
+        this.failed = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Person change events the broker did not confirm, left in the outbox for a retry")
+                .register(meterRegistry);
+        this.parked = Counter.builder(METRIC_PREFIX + ".parked")
+                .description("Person change events that could not be serialized, parked in the outbox")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder(METRIC_PREFIX + ".batch")
+                .description("Time to read, publish, confirm and delete one batch of events")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("Number of events read per batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox until a batch comes back partial or a publish fails.
+     */
+    @Scheduled(fixedDelayString = "${demographic.outbox.linger:500ms}")
+    public void relay() {
+        int size = outboxConfig.getBatchSize();
+        while (relayBatch() == size) {
+            logger.debug("Outbox batch full, relaying the next one");
+        }
+    }
+
+    /**
+     * Publishes one batch of events, deletes the ones the broker confirmed and parks the ones that could not be
+     * serialized.
+     *
+     * @return the number of events confirmed and deleted or parked
+     */
+    public int relayBatch() {
+        try {
+            Integer confirmed = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<PersonOutboxEvent> events = personOutboxEventRepository.findNextBatch(
+                        Limit.of(outboxConfig.getBatchSize()));
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                batchSize.record(events.size());
+                List<PersonOutboxEvent> sent = new ArrayList<>(events.size());
+                List<CorrelationData> confirms = new ArrayList<>(events.size());
+                for (PersonOutboxEvent event : events) {
+                    Message message;
+                    try {
+                        message = toMessage(event);
+                    } catch (JsonProcessingException e) {
+                        logger.error("Parking person change event {} that can not be serialized",
+                                event.getPersonOutboxEventId(), e);
+                        // Saved with the transaction; parked rows are left out of the next batches.
+                        event.setParkedAt(LocalDateTime.now());
+                        parked.increment();
+                        continue;
+                    }
+                    CorrelationData correlationData = new CorrelationData(
+                            String.valueOf(event.getPersonOutboxEventId()));
+                    rabbitTemplate.send(outboxConfig.getExchange(), routingKey(event.getEventType()),
+                            message, correlationData);
+                    sent.add(event);
+                    confirms.add(correlationData);
+                }
+                int acked = awaitConfirms(confirms);
+                if (acked > 0) {
+                    personOutboxEventRepository.deleteAllByIdInBatch(sent.subList(0, acked).stream()
+                            .map(PersonOutboxEvent::getPersonOutboxEventId)
+                            .toList());
+                }
+                if (acked < sent.size()) {
+                    logger.warn("Broker confirmed {} of {} person change events, the rest will be retried",
+                            acked, sent.size());
+                    failed.increment(sent.size() - acked);
+                }
+                published.increment(acked);
+                return acked + events.size() - sent.size();
+            }));
+            return confirmed == null ? 0 : confirmed;
+        } catch (PessimisticLockingFailureException e) {
+            logger.debug("Another instance is relaying the outbox", e);
+            return 0;
+        } catch (AmqpException e) {
+            logger.warn("Failed to publish person change events, they will be retried", e);
+            failed.increment();
+            return 0;
+        }
+    }
+
+    /**
+     * Waits for the broker to confirm the published messages, in order, within the confirm timeout.
+     *
+     * @return the number of messages confirmed before the first one that was refused or timed out
+     */
+    private int awaitConfirms(List<CorrelationData> confirms) {
+        long deadline = System.nanoTime() + outboxConfig.getConfirmTimeout().toNanos();
+        int acked = 0;
+        for (CorrelationData correlationData : confirms) {
+            try {
+                CorrelationData.Confirm confirm = correlationData.getFuture()
+                        .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!confirm.isAck()) {
+                    logger.warn("Broker refused person change event {}: {}", correlationData.getId(),
+                            confirm.getReason());
+                    break;
+                }
+                acked++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                logger.warn("No confirm for person change event {}", correlationData.getId());
+                break;
+            }
+        }
+        return acked;
+    }
+
+    private Message toMessage(PersonOutboxEvent event) throws JsonProcessingException {
+        PersonChangeEvent payload = PersonChangeEvent.builder()
+                .eventId(event.getPersonOutboxEventId())
+                .type(event.getEventType())
+                .personId(event.getPersonId())
+                .recordId(event.getRecordId())
+                .occurredAt(event.getOccurredAt())
+                .sequence(event.getEventSequence())
+                .build();
+        return MessageBuilder.withBody(objectMapper.writeValueAsBytes(payload))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setMessageId(String.valueOf(event.getPersonOutboxEventId()))
+                .setType(event.getEventType().name())
+                .build();
+    }
+
+    /**
+     * Returns the routing key of an event type, such as {@code person.address_preferred_changed}.
+     *
+     * @param type the event type
+     * @return the routing key
+     */
+    static String routingKey(PersonChangeEvent.Type type) {
+        return "person." + type.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,48 @@
+package com.alienworkspace.cdr.demographic.event;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Bus event telling every demographic instance that the names, gender, birth date or void state of some
+ * people have changed and must be reloaded into their search index.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class PersonSearchIndexChangedEvent extends RemoteApplicationEvent {
+
+    private List<Long> personIds;
+
+    /**
+     * Constructor used by the bus to deserialize the event.
+     */
+    public PersonSearchIndexChangedEvent() {
+        super();
+    }
+
+    /**
+     * Creates a new event.
+     *
+     * @param source the object publishing the event
+     * @param originService the bus id of the publishing instance
+     * @param destination the instances that should handle the event
+     * @param personIds the IDs of the people that changed
+     */
+    public PersonSearchIndexChangedEvent(Object source, String originService, Destination destination,
+                                         List<Long> personIds) {
+        super(source, originService, destination);
+        this.personIds = personIds;
+    }
+
+    /**
+     * Returns the IDs of the people that changed.
+     *
+     * @return the person IDs
+     */
+    public List<Long> getPersonIds() {
+        return personIds;
+    }
+}
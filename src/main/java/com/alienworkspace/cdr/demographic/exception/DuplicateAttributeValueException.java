@@ -0,0 +1,51 @@
+package com.alienworkspace.cdr.demographic.exception;
+
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a value of a unique attribute type is already held by another person.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateAttributeValueException extends RuntimeException {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public DuplicateAttributeValueException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the failure the database reported
+     */
+    public DuplicateAttributeValueException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Returns the exception to report for a write the database refused because of the unique key on the values
+     * of unique attribute types.
+     *
+     * @param failure the failure of the write
+     * @return the exception to report, or empty if the write failed for another reason
+     */
+    public static Optional<DuplicateAttributeValueException> from(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(PersonAttribute.UNIQUE_VALUE_KEY)) {
+                return Optional.of(new DuplicateAttributeValueException(
+                        "A value of a unique person attribute type is already held by another person", failure));
+            }
+        }
+        return Optional.empty();
+    }
+}
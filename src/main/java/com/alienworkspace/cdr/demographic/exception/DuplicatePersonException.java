@@ -0,0 +1,37 @@
+package com.alienworkspace.cdr.demographic.exception;
+
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a person being registered matches people who are already registered.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicatePersonException extends RuntimeException {
+
+    private final transient List<PersonMatch> matches;
+
+    /**
+     * Constructs a new exception listing the matching people.
+     *
+     * @param matches the registered people the new person matches, best match first
+     */
+    public DuplicatePersonException(List<PersonMatch> matches) {
+        super(String.format("Person matches registered people %s",
+                matches.stream().map(PersonMatch::getPersonId).toList()));
+        this.matches = List.copyOf(matches);
+    }
+
+    /**
+     * Returns the registered people the new person matches.
+     *
+     * @return the matches, best match first
+     */
+    public List<PersonMatch> getMatches() {
+        return matches;
+    }
+}
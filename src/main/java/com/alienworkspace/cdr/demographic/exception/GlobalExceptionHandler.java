@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -26,6 +27,27 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    /**
+     * Handles {@link ConcurrencyFailureException} exceptions. These are thrown when another request changed the
+     * same person between the time a change loaded the person and the time it committed, either as an optimistic
+     * locking failure or, when both requests wrote rows of the person, as the loser of a deadlock.
+     *
+     * @param exception the exception thrown
+     * @param webRequest the web request
+     * @return an {@link ErrorResponseDto} asking the client to retry against the latest state
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleConcurrencyFailureException(ConcurrencyFailureException exception,
+                                                                              WebRequest webRequest) {
+        ErrorResponseDto errorResponseDto = ErrorResponseDto.builder()
+                .errorCode(HttpStatus.CONFLICT.value())
+                .apiPath(webRequest.getDescription(false))
+                .errorMessage("The person was changed by another request, reload it and try again")
+                .errorTime(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles global exceptions that occur in the application. This class uses the
      * {@link ResponseEntityExceptionHandler} to handle exceptions that occur at the
@@ -91,6 +113,46 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponseDto, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles {@link DuplicatePersonException} exceptions. This exception is thrown when a person being
+     * registered matches people who are already registered.
+     *
+     * @param exception the exception thrown
+     * @param webRequest the web request
+     * @return an {@link ErrorResponseDto} naming the matching people
+     */
+    @ExceptionHandler(DuplicatePersonException.class)
+    public ResponseEntity<ErrorResponseDto> handleDuplicatePersonException(DuplicatePersonException exception,
+                                                                           WebRequest webRequest) {
+        ErrorResponseDto errorResponseDto = ErrorResponseDto.builder()
+                .errorCode(HttpStatus.CONFLICT.value())
+                .apiPath(webRequest.getDescription(false))
+                .errorMessage(exception.getMessage())
+                .errorTime(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles {@link DuplicateAttributeValueException} exceptions. This exception is thrown when a value of a
+     * unique attribute type is already held by another person.
+     *
+     * @param exception the exception thrown
+     * @param webRequest the web request
+     * @return an {@link ErrorResponseDto} naming the attribute type and value
+     */
+    @ExceptionHandler(DuplicateAttributeValueException.class)
+    public ResponseEntity<ErrorResponseDto> handleDuplicateAttributeValueException(
+            DuplicateAttributeValueException exception, WebRequest webRequest) {
+        ErrorResponseDto errorResponseDto = ErrorResponseDto.builder()
+                .errorCode(HttpStatus.CONFLICT.value())
+                .apiPath(webRequest.getDescription(false))
+                .errorMessage(exception.getMessage())
+                .errorTime(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(errorResponseDto, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles global exceptions that occur in the application.
      *
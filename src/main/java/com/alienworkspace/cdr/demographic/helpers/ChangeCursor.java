@@ -0,0 +1,68 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used for keyset pagination over the change feed.
+ *
+ * <p>A cursor carries the change time and the {@code personId} of the last change returned, so the next
+ * page can seek with {@code (changedAt, personId) > (:time, :personId)}.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class ChangeCursor {
+
+    private static final String PREFIX = "change:";
+
+    private static final char SEPARATOR = '|';
+
+    private ChangeCursor() {}
+
+    /**
+     * Encodes the given position as a cursor token.
+     *
+     * @param position the last change of the current page
+     * @return the cursor token
+     */
+    public static String encode(Position position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (PREFIX + position.changedAt() + SEPARATOR + position.personId()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token back to the position it was created from.
+     *
+     * @param cursor the cursor token
+     * @return the position to seek after
+     */
+    public static Position decode(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        int separator = decoded.lastIndexOf(SEPARATOR);
+        if (!decoded.startsWith(PREFIX) || separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new Position(LocalDateTime.parse(decoded.substring(PREFIX.length(), separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * A position in the change feed.
+     *
+     * @param changedAt the change time of the last change returned
+     * @param personId the ID of the person of the last change returned
+     */
+    public record Position(LocalDateTime changedAt, long personId) {
+    }
+}
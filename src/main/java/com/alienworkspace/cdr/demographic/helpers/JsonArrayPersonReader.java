@@ -0,0 +1,95 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the people of a JSON array one element at a time.
+ *
+ * <p>Each element is read as a tree before it is bound, so an element that is well-formed JSON but not a valid
+ * PersonDto makes {@link #next()} throw {@link IllegalArgumentException}, and reading carries on with the
+ * following element. An element that is not well-formed JSON fails the same way, but ends the array, as the
+ * parser can not find where the next element starts.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class JsonArrayPersonReader implements Iterator<PersonDto> {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private JsonNode nextElement;
+    private JsonProcessingException nextError;
+    private boolean finished;
+
+    /**
+     * Creates a reader over the given JSON array.
+     *
+     * @param input the JSON input
+     * @param objectMapper the mapper used to read each element
+     * @throws IllegalArgumentException if the input does not start with a JSON array
+     * @throws IOException if the input can not be read
+     */
+    public JsonArrayPersonReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Bulk request must be a JSON array of persons");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid bulk request: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextElement != null || nextError != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                finished = true;
+                return false;
+            }
+            nextElement = parser.readValueAsTree();
+        } catch (JsonProcessingException e) {
+            nextError = e;
+            finished = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading bulk request", e);
+        }
+        return true;
+    }
+
+    @Override
+    public PersonDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonProcessingException error = nextError;
+        JsonNode element = nextElement;
+        nextError = null;
+        nextElement = null;
+        try {
+            if (error != null) {
+                throw error;
+            }
+            return objectMapper.treeToValue(element, PersonDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid person record: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads newline-delimited JSON people one line at a time.
+ *
+ * <p>Blank lines are skipped. A line that is not a valid PersonDto makes {@link #next()} throw
+ * {@link IllegalArgumentException}, and reading carries on with the following line.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class NdjsonPersonReader implements Iterator<PersonDto> {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private String nextLine;
+
+    /**
+     * Creates a reader over the given NDJSON input.
+     *
+     * @param reader the NDJSON input
+     * @param objectMapper the mapper used to read each line
+     */
+    public NdjsonPersonReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                if (!line.isBlank()) {
+                    nextLine = line;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading bulk request", e);
+        }
+    }
+
+    @Override
+    public PersonDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        try {
+            return objectMapper.readValue(line, PersonDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid person record: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used for keyset pagination over people.
+ *
+ * <p>A cursor carries the last {@code personId} of the previous page, so the next page can seek
+ * with {@code personId > :lastId} instead of an {@code OFFSET} scan.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class PersonCursor {
+
+    private static final String PREFIX = "person:";
+
+    private PersonCursor() {}
+
+    /**
+     * Encodes the given person ID as a cursor token.
+     *
+     * @param personId the last person ID of the current page
+     * @return the cursor token
+     */
+    public static String encode(long personId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + personId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token back to the person ID it was created from.
+     *
+     * @param cursor the cursor token, may be null or blank for the first page
+     * @return the person ID to seek after, or {@code 0} for the first page
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import java.time.Duration;
+
+/**
+ * Counts the SQL work done on the current thread while a unit of work, such as an HTTP request, is running.
+ *
+ * <p>A unit of work binds an instance with {@link #start()} and unbinds it with {@link #stop()}. The JDBC layer
+ * and Hibernate report to the bound instance through the static methods, which do nothing when no instance is
+ * bound. Work done on other threads is not counted.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class SqlActivity {
+
+    private static final ThreadLocal<SqlActivity> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long entities;
+    private long jdbcNanos;
+
+    private SqlActivity() {
+    }
+
+    /**
+     * Binds a new activity to the current thread.
+     *
+     * @return the bound activity
+     */
+    public static SqlActivity start() {
+        SqlActivity activity = new SqlActivity();
+        CURRENT.set(activity);
+        return activity;
+    }
+
+    /**
+     * Unbinds the activity of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The activity bound to the current thread.
+     *
+     * @return the activity, or {@code null} if none is bound
+     */
+    public static SqlActivity current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records a statement sent to the database.
+     *
+     * @param nanos how long the statement took to execute
+     */
+    public static void statementExecuted(long nanos) {
+        SqlActivity activity = CURRENT.get();
+        if (activity != null) {
+            activity.statements++;
+            activity.jdbcNanos += nanos;
+        }
+    }
+
+    /**
+     * Records a row read from a result set.
+     *
+     * @param nanos how long the driver took to move to the row
+     */
+    public static void rowFetched(long nanos) {
+        SqlActivity activity = CURRENT.get();
+        if (activity != null) {
+            activity.rows++;
+            activity.jdbcNanos += nanos;
+        }
+    }
+
+    /**
+     * Records an entity hydrated by Hibernate.
+     */
+    public static void entityLoaded() {
+        SqlActivity activity = CURRENT.get();
+        if (activity != null) {
+            activity.entities++;
+        }
+    }
+
+    /**
+     * The work counted so far.
+     *
+     * @return the counts
+     */
+    public Usage usage() {
+        return new Usage(statements, rows, entities, jdbcNanos);
+    }
+
+    /**
+     * The SQL work done by a unit of work.
+     *
+     * @param statements the number of statements executed
+     * @param rows the number of rows fetched
+     * @param entities the number of entities hydrated
+     * @param jdbcNanos the time spent in the JDBC driver, in nanoseconds
+     */
+    public record Usage(long statements, long rows, long entities, long jdbcNanos) {
+
+        /**
+         * The work done since an earlier reading of the same activity.
+         *
+         * @param earlier the earlier reading
+         * @return the difference
+         */
+        public Usage minus(Usage earlier) {
+            return new Usage(statements - earlier.statements, rows - earlier.rows, entities - earlier.entities,
+                    jdbcNanos - earlier.jdbcNanos);
+        }
+
+        /**
+         * The time spent in the JDBC driver.
+         *
+         * @return the JDBC time
+         */
+        public Duration jdbcTime() {
+            return Duration.ofNanos(jdbcNanos);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * A data source reporting every statement executed and every row fetched through it to the {@link SqlActivity}
+ * of the calling thread.
+ *
+ * <p>Connections, statements and result sets are wrapped in JDK proxies that time the {@code execute*} and
+ * {@code next} calls and forward everything else to the driver unchanged. A batch counts as one statement.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class SqlActivityDataSource extends DelegatingDataSource {
+
+    /**
+     * Wraps a data source.
+     *
+     * @param targetDataSource the data source to report on
+     */
+    public SqlActivityDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return statement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return statement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return statement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, T target) {
+        return proxy(type, target, (proxy, method, args) -> {
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                result = invoke(target, method, args);
+                SqlActivity.statementExecuted(System.nanoTime() - start);
+            } else {
+                result = invoke(target, method, args);
+            }
+            return result instanceof ResultSet resultSet ? resultSet(resultSet) : result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            if (!"next".equals(method.getName())) {
+                return invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result)) {
+                SqlActivity.rowFetched(System.nanoTime() - start);
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlActivityDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, (proxy, method, args) -> {
+                    if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && args == null) {
+                        return System.identityHashCode(proxy);
+                    }
+                    return handler.invoke(proxy, method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.demographic.helpers;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates virtual thread executors when the runtime supports them.
+ *
+ * <p>The project is compiled for Java 17 unless built with the {@code java21} profile, so the Java 21 factory
+ * methods are looked up reflectively.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /**
+     * Returns whether the running JVM has virtual threads.
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Creates an executor that starts one virtual thread per task.
+     *
+     * @return the executor, or empty if the running JVM has no virtual threads
+     * @throws ReflectiveOperationException if the factory method exists but can not be called
+     */
+    public static Optional<ExecutorService> newPerTaskExecutor() throws ReflectiveOperationException {
+        if (!isSupported()) {
+            return Optional.empty();
+        }
+        return Optional.of((ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null));
+    }
+}
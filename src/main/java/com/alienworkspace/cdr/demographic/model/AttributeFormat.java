@@ -0,0 +1,90 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * How the values of a person attribute type are normalized before they are indexed and looked up.
+ *
+ * <p>The format is derived from {@link PersonAttributeType#getFormat()}, so that {@code "0803 123 4567"} and
+ * {@code "08031234567"} find the same phone number and {@code "ab-1234"} and {@code "AB1234"} the same
+ * identifier.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public enum AttributeFormat {
+
+    /**
+     * Free text: trimmed, runs of whitespace collapsed and lower-cased.
+     */
+    TEXT,
+    /**
+     * Whole numbers: leading zeros and grouping removed. Values that are not numbers are kept as text.
+     */
+    INTEGER,
+    /**
+     * Phone numbers: only the digits are kept, together with a leading {@code +}.
+     */
+    PHONE,
+    /**
+     * Identifiers such as national IDs and hospital numbers: upper-cased, with spaces, hyphens, dots and
+     * slashes removed.
+     */
+    IDENTIFIER;
+
+    /**
+     * Resolves the format of an attribute type from its {@code format} column.
+     *
+     * @param format the format of the attribute type, for example {@code java.lang.Integer} or {@code phone}
+     * @return the matching format, or {@link #TEXT} when the format is missing or unknown
+     */
+    public static AttributeFormat of(String format) {
+        if (format == null) {
+            return TEXT;
+        }
+        return switch (format.trim().toLowerCase(Locale.ROOT)) {
+            case "java.lang.integer", "java.lang.long", "integer", "long", "number", "numeric" -> INTEGER;
+            case "phone", "phone_number", "telephone", "msisdn" -> PHONE;
+            case "identifier", "id", "national_id", "hospital_number" -> IDENTIFIER;
+            default -> TEXT;
+        };
+    }
+
+    /**
+     * Normalizes an attribute value.
+     *
+     * @param value the value as entered
+     * @return the normalized value, or null when the value is null or blank
+     */
+    public String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = switch (this) {
+            case INTEGER -> normalizeInteger(value);
+            case PHONE -> normalizePhone(value);
+            case IDENTIFIER -> value.replaceAll("[\\s./-]", "").toUpperCase(Locale.ROOT);
+            case TEXT -> normalizeText(value);
+        };
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    private static String normalizeInteger(String value) {
+        String digits = value.trim().replaceAll("[\\s,_]", "");
+        try {
+            return new BigInteger(digits).toString();
+        } catch (NumberFormatException e) {
+            return normalizeText(value);
+        }
+    }
+
+    private static String normalizePhone(String value) {
+        String trimmed = value.trim();
+        String digits = trimmed.replaceAll("\\D", "");
+        return trimmed.startsWith("+") && !digits.isEmpty() ? "+" + digits : digits;
+    }
+
+    private static String normalizeText(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,63 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions.
+ *
+ * <p>Entity regions hold the dehydrated state of one row each. Collection regions hold only the ids of a
+ * person's children, which are then resolved from their own entity region, so every child entity of a
+ * cached collection is cached as well.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class CacheRegions {
+
+    /**
+     * Entity region of {@link Person}.
+     */
+    public static final String PERSON = "person";
+
+    /**
+     * Entity region of {@link PersonName}.
+     */
+    public static final String PERSON_NAME = "person_name";
+
+    /**
+     * Entity region of {@link PersonAddress}.
+     */
+    public static final String PERSON_ADDRESS = "person_address";
+
+    /**
+     * Entity region of {@link PersonAttribute}.
+     */
+    public static final String PERSON_ATTRIBUTE = "person_attribute";
+
+    /**
+     * Entity region of {@link PersonAttributeType}.
+     */
+    public static final String PERSON_ATTRIBUTE_TYPE = "person_attribute_type";
+
+    /**
+     * Collection region of {@code Person.names}.
+     */
+    public static final String PERSON_NAMES = "person_names";
+
+    /**
+     * Collection region of {@code Person.addresses}.
+     */
+    public static final String PERSON_ADDRESSES = "person_addresses";
+
+    /**
+     * Collection region of {@code Person.attributes}.
+     */
+    public static final String PERSON_ATTRIBUTES = "person_attributes";
+
+    /**
+     * Every region, in the order they are created.
+     */
+    public static final List<String> ALL = List.of(PERSON, PERSON_NAME, PERSON_ADDRESS, PERSON_ATTRIBUTE,
+            PERSON_ATTRIBUTE_TYPE, PERSON_NAMES, PERSON_ADDRESSES, PERSON_ATTRIBUTES);
+
+    private CacheRegions() {}
+}
@@ -0,0 +1,37 @@
+package com.alienworkspace.cdr.demographic.model;
+
+/**
+ * Shared settings of the pooled table generator that hands out entity ids.
+ *
+ * <p>Every entity keeps its own row in {@link #TABLE}. A row is read and advanced once per
+ * {@link #ALLOCATION_SIZE} ids, so inserts never wait on an id round trip and Hibernate can group them
+ * into JDBC batches. The allocation size is part of the stored value's meaning: change it only together
+ * with a migration of the generator rows and the offset in {@code db/id-generators.sql}, which seeds the rows
+ * {@code ALLOCATION_SIZE + 1} above the ids in use.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class IdGeneration {
+
+    /**
+     * Table holding one next-value row per entity.
+     */
+    public static final String TABLE = "id_generator";
+
+    /**
+     * Column holding the entity key of a row.
+     */
+    public static final String KEY_COLUMN = "sequence_name";
+
+    /**
+     * Column holding the next value of a row.
+     */
+    public static final String VALUE_COLUMN = "next_val";
+
+    /**
+     * Number of ids reserved per generator round trip.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {}
+}
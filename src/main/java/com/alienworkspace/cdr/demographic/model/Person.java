@@ -3,6 +3,7 @@ package com.alienworkspace.cdr.demographic.model;
 import com.alienworkspace.cdr.demographic.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,9 +11,16 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashSet;
@@ -23,6 +31,10 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
 
 /**
  * Represents a person in the CDR system. This is the entity that
@@ -36,11 +48,55 @@ import lombok.Setter;
 @Builder
 @Entity
 @SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
-@Table(name = "person")
+@Table(name = "person", indexes = {
+    @Index(name = "idx_person_created_at", columnList = "created_at"),
+    @Index(name = "idx_person_last_modified_at", columnList = "last_modified_at"),
+    @Index(name = "idx_person_birth_date", columnList = "birth_date, person_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON)
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Person.GRAPH_NAMES, attributeNodes = @NamedAttributeNode("names")),
+    @NamedEntityGraph(name = Person.GRAPH_ADDRESSES, attributeNodes = @NamedAttributeNode("addresses")),
+    @NamedEntityGraph(name = Person.GRAPH_ATTRIBUTES,
+            attributeNodes = @NamedAttributeNode(value = "attributes", subgraph = "attributeType"),
+            subgraphs = @NamedSubgraph(name = "attributeType",
+                    attributeNodes = @NamedAttributeNode("personAttributeType")))
+})
+@FilterDef(name = Person.FILTER_PREFERRED_ONLY)
+@FilterDef(name = Person.FILTER_ACTIVE_ONLY)
 public class Person extends AuditTrail {
 
+    /**
+     * Entity graph loading the person with its names.
+     */
+    public static final String GRAPH_NAMES = "Person.names";
+
+    /**
+     * Entity graph loading the person with its addresses.
+     */
+    public static final String GRAPH_ADDRESSES = "Person.addresses";
+
+    /**
+     * Entity graph loading the person with its attributes and their types.
+     */
+    public static final String GRAPH_ATTRIBUTES = "Person.attributes";
+
+    /**
+     * Session filter restricting the names, addresses and attributes collections to preferred rows.
+     */
+    public static final String FILTER_PREFERRED_ONLY = "preferredOnly";
+
+    /**
+     * Session filter restricting the names, addresses and attributes collections to non-voided rows.
+     */
+    public static final String FILTER_ACTIVE_ONLY = "activeOnly";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_id")
+    @TableGenerator(name = "person_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.KEY_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "person",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "person_id")
     @Getter
     private long personId;
@@ -65,21 +121,40 @@ public class Person extends AuditTrail {
     @Column(name = "cause_of_death")
     private String causeOfDeath;
 
+    /**
+     * Version of the whole aggregate. Every change to the person or to one of their names, addresses or
+     * attributes increments it, so that concurrent changes to the same person conflict instead of overwriting
+     * each other.
+     */
+    @Version
+    @Getter
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Setter
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id", nullable = false)
+    @Filter(name = FILTER_PREFERRED_ONLY, condition = "preferred = true")
+    @Filter(name = FILTER_ACTIVE_ONLY, condition = "voided = false")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_NAMES)
     @Builder.Default
     private Set<PersonName> names = new HashSet<>();
 
     @Setter
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
+    @Filter(name = FILTER_PREFERRED_ONLY, condition = "preferred = true")
+    @Filter(name = FILTER_ACTIVE_ONLY, condition = "voided = false")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ADDRESSES)
     @Builder.Default
     private Set<PersonAddress> addresses = new HashSet<>();
 
     @Setter
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
+    @Filter(name = FILTER_PREFERRED_ONLY, condition = "preferred = true")
+    @Filter(name = FILTER_ACTIVE_ONLY, condition = "voided = false")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ATTRIBUTES)
     @Builder.Default
     private Set<PersonAttribute> attributes = new HashSet<>();
 
@@ -2,21 +2,29 @@ package com.alienworkspace.cdr.demographic.model;
 
 import com.alienworkspace.cdr.demographic.model.audit.AuditTrail;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents the address of a person.
@@ -28,6 +36,14 @@ import lombok.Setter;
  */
 @Builder
 @Entity(name = "person_address")
+@Table(name = "person_address", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_person_address_preferred", columnNames = {"person_id", "preferred_flag"})
+}, indexes = {
+    @Index(name = "idx_person_address_created_at", columnList = "created_at"),
+    @Index(name = "idx_person_address_last_modified_at", columnList = "last_modified_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ADDRESS)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,7 +52,10 @@ import lombok.Setter;
 public class PersonAddress extends AuditTrail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_address_id")
+    @TableGenerator(name = "person_address_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.KEY_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "person_address",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "person_address_id")
     private long personAddressId;
 
@@ -47,6 +66,16 @@ public class PersonAddress extends AuditTrail {
 
     private boolean preferred;
 
+    /**
+     * Generated by the database as {@code 1} while the address is preferred and {@code null} otherwise, so that the
+     * unique key on the person and this column allows at most one preferred address per person.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "preferred_flag", insertable = false, updatable = false,
+            columnDefinition = "tinyint generated always as (if(preferred, 1, null)) stored")
+    private Integer preferredFlag;
+
     @Column(name = "country_id")
     private int country;
 
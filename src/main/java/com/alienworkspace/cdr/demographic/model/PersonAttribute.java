@@ -2,25 +2,40 @@ package com.alienworkspace.cdr.demographic.model;
 
 import com.alienworkspace.cdr.demographic.model.audit.AuditTrail;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a person attribute in the CDR system. This is the entity that
  * represents a person attribute in the CDR system.
  *
+ * <p>The value is also stored normalized according to the format of its type, and indexed together with the
+ * type, so that people can be looked up by national ID, phone number or hospital number.</p>
+ *
+ * <p>Non-voided values of attribute types with unique values are also kept in a generated column under a unique
+ * key, so that the database refuses a second holder even when two writes pass the service checks at once.</p>
+ *
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Getter
@@ -29,11 +44,31 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "person_attribute")
+@Table(name = "person_attribute", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_person_attribute_preferred",
+            columnNames = {"person_id", "person_attribute_type_id", "preferred_flag"}),
+    @UniqueConstraint(name = PersonAttribute.UNIQUE_VALUE_KEY,
+            columnNames = {"person_attribute_type_id", "unique_value"})
+}, indexes = {
+    @Index(name = "idx_person_attribute_type_value", columnList = "person_attribute_type_id, normalized_value"),
+    @Index(name = "idx_person_attribute_created_at", columnList = "created_at"),
+    @Index(name = "idx_person_attribute_last_modified_at", columnList = "last_modified_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ATTRIBUTE)
 @SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
 public class PersonAttribute extends AuditTrail {
 
+    /**
+     * Name of the unique key on the values of attribute types with unique values.
+     */
+    public static final String UNIQUE_VALUE_KEY = "uk_person_attribute_unique_value";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_attribute_id")
+    @TableGenerator(name = "person_attribute_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.KEY_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "person_attribute",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "person_attribute_id")
     private long personAttributeId;
 
@@ -50,5 +85,47 @@ public class PersonAttribute extends AuditTrail {
     @Column(name = "attribute_value")
     private String attributeValue;
 
+    @Column(name = "normalized_value")
+    private String normalizedValue;
+
     private boolean preferred;
+
+    /**
+     * Generated by the database as {@code 1} while the attribute is preferred and {@code null} otherwise, so that
+     * the unique key on the person, the attribute type and this column allows at most one preferred attribute per
+     * person and type.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "preferred_flag", insertable = false, updatable = false,
+            columnDefinition = "tinyint generated always as (if(preferred, 1, null)) stored")
+    private Integer preferredFlag;
+
+    /**
+     * Whether the values of the attribute type had to be unique when the attribute was written. Set from the
+     * attribute type row while it is locked, and for every attribute of a type when its uniqueness changes.
+     */
+    @Column(name = "unique_scope", nullable = false)
+    private boolean uniqueScope;
+
+    /**
+     * Generated by the database as the normalized value while the attribute is in a unique scope and not voided,
+     * and {@code null} otherwise, so that the unique key on the attribute type and this column allows each such
+     * value to be held once.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "unique_value", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as "
+                    + "(if(unique_scope and not voided, normalized_value, null)) stored")
+    private String uniqueValue;
+
+    /**
+     * Normalizes the attribute value according to the format of its type.
+     */
+    @PrePersist
+    public void normalizeAttributeValue() {
+        String format = personAttributeType == null ? null : personAttributeType.getFormat();
+        this.normalizedValue = AttributeFormat.of(format).normalize(attributeValue);
+    }
 }
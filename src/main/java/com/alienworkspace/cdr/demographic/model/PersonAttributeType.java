@@ -1,16 +1,20 @@
 package com.alienworkspace.cdr.demographic.model;
 
 import com.alienworkspace.cdr.demographic.model.audit.AuditTrail;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a person attribute type in the CDR system. This is the entity
@@ -24,13 +28,24 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "person_attribute_type")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ATTRIBUTE_TYPE)
 public class PersonAttributeType extends AuditTrail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_attribute_type_id")
+    @TableGenerator(name = "person_attribute_type_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.KEY_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "person_attribute_type", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "person_attribute_type_id")
     private int personAttributeTypeId;
     private String name;
     private String description;
     private String format;
+
+    /**
+     * Whether a normalized value of this type may be held by one person only.
+     */
+    @Column(name = "unique_values")
+    private boolean uniqueValues;
 }
@@ -0,0 +1,64 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A pair of registered people that the duplicate scan found likely to be the same person.
+ *
+ * <p>Each pair is stored once per scan, with the lower person ID first. A completed scan removes the rows of the
+ * scans before it.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "person_duplicate_candidate", indexes = {
+    @Index(name = "idx_duplicate_candidate_person", columnList = "person_id"),
+    @Index(name = "idx_duplicate_candidate_other_person", columnList = "other_person_id"),
+    @Index(name = "idx_duplicate_candidate_scan", columnList = "scan_id")
+})
+public class PersonDuplicateCandidate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_duplicate_candidate_id")
+    @TableGenerator(name = "person_duplicate_candidate_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.KEY_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "person_duplicate_candidate", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    @Column(name = "person_duplicate_candidate_id")
+    private long personDuplicateCandidateId;
+
+    @Column(name = "person_id", nullable = false)
+    private long personId;
+
+    @Column(name = "other_person_id", nullable = false)
+    private long otherPersonId;
+
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+
+    /**
+     * The scan that found the pair; {@code null} on pairs written before scans were recorded.
+     */
+    @Column(name = "scan_id")
+    private Long scanId;
+}
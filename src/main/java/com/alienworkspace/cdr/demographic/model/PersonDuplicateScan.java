@@ -0,0 +1,72 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A run of the duplicate scan, with its progress.
+ *
+ * <p>The candidate pairs a scan finds are written under its ID while it runs. Readers only see the pairs of the
+ * latest completed scan, so the pairs of a scan that is still running or has failed are never served.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "person_duplicate_scan", indexes = {
+    @Index(name = "idx_duplicate_scan_status", columnList = "status, finished_at")
+})
+public class PersonDuplicateScan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_duplicate_scan_id")
+    @TableGenerator(name = "person_duplicate_scan_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.KEY_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "person_duplicate_scan", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    @Column(name = "person_duplicate_scan_id")
+    private long personDuplicateScanId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private DuplicateScanResult.Status status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "people", nullable = false)
+    private long people;
+
+    @Column(name = "blocks", nullable = false)
+    private long blocks;
+
+    @Column(name = "comparisons", nullable = false)
+    private long comparisons;
+
+    @Column(name = "candidate_pairs", nullable = false)
+    private long candidatePairs;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+}
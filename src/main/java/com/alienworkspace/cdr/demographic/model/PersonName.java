@@ -3,21 +3,29 @@ package com.alienworkspace.cdr.demographic.model;
 import com.alienworkspace.cdr.demographic.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.util.Objects;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a name for a person.
@@ -33,11 +41,22 @@ import lombok.Setter;
 @NoArgsConstructor
 @Builder
 @Entity(name = "person_name")
+@Table(name = "person_name", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_person_name_preferred", columnNames = {"person_id", "preferred_flag"})
+}, indexes = {
+    @Index(name = "idx_person_name_created_at", columnList = "created_at"),
+    @Index(name = "idx_person_name_last_modified_at", columnList = "last_modified_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_NAME)
 @SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
 public class PersonName extends AuditTrail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_name_id")
+    @TableGenerator(name = "person_name_id", table = IdGeneration.TABLE, pkColumnName = IdGeneration.KEY_COLUMN,
+            valueColumnName = IdGeneration.VALUE_COLUMN, pkColumnValue = "person_name",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "person_name_id")
     private long personNameId;
 
@@ -60,6 +79,16 @@ public class PersonName extends AuditTrail {
 
     private boolean preferred;
 
+    /**
+     * Generated by the database as {@code 1} while the name is preferred and {@code null} otherwise, so that the
+     * unique key on the person and this column allows at most one preferred name per person.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "preferred_flag", insertable = false, updatable = false,
+            columnDefinition = "tinyint generated always as (if(preferred, 1, null)) stored")
+    private Integer preferredFlag;
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof PersonName that)) {
@@ -0,0 +1,76 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A person change event waiting to be published to the broker.
+ *
+ * <p>Rows are written in the transaction that makes the change, so an event exists exactly when its change was
+ * committed. The relay deletes them once the broker has confirmed them.</p>
+ *
+ * <p>IDs come from the pooled table generator, so they do not follow the order events are written in across
+ * instances. The database numbers each row in {@code event_sequence} as it is inserted instead; a change to a
+ * person is only written after the previous change to that person committed, so the sequence orders the events
+ * of each person.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "person_outbox_event")
+public class PersonOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "person_outbox_event_id")
+    @TableGenerator(name = "person_outbox_event_id", table = IdGeneration.TABLE,
+            pkColumnName = IdGeneration.KEY_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+            pkColumnValue = "person_outbox_event", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    @Column(name = "person_outbox_event_id")
+    private long personOutboxEventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private PersonChangeEvent.Type eventType;
+
+    @Column(name = "person_id", nullable = false)
+    private long personId;
+
+    @Column(name = "record_id")
+    private Long recordId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Assigned by the database when the row is inserted. Never read back on insert, so that the events of a
+     * change are still inserted in one JDBC batch.
+     */
+    @Column(name = "event_sequence", insertable = false, updatable = false,
+            columnDefinition = "bigint not null auto_increment unique")
+    private Long eventSequence;
+
+    /**
+     * Set when the event could not be serialized, to keep it out of the batches until it is looked at.
+     */
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+}
@@ -0,0 +1,101 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One row of the denormalized {@code person_summary} table: a person with their preferred name, the location
+ * IDs of their preferred address and their age bucket.
+ *
+ * <p>Rows are never written through this entity. They are replaced from the person tables by
+ * {@link com.alienworkspace.cdr.demographic.repository.PersonSummaryRepositoryCustom#refresh} in the
+ * transaction of every change, and the foreign key deletes the row together with its person.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "person_summary", indexes = {
+    @Index(name = "idx_person_summary_voided", columnList = "voided, person_id"),
+    @Index(name = "idx_person_summary_last_name", columnList = "last_name")
+})
+public class PersonSummaryRow {
+
+    @Id
+    @Column(name = "person_id")
+    private long personId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "person_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Person person;
+
+    @Column(name = "gender", length = 1, nullable = false)
+    private Character gender;
+
+    @Column(name = "birth_date", nullable = false)
+    private LocalDate birthDate;
+
+    /**
+     * The lower bound of the person's ten-year age band, at death for a dead person, as of the last refresh.
+     */
+    @Column(name = "age_bucket")
+    private Integer ageBucket;
+
+    @Column(name = "voided", nullable = false)
+    private boolean voided;
+
+    @Column(name = "person_name_id")
+    private Long personNameId;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "middle_name")
+    private String middleName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "person_address_id")
+    private Long personAddressId;
+
+    @Column(name = "country_id")
+    private Integer countryId;
+
+    @Column(name = "state_id")
+    private Integer stateId;
+
+    @Column(name = "county_id")
+    private Integer countyId;
+
+    @Column(name = "city_id")
+    private Integer cityId;
+
+    @Column(name = "community_id")
+    private Integer communityId;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+}
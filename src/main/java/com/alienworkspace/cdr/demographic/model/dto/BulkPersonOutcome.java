@@ -0,0 +1,36 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The outcome of registering a single record of a bulk load.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPersonOutcome {
+
+    /**
+     * Whether a record was registered.
+     */
+    public enum Status {
+        CREATED,
+        FAILED
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Long personId;
+
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The result of a bulk person load, with one outcome per submitted record in submission order.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class BulkPersonResult {
+
+    private int created;
+
+    private int failed;
+
+    private List<BulkPersonOutcome> outcomes;
+}
@@ -0,0 +1,35 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A request to void many people at once, chosen either by ID or by a filter.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class BulkVoidRequest {
+
+    private List<Long> personIds;
+
+    private PersonVoidFilter filter;
+
+    private RecordVoidRequest voidRequest;
+
+    /**
+     * Whether the names, addresses and attributes of the people are voided too.
+     */
+    private boolean cascade;
+}
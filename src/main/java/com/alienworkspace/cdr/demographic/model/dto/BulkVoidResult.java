@@ -0,0 +1,32 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The number of records changed by a bulk void.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkVoidResult {
+
+    private long people;
+
+    private long names;
+
+    private long addresses;
+
+    private long attributes;
+
+    private int chunks;
+
+    private long durationMillis;
+}
@@ -0,0 +1,50 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress and summary of a duplicate scan over all registered people.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DuplicateScanResult {
+
+    private long scanId;
+
+    private Status status;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private long people;
+
+    private long blocks;
+
+    private long comparisons;
+
+    private long candidatePairs;
+
+    private long durationMillis;
+
+    private String error;
+
+    /**
+     * The state of a scan.
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
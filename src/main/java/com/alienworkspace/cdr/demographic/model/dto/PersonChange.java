@@ -0,0 +1,31 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A person that changed, as listed by the change feed.
+ *
+ * <p>{@code changedAt} is the version of the person: the latest time the person or any of their names,
+ * addresses or attributes was created, modified or voided. A client holding an older version should fetch
+ * the person again, or drop them when {@code voided} is set.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonChange {
+
+    private long personId;
+
+    private LocalDateTime changedAt;
+
+    private boolean voided;
+}
@@ -0,0 +1,63 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A change to a person, published to the broker so that other services do not have to poll for changes.
+ *
+ * <p>Events only name what changed; consumers fetch the person when they need its details. The event ID is
+ * unique, so consumers can drop redeliveries. The sequence increases between the events of a person in the order
+ * their changes were committed, so consumers can drop an event older than one they already applied.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonChangeEvent {
+
+    private long eventId;
+
+    private Type type;
+
+    private long personId;
+
+    /**
+     * The ID of the name, address or attribute the event is about, when the change named one.
+     */
+    private Long recordId;
+
+    private LocalDateTime occurredAt;
+
+    /**
+     * The position of the event in the outbox, assigned by the database when the event was written.
+     */
+    private Long sequence;
+
+    /**
+     * The kinds of change published.
+     */
+    public enum Type {
+        PERSON_CREATED,
+        PERSON_UPDATED,
+        PERSON_VOIDED,
+        NAME_ADDED,
+        NAME_PREFERRED_CHANGED,
+        NAME_VOIDED,
+        ADDRESS_ADDED,
+        ADDRESS_PREFERRED_CHANGED,
+        ADDRESS_VOIDED,
+        ATTRIBUTE_ADDED,
+        ATTRIBUTE_PREFERRED_CHANGED,
+        ATTRIBUTE_VOIDED
+    }
+}
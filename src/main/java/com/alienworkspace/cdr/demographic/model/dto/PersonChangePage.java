@@ -0,0 +1,35 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A keyset-paginated page of the change feed, oldest change first.
+ *
+ * <p>{@code nextCursor} is always set and is passed back as the {@code cursor} request parameter. While
+ * {@code more} is true the following page can be fetched right away; once it is false the client has caught
+ * up and keeps the cursor to poll for newer changes later.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class PersonChangePage {
+
+    private List<PersonChange> content;
+
+    private int size;
+
+    private String nextCursor;
+
+    private boolean more;
+}
@@ -0,0 +1,40 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A registered person that may be the same person as another record, with the linkage score of the pair.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonMatch {
+
+    /**
+     * How confident the linkage is.
+     */
+    public enum Status {
+        /**
+         * The score reached the match threshold.
+         */
+        MATCH,
+        /**
+         * The score reached the review threshold only.
+         */
+        POSSIBLE_MATCH
+    }
+
+    private long personId;
+
+    private double score;
+
+    private Status status;
+}
@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A keyset-paginated page of people.
+ *
+ * <p>{@code nextCursor} is {@code null} on the last page; otherwise it is passed back as the
+ * {@code cursor} request parameter to fetch the following page.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class PersonPage {
+
+    private List<PersonDto> content;
+
+    private int size;
+
+    private String nextCursor;
+}
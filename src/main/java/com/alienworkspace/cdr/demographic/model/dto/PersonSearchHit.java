@@ -0,0 +1,27 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A person matching a name search, with the relevance score the results are ranked by.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class PersonSearchHit {
+
+    private double score;
+
+    private PersonDto person;
+}
@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A person name search.
+ *
+ * <p>Every word of {@code text} must match one of the person's names, either exactly, as a prefix, within
+ * {@code maxEdits} edits or by sound. The optional filters narrow the matches down further.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonSearchQuery {
+
+    private String text;
+
+    private Character gender;
+
+    private LocalDate birthDateFrom;
+
+    private LocalDate birthDateTo;
+
+    /**
+     * Maximum edit distance of a fuzzy match, or null to derive it from the length of each word.
+     */
+    private Integer maxEdits;
+
+    private Integer limit;
+}
@@ -0,0 +1,59 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A narrow view of a person: their demographics, preferred name and the location IDs of their preferred address.
+ *
+ * <p>Summaries are read from the {@code person_summary} table with a constructor projection, so no entity or
+ * collection is loaded and addresses are not enriched from the metadata service. The name and address fields
+ * are null when the person has no non-voided preferred name or address. The constructor argument order is the
+ * projection's column order.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonSummary {
+
+    private Long personId;
+
+    private Character gender;
+
+    private LocalDate birthDate;
+
+    /**
+     * The lower bound of the person's ten-year age band, such as {@code 30} for ages 30 to 39.
+     */
+    private Integer ageBucket;
+
+    private boolean voided;
+
+    private Long personNameId;
+
+    private String firstName;
+
+    private String middleName;
+
+    private String lastName;
+
+    private Long personAddressId;
+
+    private Integer countryId;
+
+    private Integer stateId;
+
+    private Integer countyId;
+
+    private Integer cityId;
+
+    private Integer communityId;
+}
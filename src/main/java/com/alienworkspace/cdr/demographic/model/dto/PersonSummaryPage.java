@@ -0,0 +1,29 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A keyset-paginated page of person summaries, paged like {@link PersonPage}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class PersonSummaryPage {
+
+    private List<PersonSummary> content;
+
+    private int size;
+
+    private String nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Chooses the people of a bulk void by their creation. Unset criteria match every person; at least one must be
+ * set.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonVoidFilter {
+
+    /**
+     * People created at or after this time.
+     */
+    private LocalDateTime createdFrom;
+
+    /**
+     * People created before this time.
+     */
+    private LocalDateTime createdTo;
+
+    /**
+     * People created by this user.
+     */
+    private Long createdBy;
+}
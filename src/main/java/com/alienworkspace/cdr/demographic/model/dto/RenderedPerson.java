@@ -0,0 +1,46 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A fully enriched person as returned by {@code GET /demographic/person/{id}/{includeVoided}}, together with
+ * the time the person or any of their names, addresses and attributes last changed.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class RenderedPerson {
+
+    private final PersonDto person;
+
+    private final boolean includeVoided;
+
+    private final LocalDateTime lastModifiedAt;
+
+    /**
+     * Whether some locations of the addresses could not be resolved, so the addresses lack their names.
+     */
+    private final boolean degraded;
+
+    /**
+     * Returns the strong entity tag of this representation.
+     *
+     * <p>The tag changes whenever the aggregate is modified, and differs between the representations with
+     * and without voided records.</p>
+     *
+     * @return the quoted entity tag
+     */
+    public String getEtag() {
+        return String.format("\"%d-%s-%d.%06d\"", person.getPersonId(), includeVoided ? "all" : "active",
+                lastModifiedAt.toEpochSecond(ZoneOffset.UTC), lastModifiedAt.getNano() / 1_000);
+    }
+}
@@ -0,0 +1,28 @@
+package com.alienworkspace.cdr.demographic.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The outcome of a rebuild of the {@code person_summary} table.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SummaryRebuildResult {
+
+    private long people;
+
+    private int chunks;
+
+    private long removed;
+
+    private long durationMillis;
+}
@@ -0,0 +1,28 @@
+package com.alienworkspace.cdr.demographic.model.location;
+
+import com.alienworkspace.cdr.demographic.model.PersonAddress;
+
+/**
+ * Identifies a location in the metadata service by its full
+ * (country, state, county, city, community) path.
+ *
+ * @param country the country ID
+ * @param state the state ID
+ * @param county the county ID
+ * @param city the city ID
+ * @param community the community ID
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record LocationKey(int country, int state, int county, int city, int community) {
+
+    /**
+     * Builds the location key of a person address.
+     *
+     * @param address the person address
+     * @return the location key of the address
+     */
+    public static LocationKey of(PersonAddress address) {
+        return new LocationKey(address.getCountry(), address.getState(), address.getCounty(),
+                address.getCity(), address.getCommunity());
+    }
+}
@@ -0,0 +1,125 @@
+package com.alienworkspace.cdr.demographic.model.location;
+
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAddressDto;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The names of every level of a {@link LocationKey}, resolved from the metadata service.
+ *
+ * <p>Each level only carries its ID and name, so cached instances stay small. Levels the
+ * metadata service does not know about are left {@code null}.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public final class ResolvedLocation {
+
+    /**
+     * A location with no resolved levels.
+     */
+    public static final ResolvedLocation EMPTY = new ResolvedLocation(null, null, null, null, null);
+
+    private final CountryDto country;
+    private final StateDto state;
+    private final CountyDto county;
+    private final CityDto city;
+    private final CommunityDto community;
+
+    /**
+     * Resolves the levels of the given key from a country tree returned by the metadata service.
+     *
+     * <p>Each level of the tree is indexed by ID once, so every level is found with a single map lookup
+     * instead of a linear scan.</p>
+     *
+     * @param key the location to resolve
+     * @param countryDto the country tree returned by the metadata service
+     * @return the resolved location
+     */
+    public static ResolvedLocation from(LocationKey key, CountryDto countryDto) {
+        if (countryDto == null) {
+            return EMPTY;
+        }
+        CountryDto country = CountryDto.builder()
+                .countryId(key.country())
+                .countryName(countryDto.getCountryName())
+                .build();
+        StateDto stateDto = index(countryDto.getStates(), StateDto::getStateId).get(key.state());
+        if (stateDto == null) {
+            return new ResolvedLocation(country, null, null, null, null);
+        }
+        StateDto state = StateDto.builder()
+                .stateId(key.state())
+                .stateName(stateDto.getStateName())
+                .build();
+        CountyDto countyDto = index(stateDto.getCounties(), CountyDto::getCountyId).get(key.county());
+        if (countyDto == null) {
+            return new ResolvedLocation(country, state, null, null, null);
+        }
+        CountyDto county = CountyDto.builder()
+                .countyId(key.county())
+                .countyName(countyDto.getCountyName())
+                .build();
+        CityDto cityDto = index(countyDto.getCities(), CityDto::getCityId).get(key.city());
+        if (cityDto == null) {
+            return new ResolvedLocation(country, state, county, null, null);
+        }
+        CityDto city = CityDto.builder()
+                .cityId(key.city())
+                .cityName(cityDto.getCityName())
+                .build();
+        CommunityDto communityDto = index(cityDto.getCommunities(), CommunityDto::getCommunityId)
+                .get(key.community());
+        CommunityDto community = communityDto == null ? null : CommunityDto.builder()
+                .communityId(key.community())
+                .communityName(communityDto.getCommunityName())
+                .build();
+        return new ResolvedLocation(country, state, county, city, community);
+    }
+
+    /**
+     * Copies the resolved levels onto the given address.
+     *
+     * @param personAddressDto the address to enrich
+     */
+    public void applyTo(PersonAddressDto personAddressDto) {
+        if (country != null) {
+            personAddressDto.setCountry(country);
+        }
+        if (state != null) {
+            personAddressDto.setState(state);
+        }
+        if (county != null) {
+            personAddressDto.setCounty(county);
+        }
+        if (city != null) {
+            personAddressDto.setCity(city);
+        }
+        if (community != null) {
+            personAddressDto.setCommunity(community);
+        }
+    }
+
+    private static <T> Map<Integer, T> index(Collection<T> nodes, Function<T, Integer> idOf) {
+        if (nodes == null || nodes.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, T> indexed = new HashMap<>(nodes.size() * 4 / 3 + 1);
+        for (T node : nodes) {
+            indexed.putIfAbsent(idOf.apply(node), node);
+        }
+        return indexed;
+    }
+}
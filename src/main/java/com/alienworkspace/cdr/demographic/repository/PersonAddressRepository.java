@@ -0,0 +1,123 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonAddress;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for changing the addresses of a person without loading all of their addresses.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonAddressRepository extends JpaRepository<PersonAddress, Long> {
+
+    /**
+     * Retrieves an address of a person together with the person.
+     *
+     * @param personId the ID of the person
+     * @param personAddressId the ID of the address
+     * @return the address, or empty if the person has no address with that ID
+     */
+    @Query("SELECT a FROM person_address a JOIN FETCH a.person "
+            + "WHERE a.personAddressId = :personAddressId AND a.person.personId = :personId")
+    Optional<PersonAddress> findOfPerson(long personId, long personAddressId);
+
+    /**
+     * Unsets the preferred flag on the preferred addresses of a person in one indexed update.
+     *
+     * <p>This is a bulk update that bypasses the persistence context, so it must run before the addresses of the
+     * person are loaded in the transaction.</p>
+     *
+     * @param personId the ID of the person
+     * @return the number of addresses changed
+     */
+    @Modifying
+    @Query("UPDATE person_address a SET a.preferred = false "
+            + "WHERE a.person.personId = :personId AND a.preferred = true")
+    int clearPreferred(long personId);
+
+    /**
+     * Makes an address of a person preferred in one update. Clear the preferred address first, as the unique key on
+     * the person and the preferred flag refuses a second preferred address.
+     *
+     * @param personId the ID of the person
+     * @param personAddressId the ID of the address
+     * @param lastModifiedAt the time of the change
+     * @param lastModifiedBy the ID of the user making the change
+     * @return the number of addresses changed, {@code 0} if the person has no address with that ID
+     */
+    @Modifying
+    @Query("UPDATE person_address a SET a.preferred = true, a.lastModifiedAt = :lastModifiedAt, "
+            + "a.lastModifiedBy = :lastModifiedBy "
+            + "WHERE a.personAddressId = :personAddressId AND a.person.personId = :personId")
+    int markPreferred(long personId, long personAddressId, LocalDateTime lastModifiedAt, long lastModifiedBy);
+
+    /**
+     * Voids the non-voided addresses of the given people in one set-based update, without loading them. The
+     * bulk update bypasses auditing, so it stamps the void as the last modification itself.
+     *
+     * @param personIds the IDs of the people
+     * @param voidedAt the time of the void
+     * @param voidedBy the ID of the user voiding the addresses
+     * @param voidReason the reason for the void
+     * @return the number of addresses voided
+     */
+    @Modifying
+    @Query("UPDATE person_address a SET a.voided = true, a.voidedAt = :voidedAt, a.voidedBy = :voidedBy, "
+            + "a.voidReason = :voidReason, a.lastModifiedAt = :voidedAt, a.lastModifiedBy = :voidedBy "
+            + "WHERE a.person.personId IN :personIds AND a.voided = false")
+    int voidOfPersons(Collection<Long> personIds, LocalDateTime voidedAt, long voidedBy, String voidReason);
+
+    /**
+     * Retrieves the postal codes and street lines of the non-voided addresses of the given people, without
+     * loading them.
+     *
+     * @param personIds the IDs of the people
+     * @return the addresses of the people
+     */
+    @Query("SELECT a.person.personId AS personId, a.city AS city, a.postalCode AS postalCode, "
+            + "a.addressLine1 AS addressLine1 "
+            + "FROM person_address a WHERE a.person.personId IN :personIds AND a.voided = false")
+    List<LinkageAddress> findLinkageAddresses(Collection<Long> personIds);
+
+    /**
+     * The parts of an address that take part in record linkage.
+     */
+    interface LinkageAddress {
+
+        /**
+         * Returns the ID of the person the address belongs to.
+         *
+         * @return the person ID
+         */
+        Long getPersonId();
+
+        /**
+         * Returns the city ID of the address.
+         *
+         * @return the city ID
+         */
+        Integer getCity();
+
+        /**
+         * Returns the postal code.
+         *
+         * @return the postal code
+         */
+        String getPostalCode();
+
+        /**
+         * Returns the first street line.
+         *
+         * @return the street line
+         */
+        String getAddressLine1();
+    }
+}
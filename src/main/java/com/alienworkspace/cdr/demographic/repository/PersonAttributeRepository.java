@@ -0,0 +1,263 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for looking people up by their attribute values.
+ *
+ * <p>The lookups go through the index on the attribute type and the normalized value, so callers must
+ * normalize the values with the format of the attribute type first. It also changes the attributes of a person
+ * without loading all of their attributes.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonAttributeRepository extends JpaRepository<PersonAttribute, Long> {
+
+    /**
+     * Retrieves the non-voided people holding any of the given normalized values of an attribute type.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param normalizedValues the normalized values to look up
+     * @return one holder per non-voided attribute holding one of the values
+     */
+    @Query("SELECT a.normalizedValue AS normalizedValue, a.person.personId AS personId FROM person_attribute a "
+            + "WHERE a.personAttributeType.personAttributeTypeId = :personAttributeTypeId "
+            + "AND a.normalizedValue IN :normalizedValues "
+            + "AND a.voided = false AND a.person.voided = false")
+    List<AttributeHolder> findHolders(int personAttributeTypeId, Collection<String> normalizedValues);
+
+    /**
+     * Retrieves the normalized values of an attribute type that more than one non-voided person holds.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param limit the maximum number of values to return
+     * @return the values held by several people
+     */
+    @Query("SELECT a.normalizedValue FROM person_attribute a "
+            + "WHERE a.personAttributeType.personAttributeTypeId = :personAttributeTypeId "
+            + "AND a.normalizedValue IS NOT NULL AND a.voided = false AND a.person.voided = false "
+            + "GROUP BY a.normalizedValue HAVING COUNT(DISTINCT a.person.personId) > 1")
+    List<String> findSharedValues(int personAttributeTypeId, Limit limit);
+
+    /**
+     * Retrieves the attributes whose value has not been normalized yet, after the given ID, in ascending order.
+     *
+     * @param afterId the last attribute ID of the previous chunk, or {@code 0} for the first chunk
+     * @param limit the maximum number of attributes to return
+     * @return the next chunk of attributes
+     */
+    @Query("SELECT a.personAttributeId AS personAttributeId, a.attributeValue AS attributeValue, "
+            + "t.format AS format FROM person_attribute a JOIN a.personAttributeType t "
+            + "WHERE a.normalizedValue IS NULL AND a.attributeValue IS NOT NULL AND a.personAttributeId > :afterId "
+            + "ORDER BY a.personAttributeId")
+    List<AttributeValue> findUnnormalizedAfter(long afterId, Limit limit);
+
+    /**
+     * Retrieves the attributes of an attribute type after the given ID, in ascending order.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param afterId the last attribute ID of the previous chunk, or {@code 0} for the first chunk
+     * @param limit the maximum number of attributes to return
+     * @return the next chunk of attributes
+     */
+    @Query("SELECT a.personAttributeId AS personAttributeId, a.attributeValue AS attributeValue, "
+            + "t.format AS format FROM person_attribute a JOIN a.personAttributeType t "
+            + "WHERE t.personAttributeTypeId = :personAttributeTypeId AND a.personAttributeId > :afterId "
+            + "ORDER BY a.personAttributeId")
+    List<AttributeValue> findByTypeAfter(int personAttributeTypeId, long afterId, Limit limit);
+
+    /**
+     * Stores the normalized value of an attribute.
+     *
+     * <p>This is a bulk update, so the auditing columns of the attribute are left as they are.</p>
+     *
+     * @param personAttributeId the ID of the attribute
+     * @param normalizedValue the normalized value
+     */
+    @Modifying
+    @Query("UPDATE person_attribute a SET a.normalizedValue = :normalizedValue "
+            + "WHERE a.personAttributeId = :personAttributeId")
+    void updateNormalizedValue(long personAttributeId, String normalizedValue);
+
+    /**
+     * Retrieves an attribute of a person together with the person and the attribute type.
+     *
+     * @param personId the ID of the person
+     * @param personAttributeId the ID of the attribute
+     * @return the attribute, or empty if the person has no attribute with that ID
+     */
+    @Query("SELECT a FROM person_attribute a JOIN FETCH a.person JOIN FETCH a.personAttributeType "
+            + "WHERE a.personAttributeId = :personAttributeId AND a.person.personId = :personId")
+    Optional<PersonAttribute> findOfPerson(long personId, long personAttributeId);
+
+    /**
+     * Unsets the preferred flag on the preferred attributes of a person of an attribute type in one indexed update.
+     *
+     * <p>This is a bulk update that bypasses the persistence context, so it must run before the attributes of the
+     * person are loaded in the transaction.</p>
+     *
+     * @param personId the ID of the person
+     * @param personAttributeTypeId the ID of the attribute type
+     * @return the number of attributes changed
+     */
+    @Modifying
+    @Query("UPDATE person_attribute a SET a.preferred = false WHERE a.person.personId = :personId "
+            + "AND a.personAttributeType.personAttributeTypeId = :personAttributeTypeId AND a.preferred = true")
+    int clearPreferred(long personId, int personAttributeTypeId);
+
+    /**
+     * Makes an attribute of a person preferred in one update. Clear the preferred attribute of its type first, as
+     * the unique key on the person, the attribute type and the preferred flag refuses a second preferred attribute.
+     *
+     * @param personId the ID of the person
+     * @param personAttributeId the ID of the attribute
+     * @param lastModifiedAt the time of the change
+     * @param lastModifiedBy the ID of the user making the change
+     * @return the number of attributes changed, {@code 0} if the person has no attribute with that ID
+     */
+    @Modifying
+    @Query("UPDATE person_attribute a SET a.preferred = true, a.lastModifiedAt = :lastModifiedAt, "
+            + "a.lastModifiedBy = :lastModifiedBy "
+            + "WHERE a.personAttributeId = :personAttributeId AND a.person.personId = :personId")
+    int markPreferred(long personId, long personAttributeId, LocalDateTime lastModifiedAt, long lastModifiedBy);
+
+    /**
+     * Voids the non-voided attributes of the given people in one set-based update, without loading them. The
+     * bulk update bypasses auditing, so it stamps the void as the last modification itself.
+     *
+     * @param personIds the IDs of the people
+     * @param voidedAt the time of the void
+     * @param voidedBy the ID of the user voiding the attributes
+     * @param voidReason the reason for the void
+     * @return the number of attributes voided
+     */
+    @Modifying
+    @Query("UPDATE person_attribute a SET a.voided = true, a.voidedAt = :voidedAt, a.voidedBy = :voidedBy, "
+            + "a.voidReason = :voidReason, a.lastModifiedAt = :voidedAt, a.lastModifiedBy = :voidedBy "
+            + "WHERE a.person.personId IN :personIds AND a.voided = false")
+    int voidOfPersons(Collection<Long> personIds, LocalDateTime voidedAt, long voidedBy, String voidReason);
+
+    /**
+     * Sets whether the attributes of an attribute type are in the unique scope, after its uniqueness changed.
+     *
+     * <p>The unique key on the values is checked as the rows are updated, so turning uniqueness on fails if a
+     * value is held more than once.</p>
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param uniqueScope whether the values of the attribute type must be unique
+     * @return the number of attributes updated
+     */
+    @Modifying
+    @Query("UPDATE person_attribute a SET a.uniqueScope = :uniqueScope "
+            + "WHERE a.personAttributeType.personAttributeTypeId = :personAttributeTypeId "
+            + "AND a.uniqueScope <> :uniqueScope")
+    int setUniqueScope(int personAttributeTypeId, boolean uniqueScope);
+
+    /**
+     * Puts the attributes of every attribute type with unique values in the unique scope, for the attributes
+     * written before the scope was kept.
+     *
+     * @return the number of attributes updated
+     */
+    @Modifying
+    @Query("UPDATE person_attribute a SET a.uniqueScope = true WHERE a.uniqueScope = false "
+            + "AND a.personAttributeType.personAttributeTypeId IN "
+            + "(SELECT t.personAttributeTypeId FROM person_attribute_type t WHERE t.uniqueValues = true)")
+    int markUniqueScopes();
+
+    /**
+     * A person holding a normalized attribute value.
+     */
+    interface AttributeHolder {
+
+        /**
+         * Returns the normalized value.
+         *
+         * @return the normalized value
+         */
+        String getNormalizedValue();
+
+        /**
+         * Returns the ID of the person holding the value.
+         *
+         * @return the person ID
+         */
+        Long getPersonId();
+    }
+
+    /**
+     * The raw value of an attribute and the format of its type.
+     */
+    interface AttributeValue {
+
+        /**
+         * Returns the ID of the attribute.
+         *
+         * @return the attribute ID
+         */
+        Long getPersonAttributeId();
+
+        /**
+         * Returns the value as entered.
+         *
+         * @return the attribute value
+         */
+        String getAttributeValue();
+
+        /**
+         * Returns the format of the attribute type.
+         *
+         * @return the format
+         */
+        String getFormat();
+    }
+
+    /**
+     * Retrieves the values of the non-voided attributes of the given people, without loading them.
+     *
+     * @param personIds the IDs of the people
+     * @return the attribute values of the people
+     */
+    @Query("SELECT a.person.personId AS personId, "
+            + "a.personAttributeType.personAttributeTypeId AS personAttributeTypeId, "
+            + "a.attributeValue AS attributeValue "
+            + "FROM person_attribute a WHERE a.person.personId IN :personIds AND a.voided = false")
+    List<LinkageAttribute> findLinkageAttributes(Collection<Long> personIds);
+
+    /**
+     * An attribute value that takes part in record linkage.
+     */
+    interface LinkageAttribute {
+
+        /**
+         * Returns the ID of the person holding the value.
+         *
+         * @return the person ID
+         */
+        Long getPersonId();
+
+        /**
+         * Returns the ID of the attribute type.
+         *
+         * @return the attribute type ID
+         */
+        Integer getPersonAttributeTypeId();
+
+        /**
+         * Returns the value as entered.
+         *
+         * @return the attribute value
+         */
+        String getAttributeValue();
+    }
+}
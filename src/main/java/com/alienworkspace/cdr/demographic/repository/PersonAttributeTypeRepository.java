@@ -1,7 +1,13 @@
 package com.alienworkspace.cdr.demographic.repository;
 
 import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,4 +21,50 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface PersonAttributeTypeRepository extends JpaRepository<PersonAttributeType, Integer> {
+
+    /**
+     * Retrieves an attribute type and locks its row until the transaction ends, so that no attribute of the
+     * type is written while its uniqueness changes.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @return the attribute type, or empty if there is none with that ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM person_attribute_type t WHERE t.personAttributeTypeId = :personAttributeTypeId")
+    Optional<PersonAttributeType> findForUpdate(int personAttributeTypeId);
+
+    /**
+     * Reads whether the given attribute types have unique values, with a shared lock on their rows until the
+     * transaction ends.
+     *
+     * <p>Attributes written under the lock see the uniqueness every concurrent change committed before it, and
+     * no change can commit until they do. The rows are read from the database, never from a cache.</p>
+     *
+     * @param personAttributeTypeIds the IDs of the attribute types
+     * @return the uniqueness of each attribute type found
+     */
+    @Query(value = "SELECT person_attribute_type_id AS personAttributeTypeId, unique_values AS uniqueValues "
+            + "FROM person_attribute_type WHERE person_attribute_type_id IN (:personAttributeTypeIds) FOR SHARE",
+            nativeQuery = true)
+    List<Uniqueness> lockUniqueness(Collection<Integer> personAttributeTypeIds);
+
+    /**
+     * Whether the values of an attribute type must be unique.
+     */
+    interface Uniqueness {
+
+        /**
+         * Returns the ID of the attribute type.
+         *
+         * @return the attribute type ID
+         */
+        Integer getPersonAttributeTypeId();
+
+        /**
+         * Returns whether the values of the attribute type must be unique.
+         *
+         * @return whether the values are unique
+         */
+        Boolean getUniqueValues();
+    }
 }
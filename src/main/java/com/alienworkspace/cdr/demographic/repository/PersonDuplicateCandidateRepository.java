@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonDuplicateCandidate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the candidate pairs written by the duplicate scan.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonDuplicateCandidateRepository extends JpaRepository<PersonDuplicateCandidate, Long> {
+
+    /**
+     * Retrieves the candidate pairs a scan found for a person, best score first.
+     *
+     * @param scanId the ID of the scan
+     * @param personId the ID of the person
+     * @return the pairs holding the person on either side
+     */
+    @Query("SELECT c FROM PersonDuplicateCandidate c "
+            + "WHERE c.scanId = :scanId AND (c.personId = :personId OR c.otherPersonId = :personId) "
+            + "ORDER BY c.score DESC")
+    List<PersonDuplicateCandidate> findByPerson(long scanId, long personId);
+
+    /**
+     * Deletes up to {@code limit} candidate pairs that do not belong to the given scan. Called repeatedly, in
+     * short transactions, until it deletes fewer rows than the limit.
+     *
+     * @param scanId the ID of the scan whose pairs are kept
+     * @param limit the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM person_duplicate_candidate WHERE scan_id IS NULL OR scan_id <> :scanId "
+            + "LIMIT :limit", nativeQuery = true)
+    int deleteOtherScans(long scanId, int limit);
+}
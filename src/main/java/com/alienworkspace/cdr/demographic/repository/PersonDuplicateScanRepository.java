@@ -0,0 +1,24 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonDuplicateScan;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the runs of the duplicate scan.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonDuplicateScanRepository extends JpaRepository<PersonDuplicateScan, Long> {
+
+    /**
+     * Retrieves the scan in the given state that finished last.
+     *
+     * @param status the state of the scan
+     * @return the scan, or empty if no scan is in that state
+     */
+    Optional<PersonDuplicateScan> findFirstByStatusOrderByFinishedAtDesc(DuplicateScanResult.Status status);
+}
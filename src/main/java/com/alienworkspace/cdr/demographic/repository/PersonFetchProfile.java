@@ -0,0 +1,41 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+/**
+ * Describes how much of the {@code Person} aggregate is loaded with the person row.
+ *
+ * <p>Person collections are lazy, so each service method picks the narrowest profile that covers what it
+ * reads: voiding or updating scalar columns only needs {@link #CORE}, a name change only needs
+ * {@link #NAMES}, and so on.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public enum PersonFetchProfile {
+    /**
+     * The person row only.
+     */
+    CORE,
+    /**
+     * The person and all of its names.
+     */
+    NAMES,
+    /**
+     * The person and all of its addresses.
+     */
+    ADDRESSES,
+    /**
+     * The person, all of its attributes and their attribute types.
+     */
+    ATTRIBUTES,
+    /**
+     * The person with all of its names, addresses and attributes, loaded with one query per collection.
+     */
+    FULL,
+    /**
+     * The person with only its preferred names, addresses and attributes. The returned person is detached.
+     */
+    PREFERRED_ONLY,
+    /**
+     * The person with only its non-voided names, addresses and attributes. The returned person is detached.
+     */
+    ACTIVE_ONLY
+}
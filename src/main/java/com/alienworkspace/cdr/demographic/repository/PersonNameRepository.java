@@ -0,0 +1,114 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for changing the names of a person without loading all of their names.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonNameRepository extends JpaRepository<PersonName, Long> {
+
+    /**
+     * Retrieves a name of a person together with the person.
+     *
+     * @param personId the ID of the person
+     * @param personNameId the ID of the name
+     * @return the name, or empty if the person has no name with that ID
+     */
+    @Query("SELECT n FROM person_name n JOIN FETCH n.person "
+            + "WHERE n.personNameId = :personNameId AND n.person.personId = :personId")
+    Optional<PersonName> findOfPerson(long personId, long personNameId);
+
+    /**
+     * Unsets the preferred flag on the preferred names of a person in one indexed update.
+     *
+     * <p>This is a bulk update that bypasses the persistence context, so it must run before the names of the
+     * person are loaded in the transaction.</p>
+     *
+     * @param personId the ID of the person
+     * @return the number of names changed
+     */
+    @Modifying
+    @Query("UPDATE person_name n SET n.preferred = false "
+            + "WHERE n.person.personId = :personId AND n.preferred = true")
+    int clearPreferred(long personId);
+
+    /**
+     * Makes a name of a person preferred in one update. Clear the preferred name first, as the unique key on
+     * the person and the preferred flag refuses a second preferred name.
+     *
+     * @param personId the ID of the person
+     * @param personNameId the ID of the name
+     * @param lastModifiedAt the time of the change
+     * @param lastModifiedBy the ID of the user making the change
+     * @return the number of names changed, {@code 0} if the person has no name with that ID
+     */
+    @Modifying
+    @Query("UPDATE person_name n SET n.preferred = true, n.lastModifiedAt = :lastModifiedAt, "
+            + "n.lastModifiedBy = :lastModifiedBy "
+            + "WHERE n.personNameId = :personNameId AND n.person.personId = :personId")
+    int markPreferred(long personId, long personNameId, LocalDateTime lastModifiedAt, long lastModifiedBy);
+
+    /**
+     * Voids the non-voided names of the given people in one set-based update, without loading them. The
+     * bulk update bypasses auditing, so it stamps the void as the last modification itself.
+     *
+     * @param personIds the IDs of the people
+     * @param voidedAt the time of the void
+     * @param voidedBy the ID of the user voiding the names
+     * @param voidReason the reason for the void
+     * @return the number of names voided
+     */
+    @Modifying
+    @Query("UPDATE person_name n SET n.voided = true, n.voidedAt = :voidedAt, n.voidedBy = :voidedBy, "
+            + "n.voidReason = :voidReason, n.lastModifiedAt = :voidedAt, n.lastModifiedBy = :voidedBy "
+            + "WHERE n.person.personId IN :personIds AND n.voided = false")
+    int voidOfPersons(Collection<Long> personIds, LocalDateTime voidedAt, long voidedBy, String voidReason);
+
+    /**
+     * Retrieves the first and last names of the non-voided names of the given people, without loading them.
+     *
+     * @param personIds the IDs of the people
+     * @return the names of the people
+     */
+    @Query("SELECT n.person.personId AS personId, n.firstName AS firstName, n.lastName AS lastName "
+            + "FROM person_name n WHERE n.person.personId IN :personIds AND n.voided = false")
+    List<LinkageName> findLinkageNames(Collection<Long> personIds);
+
+    /**
+     * The parts of a name that take part in record linkage.
+     */
+    interface LinkageName {
+
+        /**
+         * Returns the ID of the person the name belongs to.
+         *
+         * @return the person ID
+         */
+        Long getPersonId();
+
+        /**
+         * Returns the first name.
+         *
+         * @return the first name
+         */
+        String getFirstName();
+
+        /**
+         * Returns the last name.
+         *
+         * @return the last name
+         */
+        String getLastName();
+    }
+}
@@ -0,0 +1,38 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the person change events waiting to be published.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonOutboxEventRepository extends JpaRepository<PersonOutboxEvent, Long> {
+
+    /**
+     * Retrieves and locks the oldest events waiting to be published.
+     *
+     * <p>The lock is taken without waiting and without skipping locked rows: while one instance holds the head
+     * of the outbox the others fail fast instead of publishing later events of the same people next to it, so
+     * a single relay drains the outbox at a time.</p>
+     *
+     * @param limit the maximum number of events to return
+     * @return the oldest events that are not parked, in the order they were written
+     * @throws org.springframework.dao.PessimisticLockingFailureException if another relay holds the head of
+     *     the outbox
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("SELECT e FROM PersonOutboxEvent e WHERE e.parkedAt IS NULL ORDER BY e.eventSequence")
+    List<PersonOutboxEvent> findNextBatch(Limit limit);
+}
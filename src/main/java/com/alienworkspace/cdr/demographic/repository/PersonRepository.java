@@ -1,9 +1,15 @@
 package com.alienworkspace.cdr.demographic.repository;
 
 import com.alienworkspace.cdr.demographic.model.Person;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -20,7 +26,26 @@ import org.springframework.stereotype.Repository;
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonRepositoryCustom {
+
+    /**
+     * Retrieves a person by their ID, loading the parts of the aggregate described by the fetch profile.
+     *
+     * @param personId the ID of the person to retrieve
+     * @param profile the parts of the aggregate to load
+     * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
+     */
+    default Optional<Person> findById(long personId, PersonFetchProfile profile) {
+        return switch (profile) {
+            case CORE -> findByPersonId(personId);
+            case NAMES -> findWithNamesByPersonId(personId);
+            case ADDRESSES -> findWithAddressesByPersonId(personId);
+            case ATTRIBUTES -> findWithAttributesByPersonId(personId);
+            case FULL -> findCompleteById(personId);
+            case PREFERRED_ONLY -> findPreferredOnlyById(personId);
+            case ACTIVE_ONLY -> findActiveOnlyById(personId);
+        };
+    }
 
     /**
      * Retrieves a person by their ID.
@@ -31,17 +56,40 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
     Optional<Person> findByPersonId(long personId);
 
     /**
-     * Retrieves a person by their ID.
+     * Retrieves a person by their ID together with their names.
+     *
+     * @param personId the ID of the person to retrieve
+     * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
+     */
+    @EntityGraph(Person.GRAPH_NAMES)
+    Optional<Person> findWithNamesByPersonId(long personId);
+
+    /**
+     * Retrieves the given people together with their names.
+     *
+     * @param personIds the IDs of the people to retrieve
+     * @return the people found, in no particular order
+     */
+    @EntityGraph(Person.GRAPH_NAMES)
+    List<Person> findWithNamesByPersonIdIn(Collection<Long> personIds);
+
+    /**
+     * Retrieves a person by their ID together with their addresses.
+     *
+     * @param personId the ID of the person to retrieve
+     * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
+     */
+    @EntityGraph(Person.GRAPH_ADDRESSES)
+    Optional<Person> findWithAddressesByPersonId(long personId);
+
+    /**
+     * Retrieves a person by their ID together with their attributes and attribute types.
      *
      * @param personId the ID of the person to retrieve
      * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
      */
-    @Query("SELECT p FROM Person p "
-            + "LEFT JOIN FETCH p.names "
-            + "LEFT JOIN FETCH p.addresses  "
-            + "LEFT JOIN FETCH p.attributes "
-            + "WHERE p.personId = :personId")
-    Optional<Person> findCompleteById(long personId);
+    @EntityGraph(Person.GRAPH_ATTRIBUTES)
+    Optional<Person> findWithAttributesByPersonId(long personId);
 
     /**
      * Retrieves a person by their ID.
@@ -58,13 +106,203 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
     Optional<Person> findCompletePreferredById(long personId);
 
     /**
-     * Retrieves all person names.
+     * Retrieves the latest void time of the voided names, of the voided addresses and of the voided attributes
+     * of a person.
+     *
+     * <p>A person loaded without their voided records still needs these times to tell when the aggregate
+     * last changed, since voiding a record removes it from that view.</p>
+     *
+     * @param personId the ID of the person
+     * @return one time per collection, {@code null} for a collection without voided records
+     */
+    @Query("SELECT MAX(n.voidedAt) FROM person_name n WHERE n.person.personId = :personId AND n.voided = true "
+            + "UNION ALL SELECT MAX(a.voidedAt) FROM person_address a "
+            + "WHERE a.person.personId = :personId AND a.voided = true "
+            + "UNION ALL SELECT MAX(t.voidedAt) FROM person_attribute t "
+            + "WHERE t.person.personId = :personId AND t.voided = true")
+    List<LocalDateTime> findLatestVoidedAtOfRecords(long personId);
+
+    /**
+     * Retrieves the IDs of non-voided people that come after the given ID, in ascending order.
+     *
+     * <p>This is the seek step of keyset pagination; it only touches the primary key index.</p>
      *
-     * @return a list of person names
+     * @param afterId the last person ID of the previous page, or {@code 0} for the first page
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the next page of people
      */
-    @Query("SELECT p FROM Person p "
-            + "LEFT JOIN FETCH p.names "
-            + "LEFT JOIN FETCH p.addresses  "
-            + "LEFT JOIN FETCH p.attributes Where p.voided = false")
-    List<Person> findCompleteAll();
+    @Query("SELECT p.personId FROM Person p "
+            + "WHERE p.voided = false AND p.personId > :afterId "
+            + "ORDER BY p.personId")
+    List<Long> findActivePersonIdsAfter(long afterId, Limit limit);
+
+    /**
+     * Retrieves the linkage fields of non-voided people that come after the given birth date and ID, ordered by
+     * birth date and then ID.
+     *
+     * <p>This is the seek step of keyset pagination over the birth date index, so the duplicate scan sees the
+     * people of one birth year together without loading their entities.</p>
+     *
+     * @param afterBirthDate the birth date of the last person of the previous page
+     * @param afterId the ID of the last person of the previous page, or {@code 0} for the first page
+     * @param limit the maximum number of people to return
+     * @return the next page of people
+     */
+    @Query("SELECT p.personId AS personId, p.gender AS gender, p.birthDate AS birthDate FROM Person p "
+            + "WHERE p.voided = false AND (p.birthDate > :afterBirthDate "
+            + "OR (p.birthDate = :afterBirthDate AND p.personId > :afterId)) "
+            + "ORDER BY p.birthDate, p.personId")
+    List<LinkagePerson> findActiveLinkagePeopleAfter(LocalDate afterBirthDate, long afterId, Limit limit);
+
+    /**
+     * Retrieves the linkage fields of the non-voided people among the given IDs.
+     *
+     * @param personIds the IDs of the people
+     * @return the non-voided people, in no particular order
+     */
+    @Query("SELECT p.personId AS personId, p.gender AS gender, p.birthDate AS birthDate FROM Person p "
+            + "WHERE p.voided = false AND p.personId IN :personIds")
+    List<LinkagePerson> findActiveLinkagePeople(Collection<Long> personIds);
+
+    /**
+     * Retrieves the IDs of all people, voided or not, that come after the given ID, in ascending order.
+     *
+     * @param afterId the last person ID of the previous page, or {@code 0} for the first page
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the next page of people
+     */
+    @Query("SELECT p.personId FROM Person p WHERE p.personId > :afterId ORDER BY p.personId")
+    List<Long> findPersonIdsAfter(long afterId, Limit limit);
+
+    /**
+     * Retrieves which of the given people are not voided.
+     *
+     * @param personIds the IDs of the people
+     * @return the IDs of the non-voided people among them
+     */
+    @Query("SELECT p.personId FROM Person p WHERE p.personId IN :personIds AND p.voided = false")
+    List<Long> findActivePersonIdsIn(Collection<Long> personIds);
+
+    /**
+     * Retrieves the IDs of non-voided people created in the given window and by the given user that come after
+     * the given ID, in ascending order. Null criteria match every person.
+     *
+     * @param afterId the last person ID of the previous page, or {@code 0} for the first page
+     * @param createdFrom people created at or after this time, or null
+     * @param createdTo people created before this time, or null
+     * @param createdBy people created by this user, or null
+     * @param limit the maximum number of IDs to return
+     * @return the IDs of the next page of matching people
+     */
+    @Query("SELECT p.personId FROM Person p "
+            + "WHERE p.voided = false AND p.personId > :afterId "
+            + "AND (:createdFrom IS NULL OR p.createdAt >= :createdFrom) "
+            + "AND (:createdTo IS NULL OR p.createdAt < :createdTo) "
+            + "AND (:createdBy IS NULL OR p.createdBy = :createdBy) "
+            + "ORDER BY p.personId")
+    List<Long> findActivePersonIdsAfter(long afterId, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                        Long createdBy, Limit limit);
+
+    /**
+     * Voids the given people in one set-based update, without loading them. The version of every voided person
+     * is incremented, so a concurrent change made from a loaded copy fails with an optimistic locking conflict.
+     * The bulk update bypasses auditing, so it stamps the void as the last modification itself, which puts the
+     * people in the change feed.
+     *
+     * @param personIds the IDs of the people
+     * @param voidedAt the time of the void
+     * @param voidedBy the ID of the user voiding the people
+     * @param voidReason the reason for the void
+     * @return the number of people voided
+     */
+    @Modifying
+    @Query("UPDATE Person p SET p.voided = true, p.voidedAt = :voidedAt, p.voidedBy = :voidedBy, "
+            + "p.voidReason = :voidReason, p.lastModifiedAt = :voidedAt, p.lastModifiedBy = :voidedBy, "
+            + "p.version = p.version + 1 "
+            + "WHERE p.personId IN :personIds AND p.voided = false")
+    int voidAll(Collection<Long> personIds, LocalDateTime voidedAt, long voidedBy, String voidReason);
+
+    /**
+     * Retrieves the people changed after the given position of the change feed, oldest change first.
+     *
+     * <p>A person's change time is the latest creation or modification time across the person and their names,
+     * addresses and attributes; voiding is a modification. Each table is only read from {@code afterTime} on,
+     * through its indexes on {@code created_at} and {@code last_modified_at}, so a page costs the changes made
+     * since the cursor rather than the size of the tables.</p>
+     *
+     * @param afterTime the change time of the last change already returned
+     * @param afterId the person ID of the last change already returned
+     * @param until changes after this time are left for a later page
+     * @param limit the maximum number of people to return
+     * @return the next people in change order
+     */
+    @Query(value = "SELECT c.person_id AS personId, MAX(c.changed_at) AS changedAt, p.voided AS voided FROM ("
+            + "SELECT person_id, COALESCE(last_modified_at, created_at) AS changed_at FROM person "
+            + "WHERE created_at >= :afterTime OR last_modified_at >= :afterTime "
+            + "UNION ALL SELECT person_id, COALESCE(last_modified_at, created_at) FROM person_name "
+            + "WHERE created_at >= :afterTime OR last_modified_at >= :afterTime "
+            + "UNION ALL SELECT person_id, COALESCE(last_modified_at, created_at) FROM person_address "
+            + "WHERE created_at >= :afterTime OR last_modified_at >= :afterTime "
+            + "UNION ALL SELECT person_id, COALESCE(last_modified_at, created_at) FROM person_attribute "
+            + "WHERE created_at >= :afterTime OR last_modified_at >= :afterTime"
+            + ") c JOIN person p ON p.person_id = c.person_id "
+            + "WHERE c.changed_at <= :until "
+            + "GROUP BY c.person_id, p.voided "
+            + "HAVING MAX(c.changed_at) > :afterTime OR (MAX(c.changed_at) = :afterTime AND c.person_id > :afterId) "
+            + "ORDER BY changedAt, personId LIMIT :limit", nativeQuery = true)
+    List<PersonChangeRow> findChangesAfter(LocalDateTime afterTime, long afterId, LocalDateTime until, int limit);
+
+    /**
+     * A person and the time of their latest change.
+     */
+    interface PersonChangeRow {
+
+        /**
+         * Returns the ID of the person.
+         *
+         * @return the person ID
+         */
+        Long getPersonId();
+
+        /**
+         * Returns the latest change time across the person and their names, addresses and attributes.
+         *
+         * @return the change time
+         */
+        LocalDateTime getChangedAt();
+
+        /**
+         * Returns whether the person is voided.
+         *
+         * @return true if the person is voided
+         */
+        Boolean getVoided();
+    }
+
+    /**
+     * The fields of a person that take part in record linkage.
+     */
+    interface LinkagePerson {
+
+        /**
+         * Returns the ID of the person.
+         *
+         * @return the person ID
+         */
+        Long getPersonId();
+
+        /**
+         * Returns the gender of the person.
+         *
+         * @return the gender
+         */
+        Character getGender();
+
+        /**
+         * Returns the birth date of the person.
+         *
+         * @return the birth date
+         */
+        LocalDate getBirthDate();
+    }
 }
@@ -0,0 +1,60 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom data access methods for the {@link Person} entity that cannot be expressed as Spring Data
+ * query methods.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonRepositoryCustom {
+
+    /**
+     * Retrieves a person by their ID together with their names, addresses and attributes.
+     *
+     * <p>With the second-level cache enabled the aggregate is resolved by id through the cache regions,
+     * otherwise it is loaded as {@link #findCompleteAllByIds(Collection)} does.</p>
+     *
+     * @param personId the ID of the person to retrieve
+     * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
+     */
+    Optional<Person> findCompleteById(long personId);
+
+    /**
+     * Retrieves the given people together with their names, addresses and attributes.
+     *
+     * <p>The people are loaded with one root query followed by one {@code IN (...)} query per collection,
+     * so the result set grows with the sum of the collection sizes instead of their product.</p>
+     *
+     * @param personIds the IDs of the people to retrieve
+     * @return the people ordered by ID
+     */
+    List<Person> findCompleteAllByIds(Collection<Long> personIds);
+
+    /**
+     * Retrieves a person with only its preferred names, addresses and attributes.
+     *
+     * <p>The person is loaded in a separate session on the same connection and is detached when it is
+     * returned, so its partial collections never end up in the caller's persistence context and can not be
+     * flushed. The collections are loaded as {@link #findCompleteAllByIds(Collection)} does.</p>
+     *
+     * @param personId the ID of the person to retrieve
+     * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
+     */
+    Optional<Person> findPreferredOnlyById(long personId);
+
+    /**
+     * Retrieves a person with only its non-voided names, addresses and attributes.
+     *
+     * <p>Voided rows are excluded by the database, so they are never loaded. The person is loaded like
+     * {@link #findPreferredOnlyById(long)}.</p>
+     *
+     * @param personId the ID of the person to retrieve
+     * @return an {@link Optional} containing the person if found, or an empty {@link Optional} if not found
+     */
+    Optional<Person> findActiveOnlyById(long personId);
+}
@@ -0,0 +1,117 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link PersonRepositoryCustom}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class PersonRepositoryCustomImpl implements PersonRepositoryCustom {
+
+    private static final String FIND_PEOPLE = "SELECT p FROM Person p "
+            + "WHERE p.personId IN :personIds "
+            + "ORDER BY p.personId";
+    private static final String FETCH_NAMES = "SELECT p FROM Person p "
+            + "LEFT JOIN FETCH p.names "
+            + "WHERE p.personId IN :personIds";
+    private static final String FETCH_ADDRESSES = "SELECT p FROM Person p "
+            + "LEFT JOIN FETCH p.addresses "
+            + "WHERE p.personId IN :personIds";
+    private static final String FETCH_ATTRIBUTES = "SELECT p FROM Person p "
+            + "LEFT JOIN FETCH p.attributes p_at "
+            + "LEFT JOIN FETCH p_at.personAttributeType "
+            + "WHERE p.personId IN :personIds";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Person> findCompleteById(long personId) {
+        if (!isSecondLevelCacheEnabled()) {
+            return findCompleteAllByIds(List.of(personId)).stream().findFirst();
+        }
+        // Queries always go to the database, so walk the aggregate by id instead: on a warm cache the
+        // person, its collections and their elements are all answered by the second-level cache.
+        Person person = entityManager.find(Person.class, personId);
+        if (person != null) {
+            person.getNames().size();
+            person.getAddresses().size();
+            person.getAttributes().forEach(attribute -> Hibernate.initialize(attribute.getPersonAttributeType()));
+        }
+        return Optional.ofNullable(person);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Person> findCompleteAllByIds(Collection<Long> personIds) {
+        return findCompleteAllByIds(entityManager, personIds);
+    }
+
+    private static List<Person> findCompleteAllByIds(EntityManager entityManager, Collection<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return List.of();
+        }
+        List<Person> people = entityManager.createQuery(FIND_PEOPLE, Person.class)
+                .setParameter("personIds", personIds)
+                .getResultList();
+        if (people.isEmpty()) {
+            return people;
+        }
+        // Each query initializes one collection on the people already in the persistence context, so no
+        // single result set ever holds the names x addresses x attributes product.
+        List<Long> foundIds = people.stream().map(Person::getPersonId).toList();
+        for (String fetch : List.of(FETCH_NAMES, FETCH_ADDRESSES, FETCH_ATTRIBUTES)) {
+            entityManager.createQuery(fetch, Person.class)
+                    .setParameter("personIds", foundIds)
+                    .getResultList();
+        }
+        return people;
+    }
+
+    private boolean isSecondLevelCacheEnabled() {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions()
+                .isSecondLevelCacheEnabled();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Person> findPreferredOnlyById(long personId) {
+        return inFilteredSession(Person.FILTER_PREFERRED_ONLY,
+                session -> findCompleteAllByIds(session, List.of(personId)).stream().findFirst());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Person> findActiveOnlyById(long personId) {
+        return inFilteredSession(Person.FILTER_ACTIVE_ONLY,
+                session -> findCompleteAllByIds(session, List.of(personId)).stream().findFirst());
+    }
+
+    /**
+     * Runs a load in a child session sharing the connection and transaction of the current one, with the given
+     * collection filter enabled. The caller's persistence context is left untouched whatever it already holds,
+     * filtered collections bypass the second-level cache, and the loaded people are detached when the child
+     * session closes, so their partial collections can never be flushed.
+     */
+    private <T> T inFilteredSession(String filter, Function<Session, T> load) {
+        try (Session session = entityManager.unwrap(Session.class).sessionWithOptions().connection().openSession()) {
+            session.setDefaultReadOnly(true);
+            session.enableFilter(filter);
+            return load.apply(session);
+        }
+    }
+}
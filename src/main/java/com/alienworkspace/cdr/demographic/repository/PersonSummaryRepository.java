@@ -0,0 +1,72 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.model.PersonSummaryRow;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummary;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the denormalized {@code person_summary} table.
+ *
+ * <p>Summaries are read from this one narrow table, without joining the names and addresses of the people.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Repository
+public interface PersonSummaryRepository extends JpaRepository<PersonSummaryRow, Long>, PersonSummaryRepositoryCustom {
+
+    /**
+     * Selects the columns of a {@link PersonSummary} from a summary row.
+     */
+    String SUMMARY_SELECT = "SELECT new com.alienworkspace.cdr.demographic.model.dto.PersonSummary("
+            + "s.personId, s.gender, s.birthDate, s.ageBucket, s.voided, s.personNameId, s.firstName, s.middleName, "
+            + "s.lastName, s.personAddressId, s.countryId, s.stateId, s.countyId, s.cityId, s.communityId) "
+            + "FROM PersonSummaryRow s ";
+
+    /**
+     * Replaces the summary row of a person with their current state.
+     *
+     * @param personId the ID of the person
+     * @return the number of rows affected as reported by the database
+     */
+    default int refresh(long personId) {
+        return refresh(List.of(personId));
+    }
+
+    /**
+     * Retrieves the summary of a person, voided or not.
+     *
+     * @param personId the ID of the person
+     * @return the summary of the person, or empty if there is no person with that ID
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.personId = :personId")
+    Optional<PersonSummary> findSummaryById(long personId);
+
+    /**
+     * Retrieves the summaries of the non-voided people that come after the given ID, in ascending order.
+     *
+     * @param afterId the last person ID of the previous page, or {@code 0} for the first page
+     * @param limit the maximum number of summaries to return
+     * @return the summaries of the next page of people
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.voided = false AND s.personId > :afterId ORDER BY s.personId")
+    List<PersonSummary> findActiveSummariesAfter(long afterId, Limit limit);
+
+    /**
+     * Deletes the summary rows whose person no longer exists.
+     *
+     * <p>A summary row is only written in the transaction that writes its person, so the row of a person whose
+     * registration has not committed yet is not visible here and can not be taken for an orphan.</p>
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM PersonSummaryRow s "
+            + "WHERE NOT EXISTS (SELECT p.personId FROM Person p WHERE p.personId = s.personId)")
+    int deleteOrphans();
+}
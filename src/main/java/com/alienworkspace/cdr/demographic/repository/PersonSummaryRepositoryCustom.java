@@ -0,0 +1,24 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import java.util.Collection;
+
+/**
+ * Writes the {@code person_summary} table from the person tables.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonSummaryRepositoryCustom {
+
+    /**
+     * Replaces the summary rows of the given people with their current state, in one statement.
+     *
+     * <p>Pending changes of the persistence context are flushed first, so the rows reflect the changes made so
+     * far in the transaction. Call it after the last change of the transaction to the people. It must run in the
+     * transaction that writes the people, so that a summary row is never committed without its person.</p>
+     *
+     * @param personIds the IDs of the people
+     * @return the number of rows affected as reported by the database
+     * @throws org.springframework.transaction.IllegalTransactionStateException if no transaction is active
+     */
+    int refresh(Collection<Long> personIds);
+}
@@ -0,0 +1,50 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of {@link PersonSummaryRepositoryCustom}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class PersonSummaryRepositoryCustomImpl implements PersonSummaryRepositoryCustom {
+
+    private static final String SUMMARY_TABLE = "person_summary";
+
+    private static final String REFRESH = "REPLACE INTO person_summary (person_id, gender, birth_date, age_bucket, "
+            + "voided, person_name_id, first_name, middle_name, last_name, person_address_id, country_id, state_id, "
+            + "county_id, city_id, community_id, refreshed_at) "
+            + "SELECT p.person_id, p.gender, p.birth_date, "
+            + "FLOOR(TIMESTAMPDIFF(YEAR, p.birth_date, COALESCE(p.death_date, CURRENT_DATE)) / 10) * 10, "
+            + "p.voided, n.person_name_id, n.first_name, n.middle_name, n.last_name, a.person_address_id, "
+            + "a.country_id, a.state_id, a.county_id, a.city_id, a.community_id, :refreshedAt "
+            + "FROM person p "
+            + "LEFT JOIN person_name n ON n.person_id = p.person_id AND n.preferred = true AND n.voided = false "
+            + "LEFT JOIN person_address a ON a.person_id = p.person_id AND a.preferred = true AND a.voided = false "
+            + "WHERE p.person_id IN (:personIds)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int refresh(Collection<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return 0;
+        }
+        entityManager.flush();
+        // Declaring the table keeps the statement from evicting every second-level cache region.
+        return entityManager.createNativeQuery(REFRESH)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(SUMMARY_TABLE)
+                .setParameter("refreshedAt", LocalDateTime.now())
+                .setParameter("personIds", personIds)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,32 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.location.LocationKey;
+import com.alienworkspace.cdr.demographic.model.location.ResolvedLocation;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This interface defines the methods for resolving person address locations against the metadata service.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface LocationService {
+
+    /**
+     * Resolves a single location.
+     *
+     * @param correlationId the correlation ID forwarded to the metadata service
+     * @param locationKey the location to resolve
+     * @return the resolved location, never null
+     */
+    ResolvedLocation resolve(String correlationId, LocationKey locationKey);
+
+    /**
+     * Resolves several locations, looking each distinct location up at most once.
+     *
+     * @param correlationId the correlation ID forwarded to the metadata service
+     * @param locationKeys the locations to resolve, duplicates allowed
+     * @return the resolved locations keyed by location
+     */
+    Map<LocationKey, ResolvedLocation> resolveAll(String correlationId, Collection<LocationKey> locationKeys);
+}
@@ -0,0 +1,108 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Looks people up by the values of their attributes, such as national IDs, phone numbers and hospital
+ * numbers, and enforces the uniqueness of the attribute types that require it.
+ *
+ * <p>Values are compared after normalization with the format of their attribute type.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonAttributeLookupService {
+
+    /**
+     * Retrieves the non-voided people holding a value of an attribute type.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param value the value to look up, as entered
+     * @return the people holding the value, in no particular order
+     */
+    List<PersonDto> findPersons(int personAttributeTypeId, String value);
+
+    /**
+     * Resolves many values of an attribute type to the non-voided people holding them.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param values the values to look up, as entered
+     * @return the IDs of the people holding each value, keyed by the value as submitted; unknown values map to an
+     *     empty list
+     */
+    Map<String, List<Long>> resolvePersonIds(int personAttributeTypeId, List<String> values);
+
+    /**
+     * Retrieves which normalized values of an attribute type are already held by a non-voided person.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param normalizedValues the normalized values to check
+     * @return the values that are held, mapped to the IDs of the people holding them
+     */
+    Map<String, Set<Long>> findHolders(int personAttributeTypeId, Collection<String> normalizedValues);
+
+    /**
+     * Marks the attributes about to be written whose attribute type has unique values, so that the unique key on
+     * their values applies, and locks the rows of their attribute types until the transaction ends so that their
+     * uniqueness can not change before the attributes are written.
+     *
+     * <p>Must be called in the transaction writing the attributes.</p>
+     *
+     * @param attributes the attributes being written, with their attribute types set
+     * @return the IDs of the attribute types with unique values
+     */
+    Set<Integer> markUnique(Collection<PersonAttribute> attributes);
+
+    /**
+     * Checks that no other person holds the values of unique attribute types being given to a person.
+     *
+     * <p>The attributes are marked with {@link #markUnique(Collection)}, so that a value given to another person
+     * by a concurrent write is still refused by the database when the attributes are written.</p>
+     *
+     * @param personId the ID of the person receiving the attributes, or {@code 0} for a new person
+     * @param attributes the attributes being added, with their attribute types set
+     * @throws com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException if a value is
+     *     already held by another person
+     */
+    void checkUnique(long personId, Collection<PersonAttribute> attributes);
+
+    /**
+     * Checks that no value of an attribute type is held by more than one person, before uniqueness is turned on.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @throws com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException if some values
+     *     are already shared
+     */
+    void checkNoSharedValues(int personAttributeTypeId);
+
+    /**
+     * Puts the attributes of an attribute type in or out of the unique scope, after its uniqueness changed.
+     *
+     * <p>Must be called in the transaction changing the uniqueness, with the row of the attribute type locked.</p>
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @param uniqueValues whether the values of the attribute type must be unique
+     * @throws com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException if some values
+     *     are already shared
+     */
+    void setUniqueScope(int personAttributeTypeId, boolean uniqueValues);
+
+    /**
+     * Normalizes the attribute values stored before normalized values were kept.
+     *
+     * @return the number of attributes normalized
+     */
+    int normalizeMissing();
+
+    /**
+     * Normalizes again every value of an attribute type, after its format changed.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @return the number of attributes normalized
+     */
+    int renormalize(int personAttributeTypeId);
+}
@@ -0,0 +1,49 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory view of the person attribute types, used on the registration hot path instead of the
+ * database.
+ *
+ * <p>The returned entities are shared between threads and must be treated as read-only.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonAttributeTypeRegistry {
+
+    /**
+     * Looks up an attribute type, voided or not, by its ID.
+     *
+     * @param personAttributeTypeId the ID of the attribute type
+     * @return the attribute type, or an empty {@link Optional} if there is none with this ID
+     */
+    Optional<PersonAttributeType> findById(int personAttributeTypeId);
+
+    /**
+     * Looks up a non-voided attribute type by its name.
+     *
+     * @param name the name of the attribute type
+     * @return the attribute type, or an empty {@link Optional} if there is no active one with this name
+     */
+    Optional<PersonAttributeType> findActiveByName(String name);
+
+    /**
+     * Returns the non-voided attribute types ordered by ID.
+     *
+     * @return an unmodifiable list of the non-voided attribute types
+     */
+    List<PersonAttributeType> getActive();
+
+    /**
+     * Reloads the registry from the database.
+     */
+    void refresh();
+
+    /**
+     * Reloads the registry and tells the other instances, through the bus, to reload theirs.
+     */
+    void publishChange();
+}
@@ -28,6 +28,14 @@ public interface PersonAttributeTypeService {
      */
     PersonAttributeTypeDto updatePersonAttributeType(int id, PersonAttributeTypeDto personAttributeTypeDto);
 
+    /**
+     * This method is used to turn uniqueness of the values of a person attribute type on or off.
+     *
+     * @param id the id of the person attribute type
+     * @param uniqueValues whether a value may be held by one person only
+     */
+    void setUniqueValues(int id, boolean uniqueValues);
+
     /**
      * This method is used to delete a person attribute type from the database.
      *
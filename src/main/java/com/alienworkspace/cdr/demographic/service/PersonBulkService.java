@@ -0,0 +1,40 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonResult;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidRequest;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidResult;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import java.util.Iterator;
+
+/**
+ * This interface defines bulk registration and voiding of person records.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonBulkService {
+
+    /**
+     * Registers every person read from the iterator, in fixed-size chunks.
+     *
+     * <p>A record that can not be registered is reported as failed and the load carries on. The iterator's
+     * {@code next()} may throw {@link IllegalArgumentException} for a record that can not be read; that
+     * record is reported as failed too.</p>
+     *
+     * @param persons the people to register, read lazily
+     * @return the number of created and failed records and one outcome per record
+     */
+    BulkPersonResult addPersons(Iterator<PersonDto> persons);
+
+    /**
+     * Voids the people chosen by ID or by filter, in fixed-size chunks of set-based updates.
+     *
+     * <p>No entity is loaded; each chunk is one transaction, so a failure leaves the earlier chunks voided.
+     * People that are already voided are skipped.</p>
+     *
+     * @param request the people to void, the reason and whether their names, addresses and attributes are voided
+     * @return the number of people, names, addresses and attributes voided
+     * @throws IllegalArgumentException if the request does not choose the people by exactly one of ID or filter,
+     *         or has no void reason
+     */
+    BulkVoidResult voidPersons(BulkVoidRequest request);
+}
@@ -0,0 +1,27 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import java.time.LocalDateTime;
+
+/**
+ * Lists the people changed since a point in time, so that clients keeping a copy of the registry can pull
+ * the changes instead of downloading every person again.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonChangeFeedService {
+
+    /**
+     * Retrieves a page of the people changed after a watermark or a cursor, oldest change first.
+     *
+     * <p>A person changes when they or any of their names, addresses or attributes are created, modified or
+     * voided. A person changed several times is listed once, at their latest change.</p>
+     *
+     * @param since only list changes after this time; ignored when a cursor is given, and when both are
+     *     omitted the feed starts from the first person registered
+     * @param cursor the cursor returned with the previous page, or null
+     * @param size the number of people per page, or null for the configured default
+     * @return a page of changed people and the cursor to continue from
+     */
+    PersonChangePage getChanges(LocalDateTime since, String cursor, Integer size);
+}
@@ -0,0 +1,62 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import java.util.List;
+
+/**
+ * Record linkage between registered people.
+ *
+ * <p>Records are only compared within blocks of people sharing a blocking key, such as the sound of their
+ * surname together with their birth year and gender, so the number of comparisons stays far below one per
+ * pair of people. Compared pairs are scored with Fellegi-Sunter weights over names, birth date, gender,
+ * addresses and attributes.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonDeduplicationService {
+
+    /**
+     * Finds the registered people a new, not yet saved person may duplicate.
+     *
+     * @param person the person about to be registered, with their names, addresses and attributes
+     * @return the people scoring at least the review threshold, best match first
+     */
+    List<PersonMatch> findDuplicates(Person person);
+
+    /**
+     * Starts a duplicate scan on a background thread and returns at once.
+     *
+     * @return the scan, running; follow it with {@link #getScan(long)}
+     * @throws IllegalStateException if a scan is already running
+     */
+    DuplicateScanResult startScan();
+
+    /**
+     * Compares every registered person with the others in their blocks, stores the pairs scoring at least the
+     * review threshold under a new scan and, once the scan completes, removes the pairs of the scans before it.
+     * Runs on the calling thread.
+     *
+     * @return the completed scan with its number of people, blocks, comparisons and pairs
+     * @throws IllegalStateException if a scan is already running
+     */
+    DuplicateScanResult scan();
+
+    /**
+     * Retrieves the state and counts of a scan.
+     *
+     * @param scanId the ID of the scan
+     * @return the scan
+     * @throws com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException if there is no such scan
+     */
+    DuplicateScanResult getScan(long scanId);
+
+    /**
+     * Retrieves the candidate pairs the latest completed scan found for a person.
+     *
+     * @param personId the ID of the person
+     * @return the other person of each pair, best match first
+     */
+    List<PersonMatch> getCandidates(long personId);
+}
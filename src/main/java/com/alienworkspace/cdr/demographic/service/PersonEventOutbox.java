@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+
+/**
+ * Records person change events in the outbox table, in the transaction of the change they describe.
+ *
+ * <p>The events are published to the broker later by the outbox relay, so a change that rolls back is never
+ * announced and a committed change is announced even if the broker is down at the time.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonEventOutbox {
+
+    /**
+     * Records a change to a person as a whole.
+     *
+     * @param type the kind of change
+     * @param personId the ID of the person that changed
+     */
+    default void record(PersonChangeEvent.Type type, long personId) {
+        record(type, personId, null);
+    }
+
+    /**
+     * Records a change to one name, address or attribute of a person.
+     *
+     * @param type the kind of change
+     * @param personId the ID of the person that changed
+     * @param recordId the ID of the name, address or attribute that changed, or null if unknown
+     */
+    void record(PersonChangeEvent.Type type, long personId, Long recordId);
+}
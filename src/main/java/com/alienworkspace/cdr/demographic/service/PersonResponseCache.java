@@ -0,0 +1,28 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+
+/**
+ * Cache of fully enriched person responses, keyed by person ID and whether voided records are included.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonResponseCache {
+
+    /**
+     * Returns the rendered person, rendering and caching it on a miss.
+     *
+     * @param correlationId the correlation ID passed on to the metadata service on a miss
+     * @param personId the ID of the person
+     * @param includeVoided whether voided names, addresses and attributes are included
+     * @return the rendered person
+     */
+    RenderedPerson getPerson(String correlationId, long personId, boolean includeVoided);
+
+    /**
+     * Evicts every rendered representation of the person.
+     *
+     * @param personId the ID of the person that changed
+     */
+    void evict(long personId);
+}
@@ -0,0 +1,69 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-process inverted index over the names of non-voided people.
+ *
+ * <p>The index is built once at startup and then kept up to date by the write paths, which hand over the
+ * people they changed. Searches are answered from memory only.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonSearchIndex {
+
+    /**
+     * Indexes the current names, gender and birth date of a person, or drops the person if voided.
+     *
+     * <p>The person's names must be loaded. Inside a transaction the change is applied once it commits.</p>
+     *
+     * @param person the person that changed
+     */
+    void index(Person person);
+
+    /**
+     * Indexes several people at once, as {@link #index(Person)} does.
+     *
+     * @param people the people that changed
+     */
+    void index(Collection<Person> people);
+
+    /**
+     * Drops a person from the index. Inside a transaction the change is applied once it commits.
+     *
+     * @param personId the ID of the person to drop
+     */
+    void remove(long personId);
+
+    /**
+     * Reloads the given people from the database into the index.
+     *
+     * @param personIds the IDs of the people to reload
+     */
+    void reload(Collection<Long> personIds);
+
+    /**
+     * Rebuilds the whole index from the database.
+     */
+    void rebuild();
+
+    /**
+     * Finds the people matching the query, best match first.
+     *
+     * @param query the search; its limit must already be resolved
+     * @return the matching person IDs and their scores
+     */
+    List<Match> search(PersonSearchQuery query);
+
+    /**
+     * A person matching a search.
+     *
+     * @param personId the ID of the person
+     * @param score the relevance of the match; higher is better
+     */
+    record Match(long personId, double score) {
+    }
+}
@@ -1,5 +1,11 @@
 package com.alienworkspace.cdr.demographic.service;
 
+import com.alienworkspace.cdr.demographic.model.dto.PersonPage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchHit;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummary;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummaryPage;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
 import com.alienworkspace.cdr.model.dto.person.PersonAddressDto;
 import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
 import com.alienworkspace.cdr.model.dto.person.PersonDto;
@@ -8,6 +14,7 @@ import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.alienworkspace.cdr.model.helper.ResponseDto;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This interface defines the methods for managing person records in the system.
@@ -17,11 +24,53 @@ import java.util.Set;
 public interface PersonService {
 
     /**
-     * Retrieves all persons in the system.
+     * Retrieves a keyset-paginated page of non-voided persons ordered by ID.
      *
-     * @return a list of PersonDto objects, each containing the data of a person
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return a page of PersonDto objects and the cursor of the next page
      */
-    List<PersonDto> getPersons();
+    PersonPage getPersons(String cursor, Integer size);
+
+    /**
+     * Retrieves a keyset-paginated page of summaries of non-voided persons ordered by ID.
+     *
+     * <p>The page is read from the {@code person_summary} table with one query; no entity is loaded and no
+     * address is enriched.</p>
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return a page of summaries and the cursor of the next page
+     */
+    PersonSummaryPage getPersonSummaries(String cursor, Integer size);
+
+    /**
+     * Streams every non-voided person to the given consumer, one at a time, in ID order.
+     *
+     * <p>People are loaded in fixed-size keyset chunks so memory use does not grow with the table.</p>
+     *
+     * @param consumer receives each PersonDto as soon as it is mapped
+     */
+    void streamPersons(Consumer<PersonDto> consumer);
+
+    /**
+     * Streams the summary of every non-voided person to the given consumer, one at a time, in ID order.
+     *
+     * <p>Summaries are read from the {@code person_summary} table in fixed-size keyset chunks.</p>
+     *
+     * @param consumer receives each summary as soon as it is read
+     */
+    void streamPersonSummaries(Consumer<PersonSummary> consumer);
+
+    /**
+     * Searches non-voided persons by name.
+     *
+     * <p>The search is answered from an in-memory index, so it never scans the names table.</p>
+     *
+     * @param query the search text, filters and limit
+     * @return the matching persons with their scores, best match first
+     */
+    List<PersonSearchHit> searchPersons(PersonSearchQuery query);
 
     /**
      * Retrieves a person by their ID.
@@ -32,14 +81,49 @@ public interface PersonService {
      */
     PersonDto getPerson(String correlationId, Long personId, boolean includeVoided);
 
+    /**
+     * Retrieves the summary of a person by their ID from the {@code person_summary} table.
+     *
+     * @param personId the ID of the person to be retrieved
+     * @return the summary of the person
+     * @throws com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException if there is no such person
+     */
+    PersonSummary getPersonSummary(long personId);
+
+    /**
+     * Retrieves a person by their ID together with the time the person or any of their names, addresses and
+     * attributes last changed.
+     *
+     * @param correlationId the correlation ID passed on to the metadata service
+     * @param personId the ID of the person to be retrieved
+     * @param includeVoided a flag indicating whether to include voided records
+     * @return the person and the time of its latest change
+     */
+    RenderedPerson renderPerson(String correlationId, long personId, boolean includeVoided);
+
     /**
      * Adds a new person to the system.
      *
      * @param personDto the PersonDto object containing the data of the person to be added
+     * @param correlationId the correlation ID passed on to the metadata service
      * @return a PersonDto object containing the data of the newly added person
      */
     PersonDto addPerson(PersonDto personDto, String correlationId);
 
+    /**
+     * Adds a new person to the system after looking for registered people they may duplicate.
+     *
+     * <p>What a match does depends on the configured pre-insert policy; under {@code REJECT} the person is
+     * refused with a {@link com.alienworkspace.cdr.demographic.exception.DuplicatePersonException} unless
+     * {@code allowDuplicate} is set.</p>
+     *
+     * @param personDto the PersonDto object containing the data of the person to be added
+     * @param correlationId the correlation ID passed on to the metadata service
+     * @param allowDuplicate whether the caller confirmed the person is not one of their matches
+     * @return a PersonDto object containing the data of the newly added person
+     */
+    PersonDto addPerson(PersonDto personDto, String correlationId, boolean allowDuplicate);
+
     /**
      * Updates an existing person in the system.
      *
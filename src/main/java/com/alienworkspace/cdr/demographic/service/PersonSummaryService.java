@@ -0,0 +1,23 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.model.dto.SummaryRebuildResult;
+
+/**
+ * Maintenance of the denormalized {@code person_summary} table.
+ *
+ * <p>Every change to a person refreshes their row in its own transaction; a rebuild repopulates the whole table,
+ * for example after the table was created or to move people into their current age bucket.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface PersonSummaryService {
+
+    /**
+     * Replaces the summary row of every person in keyset chunks written in parallel, then removes the rows that
+     * were not refreshed. Summaries stay readable throughout.
+     *
+     * @return the number of people, chunks and removed rows of the rebuild
+     * @throws IllegalStateException if a rebuild is already running
+     */
+    SummaryRebuildResult rebuild();
+}
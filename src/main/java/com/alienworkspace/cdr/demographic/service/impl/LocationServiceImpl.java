@@ -0,0 +1,180 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.EnrichmentConfig;
+import com.alienworkspace.cdr.demographic.config.EnrichmentConfig.PartialResultPolicy;
+import com.alienworkspace.cdr.demographic.config.LocationCacheConfig;
+import com.alienworkspace.cdr.demographic.model.location.LocationKey;
+import com.alienworkspace.cdr.demographic.model.location.ResolvedLocation;
+import com.alienworkspace.cdr.demographic.service.LocationService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the {@link LocationService} interface backed by a bounded, TTL-based cache.
+ *
+ * <p>Only successful lookups are cached; an empty answer (for example from the circuit breaker fallback)
+ * is returned as is so the location is retried on the next request. Cache hits, misses and evictions are
+ * published as {@code cache.*} meters tagged {@code cache=demographic.locations}.</p>
+ *
+ * <p>Locations that miss the cache are looked up on the enrichment executor under one deadline per request,
+ * concurrently unless {@link EnrichmentConfig#isParallel()} is off, in which case they are submitted one after
+ * the other. The request thread never calls the metadata service itself. Lookups that fail, miss the deadline
+ * or are rejected by a saturated executor are dropped and handled by the configured
+ * {@link PartialResultPolicy}.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+public class LocationServiceImpl implements LocationService {
+
+    static final String CACHE_NAME = "demographic.locations";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final MetadataFeignClient metadataFeignClient;
+    private final EnrichmentConfig enrichmentConfig;
+    private final ExecutorService executor;
+    private final Cache<LocationKey, ResolvedLocation> cache;
+    private final Counter droppedLookups;
+
+    /**
+     * Creates the service and registers its cache metrics.
+     *
+     * @param metadataFeignClient the metadata service client
+     * @param locationCacheConfig the cache size and time to live
+     * @param enrichmentConfig the concurrency, deadline and partial result settings
+     * @param executor the executor concurrent lookups run on
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    public LocationServiceImpl(MetadataFeignClient metadataFeignClient, LocationCacheConfig locationCacheConfig,
+                               EnrichmentConfig enrichmentConfig,
+                               @Qualifier("locationEnrichmentExecutor") ExecutorService executor,
+                               MeterRegistry meterRegistry) {
+        this.metadataFeignClient = metadataFeignClient;
+        this.enrichmentConfig = enrichmentConfig;
+        this.executor = executor;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(locationCacheConfig.getMaximumSize())
+                .expireAfterWrite(locationCacheConfig.getTimeToLive())
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.droppedLookups = Counter.builder(CACHE_NAME + ".dropped")
+                .description("Location lookups left out of a response because they failed or timed out")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ResolvedLocation resolve(String correlationId, LocationKey locationKey) {
+        ResolvedLocation cached = cache.getIfPresent(locationKey);
+        if (cached != null) {
+            return cached;
+        }
+        long deadline = System.nanoTime() + enrichmentConfig.getTimeout().toNanos();
+        return await(locationKey, submit(correlationId, locationKey), deadline);
+    }
+
+    @Override
+    public Map<LocationKey, ResolvedLocation> resolveAll(String correlationId,
+                                                         Collection<LocationKey> locationKeys) {
+        Set<LocationKey> distinctKeys = new LinkedHashSet<>(locationKeys);
+        Map<LocationKey, ResolvedLocation> resolved = new HashMap<>(distinctKeys.size() * 4 / 3 + 1);
+        List<LocationKey> misses = new ArrayList<>(distinctKeys.size());
+        for (LocationKey locationKey : distinctKeys) {
+            ResolvedLocation cached = cache.getIfPresent(locationKey);
+            if (cached != null) {
+                resolved.put(locationKey, cached);
+            } else {
+                misses.add(locationKey);
+            }
+        }
+
+        long deadline = System.nanoTime() + enrichmentConfig.getTimeout().toNanos();
+        if (!enrichmentConfig.isParallel()) {
+            for (LocationKey locationKey : misses) {
+                resolved.put(locationKey, await(locationKey, submit(correlationId, locationKey), deadline));
+            }
+            return resolved;
+        }
+
+        Map<LocationKey, Future<ResolvedLocation>> pending = new LinkedHashMap<>(misses.size() * 4 / 3 + 1);
+        for (LocationKey locationKey : misses) {
+            pending.put(locationKey, submit(correlationId, locationKey));
+        }
+        for (Map.Entry<LocationKey, Future<ResolvedLocation>> entry : pending.entrySet()) {
+            resolved.put(entry.getKey(), await(entry.getKey(), entry.getValue(), deadline));
+        }
+        return resolved;
+    }
+
+    private Future<ResolvedLocation> submit(String correlationId, LocationKey locationKey) {
+        try {
+            return executor.submit(() -> fetch(correlationId, locationKey));
+        } catch (RejectedExecutionException e) {
+            // Dropped like a lookup that failed, rather than run on the request thread without a deadline.
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ResolvedLocation await(LocationKey locationKey, Future<ResolvedLocation> future, long deadline) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return dropped(locationKey, e);
+        } catch (ExecutionException e) {
+            return dropped(locationKey, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while resolving locations", e);
+        }
+    }
+
+    private ResolvedLocation dropped(LocationKey locationKey, Throwable cause) {
+        if (enrichmentConfig.getPartialResultPolicy() == PartialResultPolicy.FAIL) {
+            throw new IllegalStateException("Error resolving location " + locationKey, cause);
+        }
+        logger.warn("Returning location {} unresolved: {}", locationKey, String.valueOf(cause));
+        droppedLookups.increment();
+        return ResolvedLocation.EMPTY;
+    }
+
+    private ResolvedLocation fetch(String correlationId, LocationKey locationKey) {
+        ResponseEntity<CountryDto> response = metadataFeignClient.getPersonLocation(correlationId,
+                locationKey.country(), locationKey.state(), locationKey.county(), locationKey.city(),
+                locationKey.community());
+        CountryDto countryDto = response == null ? null : response.getBody();
+        if (countryDto == null) {
+            return ResolvedLocation.EMPTY;
+        }
+        ResolvedLocation resolvedLocation = ResolvedLocation.from(locationKey, countryDto);
+        cache.put(locationKey, resolvedLocation);
+        return resolvedLocation;
+    }
+}
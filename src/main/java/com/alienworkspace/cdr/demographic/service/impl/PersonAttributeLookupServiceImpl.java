@@ -0,0 +1,245 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.AttributeLookupConfig;
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.demographic.model.AttributeFormat;
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeLookupService;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeRegistry;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of the {@link PersonAttributeLookupService} interface.
+ *
+ * <p>Lookups go through the index on the attribute type and the normalized value. Batches are resolved with
+ * one {@code IN} query per {@link AttributeLookupConfig#getQueryChunkSize()} distinct values.</p>
+ *
+ * <p>Uniqueness is checked here to report the people already holding a value, and enforced by the unique key on
+ * {@link PersonAttribute#UNIQUE_VALUE_KEY}: attributes are marked from the attribute type row under a shared lock,
+ * and a change of uniqueness takes an exclusive lock on that row before marking every attribute of the type.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@AllArgsConstructor
+public class PersonAttributeLookupServiceImpl implements PersonAttributeLookupService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonAttributeRepository personAttributeRepository;
+    private final PersonAttributeTypeRepository personAttributeTypeRepository;
+    private final PersonRepository personRepository;
+    private final PersonAttributeTypeRegistry attributeTypeRegistry;
+    private final PersonMapper personMapper;
+    private final AttributeLookupConfig attributeLookupConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public List<PersonDto> findPersons(int personAttributeTypeId, String value) {
+        PersonAttributeType attributeType = getAttributeType(personAttributeTypeId);
+        String normalizedValue = AttributeFormat.of(attributeType.getFormat()).normalize(value);
+        if (normalizedValue == null) {
+            throw new IllegalArgumentException("Attribute value can not be blank");
+        }
+        Set<Long> personIds = findHolders(personAttributeTypeId, List.of(normalizedValue))
+                .getOrDefault(normalizedValue, Set.of());
+        if (personIds.isEmpty()) {
+            return List.of();
+        }
+        return personRepository.findCompleteAllByIds(personIds).stream()
+                .map(personMapper::personToPersonDto)
+                .toList();
+    }
+
+    @Override
+    public Map<String, List<Long>> resolvePersonIds(int personAttributeTypeId, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("At least one attribute value is required");
+        }
+        if (values.size() > attributeLookupConfig.getMaxBatchSize()) {
+            throw new IllegalArgumentException(String.format("At most %d attribute values can be resolved at once",
+                    attributeLookupConfig.getMaxBatchSize()));
+        }
+        AttributeFormat format = AttributeFormat.of(getAttributeType(personAttributeTypeId).getFormat());
+        Map<String, String> normalizedValues = new LinkedHashMap<>();
+        for (String value : values) {
+            normalizedValues.put(value, format.normalize(value));
+        }
+        Map<String, Set<Long>> holders = findHolders(personAttributeTypeId, normalizedValues.values());
+        Map<String, List<Long>> resolved = new LinkedHashMap<>();
+        normalizedValues.forEach((value, normalizedValue) -> resolved.put(value,
+                List.copyOf(holders.getOrDefault(normalizedValue, Set.of()))));
+        return resolved;
+    }
+
+    @Override
+    public Map<String, Set<Long>> findHolders(int personAttributeTypeId, Collection<String> normalizedValues) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(normalizedValues));
+        distinct.remove(null);
+        Map<String, Set<Long>> holders = new HashMap<>();
+        int chunkSize = attributeLookupConfig.getQueryChunkSize();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            personAttributeRepository.findHolders(personAttributeTypeId,
+                            distinct.subList(from, Math.min(from + chunkSize, distinct.size())))
+                    .forEach(holder -> holders.computeIfAbsent(holder.getNormalizedValue(), key -> new TreeSet<>())
+                            .add(holder.getPersonId()));
+        }
+        return holders;
+    }
+
+    @Override
+    public Set<Integer> markUnique(Collection<PersonAttribute> attributes) {
+        Set<Integer> typeIds = attributes.stream()
+                .map(PersonAttribute::getPersonAttributeType)
+                .filter(attributeType -> attributeType != null && attributeType.getPersonAttributeTypeId() != null)
+                .map(PersonAttributeType::getPersonAttributeTypeId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (typeIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Integer> uniqueTypeIds = personAttributeTypeRepository.lockUniqueness(typeIds).stream()
+                .filter(uniqueness -> Boolean.TRUE.equals(uniqueness.getUniqueValues()))
+                .map(PersonAttributeTypeRepository.Uniqueness::getPersonAttributeTypeId)
+                .collect(Collectors.toSet());
+        for (PersonAttribute attribute : attributes) {
+            PersonAttributeType attributeType = attribute.getPersonAttributeType();
+            attribute.setUniqueScope(attributeType != null
+                    && uniqueTypeIds.contains(attributeType.getPersonAttributeTypeId()));
+        }
+        return uniqueTypeIds;
+    }
+
+    @Override
+    public void checkUnique(long personId, Collection<PersonAttribute> attributes) {
+        markUnique(attributes);
+        for (PersonAttribute attribute : attributes) {
+            PersonAttributeType attributeType = attribute.getPersonAttributeType();
+            if (attribute.isVoided() || !attribute.isUniqueScope()) {
+                continue;
+            }
+            String normalizedValue = AttributeFormat.of(attributeType.getFormat())
+                    .normalize(attribute.getAttributeValue());
+            if (normalizedValue == null) {
+                continue;
+            }
+            Set<Long> others = new TreeSet<>(findHolders(attributeType.getPersonAttributeTypeId(),
+                    List.of(normalizedValue)).getOrDefault(normalizedValue, Set.of()));
+            others.remove(personId);
+            if (!others.isEmpty()) {
+                throw new DuplicateAttributeValueException(String.format(
+                        "%s %s is already held by person %s", attributeType.getName(),
+                        attribute.getAttributeValue(), others));
+            }
+        }
+    }
+
+    @Override
+    public void checkNoSharedValues(int personAttributeTypeId) {
+        List<String> shared = personAttributeRepository.findSharedValues(personAttributeTypeId, Limit.of(10));
+        if (!shared.isEmpty()) {
+            throw new DuplicateAttributeValueException(String.format(
+                    "Values %s of person attribute type %d are held by more than one person",
+                    shared, personAttributeTypeId));
+        }
+    }
+
+    @Override
+    public void setUniqueScope(int personAttributeTypeId, boolean uniqueValues) {
+        try {
+            personAttributeRepository.setUniqueScope(personAttributeTypeId, uniqueValues);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateAttributeValueException.from(e).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Normalizes the attribute values stored before normalized values were kept, and puts the attributes of
+     * unique attribute types written before the unique scope was kept in it, once the application has started.
+     * Rows already done are skipped, so this only does work on the first start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        normalizeMissing();
+        try {
+            Integer marked = transactionTemplate.execute(status -> personAttributeRepository.markUniqueScopes());
+            if (marked != null && marked > 0) {
+                logger.info("Put {} person attribute values in the unique scope", marked);
+            }
+        } catch (DataIntegrityViolationException e) {
+            logger.error("Values of unique person attribute types are held by more than one person; "
+                    + "they are not enforced until the duplicates are resolved", e);
+        }
+    }
+
+    @Override
+    public int normalizeMissing() {
+        int normalized = normalize(afterId -> personAttributeRepository.findUnnormalizedAfter(afterId,
+                Limit.of(attributeLookupConfig.getBackfillChunkSize())));
+        if (normalized > 0) {
+            logger.info("Normalized {} person attribute values", normalized);
+        }
+        return normalized;
+    }
+
+    @Override
+    public int renormalize(int personAttributeTypeId) {
+        int normalized = normalize(afterId -> personAttributeRepository.findByTypeAfter(personAttributeTypeId,
+                afterId, Limit.of(attributeLookupConfig.getBackfillChunkSize())));
+        logger.info("Normalized {} values of person attribute type {}", normalized, personAttributeTypeId);
+        return normalized;
+    }
+
+    private int normalize(LongFunction<List<PersonAttributeRepository.AttributeValue>> nextChunk) {
+        int chunkSize = attributeLookupConfig.getBackfillChunkSize();
+        int normalized = 0;
+        long afterId = 0L;
+        List<PersonAttributeRepository.AttributeValue> chunk;
+        do {
+            long from = afterId;
+            chunk = transactionTemplate.execute(status -> {
+                List<PersonAttributeRepository.AttributeValue> attributes = nextChunk.apply(from);
+                attributes.forEach(attribute -> personAttributeRepository.updateNormalizedValue(
+                        attribute.getPersonAttributeId(),
+                        AttributeFormat.of(attribute.getFormat()).normalize(attribute.getAttributeValue())));
+                return attributes;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            normalized += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getPersonAttributeId();
+        } while (chunk.size() == chunkSize);
+        return normalized;
+    }
+
+    private PersonAttributeType getAttributeType(int personAttributeTypeId) {
+        return attributeTypeRegistry.findById(personAttributeTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Person attribute type not found"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.event.PersonAttributeTypesChangedEvent;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeRegistry;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Copy-on-write implementation of {@link PersonAttributeTypeRegistry}.
+ *
+ * <p>Every reload builds a new immutable snapshot and swaps it in with a single volatile write, so readers
+ * never lock and never see a half-built index.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+public class PersonAttributeTypeRegistryImpl implements PersonAttributeTypeRegistry {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonAttributeTypeRepository personAttributeTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+
+    // A lock rather than synchronized: the reload waits on JDBC, which would pin a virtual thread's carrier.
+    private final Lock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Creates the registry. It is loaded once the application is ready.
+     *
+     * @param personAttributeTypeRepository the repository the registry is loaded from
+     * @param eventPublisher publishes the bus event on local changes
+     * @param busProperties provides the bus id of this instance
+     * @param destinationFactory creates the bus destination of change events
+     */
+    public PersonAttributeTypeRegistryImpl(PersonAttributeTypeRepository personAttributeTypeRepository,
+                                           ApplicationEventPublisher eventPublisher, BusProperties busProperties,
+                                           Destination.Factory destinationFactory) {
+        this.personAttributeTypeRepository = personAttributeTypeRepository;
+        this.eventPublisher = eventPublisher;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+    }
+
+    @Override
+    public Optional<PersonAttributeType> findById(int personAttributeTypeId) {
+        return Optional.ofNullable(snapshot.byId().get(personAttributeTypeId));
+    }
+
+    @Override
+    public Optional<PersonAttributeType> findActiveByName(String name) {
+        return Optional.ofNullable(snapshot.activeByName().get(name));
+    }
+
+    @Override
+    public List<PersonAttributeType> getActive() {
+        return snapshot.active();
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        // Serialized so a slow reload can not overwrite the result of a newer one.
+        refreshLock.lock();
+        try {
+            snapshot = Snapshot.of(personAttributeTypeRepository.findAll());
+            logger.debug("Loaded {} person attribute types", snapshot.byId().size());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public void publishChange() {
+        refresh();
+        try {
+            eventPublisher.publishEvent(new PersonAttributeTypesChangedEvent(this, busProperties.getId(),
+                    destinationFactory.getDestination(null)));
+        } catch (RuntimeException e) {
+            logger.warn("Could not broadcast person attribute type change; peers keep their registry", e);
+        }
+    }
+
+    /**
+     * Reloads the registry when another instance reports a change.
+     *
+     * @param event the change event received from the bus
+     */
+    @EventListener
+    public void onPersonAttributeTypesChanged(PersonAttributeTypesChangedEvent event) {
+        // Local changes were applied by publishChange before the event was sent.
+        if (!busProperties.getId().equals(event.getOriginService())) {
+            refresh();
+        }
+    }
+
+    private record Snapshot(Map<Integer, PersonAttributeType> byId, Map<String, PersonAttributeType> activeByName,
+                            List<PersonAttributeType> active) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), List.of());
+
+        static Snapshot of(List<PersonAttributeType> attributeTypes) {
+            Map<Integer, PersonAttributeType> byId = new HashMap<>();
+            Map<String, PersonAttributeType> activeByName = new HashMap<>();
+            for (PersonAttributeType attributeType : attributeTypes) {
+                byId.put(attributeType.getPersonAttributeTypeId(), attributeType);
+                if (!attributeType.isVoided() && attributeType.getName() != null) {
+                    activeByName.put(attributeType.getName(), attributeType);
+                }
+            }
+            List<PersonAttributeType> active = attributeTypes.stream()
+                    .filter(attributeType -> !attributeType.isVoided())
+                    .sorted(Comparator.comparingInt(PersonAttributeType::getPersonAttributeTypeId))
+                    .toList();
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(activeByName), active);
+        }
+    }
+}
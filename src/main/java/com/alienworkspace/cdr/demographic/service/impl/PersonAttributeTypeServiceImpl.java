@@ -2,8 +2,12 @@ package com.alienworkspace.cdr.demographic.service.impl;
 
 import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.demographic.helpers.CurrentUser;
+import com.alienworkspace.cdr.demographic.model.AttributeFormat;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonAttributeTypeMapper;
 import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeLookupService;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeRegistry;
 import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeService;
 import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
@@ -11,10 +15,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation of the {@link PersonAttributeTypeService} interface.
  *
+ * <p>Uniqueness is changed with the row of the attribute type locked, so that no attribute of the type is written
+ * while its attributes are moved in or out of the unique scope.</p>
+ *
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Service
@@ -23,23 +31,52 @@ public class PersonAttributeTypeServiceImpl implements PersonAttributeTypeServic
 
     private final PersonAttributeTypeRepository personAttributeTypeRepository;
     private final PersonAttributeTypeMapper personAttributeTypeMapper;
+    private final PersonAttributeTypeRegistry personAttributeTypeRegistry;
+    private final PersonAttributeLookupService personAttributeLookupService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public PersonAttributeTypeDto savePersonAttributeType(PersonAttributeTypeDto personAttributeTypeDto) {
-        return personAttributeTypeMapper.toDto(
+        PersonAttributeTypeDto saved = personAttributeTypeMapper.toDto(
                 personAttributeTypeRepository.save(personAttributeTypeMapper.toEntity(personAttributeTypeDto)));
+        personAttributeTypeRegistry.publishChange();
+        return saved;
     }
 
     @Override
     public PersonAttributeTypeDto updatePersonAttributeType(int id, PersonAttributeTypeDto personAttributeTypeDto) {
-        return personAttributeTypeRepository.findById(id)
-                .map(personAttributeType -> {
-                    personAttributeType.setFormat(personAttributeTypeDto.getFormat());
-                    personAttributeType.setLastModifiedAt(LocalDateTime.now());
-                    personAttributeType.setLastModifiedBy(CurrentUser.getCurrentUser().getPersonId());
-                    return personAttributeTypeRepository.save(personAttributeType);                })
-                .map(personAttributeTypeMapper::toDto)
+        PersonAttributeType personAttributeType = personAttributeTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Person attribute type not found"));
+        boolean formatChanged = AttributeFormat.of(personAttributeType.getFormat())
+                != AttributeFormat.of(personAttributeTypeDto.getFormat());
+        personAttributeType.setFormat(personAttributeTypeDto.getFormat());
+        personAttributeType.setLastModifiedAt(LocalDateTime.now());
+        personAttributeType.setLastModifiedBy(CurrentUser.getCurrentUser().getPersonId());
+        PersonAttributeTypeDto updated = personAttributeTypeMapper.toDto(
+                personAttributeTypeRepository.save(personAttributeType));
+        personAttributeTypeRegistry.publishChange();
+        if (formatChanged) {
+            personAttributeLookupService.renormalize(id);
+        }
+        return updated;
+    }
+
+    @Override
+    public void setUniqueValues(int id, boolean uniqueValues) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PersonAttributeType personAttributeType = personAttributeTypeRepository.findForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Person attribute type not found"));
+            if (uniqueValues && !personAttributeType.isUniqueValues()) {
+                personAttributeLookupService.checkNoSharedValues(id);
+            }
+            personAttributeType.setUniqueValues(uniqueValues);
+            personAttributeType.setLastModifiedAt(LocalDateTime.now());
+            personAttributeType.setLastModifiedBy(CurrentUser.getCurrentUser().getPersonId());
+            personAttributeTypeRepository.save(personAttributeType);
+            personAttributeLookupService.setUniqueScope(id, uniqueValues);
+        });
+        // Published once committed, so that the registries reload the new uniqueness.
+        personAttributeTypeRegistry.publishChange();
     }
 
     @Override
@@ -53,6 +90,7 @@ public class PersonAttributeTypeServiceImpl implements PersonAttributeTypeServic
                     return personAttributeTypeRepository.save(personAttributeType);
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Person attribute type not found"));
+        personAttributeTypeRegistry.publishChange();
     }
 
     @Override
@@ -64,8 +102,7 @@ public class PersonAttributeTypeServiceImpl implements PersonAttributeTypeServic
 
     @Override
     public List<PersonAttributeTypeDto> getAllPersonAttributeTypes() {
-        return personAttributeTypeRepository.findAll().stream()
-                .filter(personAttributeType -> !personAttributeType.isVoided())
+        return personAttributeTypeRegistry.getActive().stream()
                 .map(personAttributeTypeMapper::toDto).toList();
     }
 }
@@ -0,0 +1,366 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.BulkImportConfig;
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonOutcome;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonResult;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidRequest;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonVoidFilter;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonAddressMapper;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonAttributeMapper;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonNameMapper;
+import com.alienworkspace.cdr.demographic.repository.PersonAddressRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonSummaryRepository;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeLookupService;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeRegistry;
+import com.alienworkspace.cdr.demographic.service.PersonBulkService;
+import com.alienworkspace.cdr.demographic.service.PersonEventOutbox;
+import com.alienworkspace.cdr.demographic.service.PersonResponseCache;
+import com.alienworkspace.cdr.demographic.service.PersonSearchIndex;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for bulk person registration.
+ *
+ * <p>Records are persisted in chunks of {@link BulkImportConfig#getChunkSize()} people. Attribute types are
+ * resolved from the in-memory registry and each chunk is written in one transaction, so Hibernate can group
+ * the inserts into JDBC batches. Values of unique attribute types are checked once per chunk and attribute type.
+ * When a chunk fails to flush, its people are retried one per transaction to isolate the bad records.
+ * The creation events of a chunk are recorded in the outbox in the same transaction.</p>
+ *
+ * <p>Bulk voids never load an entity: each chunk of {@link BulkImportConfig#getVoidChunkSize()} person IDs is
+ * voided with one {@code UPDATE} per table, together with its outbox events, and the search index and response
+ * cache are updated once the chunk commits. Being bulk updates, they evict the cached people and children from
+ * the second-level cache.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@AllArgsConstructor
+public class PersonBulkServiceImpl implements PersonBulkService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonAttributeTypeRegistry attributeTypeRegistry;
+    private final PersonMapper personMapper;
+    private final PersonNameMapper personNameMapper;
+    private final PersonAddressMapper personAddressMapper;
+    private final PersonAttributeMapper personAttributeMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkImportConfig bulkImportConfig;
+    private final PersonSearchIndex personSearchIndex;
+    private final PersonAttributeLookupService personAttributeLookupService;
+    private final PersonEventOutbox personEventOutbox;
+    private final PersonRepository personRepository;
+    private final PersonNameRepository personNameRepository;
+    private final PersonAddressRepository personAddressRepository;
+    private final PersonAttributeRepository personAttributeRepository;
+    private final PersonSummaryRepository personSummaryRepository;
+    private final PersonResponseCache personResponseCache;
+
+    /**
+     * Registers every person read from the iterator, in fixed-size chunks.
+     *
+     * @param persons the people to register, read lazily
+     * @return the number of created and failed records and one outcome per record
+     */
+    @Override
+    public BulkPersonResult addPersons(Iterator<PersonDto> persons) {
+        int chunkSize = bulkImportConfig.getChunkSize();
+        List<BulkPersonOutcome> outcomes = new ArrayList<>();
+        List<IndexedPerson> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (persons.hasNext()) {
+            int current = index++;
+            try {
+                chunk.add(new IndexedPerson(current, persons.next()));
+            } catch (IllegalArgumentException e) {
+                outcomes.add(failed(current, e));
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                outcomes.addAll(addChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            outcomes.addAll(addChunk(chunk));
+        }
+        outcomes.sort(Comparator.comparingInt(BulkPersonOutcome::getIndex));
+        int created = (int) outcomes.stream()
+                .filter(outcome -> outcome.getStatus() == BulkPersonOutcome.Status.CREATED)
+                .count();
+        logger.info("Bulk load finished: {} created, {} failed", created, outcomes.size() - created);
+        return BulkPersonResult.builder()
+                .created(created)
+                .failed(outcomes.size() - created)
+                .outcomes(outcomes)
+                .build();
+    }
+
+    /**
+     * Voids the people chosen by ID or by filter, in fixed-size chunks of set-based updates.
+     *
+     * @param request the people to void, the reason and whether their names, addresses and attributes are voided
+     * @return the number of people, names, addresses and attributes voided
+     */
+    @Override
+    public BulkVoidResult voidPersons(BulkVoidRequest request) {
+        String voidReason = Optional.ofNullable(request.getVoidRequest())
+                .map(RecordVoidRequest::getVoidReason)
+                .filter(reason -> !reason.isBlank())
+                .orElseThrow(() -> new IllegalArgumentException("A void reason is required"));
+        if ((request.getPersonIds() == null) == (request.getFilter() == null)) {
+            throw new IllegalArgumentException("Choose the people to void by either personIds or filter");
+        }
+        long begin = System.nanoTime();
+        int chunkSize = bulkImportConfig.getVoidChunkSize();
+        BulkVoidResult result = new BulkVoidResult();
+        LocalDateTime voidedAt = LocalDateTime.now();
+        if (request.getPersonIds() != null) {
+            List<Long> personIds = request.getPersonIds().stream().distinct().toList();
+            if (personIds.size() > bulkImportConfig.getMaxVoidIds()) {
+                throw new IllegalArgumentException(String.format("At most %d person IDs can be voided at once, "
+                        + "use a filter for more", bulkImportConfig.getMaxVoidIds()));
+            }
+            for (int from = 0; from < personIds.size(); from += chunkSize) {
+                List<Long> chunk = personIds.subList(from, Math.min(from + chunkSize, personIds.size()));
+                voidChunk(chunk, voidedAt, voidReason, request.isCascade(), result);
+            }
+        } else {
+            PersonVoidFilter filter = request.getFilter();
+            if (filter.getCreatedFrom() == null && filter.getCreatedTo() == null && filter.getCreatedBy() == null) {
+                throw new IllegalArgumentException("The void filter must set at least one criterion");
+            }
+            long afterId = 0;
+            List<Long> chunk;
+            // The seek runs outside the chunk transactions; voided people drop out of the next pages anyway.
+            while (!(chunk = personRepository.findActivePersonIdsAfter(afterId, filter.getCreatedFrom(),
+                    filter.getCreatedTo(), filter.getCreatedBy(), Limit.of(chunkSize))).isEmpty()) {
+                voidChunk(chunk, voidedAt, voidReason, request.isCascade(), result);
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        }
+        result.setDurationMillis((System.nanoTime() - begin) / 1_000_000);
+        logger.info("Bulk void finished: {} people, {} names, {} addresses, {} attributes in {} chunks, {} ms",
+                result.getPeople(), result.getNames(), result.getAddresses(), result.getAttributes(),
+                result.getChunks(), result.getDurationMillis());
+        return result;
+    }
+
+    private void voidChunk(List<Long> chunk, LocalDateTime voidedAt, String voidReason, boolean cascade,
+                           BulkVoidResult result) {
+        List<Long> voided = transactionTemplate.execute(status -> {
+            // Read the people this chunk voids under the same transaction, so each gets exactly one event.
+            List<Long> personIds = personRepository.findActivePersonIdsIn(chunk);
+            if (personIds.isEmpty()) {
+                return personIds;
+            }
+            result.setPeople(result.getPeople() + personRepository.voidAll(personIds, voidedAt, 1L, voidReason));
+            if (cascade) {
+                result.setNames(result.getNames()
+                        + personNameRepository.voidOfPersons(personIds, voidedAt, 1L, voidReason));
+                result.setAddresses(result.getAddresses()
+                        + personAddressRepository.voidOfPersons(personIds, voidedAt, 1L, voidReason));
+                result.setAttributes(result.getAttributes()
+                        + personAttributeRepository.voidOfPersons(personIds, voidedAt, 1L, voidReason));
+            }
+            personSummaryRepository.refresh(personIds);
+            for (Long personId : personIds) {
+                personEventOutbox.record(PersonChangeEvent.Type.PERSON_VOIDED, personId);
+                // Applied to the search index only if this chunk commits.
+                personSearchIndex.remove(personId);
+            }
+            return personIds;
+        });
+        voided.forEach(personResponseCache::evict);
+        result.setChunks(result.getChunks() + 1);
+        logger.info("Bulk void chunk {}: {} of {} people voided, {} voided so far",
+                result.getChunks(), voided.size(), chunk.size(), result.getPeople());
+    }
+
+    private List<BulkPersonOutcome> addChunk(List<IndexedPerson> chunk) {
+        List<BulkPersonOutcome> outcomes = new ArrayList<>(chunk.size());
+        List<IndexedPerson> checked = new ArrayList<>(chunk.size());
+        List<Person> people = new ArrayList<>(chunk.size());
+        for (IndexedPerson record : chunk) {
+            try {
+                people.add(toEntity(record.personDto()));
+                checked.add(record);
+            } catch (IllegalArgumentException e) {
+                outcomes.add(failed(record.index(), e));
+            }
+        }
+        List<IndexedPerson> valid = withUniqueValues(checked, people, outcomes);
+        try {
+            outcomes.addAll(persist(valid));
+        } catch (RuntimeException e) {
+            logger.warn("Bulk chunk of {} people failed, retrying one at a time", valid.size(), e);
+            for (IndexedPerson record : valid) {
+                try {
+                    outcomes.addAll(persist(List.of(record)));
+                } catch (RuntimeException recordError) {
+                    outcomes.add(failed(record.index(), recordError));
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Drops the records holding a value of a unique attribute type that is already registered, or that an
+     * earlier record of the chunk holds. The registered values are looked up with one query per attribute type.
+     */
+    private List<IndexedPerson> withUniqueValues(List<IndexedPerson> records, List<Person> people,
+                                                 List<BulkPersonOutcome> outcomes) {
+        Map<PersonAttributeType, Map<String, List<Integer>>> uniqueValues = new HashMap<>();
+        for (int i = 0; i < people.size(); i++) {
+            for (PersonAttribute attribute : people.get(i).getAttributes()) {
+                if (attribute.isVoided() || !attribute.getPersonAttributeType().isUniqueValues()) {
+                    continue;
+                }
+                attribute.normalizeAttributeValue();
+                if (attribute.getNormalizedValue() != null) {
+                    uniqueValues.computeIfAbsent(attribute.getPersonAttributeType(), type -> new HashMap<>())
+                            .computeIfAbsent(attribute.getNormalizedValue(), value -> new ArrayList<>())
+                            .add(i);
+                }
+            }
+        }
+        if (uniqueValues.isEmpty()) {
+            return records;
+        }
+        Map<Integer, String> rejected = new HashMap<>();
+        uniqueValues.forEach((type, values) -> {
+            Map<String, Set<Long>> holders = personAttributeLookupService.findHolders(
+                    type.getPersonAttributeTypeId(), values.keySet());
+            values.forEach((value, positions) -> {
+                List<Integer> holding = positions.stream().distinct().toList();
+                if (holders.containsKey(value)) {
+                    holding.forEach(position -> rejected.putIfAbsent(position, String.format(
+                            "%s %s is already held by person %s", type.getName(), value, holders.get(value))));
+                } else {
+                    holding.stream().skip(1).forEach(position -> rejected.putIfAbsent(position, String.format(
+                            "%s %s is already held by record %d", type.getName(), value,
+                            records.get(holding.get(0)).index())));
+                }
+            });
+        });
+        List<IndexedPerson> accepted = new ArrayList<>(records.size() - rejected.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (rejected.containsKey(i)) {
+                outcomes.add(failed(records.get(i).index(), new DuplicateAttributeValueException(rejected.get(i))));
+            } else {
+                accepted.add(records.get(i));
+            }
+        }
+        return accepted;
+    }
+
+    private List<BulkPersonOutcome> persist(List<IndexedPerson> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            // Entities are rebuilt per attempt; a rolled back attempt leaves generated ids on the old ones.
+            List<Person> people = new ArrayList<>(records.size());
+            for (IndexedPerson record : records) {
+                people.add(toEntity(record.personDto()));
+            }
+            // The pre-check above is advisory; the unique key on the marked values decides under concurrency.
+            personAttributeLookupService.markUnique(people.stream()
+                    .flatMap(person -> person.getAttributes().stream())
+                    .toList());
+            for (Person person : people) {
+                entityManager.persist(person);
+                personEventOutbox.record(PersonChangeEvent.Type.PERSON_CREATED, person.getPersonId());
+            }
+            entityManager.flush();
+            personSummaryRepository.refresh(people.stream().map(Person::getPersonId).toList());
+            // Applied to the search index only if this chunk commits.
+            personSearchIndex.index(people);
+            entityManager.clear();
+            List<BulkPersonOutcome> outcomes = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                outcomes.add(BulkPersonOutcome.builder()
+                        .index(records.get(i).index())
+                        .status(BulkPersonOutcome.Status.CREATED)
+                        .personId(people.get(i).getPersonId())
+                        .build());
+            }
+            return outcomes;
+        });
+    }
+
+    private Person toEntity(PersonDto personDto) {
+        if (personDto == null) {
+            throw new IllegalArgumentException("Person record can not be null");
+        }
+        if (personDto.getPersonId() != null) {
+            throw new IllegalArgumentException("PersonId must not be set on a new person");
+        }
+        if (personDto.getGender() == null || personDto.getBirthDate() == null) {
+            throw new IllegalArgumentException("Gender and birth date are required");
+        }
+        Person person = personMapper.personDtoToPerson(personDto);
+        if (personDto.getName() != null) {
+            personDto.getName().forEach(name -> person.addName(personNameMapper.personNameDtoToPersonName(name)));
+        }
+        if (personDto.getAddress() != null) {
+            personDto.getAddress().forEach(address -> person.addAddress(personAddressMapper.toEntity(address)));
+        }
+        if (personDto.getAttributes() != null) {
+            for (PersonAttributeDto attributeDto : personDto.getAttributes()) {
+                Integer attributeTypeId = attributeDto.getPersonAttributeType() == null
+                        ? null : attributeDto.getPersonAttributeType().getPersonAttributeTypeId();
+                PersonAttributeType attributeType = Optional.ofNullable(attributeTypeId)
+                        .flatMap(attributeTypeRegistry::findById)
+                        .orElseThrow(() -> new IllegalArgumentException(
+                                String.format("Person attribute type %s not found", attributeTypeId)));
+                PersonAttribute attribute = personAttributeMapper.toEntity(attributeDto);
+                attribute.setPersonAttributeType(attributeType);
+                person.addAttribute(attribute);
+            }
+        }
+        return person;
+    }
+
+    private BulkPersonOutcome failed(int index, Exception e) {
+        return BulkPersonOutcome.builder()
+                .index(index)
+                .status(BulkPersonOutcome.Status.FAILED)
+                .error(DuplicateAttributeValueException.from(e).map(Exception::getMessage).orElse(e.getMessage()))
+                .build();
+    }
+
+    private record IndexedPerson(int index, PersonDto personDto) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.ChangeFeedConfig;
+import com.alienworkspace.cdr.demographic.helpers.ChangeCursor;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChange;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.PersonChangeFeedService;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the {@link PersonChangeFeedService} interface.
+ *
+ * <p>Pages are cut with keyset pagination on the change time and the person ID. Changes younger than
+ * {@link ChangeFeedConfig#getSettleTime()} are held back, because auditing stamps a change before its
+ * transaction commits.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@AllArgsConstructor
+public class PersonChangeFeedServiceImpl implements PersonChangeFeedService {
+
+    /**
+     * Where the feed starts when neither a watermark nor a cursor is given.
+     */
+    static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final PersonRepository personRepository;
+    private final ChangeFeedConfig changeFeedConfig;
+
+    @Override
+    public PersonChangePage getChanges(LocalDateTime since, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Seeking after the largest ID at the watermark lists exactly the people changed after it.
+        ChangeCursor.Position after = cursor == null || cursor.isBlank()
+                ? new ChangeCursor.Position(since == null ? BEGINNING : since, Long.MAX_VALUE)
+                : ChangeCursor.decode(cursor);
+        LocalDateTime until = LocalDateTime.now().minus(changeFeedConfig.getSettleTime());
+        List<PersonRepository.PersonChangeRow> rows = after.changedAt().isBefore(until)
+                ? personRepository.findChangesAfter(after.changedAt(), after.personId(), until, pageSize + 1)
+                : List.of();
+        boolean more = rows.size() > pageSize;
+        List<PersonChange> content = (more ? rows.subList(0, pageSize) : rows).stream()
+                .map(row -> PersonChange.builder()
+                        .personId(row.getPersonId())
+                        .changedAt(row.getChangedAt())
+                        .voided(Boolean.TRUE.equals(row.getVoided()))
+                        .build())
+                .toList();
+        ChangeCursor.Position next = content.isEmpty() ? after : new ChangeCursor.Position(
+                content.get(content.size() - 1).getChangedAt(), content.get(content.size() - 1).getPersonId());
+        return PersonChangePage.builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(ChangeCursor.encode(next))
+                .more(more)
+                .build();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return changeFeedConfig.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(size, changeFeedConfig.getMaxPageSize());
+    }
+}
@@ -0,0 +1,696 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.DeduplicationConfig;
+import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAddress;
+import com.alienworkspace.cdr.demographic.model.PersonDuplicateCandidate;
+import com.alienworkspace.cdr.demographic.model.PersonDuplicateScan;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.repository.PersonAddressRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonDuplicateCandidateRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonDuplicateScanRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.PersonDeduplicationService;
+import com.alienworkspace.cdr.demographic.service.PersonSearchIndex;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.apache.commons.codec.language.Soundex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of {@link PersonDeduplicationService}.
+ *
+ * <p>A new person is blocked through the {@link PersonSearchIndex}: the registered people whose surname
+ * sounds like or nearly spells theirs and who share their gender and birth year, and the people sharing a
+ * first name and birth date with them. Only the linkage fields of those people are read, as projections, and
+ * scored; no entity is loaded.</p>
+ *
+ * <p>The full scan runs on its own thread and is tracked as a {@link PersonDuplicateScan}. It reads the linkage
+ * fields of the active people in keyset chunks ordered by birth date into compact {@link LinkageRecord}s. Every
+ * blocking key holds the birth year, so the records of one birth year are grouped, by the Soundex code of each
+ * surname with birth year and gender and by the Soundex code of each first name with birth date, compared and
+ * written before the next year is read; only one birth year is held in memory. The blocks are compared on a
+ * dedicated {@link ForkJoinPool}; a block larger than {@link DeduplicationConfig#getMaxBlockSize()} is sorted
+ * by name and compared within a sliding window, so a common surname cannot make the scan quadratic.</p>
+ *
+ * <p>Candidate pairs are written under the ID of their scan in transactions of
+ * {@link DeduplicationConfig#getWriteChunkSize()} rows. Readers only see the pairs of the latest completed
+ * scan, so the pairs of the previous scan are removed in chunks of the same size once a scan completes.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@AllArgsConstructor
+public class PersonDeduplicationServiceImpl implements PersonDeduplicationService {
+
+    private static final Pattern PHONETIC_WORD = Pattern.compile("[a-z]{2,}");
+    private static final int BLOCKS_PER_TASK = 64;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final LocalDate SCAN_START = LocalDate.of(1, 1, 1);
+    private static final Soundex SOUNDEX = Soundex.US_ENGLISH;
+    private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonRepository personRepository;
+    private final PersonNameRepository personNameRepository;
+    private final PersonAddressRepository personAddressRepository;
+    private final PersonAttributeRepository personAttributeRepository;
+    private final PersonDuplicateCandidateRepository candidateRepository;
+    private final PersonDuplicateScanRepository scanRepository;
+    private final PersonSearchIndex personSearchIndex;
+    private final DeduplicationConfig deduplicationConfig;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean scanning = new AtomicBoolean();
+    private final ExecutorService scanExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("duplicate-scan-%d").setDaemon(true).build());
+
+    @Override
+    public List<PersonMatch> findDuplicates(Person person) {
+        LinkageRecord probe = LinkageRecord.of(person);
+        if (probe == null || probe.birthDate() == null) {
+            return List.of();
+        }
+        Set<Long> candidateIds = new LinkedHashSet<>();
+        int limit = deduplicationConfig.getMaxBlockSize();
+        LocalDate yearStart = probe.birthDate().withDayOfYear(1);
+        for (String lastName : probe.lastNames()) {
+            personSearchIndex.search(PersonSearchQuery.builder()
+                            .text(lastName)
+                            .gender(probe.gender())
+                            .birthDateFrom(yearStart)
+                            .birthDateTo(yearStart.plusYears(1).minusDays(1))
+                            .limit(limit)
+                            .build())
+                    .forEach(match -> candidateIds.add(match.personId()));
+        }
+        for (String firstName : probe.firstNames()) {
+            personSearchIndex.search(PersonSearchQuery.builder()
+                            .text(firstName)
+                            .birthDateFrom(probe.birthDate())
+                            .birthDateTo(probe.birthDate())
+                            .limit(limit)
+                            .build())
+                    .forEach(match -> candidateIds.add(match.personId()));
+        }
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> personIds = List.copyOf(candidateIds);
+        int chunkSize = deduplicationConfig.getScanChunkSize();
+        List<LinkageRecord> candidates = new ArrayList<>();
+        for (int from = 0; from < personIds.size(); from += chunkSize) {
+            candidates.addAll(loadRecords(personRepository.findActiveLinkagePeople(
+                    personIds.subList(from, Math.min(from + chunkSize, personIds.size())))));
+        }
+        return candidates.stream()
+                .map(candidate -> toMatch(candidate.personId(), score(probe, candidate)))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(PersonMatch::getScore).reversed()
+                        .thenComparingLong(PersonMatch::getPersonId))
+                .limit(deduplicationConfig.getMaxMatches())
+                .toList();
+    }
+
+    @Override
+    public DuplicateScanResult startScan() {
+        PersonDuplicateScan scan = begin();
+        try {
+            scanExecutor.execute(() -> {
+                try {
+                    run(scan);
+                } catch (RuntimeException e) {
+                    // Already recorded on the scan by run.
+                } finally {
+                    scanning.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            scanning.set(false);
+            fail(scan, e);
+            throw e;
+        }
+        return toResult(scan);
+    }
+
+    @Override
+    public DuplicateScanResult scan() {
+        PersonDuplicateScan scan = begin();
+        try {
+            return run(scan);
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    @Override
+    public DuplicateScanResult getScan(long scanId) {
+        return scanRepository.findById(scanId)
+                .map(this::toResult)
+                .orElseThrow(() -> new ResourceNotFoundException("Duplicate scan not found"));
+    }
+
+    @Override
+    public List<PersonMatch> getCandidates(long personId) {
+        return scanRepository.findFirstByStatusOrderByFinishedAtDesc(DuplicateScanResult.Status.COMPLETED)
+                .map(scan -> candidateRepository.findByPerson(scan.getPersonDuplicateScanId(), personId))
+                .orElse(List.of())
+                .stream()
+                .map(candidate -> toMatch(candidate.getPersonId() == personId
+                        ? candidate.getOtherPersonId() : candidate.getPersonId(), candidate.getScore()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Stops the scan thread when the application shuts down; a scan still running is left as running.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scanExecutor.shutdownNow();
+    }
+
+    private PersonDuplicateScan begin() {
+        if (!scanning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A duplicate scan is already running");
+        }
+        try {
+            return scanRepository.save(PersonDuplicateScan.builder()
+                    .status(DuplicateScanResult.Status.RUNNING)
+                    .startedAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException e) {
+            scanning.set(false);
+            throw e;
+        }
+    }
+
+    private DuplicateScanResult run(PersonDuplicateScan scan) {
+        long scanId = scan.getPersonDuplicateScanId();
+        LongAdder comparisons = new LongAdder();
+        int parallelism = deduplicationConfig.getParallelism() > 0
+                ? deduplicationConfig.getParallelism() : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long people = forEachBirthYear(records -> {
+                List<List<LinkageRecord>> blocks = block(records);
+                Map<CandidatePair, Double> pairs = new ConcurrentHashMap<>();
+                pool.invoke(new CompareBlocks(blocks, 0, blocks.size(), pairs, comparisons));
+                writeCandidates(scanId, pairs);
+                scan.setBlocks(scan.getBlocks() + blocks.size());
+                scan.setCandidatePairs(scan.getCandidatePairs() + pairs.size());
+            });
+            scan.setPeople(people);
+            scan.setComparisons(comparisons.sum());
+            scan.setStatus(DuplicateScanResult.Status.COMPLETED);
+            scan.setFinishedAt(LocalDateTime.now());
+            scanRepository.save(scan);
+        } catch (RuntimeException e) {
+            logger.error("Duplicate scan {} failed", scanId, e);
+            scan.setComparisons(comparisons.sum());
+            fail(scan, e);
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+        deleteOtherScans(scanId);
+
+        DuplicateScanResult result = toResult(scan);
+        logger.info("Duplicate scan {} compared {} pairs of {} people in {} blocks and found {} candidates in {} ms",
+                scanId, result.getComparisons(), result.getPeople(), result.getBlocks(), result.getCandidatePairs(),
+                result.getDurationMillis());
+        return result;
+    }
+
+    private void fail(PersonDuplicateScan scan, RuntimeException e) {
+        String error = String.valueOf(e.getMessage());
+        scan.setStatus(DuplicateScanResult.Status.FAILED);
+        scan.setFinishedAt(LocalDateTime.now());
+        scan.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        try {
+            scanRepository.save(scan);
+        } catch (RuntimeException saveFailure) {
+            logger.error("Could not record the failure of duplicate scan {}", scan.getPersonDuplicateScanId(),
+                    saveFailure);
+        }
+    }
+
+    /**
+     * Reads the linkage records of the active people in keyset chunks ordered by birth date and hands them to
+     * the consumer one birth year at a time.
+     *
+     * @param yearConsumer receives the records of each birth year, in birth date order
+     * @return the number of people read
+     */
+    private long forEachBirthYear(Consumer<List<LinkageRecord>> yearConsumer) {
+        int chunkSize = deduplicationConfig.getScanChunkSize();
+        long people = 0;
+        LocalDate afterBirthDate = SCAN_START;
+        long afterId = 0L;
+        List<LinkageRecord> year = new ArrayList<>();
+        List<PersonRepository.LinkagePerson> chunk;
+        do {
+            chunk = personRepository.findActiveLinkagePeopleAfter(afterBirthDate, afterId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            for (LinkageRecord record : loadRecords(chunk)) {
+                if (!year.isEmpty() && year.get(0).birthDate().getYear() != record.birthDate().getYear()) {
+                    yearConsumer.accept(year);
+                    year = new ArrayList<>();
+                }
+                year.add(record);
+            }
+            people += chunk.size();
+            PersonRepository.LinkagePerson last = chunk.get(chunk.size() - 1);
+            afterBirthDate = last.getBirthDate();
+            afterId = last.getPersonId();
+        } while (chunk.size() == chunkSize);
+        if (!year.isEmpty()) {
+            yearConsumer.accept(year);
+        }
+        return people;
+    }
+
+    /**
+     * Builds the linkage records of people from the projections of their names, addresses and attributes.
+     *
+     * @param people the people, which keep their order
+     * @return one record per person
+     */
+    private List<LinkageRecord> loadRecords(List<PersonRepository.LinkagePerson> people) {
+        if (people.isEmpty()) {
+            return List.of();
+        }
+        List<Long> personIds = people.stream().map(PersonRepository.LinkagePerson::getPersonId).toList();
+        Map<Long, List<PersonNameRepository.LinkageName>> names = personNameRepository
+                .findLinkageNames(personIds).stream()
+                .collect(Collectors.groupingBy(PersonNameRepository.LinkageName::getPersonId));
+        Map<Long, List<PersonAddressRepository.LinkageAddress>> addresses = personAddressRepository
+                .findLinkageAddresses(personIds).stream()
+                .collect(Collectors.groupingBy(PersonAddressRepository.LinkageAddress::getPersonId));
+        Map<Long, List<PersonAttributeRepository.LinkageAttribute>> attributes = personAttributeRepository
+                .findLinkageAttributes(personIds).stream()
+                .collect(Collectors.groupingBy(PersonAttributeRepository.LinkageAttribute::getPersonId));
+        return people.stream()
+                .map(person -> LinkageRecord.of(person,
+                        names.getOrDefault(person.getPersonId(), List.of()),
+                        addresses.getOrDefault(person.getPersonId(), List.of()),
+                        attributes.getOrDefault(person.getPersonId(), List.of())))
+                .toList();
+    }
+
+    private static List<List<LinkageRecord>> block(Collection<LinkageRecord> records) {
+        Map<String, List<LinkageRecord>> blocks = new HashMap<>();
+        for (LinkageRecord record : records) {
+            for (String key : record.blockingKeys()) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+            }
+        }
+        return blocks.values().stream()
+                .filter(block -> block.size() > 1)
+                .toList();
+    }
+
+    private void writeCandidates(long scanId, Map<CandidatePair, Double> pairs) {
+        int chunkSize = deduplicationConfig.getWriteChunkSize();
+        LocalDateTime detectedAt = LocalDateTime.now();
+        List<Map.Entry<CandidatePair, Double>> entries = List.copyOf(pairs.entrySet());
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<CandidatePair, Double>> chunk =
+                    entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Map.Entry<CandidatePair, Double> pair : chunk) {
+                    entityManager.persist(PersonDuplicateCandidate.builder()
+                            .personId(pair.getKey().personId())
+                            .otherPersonId(pair.getKey().otherPersonId())
+                            .score(pair.getValue())
+                            .detectedAt(detectedAt)
+                            .scanId(scanId)
+                            .build());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void deleteOtherScans(long scanId) {
+        int chunkSize = deduplicationConfig.getWriteChunkSize();
+        try {
+            Integer deleted;
+            do {
+                deleted = transactionTemplate.execute(
+                        status -> candidateRepository.deleteOtherScans(scanId, chunkSize));
+            } while (deleted != null && deleted == chunkSize);
+        } catch (RuntimeException e) {
+            // Readers already see the new scan only; the next completed scan removes what is left.
+            logger.warn("Could not remove the candidate pairs of the scans before {}", scanId, e);
+        }
+    }
+
+    private DuplicateScanResult toResult(PersonDuplicateScan scan) {
+        LocalDateTime finishedAt = scan.getFinishedAt();
+        return DuplicateScanResult.builder()
+                .scanId(scan.getPersonDuplicateScanId())
+                .status(scan.getStatus())
+                .startedAt(scan.getStartedAt())
+                .finishedAt(finishedAt)
+                .people(scan.getPeople())
+                .blocks(scan.getBlocks())
+                .comparisons(scan.getComparisons())
+                .candidatePairs(scan.getCandidatePairs())
+                .durationMillis(finishedAt == null ? 0
+                        : Duration.between(scan.getStartedAt(), finishedAt).toMillis())
+                .error(scan.getError())
+                .build();
+    }
+
+    private PersonMatch toMatch(long personId, double score) {
+        if (score < deduplicationConfig.getReviewThreshold()) {
+            return null;
+        }
+        return PersonMatch.builder()
+                .personId(personId)
+                .score(score)
+                .status(score >= deduplicationConfig.getMatchThreshold()
+                        ? PersonMatch.Status.MATCH : PersonMatch.Status.POSSIBLE_MATCH)
+                .build();
+    }
+
+    /**
+     * Scores a pair of records with the configured Fellegi-Sunter weights.
+     *
+     * @param a one record
+     * @param b the other record
+     * @return the sum of the field weights
+     */
+    double score(LinkageRecord a, LinkageRecord b) {
+        DeduplicationConfig config = deduplicationConfig;
+        return compareNames(a.firstNames(), b.firstNames(), config.getFirstName())
+                + compareNames(a.lastNames(), b.lastNames(), config.getLastName())
+                + compareBirthDates(a.birthDate(), b.birthDate(), config.getBirthDate())
+                + compareGenders(a.gender(), b.gender(), config.getGender())
+                + compareSets(a.addresses(), b.addresses(), config.getAddress())
+                + compareAttributes(a.attributes(), b.attributes(), config.getAttribute());
+    }
+
+    private static double compareNames(Set<String> a, Set<String> b, DeduplicationConfig.Weights weights) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        if (a.stream().anyMatch(b::contains)) {
+            return weights.agreement();
+        }
+        for (String left : a) {
+            for (String right : b) {
+                if (similar(left, right)) {
+                    return weights.agreement() / 2;
+                }
+            }
+        }
+        return weights.disagreement();
+    }
+
+    private static boolean similar(String a, String b) {
+        if (Math.min(a.length(), b.length()) > 3 && PersonSearchIndexImpl.editDistance(a, b, 1) <= 1) {
+            return true;
+        }
+        String phoneticA = a.replace(" ", "");
+        String phoneticB = b.replace(" ", "");
+        if (!PHONETIC_WORD.matcher(phoneticA).matches() || !PHONETIC_WORD.matcher(phoneticB).matches()) {
+            return false;
+        }
+        return SOUNDEX.soundex(phoneticA).equals(SOUNDEX.soundex(phoneticB))
+                || DOUBLE_METAPHONE.isDoubleMetaphoneEqual(phoneticA, phoneticB);
+    }
+
+    private static double compareBirthDates(LocalDate a, LocalDate b, DeduplicationConfig.Weights weights) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        if (a.equals(b)) {
+            return weights.agreement();
+        }
+        // Typing slips: day and month swapped, or exactly one of day, month and year wrong.
+        boolean swapped = a.getYear() == b.getYear()
+                && a.getMonthValue() == b.getDayOfMonth() && a.getDayOfMonth() == b.getMonthValue();
+        int differingParts = (a.getYear() != b.getYear() ? 1 : 0)
+                + (a.getMonthValue() != b.getMonthValue() ? 1 : 0)
+                + (a.getDayOfMonth() != b.getDayOfMonth() ? 1 : 0);
+        return swapped || differingParts == 1 ? weights.agreement() / 2 : weights.disagreement();
+    }
+
+    private static double compareGenders(Character a, Character b, DeduplicationConfig.Weights weights) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        return Character.toUpperCase(a) == Character.toUpperCase(b) ? weights.agreement() : weights.disagreement();
+    }
+
+    private static double compareSets(Set<String> a, Set<String> b, DeduplicationConfig.Weights weights) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        return a.stream().anyMatch(b::contains) ? weights.agreement() : weights.disagreement();
+    }
+
+    private static double compareAttributes(Map<Integer, Set<String>> a, Map<Integer, Set<String>> b,
+                                            DeduplicationConfig.Weights weights) {
+        boolean sharedType = false;
+        for (Map.Entry<Integer, Set<String>> entry : a.entrySet()) {
+            Set<String> other = b.get(entry.getKey());
+            if (other != null) {
+                if (entry.getValue().stream().anyMatch(other::contains)) {
+                    return weights.agreement();
+                }
+                sharedType = true;
+            }
+        }
+        return sharedType ? weights.disagreement() : 0;
+    }
+
+    private static String phoneticKey(String name) {
+        String letters = name.replace(" ", "");
+        return PHONETIC_WORD.matcher(letters).matches() ? SOUNDEX.soundex(letters) : letters;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return String.join(" ", PersonSearchIndexImpl.tokenize(value));
+    }
+
+    private static void addNormalized(Set<String> target, String value) {
+        String normalized = normalize(value);
+        if (!normalized.isEmpty()) {
+            target.add(normalized);
+        }
+    }
+
+    /**
+     * The fields of a person that take part in linkage, normalised once.
+     *
+     * @param personId the ID of the person
+     * @param gender the gender of the person
+     * @param birthDate the birth date of the person
+     * @param firstNames the first names of the non-voided names
+     * @param lastNames the last names of the non-voided names
+     * @param addresses the postal codes and street lines of the non-voided addresses
+     * @param attributes the values of the non-voided attributes by attribute type ID
+     */
+    record LinkageRecord(long personId, Character gender, LocalDate birthDate, Set<String> firstNames,
+                         Set<String> lastNames, Set<String> addresses, Map<Integer, Set<String>> attributes) {
+
+        static LinkageRecord of(Person person) {
+            if (person.isVoided()) {
+                return null;
+            }
+            Set<String> firstNames = new HashSet<>();
+            Set<String> lastNames = new HashSet<>();
+            for (PersonName name : person.getNames()) {
+                if (!name.isVoided()) {
+                    addNormalized(firstNames, name.getFirstName());
+                    addNormalized(lastNames, name.getLastName());
+                }
+            }
+            Set<String> addresses = new HashSet<>();
+            for (PersonAddress address : person.getAddresses()) {
+                if (!address.isVoided()) {
+                    addAddress(addresses, address.getCity(), address.getPostalCode(), address.getAddressLine1());
+                }
+            }
+            Map<Integer, Set<String>> attributes = new HashMap<>();
+            person.getAttributes().stream()
+                    .filter(attribute -> !attribute.isVoided() && attribute.getPersonAttributeType() != null)
+                    .forEach(attribute -> addAttribute(attributes,
+                            attribute.getPersonAttributeType().getPersonAttributeTypeId(),
+                            attribute.getAttributeValue()));
+            return new LinkageRecord(person.getPersonId(), person.getGender(), person.getBirthDate(),
+                    Set.copyOf(firstNames), Set.copyOf(lastNames), Set.copyOf(addresses), copy(attributes));
+        }
+
+        static LinkageRecord of(PersonRepository.LinkagePerson person, List<PersonNameRepository.LinkageName> names,
+                                List<PersonAddressRepository.LinkageAddress> addresses,
+                                List<PersonAttributeRepository.LinkageAttribute> attributes) {
+            Set<String> firstNames = new HashSet<>();
+            Set<String> lastNames = new HashSet<>();
+            for (PersonNameRepository.LinkageName name : names) {
+                addNormalized(firstNames, name.getFirstName());
+                addNormalized(lastNames, name.getLastName());
+            }
+            Set<String> addressKeys = new HashSet<>();
+            for (PersonAddressRepository.LinkageAddress address : addresses) {
+                addAddress(addressKeys, address.getCity(), address.getPostalCode(), address.getAddressLine1());
+            }
+            Map<Integer, Set<String>> attributeValues = new HashMap<>();
+            for (PersonAttributeRepository.LinkageAttribute attribute : attributes) {
+                addAttribute(attributeValues, attribute.getPersonAttributeTypeId(), attribute.getAttributeValue());
+            }
+            return new LinkageRecord(person.getPersonId(), person.getGender(), person.getBirthDate(),
+                    Set.copyOf(firstNames), Set.copyOf(lastNames), Set.copyOf(addressKeys), copy(attributeValues));
+        }
+
+        private static void addAddress(Set<String> target, Integer city, String postalCode, String addressLine1) {
+            String postal = normalize(postalCode);
+            if (!postal.isEmpty()) {
+                target.add("P:" + postal);
+            }
+            String line = normalize(addressLine1);
+            if (!line.isEmpty()) {
+                target.add("L:" + city + ":" + line);
+            }
+        }
+
+        private static void addAttribute(Map<Integer, Set<String>> target, Integer typeId, String value) {
+            String normalized = normalize(value);
+            if (!normalized.isEmpty()) {
+                target.computeIfAbsent(typeId, k -> new HashSet<>()).add(normalized);
+            }
+        }
+
+        private static Map<Integer, Set<String>> copy(Map<Integer, Set<String>> attributes) {
+            return attributes.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Set.copyOf(entry.getValue())));
+        }
+
+        Set<String> blockingKeys() {
+            Set<String> keys = new HashSet<>();
+            String gender = gender == null ? "?" : String.valueOf(Character.toUpperCase(gender));
+            String year = birthDate == null ? "?" : String.valueOf(birthDate.getYear());
+            lastNames.forEach(lastName -> keys.add("L|" + phoneticKey(lastName) + "|" + year + "|" + gender));
+            firstNames.forEach(firstName -> keys.add("F|" + phoneticKey(firstName) + "|" + birthDate));
+            return keys;
+        }
+
+        String sortKey() {
+            return lastNames.stream().sorted().findFirst().orElse("") + "|"
+                    + firstNames.stream().sorted().findFirst().orElse("");
+        }
+    }
+
+    private record CandidatePair(long personId, long otherPersonId) {
+
+        static CandidatePair of(long a, long b) {
+            return new CandidatePair(Math.min(a, b), Math.max(a, b));
+        }
+    }
+
+    /**
+     * Compares the records of a range of blocks, splitting the range until it is small.
+     */
+    private final class CompareBlocks extends RecursiveAction {
+
+        private final List<List<LinkageRecord>> blocks;
+        private final int from;
+        private final int to;
+        private final Map<CandidatePair, Double> pairs;
+        private final LongAdder comparisons;
+
+        private CompareBlocks(List<List<LinkageRecord>> blocks, int from, int to, Map<CandidatePair, Double> pairs,
+                              LongAdder comparisons) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.pairs = pairs;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCKS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    compareBlock(blocks.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CompareBlocks(blocks, from, middle, pairs, comparisons),
+                    new CompareBlocks(blocks, middle, to, pairs, comparisons));
+        }
+
+        private void compareBlock(List<LinkageRecord> block) {
+            List<LinkageRecord> records = block;
+            int window = records.size();
+            if (records.size() > deduplicationConfig.getMaxBlockSize()) {
+                records = block.stream()
+                        .sorted(Comparator.comparing(LinkageRecord::sortKey))
+                        .toList();
+                window = deduplicationConfig.getWindowSize();
+            }
+            for (int i = 0; i < records.size(); i++) {
+                int last = Math.min(records.size(), i + 1 + window);
+                for (int j = i + 1; j < last; j++) {
+                    compare(records.get(i), records.get(j));
+                }
+            }
+        }
+
+        private void compare(LinkageRecord a, LinkageRecord b) {
+            comparisons.increment();
+            double score = score(a, b);
+            if (score >= deduplicationConfig.getReviewThreshold()) {
+                pairs.merge(CandidatePair.of(a.personId(), b.personId()), score, Math::max);
+            }
+        }
+    }
+}
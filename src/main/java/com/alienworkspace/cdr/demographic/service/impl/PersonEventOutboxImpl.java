@@ -0,0 +1,34 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.model.PersonOutboxEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.repository.PersonOutboxEventRepository;
+import com.alienworkspace.cdr.demographic.service.PersonEventOutbox;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the {@link PersonEventOutbox} interface.
+ *
+ * <p>Events are saved through the repository, so they join the transaction of the caller and are inserted
+ * in the same JDBC batch as the change itself.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@AllArgsConstructor
+public class PersonEventOutboxImpl implements PersonEventOutbox {
+
+    private final PersonOutboxEventRepository personOutboxEventRepository;
+
+    @Override
+    public void record(PersonChangeEvent.Type type, long personId, Long recordId) {
+        personOutboxEventRepository.save(PersonOutboxEvent.builder()
+                .eventType(type)
+                .personId(personId)
+                .recordId(recordId)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+}
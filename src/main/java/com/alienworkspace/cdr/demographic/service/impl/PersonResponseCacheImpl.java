@@ -0,0 +1,94 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.ResponseCacheConfig;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+import com.alienworkspace.cdr.demographic.service.PersonResponseCache;
+import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the {@link PersonResponseCache} interface backed by a bounded, TTL-based cache.
+ *
+ * <p>Concurrent misses on the same person are rendered once. Failures, such as an unknown person, and degraded
+ * renders missing some location names are not cached. Cache hits, misses and evictions are published as
+ * {@code cache.*} meters tagged {@code cache=demographic.person-responses}.</p>
+ *
+ * <p>Keys carry the generation of the person's stripe, which {@link #evict(long)} moves on. A render that was
+ * started before an eviction is stored under the previous generation, where no later request looks, so it can
+ * not outlive the change that evicted it.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Dependency injection by Spring; safe to store")
+public class PersonResponseCacheImpl implements PersonResponseCache {
+
+    private static final String CACHE_NAME = "demographic.person-responses";
+
+    /**
+     * Number of generation counters people are spread over; a power of two.
+     */
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final PersonService personService;
+    private final Cache<Key, RenderedPerson> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param personService the service rendering people on a miss
+     * @param responseCacheConfig the cache size and time to live
+     * @param meterRegistry the registry the cache metrics are published to
+     */
+    public PersonResponseCacheImpl(PersonService personService, ResponseCacheConfig responseCacheConfig,
+                                   MeterRegistry meterRegistry) {
+        this.personService = personService;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(responseCacheConfig.getMaximumSize())
+                .expireAfterWrite(responseCacheConfig.getTimeToLive())
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public RenderedPerson getPerson(String correlationId, long personId, boolean includeVoided) {
+        Key key = new Key(personId, includeVoided, generations.get(stripe(personId)));
+        try {
+            RenderedPerson rendered = cache.get(key,
+                    () -> personService.renderPerson(correlationId, personId, includeVoided));
+            if (rendered.isDegraded()) {
+                // Served to the requests that waited for it, then rendered again by the next one.
+                cache.asMap().remove(key, rendered);
+            }
+            return rendered;
+        } catch (UncheckedExecutionException e) {
+            // Runtime exceptions keep their type, so the exception handler still maps them to 404 or 400.
+            throw (RuntimeException) e.getCause();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error rendering person " + personId, e.getCause());
+        }
+    }
+
+    @Override
+    public void evict(long personId) {
+        long generation = generations.getAndIncrement(stripe(personId));
+        cache.invalidateAll(List.of(new Key(personId, true, generation), new Key(personId, false, generation)));
+    }
+
+    private static int stripe(long personId) {
+        return Long.hashCode(personId) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Key(long personId, boolean includeVoided, long generation) {}
+}
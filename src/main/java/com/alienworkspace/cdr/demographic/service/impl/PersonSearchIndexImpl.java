@@ -0,0 +1,415 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.SearchConfig;
+import com.alienworkspace.cdr.demographic.event.PersonSearchIndexChangedEvent;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.PersonSearchIndex;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.apache.commons.codec.language.Soundex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of {@link PersonSearchIndex} holding its postings in memory.
+ *
+ * <p>Names are folded to lower-case ASCII and split into words. Each word is posted under itself, in a sorted
+ * map so prefixes are a range scan, in a length bucket so fuzzy candidates are only compared when their
+ * length is within the edit budget, and under its Soundex and Double Metaphone codes. A query word is scored
+ * against the people by the best way it matches one of their words, and a person must match every query
+ * word; the per-word scores are summed to rank the results.</p>
+ *
+ * <p>Changes made on this instance are applied after their transaction commits and broadcast over the bus;
+ * other instances reload the changed people by ID. A failed broadcast is only logged.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+public class PersonSearchIndexImpl implements PersonSearchIndex {
+
+    static final double EXACT_SCORE = 1.0;
+    static final double PREFIX_SCORE = 0.8;
+    static final double FUZZY_SCORE = 0.7;
+    static final double FUZZY_PENALTY_PER_EDIT = 0.15;
+    static final double PHONETIC_SCORE = 0.5;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("['\u2019]");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern PHONETIC_WORD = Pattern.compile("[a-z]{2,}");
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonRepository personRepository;
+    private final SearchConfig searchConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+
+    private final Soundex soundex = new Soundex();
+    private final DoubleMetaphone doubleMetaphone = new DoubleMetaphone();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> words = new TreeMap<>();
+    private final Map<Integer, Set<String>> wordsByLength = new HashMap<>();
+    private final Map<String, Set<Long>> phoneticCodes = new HashMap<>();
+
+    /**
+     * Creates an empty index. It is built once the application is ready.
+     *
+     * @param personRepository the repository the index is built from
+     * @param searchConfig the search limits
+     * @param eventPublisher publishes the bus event on local changes
+     * @param busProperties provides the bus id of this instance
+     * @param destinationFactory creates the bus destination of change events
+     */
+    public PersonSearchIndexImpl(PersonRepository personRepository, SearchConfig searchConfig,
+                                 ApplicationEventPublisher eventPublisher, BusProperties busProperties,
+                                 Destination.Factory destinationFactory) {
+        this.personRepository = personRepository;
+        this.searchConfig = searchConfig;
+        this.eventPublisher = eventPublisher;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+    }
+
+    @Override
+    public void index(Person person) {
+        index(List.of(person));
+    }
+
+    @Override
+    public void index(Collection<Person> people) {
+        // Read the entities now, while their collections can still be loaded.
+        Map<Long, Document> changes = new HashMap<>();
+        people.forEach(person -> changes.put(person.getPersonId(), Document.of(person)));
+        afterCommit(changes);
+    }
+
+    @Override
+    public void remove(long personId) {
+        Map<Long, Document> changes = new HashMap<>();
+        changes.put(personId, null);
+        afterCommit(changes);
+    }
+
+    @Override
+    public void reload(Collection<Long> personIds) {
+        Map<Long, Document> changes = new HashMap<>();
+        personIds.forEach(personId -> changes.put(personId, null));
+        personRepository.findWithNamesByPersonIdIn(personIds)
+                .forEach(person -> changes.put(person.getPersonId(), Document.of(person)));
+        apply(changes);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int chunkSize = searchConfig.getRebuildChunkSize();
+        long afterId = 0L;
+        List<Long> personIds;
+        do {
+            personIds = personRepository.findActivePersonIdsAfter(afterId, Limit.of(chunkSize));
+            if (personIds.isEmpty()) {
+                break;
+            }
+            reload(personIds);
+            afterId = personIds.get(personIds.size() - 1);
+        } while (personIds.size() == chunkSize);
+        logger.info("Person search index built with {} people", size());
+    }
+
+    /**
+     * Reloads the people another instance reports as changed.
+     *
+     * @param event the change event received from the bus
+     */
+    @EventListener
+    public void onPersonSearchIndexChanged(PersonSearchIndexChangedEvent event) {
+        // Local changes were applied before the event was sent.
+        if (!busProperties.getId().equals(event.getOriginService()) && event.getPersonIds() != null) {
+            reload(event.getPersonIds());
+        }
+    }
+
+    @Override
+    public List<Match> search(PersonSearchQuery query) {
+        List<String> queryWords = tokenize(query.getText());
+        if (queryWords.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain at least one letter or digit");
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryWord : queryWords) {
+                Map<Long, Double> wordScores = score(queryWord, maxEdits(queryWord, query.getMaxEdits()));
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    Map<Long, Double> matchedSoFar = scores;
+                    wordScores.keySet().retainAll(matchedSoFar.keySet());
+                    wordScores.replaceAll((personId, score) -> score + matchedSoFar.get(personId));
+                    scores = wordScores;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .filter(entry -> documents.get(entry.getKey()).matches(query))
+                    .map(entry -> new Match(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Match::score).reversed()
+                            .thenComparingLong(Match::personId))
+                    .limit(query.getLimit())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of people in the index.
+     *
+     * @return the number of indexed people
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(String queryWord, int maxEdits) {
+        Map<Long, Double> scores = new HashMap<>();
+        credit(scores, words.get(queryWord), EXACT_SCORE);
+        words.subMap(queryWord, false, queryWord + Character.MAX_VALUE, false)
+                .values()
+                .forEach(personIds -> credit(scores, personIds, PREFIX_SCORE));
+        if (maxEdits > 0) {
+            for (int length = queryWord.length() - maxEdits; length <= queryWord.length() + maxEdits; length++) {
+                for (String word : wordsByLength.getOrDefault(length, Set.of())) {
+                    int distance = editDistance(queryWord, word, maxEdits);
+                    if (distance > 0 && distance <= maxEdits) {
+                        credit(scores, words.get(word), FUZZY_SCORE - FUZZY_PENALTY_PER_EDIT * (distance - 1));
+                    }
+                }
+            }
+        }
+        for (String code : phoneticCodes(queryWord)) {
+            credit(scores, phoneticCodes.get(code), PHONETIC_SCORE);
+        }
+        return scores;
+    }
+
+    private static void credit(Map<Long, Double> scores, Set<Long> personIds, double score) {
+        if (personIds != null) {
+            personIds.forEach(personId -> scores.merge(personId, score, Math::max));
+        }
+    }
+
+    private int maxEdits(String queryWord, Integer requested) {
+        // Short words tolerate fewer typos before every name becomes a match.
+        int derived = queryWord.length() <= 3 ? 0 : queryWord.length() <= 6 ? 1 : 2;
+        int maxEdits = requested == null ? derived : requested;
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("Maximum edits must not be negative");
+        }
+        return Math.min(maxEdits, searchConfig.getMaxEdits());
+    }
+
+    private void afterCommit(Map<Long, Document> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyAndBroadcast(changes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyAndBroadcast(changes);
+            }
+        });
+    }
+
+    private void applyAndBroadcast(Map<Long, Document> changes) {
+        apply(changes);
+        try {
+            eventPublisher.publishEvent(new PersonSearchIndexChangedEvent(this, busProperties.getId(),
+                    destinationFactory.getDestination(null), List.copyOf(changes.keySet())));
+        } catch (RuntimeException e) {
+            logger.warn("Could not broadcast person search index change; peers keep their index", e);
+        }
+    }
+
+    private void apply(Map<Long, Document> changes) {
+        lock.writeLock().lock();
+        try {
+            changes.forEach((personId, document) -> {
+                unpost(documents.remove(personId));
+                if (document != null) {
+                    documents.put(personId, document);
+                    post(document);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void post(Document document) {
+        for (String word : document.words()) {
+            words.computeIfAbsent(word, key -> new HashSet<>()).add(document.personId());
+            wordsByLength.computeIfAbsent(word.length(), key -> new HashSet<>()).add(word);
+            for (String code : phoneticCodes(word)) {
+                phoneticCodes.computeIfAbsent(code, key -> new HashSet<>()).add(document.personId());
+            }
+        }
+    }
+
+    private void unpost(Document document) {
+        if (document == null) {
+            return;
+        }
+        for (String word : document.words()) {
+            Set<Long> personIds = words.get(word);
+            personIds.remove(document.personId());
+            if (personIds.isEmpty()) {
+                words.remove(word);
+                wordsByLength.get(word.length()).remove(word);
+            }
+            for (String code : phoneticCodes(word)) {
+                Set<Long> codePersonIds = phoneticCodes.get(code);
+                codePersonIds.remove(document.personId());
+                if (codePersonIds.isEmpty()) {
+                    phoneticCodes.remove(code);
+                }
+            }
+        }
+    }
+
+    private Set<String> phoneticCodes(String word) {
+        if (!PHONETIC_WORD.matcher(word).matches()) {
+            return Set.of();
+        }
+        Set<String> codes = new LinkedHashSet<>();
+        codes.add("S:" + soundex.soundex(word));
+        codes.add("M:" + doubleMetaphone.doubleMetaphone(word));
+        codes.add("M:" + doubleMetaphone.doubleMetaphone(word, true));
+        return codes;
+    }
+
+    /**
+     * Folds text to lower-case ASCII where possible and splits it into words.
+     *
+     * @param text the text to split
+     * @return the distinct words, in order
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        folded = APOSTROPHES.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll("");
+        return Arrays.stream(WORD_SEPARATORS.split(folded))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Computes the Levenshtein distance of two words, giving up once it exceeds {@code max}.
+     *
+     * @param a the first word
+     * @param b the second word
+     * @param max the largest distance of interest
+     * @return the distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private record Document(long personId, Character gender, LocalDate birthDate, Set<String> words) {
+
+        static Document of(Person person) {
+            if (person.isVoided()) {
+                return null;
+            }
+            Set<String> words = new HashSet<>();
+            for (PersonName name : person.getNames()) {
+                if (!name.isVoided()) {
+                    Stream.of(name.getFirstName(), name.getMiddleName(), name.getLastName(), name.getOtherName())
+                            .map(PersonSearchIndexImpl::tokenize)
+                            .forEach(words::addAll);
+                }
+            }
+            return new Document(person.getPersonId(), person.getGender(), person.getBirthDate(), Set.copyOf(words));
+        }
+
+        boolean matches(PersonSearchQuery query) {
+            if (query.getGender() != null
+                    && (gender == null || Character.toUpperCase(gender) != Character.toUpperCase(query.getGender()))) {
+                return false;
+            }
+            if (query.getBirthDateFrom() != null
+                    && (birthDate == null || birthDate.isBefore(query.getBirthDateFrom()))) {
+                return false;
+            }
+            return query.getBirthDateTo() == null
+                    || birthDate != null && !birthDate.isAfter(query.getBirthDateTo());
+        }
+    }
+}
@@ -1,46 +1,88 @@
 package com.alienworkspace.cdr.demographic.service.impl;
 
+import com.alienworkspace.cdr.demographic.config.DeduplicationConfig;
+import com.alienworkspace.cdr.demographic.config.PaginationConfig;
+import com.alienworkspace.cdr.demographic.config.SearchConfig;
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.exception.DuplicatePersonException;
 import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.demographic.helpers.CurrentUser;
+import com.alienworkspace.cdr.demographic.helpers.PersonCursor;
 import com.alienworkspace.cdr.demographic.model.Person;
 import com.alienworkspace.cdr.demographic.model.PersonAddress;
 import com.alienworkspace.cdr.demographic.model.PersonAttribute;
 import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
 import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.audit.AuditTrail;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.model.dto.PersonPage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchHit;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummary;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummaryPage;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+import com.alienworkspace.cdr.demographic.model.location.LocationKey;
+import com.alienworkspace.cdr.demographic.model.location.ResolvedLocation;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonAddressMapper;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonAttributeMapper;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonNameMapper;
-import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAddressRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonFetchProfile;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
 import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonSummaryRepository;
+import com.alienworkspace.cdr.demographic.service.LocationService;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeLookupService;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeRegistry;
+import com.alienworkspace.cdr.demographic.service.PersonDeduplicationService;
+import com.alienworkspace.cdr.demographic.service.PersonEventOutbox;
+import com.alienworkspace.cdr.demographic.service.PersonSearchIndex;
 import com.alienworkspace.cdr.demographic.service.PersonService;
-import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
-import com.alienworkspace.cdr.model.dto.metadata.CityDto;
-import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
-import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
-import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
-import com.alienworkspace.cdr.model.dto.metadata.StateDto;
 import com.alienworkspace.cdr.model.dto.person.PersonAddressDto;
 import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
 import com.alienworkspace.cdr.model.dto.person.PersonDto;
 import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.alienworkspace.cdr.model.helper.ResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service class for managing person operations.
  *
+ * <p>A change to one name, address or attribute of a person writes only the rows it changes and increments the
+ * version of the person, so that two requests changing the same person at the same time conflict instead of
+ * one silently overwriting the other. The preferred flag is moved with bulk updates that unset the current
+ * preferred row before another is set, in the order the unique keys on the preferred flag require.</p>
+ *
+ * <p>Changes to a person or to their preferred name or address refresh the person's row of the
+ * {@code person_summary} table in the same transaction. Summaries are read from that table.</p>
+ *
+ * <p>Writes that return addresses commit before the addresses are enriched from the metadata service, so that
+ * a slow metadata call holds neither a connection nor the locks of the write.</p>
+ *
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Service
@@ -50,13 +92,32 @@ public class PersonServiceImpl implements PersonService {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final PersonRepository personRepository;
-    private final PersonAttributeTypeRepository attributeTypeRepository;
+    private final PersonNameRepository personNameRepository;
+    private final PersonAddressRepository personAddressRepository;
+    private final PersonAttributeRepository personAttributeRepository;
+    private final PersonSummaryRepository personSummaryRepository;
+    private final PersonAttributeTypeRegistry attributeTypeRegistry;
     private final PersonMapper personMapper;
     private final PersonNameMapper personNameMapper;
     private final PersonAddressMapper personAddressMapper;
     private PersonAttributeMapper personAttributeMapper;
 
-    private final MetadataFeignClient metadataFeignClient;
+    private final LocationService locationService;
+    private final EntityManager entityManager;
+    private final PaginationConfig paginationConfig;
+    private final PersonSearchIndex personSearchIndex;
+    private final SearchConfig searchConfig;
+    private final PersonDeduplicationService personDeduplicationService;
+    private final DeduplicationConfig deduplicationConfig;
+    private final PersonAttributeLookupService personAttributeLookupService;
+    private final PersonEventOutbox personEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * A person written in a transaction and their representation mapped before it committed.
+     */
+    private record WrittenPerson(Person person, PersonDto personDto) {
+    }
 
     /**
      * Retrieves a person by ID.
@@ -70,83 +131,336 @@ public class PersonServiceImpl implements PersonService {
         if (personId == null) {
             throw new ResourceNotFoundException("PersonId can nul be null");
         }
-        return personRepository.findCompleteById(personId)
-                .map(person -> {
-                    PersonDto personDto = personMapper.personToPersonDto(person);
-                    fetchPersonAddresses(correlationId, person, personDto);
-                    if (!includeVoided) {
-                        personDto.setName(person.getNames().stream()
-                                .filter(name -> !name.isVoided())
-                                .map(personNameMapper::personNameToPersonNameDto)
-                                .collect(Collectors.toSet()));
-                        personDto.setAttributes(person.getAttributes().stream()
-                                .filter(attribute -> !attribute.isVoided())
-                                .map(personAttributeMapper::toDto)
-                                .collect(Collectors.toSet()));
-                        personDto.setAddress(personDto.getAddress().stream()
-                                .filter(address -> !address.getVoided())
-                                .collect(Collectors.toSet()));
-                    }
-                    return personDto;
-                })
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        String.format("Person with Id of %d not found.", personId)));
+        return renderPerson(correlationId, personId, includeVoided).getPerson();
+    }
+
+    /**
+     * Retrieves the summary of a person by ID.
+     *
+     * @param personId the ID of the person to be retrieved
+     * @return the summary of the person
+     */
+    @Override
+    public PersonSummary getPersonSummary(long personId) {
+        return personSummaryRepository.findSummaryById(personId).orElseThrow(() -> new ResourceNotFoundException(
+                String.format("Person with Id of %d not found.", personId)));
+    }
+
+    /**
+     * Retrieves a person by ID together with the time of their latest change.
+     *
+     * @param correlationId the correlation ID passed on to the metadata service
+     * @param personId the ID of the person to be retrieved
+     * @param includeVoided whether to include voided records
+     * @return the PersonDto representation of the person and the time of its latest change
+     */
+    @Override
+    public RenderedPerson renderPerson(String correlationId, long personId, boolean includeVoided) {
+        // Without voided records the database leaves them out, so they are neither mapped nor enriched.
+        Person person = getPerson(personId, includeVoided ? PersonFetchProfile.FULL : PersonFetchProfile.ACTIVE_ONLY);
+        PersonDto personDto = personMapper.personToPersonDto(person);
+        boolean degraded = fetchPersonAddresses(correlationId, person, personDto);
+        LocalDateTime lastModifiedAt = lastModifiedAt(person);
+        if (!includeVoided) {
+            lastModifiedAt = Stream.concat(Stream.of(lastModifiedAt),
+                            personRepository.findLatestVoidedAtOfRecords(personId).stream())
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(lastModifiedAt);
+        }
+        return RenderedPerson.builder()
+                .person(personDto)
+                .includeVoided(includeVoided)
+                .lastModifiedAt(lastModifiedAt)
+                .degraded(degraded)
+                .build();
     }
 
-    private Person getPerson(long personId) {
-        return personRepository.findById(personId)
+    /**
+     * Returns the latest creation, modification or void time across the person and the names, addresses and
+     * attributes loaded with them, so that any change to the loaded records moves it forward.
+     */
+    private static LocalDateTime lastModifiedAt(Person person) {
+        return Stream.<Stream<? extends AuditTrail>>of(Stream.of(person), person.getNames().stream(),
+                        person.getAddresses().stream(), person.getAttributes().stream())
+                .flatMap(records -> records)
+                .flatMap(record -> Stream.of(record.getCreatedAt(), record.getLastModifiedAt(), record.getVoidedAt()))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MIN);
+    }
+
+    private Person getPerson(long personId, PersonFetchProfile profile) {
+        return personRepository.findById(personId, profile)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         String.format("Person with Id of %d not found.", personId)));
     }
 
     /**
-     * Retrieves all persons.
+     * Loads a person for a change to one of their names, addresses or attributes and increments their version
+     * when the transaction commits, so that the commit fails if another transaction changed the person since.
+     */
+    private Person lockPerson(long personId, PersonFetchProfile profile) {
+        Person person = getPerson(personId, profile);
+        lock(person);
+        return person;
+    }
+
+    private void lock(Person person) {
+        entityManager.lock(person, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    /**
+     * Tells a missing person from a missing name, address or attribute once the row of the person was not found.
+     */
+    private ResourceNotFoundException notFound(long personId, String message) {
+        return personRepository.existsById(personId) ? new ResourceNotFoundException(message)
+                : new ResourceNotFoundException(String.format("Person with Id of %d not found.", personId));
+    }
+
+    /**
+     * Retrieves a page of persons using keyset pagination on the person ID.
+     *
+     * @param cursor the cursor of the page to retrieve, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return a page of PersonDto representations and the cursor of the next page
+     */
+    @Override
+    public PersonPage getPersons(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Ask for one extra id to learn whether another page exists without a count query.
+        List<Long> personIds = personRepository.findActivePersonIdsAfter(PersonCursor.decode(cursor),
+                Limit.of(pageSize + 1));
+        boolean hasNext = personIds.size() > pageSize;
+        List<Long> pageIds = hasNext ? personIds.subList(0, pageSize) : personIds;
+        List<PersonDto> content = loadPersons(pageIds);
+        return PersonPage.builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(hasNext ? PersonCursor.encode(pageIds.get(pageIds.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * Retrieves a page of person summaries using keyset pagination on the person ID.
      *
-     * @return a list of PersonDto representations of all persons
+     * @param cursor the cursor of the page to retrieve, or null for the first page
+     * @param size the requested page size, or null for the configured default
+     * @return a page of summaries and the cursor of the next page
      */
     @Override
-    public List<PersonDto> getPersons() {
-        return personRepository.findCompleteAll()
+    public PersonSummaryPage getPersonSummaries(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<PersonSummary> summaries = personSummaryRepository.findActiveSummariesAfter(PersonCursor.decode(cursor),
+                Limit.of(pageSize + 1));
+        boolean hasNext = summaries.size() > pageSize;
+        List<PersonSummary> content = hasNext ? summaries.subList(0, pageSize) : summaries;
+        return PersonSummaryPage.builder()
+                .content(content)
+                .size(content.size())
+                .nextCursor(hasNext ? PersonCursor.encode(content.get(content.size() - 1).getPersonId()) : null)
+                .build();
+    }
+
+    /**
+     * Streams all persons to the consumer in keyset-paginated chunks.
+     *
+     * @param consumer receives each PersonDto as soon as it is mapped
+     */
+    @Override
+    public void streamPersons(Consumer<PersonDto> consumer) {
+        int chunkSize = paginationConfig.getStreamChunkSize();
+        long afterId = 0L;
+        List<Long> personIds;
+        do {
+            personIds = personRepository.findActivePersonIdsAfter(afterId, Limit.of(chunkSize));
+            if (personIds.isEmpty()) {
+                return;
+            }
+            loadPersons(personIds).forEach(consumer);
+            // Detach the chunk so the persistence context does not grow with the table.
+            entityManager.clear();
+            afterId = personIds.get(personIds.size() - 1);
+        } while (personIds.size() == chunkSize);
+    }
+
+    private List<PersonDto> loadPersons(List<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return List.of();
+        }
+        return personRepository.findCompleteAllByIds(personIds)
                 .stream()
                 .map(personMapper::personToPersonDto)
                 .toList();
     }
 
     /**
-     * Adds a new person.
+     * Streams the summaries of all persons to the consumer in keyset-paginated chunks.
+     *
+     * @param consumer receives each summary as soon as it is read
+     */
+    @Override
+    public void streamPersonSummaries(Consumer<PersonSummary> consumer) {
+        int chunkSize = paginationConfig.getStreamChunkSize();
+        long afterId = 0L;
+        List<PersonSummary> summaries;
+        do {
+            summaries = personSummaryRepository.findActiveSummariesAfter(afterId, Limit.of(chunkSize));
+            summaries.forEach(consumer);
+            if (!summaries.isEmpty()) {
+                afterId = summaries.get(summaries.size() - 1).getPersonId();
+            }
+        } while (summaries.size() == chunkSize);
+    }
+
+    /**
+     * Searches persons by name in the in-memory search index.
+     *
+     * @param query the search text, filters and limit
+     * @return the matching persons, best match first
+     */
+    @Override
+    public List<PersonSearchHit> searchPersons(PersonSearchQuery query) {
+        if (query.getBirthDateFrom() != null && query.getBirthDateTo() != null
+                && query.getBirthDateFrom().isAfter(query.getBirthDateTo())) {
+            throw new IllegalArgumentException("Birth date range must not end before it starts");
+        }
+        query.setLimit(resolveSearchLimit(query.getLimit()));
+        List<PersonSearchIndex.Match> matches = personSearchIndex.search(query);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Person> people = personRepository.findCompleteAllByIds(
+                        matches.stream().map(PersonSearchIndex.Match::personId).toList())
+                .stream()
+                .collect(Collectors.toMap(Person::getPersonId, Function.identity()));
+        // The index is updated after commit, so a match may briefly outlive its person.
+        return matches.stream()
+                .filter(match -> people.containsKey(match.personId()))
+                .map(match -> PersonSearchHit.builder()
+                        .score(match.score())
+                        .person(personMapper.personToPersonDto(people.get(match.personId())))
+                        .build())
+                .toList();
+    }
+
+    private int resolveSearchLimit(Integer limit) {
+        if (limit == null) {
+            return searchConfig.getDefaultLimit();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Search limit must be greater than zero");
+        }
+        return Math.min(limit, searchConfig.getMaxLimit());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return paginationConfig.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(size, paginationConfig.getMaxPageSize());
+    }
+
+    /**
+     * Adds a new person, refusing them under the configured pre-insert policy if they duplicate someone.
      *
      * @param personDto the PersonDto representation of the person to be added
      * @return a PersonDto representation of the newly added person
      */
     @Override
     public PersonDto addPerson(PersonDto personDto, String correlationId) {
+        return addPerson(personDto, correlationId, false);
+    }
+
+    /**
+     * Adds a new person.
+     *
+     * @param personDto the PersonDto representation of the person to be added
+     * @param allowDuplicate whether to register the person even if the pre-insert check rejects them
+     * @return a PersonDto representation of the newly added person
+     */
+    @Override
+    public PersonDto addPerson(PersonDto personDto, String correlationId, boolean allowDuplicate) {
+        WrittenPerson saved;
         try {
             logger.info("Adding person: {}", personDto);
-            Person person = personMapper.personDtoToPerson(personDto);
-            Person savedPerson = personRepository.save(person);
-            personDto.getName().forEach(name ->
-                    savedPerson.addName(PersonNameMapper.INSTANCE.personNameDtoToPersonName(name))
-            );
-            personDto.getAttributes().forEach(attribute -> {
-                PersonAttributeType attributeType = attributeTypeRepository
-                        .findById(attribute.getPersonAttributeType().getPersonAttributeTypeId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Person attribute type not found"));
-                PersonAttribute personAttribute = personAttributeMapper.toEntity(attribute);
-                personAttribute.setPersonAttributeType(attributeType);
-                savedPerson.addAttribute(personAttribute);
+            saved = transactionTemplate.execute(status -> {
+                checkForDuplicates(personDto, allowDuplicate);
+                List<PersonAttribute> attributes = personDto.getAttributes().stream()
+                        .map(attribute -> {
+                            PersonAttributeType attributeType = attributeTypeRegistry
+                                    .findById(attribute.getPersonAttributeType().getPersonAttributeTypeId())
+                                    .orElseThrow(() -> new ResourceNotFoundException(
+                                            "Person attribute type not found"));
+                            PersonAttribute personAttribute = personAttributeMapper.toEntity(attribute);
+                            personAttribute.setPersonAttributeType(attributeType);
+                            return personAttribute;
+                        })
+                        .toList();
+                // Checked before anything is saved, so a refused person does not consume an id.
+                personAttributeLookupService.checkUnique(0L, attributes);
+                Person person = personMapper.personDtoToPerson(personDto);
+                Person savedPerson = personRepository.save(person);
+                personDto.getName().forEach(name ->
+                        savedPerson.addName(PersonNameMapper.INSTANCE.personNameDtoToPersonName(name))
+                );
+                attributes.forEach(savedPerson::addAttribute);
+                personDto.getAddress().forEach(address ->
+                        savedPerson.addAddress(
+                                PersonAddressMapper.INSTANCE.toEntity(address)
+                        ));
+                personRepository.save(savedPerson);
+                personSummaryRepository.refresh(savedPerson.getPersonId());
+                personSearchIndex.index(savedPerson);
+                personEventOutbox.record(PersonChangeEvent.Type.PERSON_CREATED, savedPerson.getPersonId());
+                return new WrittenPerson(savedPerson, personMapper.personToPersonDto(savedPerson));
             });
-            personDto.getAddress().forEach(address ->
-                    savedPerson.addAddress(
-                            PersonAddressMapper.INSTANCE.toEntity(address)
-                    ));
-            personRepository.save(savedPerson);
-            PersonDto savedPersonDto = personMapper.personToPersonDto(savedPerson);
-            fetchPersonAddresses(correlationId, savedPerson, savedPersonDto);
-            return savedPersonDto;
+        } catch (DuplicatePersonException | DuplicateAttributeValueException e) {
+            throw e;
         } catch (Exception e) {
+            // A value given to another person since the check is refused by the unique key when flushed.
+            DuplicateAttributeValueException.from(e).ifPresent(duplicate -> {
+                throw duplicate;
+            });
             logger.error("Error adding person:", e);
             throw new IllegalArgumentException("Error adding person: {}", e);
         }
+        // The addresses were added in the transaction, so they are read without a session.
+        fetchPersonAddresses(correlationId, saved.person(), saved.personDto());
+        return saved.personDto();
+    }
+
+    private void checkForDuplicates(PersonDto personDto, boolean allowDuplicate) {
+        DeduplicationConfig.PreInsertPolicy policy = deduplicationConfig.getPreInsertPolicy();
+        if (policy == DeduplicationConfig.PreInsertPolicy.OFF) {
+            return;
+        }
+        // A detached copy of the new aggregate; nothing is persisted from it.
+        Person probe = personMapper.personDtoToPerson(personDto);
+        personDto.getName().forEach(name -> probe.addName(personNameMapper.personNameDtoToPersonName(name)));
+        personDto.getAddress().forEach(address -> probe.addAddress(personAddressMapper.toEntity(address)));
+        personDto.getAttributes().forEach(attribute -> attributeTypeRegistry
+                .findById(attribute.getPersonAttributeType().getPersonAttributeTypeId())
+                .ifPresent(attributeType -> {
+                    PersonAttribute personAttribute = personAttributeMapper.toEntity(attribute);
+                    personAttribute.setPersonAttributeType(attributeType);
+                    probe.addAttribute(personAttribute);
+                }));
+        List<PersonMatch> matches = personDeduplicationService.findDuplicates(probe);
+        if (matches.isEmpty()) {
+            return;
+        }
+        boolean likelyDuplicate = matches.get(0).getStatus() == PersonMatch.Status.MATCH;
+        if (likelyDuplicate && policy == DeduplicationConfig.PreInsertPolicy.REJECT && !allowDuplicate) {
+            throw new DuplicatePersonException(matches.stream()
+                    .filter(match -> match.getStatus() == PersonMatch.Status.MATCH)
+                    .toList());
+        }
+        logger.warn("New person may duplicate people {}",
+                matches.stream().map(PersonMatch::getPersonId).toList());
     }
 
     /**
@@ -160,12 +474,19 @@ public class PersonServiceImpl implements PersonService {
         if (personDto.getPersonId() == null) {
             throw new ResourceNotFoundException("PersonId can not be null.");
         }
-        Person person = personRepository.findCompleteById(personDto.getPersonId())
-                .orElseThrow(() -> new ResourceNotFoundException(String.format("PersonId of %d not found",
-                        personDto.getPersonId())));
-        PersonDto updatedPerson = personMapper.personToPersonDto(updatePerson(person, personDto));
-        fetchPersonAddresses(correlationId, person, updatedPerson);
-        return updatedPerson;
+        WrittenPerson updated = transactionTemplate.execute(status -> {
+            // The whole aggregate is returned, so load it in one graph rather than three lazy round trips.
+            Person person = personRepository.findById(personDto.getPersonId(), PersonFetchProfile.FULL)
+                    .orElseThrow(() -> new ResourceNotFoundException(String.format("PersonId of %d not found",
+                            personDto.getPersonId())));
+            PersonDto updatedPerson = personMapper.personToPersonDto(updatePerson(person, personDto));
+            personSummaryRepository.refresh(person.getPersonId());
+            personSearchIndex.index(person);
+            personEventOutbox.record(PersonChangeEvent.Type.PERSON_UPDATED, person.getPersonId());
+            return new WrittenPerson(person, updatedPerson);
+        });
+        fetchPersonAddresses(correlationId, updated.person(), updated.personDto());
+        return updated.personDto();
     }
 
     private Person updatePerson(Person person, PersonDto personDto) {
@@ -207,15 +528,19 @@ public class PersonServiceImpl implements PersonService {
      * @return a message indicating the outcome of the deletion
      */
     @Override
+    @Transactional
     public ResponseDto deletePerson(long id, RecordVoidRequest recordVoidRequest) {
         String reason = recordVoidRequest.getVoidReason();
-        return personRepository.findById(id)
+        return personRepository.findById(id, PersonFetchProfile.CORE)
                 .map(person -> {
                     person.setVoided(true);
                     person.setVoidReason(reason);
                     person.setVoidedAt(LocalDateTime.now());
                     person.setVoidedBy(1L);
                     personRepository.save(person);
+                    personSummaryRepository.refresh(id);
+                    personSearchIndex.remove(id);
+                    personEventOutbox.record(PersonChangeEvent.Type.PERSON_VOIDED, id);
                     return new ResponseDto(200, "Person deleted successfully");
                 }).orElseThrow(() -> new ResourceNotFoundException(String.format("PersonId of %d not found", id)));
     }
@@ -228,27 +553,22 @@ public class PersonServiceImpl implements PersonService {
      * @return a PersonDto representation of the person with the added name
      */
     @Override
+    @Transactional
     public PersonNameDto addPersonName(long personId, PersonNameDto personNameDto) {
-        return personRepository.findCompleteById(personId)
-                .map(person -> {
-                    person.addName(personNameMapper.personNameDtoToPersonName(personNameDto));
-                    Person savedPerson = personRepository.save(person);
-
-                    if (personNameDto.getPreferred() != null && personNameDto.getPreferred()) {
-                        return personNameMapper.personNameToPersonNameDto(savedPerson.getPreferredName());
-                    } else {
-                        PersonName personName = savedPerson.getNames().stream()
-                                .filter(name ->
-                                        Objects.equals(name.getLastName(), personNameDto.getLastName())
-                                                && Objects.equals(name.getFirstName(), personNameDto.getFirstName())
-                                                && Objects.equals(name.getMiddleName(), personNameDto.getMiddleName())
-                                                && Objects.equals(name.getOtherName(), personNameDto.getOtherName()))
-                                .findFirst()
-                                .orElseThrow(() -> new ResourceNotFoundException("Person name not found"));
-                        return personNameMapper.personNameToPersonNameDto(personName);
-                    }
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
+        PersonName personName = personNameMapper.personNameDtoToPersonName(personNameDto);
+        if (personName.isPreferred()) {
+            personNameRepository.clearPreferred(personId);
+        }
+        Person person = lockPerson(personId, PersonFetchProfile.NAMES);
+        person.addName(personName);
+        personNameRepository.save(personName);
+        // Only the preferred name is part of the summary.
+        if (personName.isPreferred()) {
+            personSummaryRepository.refresh(personId);
+        }
+        personSearchIndex.index(person);
+        personEventOutbox.record(PersonChangeEvent.Type.NAME_ADDED, personId);
+        return personNameMapper.personNameToPersonNameDto(personName);
     }
 
     /**
@@ -259,19 +579,23 @@ public class PersonServiceImpl implements PersonService {
      * @param resourceVoidRequest the record void request containing the ID of the person to be deleted
      */
     @Override
+    @Transactional
     public void deletePersonName(long personId, long personNameId, RecordVoidRequest resourceVoidRequest) {
-        Person person = getPerson(personId);
-        person.getNames().stream()
+        // The search index is rebuilt from the names, so they are loaded with the person.
+        Person person = lockPerson(personId, PersonFetchProfile.NAMES);
+        PersonName personName = person.getNames().stream()
                 .filter(name -> name.getPersonNameId() == personNameId)
                 .findFirst()
-                .map(personName -> {
-                    personName.setVoidedBy(CurrentUser.getCurrentUser().getPersonId());
-                    personName.setVoided(true);
-                    personName.setVoidReason(resourceVoidRequest.getVoidReason());
-                    personName.setVoidedAt(LocalDateTime.now());
-                    return personRepository.save(person);
-                })
                 .orElseThrow(() -> new ResourceNotFoundException("Person name not found"));
+        personName.setVoidedBy(CurrentUser.getCurrentUser().getPersonId());
+        personName.setVoided(true);
+        personName.setVoidReason(resourceVoidRequest.getVoidReason());
+        personName.setVoidedAt(LocalDateTime.now());
+        if (personName.isPreferred()) {
+            personSummaryRepository.refresh(personId);
+        }
+        personSearchIndex.index(person);
+        personEventOutbox.record(PersonChangeEvent.Type.NAME_VOIDED, personId, personNameId);
     }
 
     /**
@@ -282,19 +606,22 @@ public class PersonServiceImpl implements PersonService {
      * @return a PersonDto representation of the person with the added address
      */
     @Override
-    @Transactional
     public PersonAddressDto addAddress(Long personId, PersonAddressDto personAddressDto, String correlationId) {
-        return personRepository.findCompleteById(personId)
-                .map(person -> {
-                    person.addAddress(personAddressMapper.toEntity(personAddressDto));
-                    Person savedPerson = personRepository.save(person);
-                    return fetchAddress(correlationId, savedPerson.getAddresses().stream()
-                            .filter(address ->
-                                    Objects.equals(address.getAddressLine1(), personAddressDto.getAddressLine1())
-                                    && Objects.equals(address.getAddressLine2(), personAddressDto.getAddressLine2()))
-                            .findFirst().orElseThrow(() -> new ResourceNotFoundException("Person address not found")));
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
+        PersonAddress personAddress = transactionTemplate.execute(status -> {
+            PersonAddress address = personAddressMapper.toEntity(personAddressDto);
+            if (address.isPreferred()) {
+                personAddressRepository.clearPreferred(personId);
+            }
+            Person person = lockPerson(personId, PersonFetchProfile.ADDRESSES);
+            person.addAddress(address);
+            personAddressRepository.save(address);
+            if (address.isPreferred()) {
+                personSummaryRepository.refresh(personId);
+            }
+            personEventOutbox.record(PersonChangeEvent.Type.ADDRESS_ADDED, personId);
+            return address;
+        });
+        return fetchAddress(correlationId, personAddress);
     }
 
     /**
@@ -305,6 +632,7 @@ public class PersonServiceImpl implements PersonService {
      * @return a PersonDto representation of the person with the added attribute
      */
     @Override
+    @Transactional
     public PersonAttributeDto addAttribute(Long personId, PersonAttributeDto personAttributeDto) {
 
         if (personAttributeDto.getPersonAttributeType() == null
@@ -312,18 +640,26 @@ public class PersonServiceImpl implements PersonService {
             throw new ResourceNotFoundException(
                     "Person attribute type and person attribute type id can not be not null");
         }
-        attributeTypeRepository
+        PersonAttributeType attributeType = attributeTypeRegistry
                 .findById(personAttributeDto.getPersonAttributeType().getPersonAttributeTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Person attribute type not found"));
+        PersonAttribute personAttribute = personAttributeMapper.toEntity(personAttributeDto);
+        // The registry's type carries the format the value is normalized with.
+        personAttribute.setPersonAttributeType(attributeType);
+        personAttributeLookupService.checkUnique(personId, List.of(personAttribute));
 
-        return personRepository.findCompleteById(personId)
-                .map(person -> {
-                    person.addAttribute(personAttributeMapper.toEntity(personAttributeDto));
-                    personRepository.save(person);
-                    return personAttributeMapper.toDto(person.getPreferredAttribute(
-                            personAttributeDto.getPersonAttributeType().getPersonAttributeTypeId()));
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
+        if (personAttribute.isPreferred()) {
+            personAttributeRepository.clearPreferred(personId, attributeType.getPersonAttributeTypeId());
+        }
+        Person person = lockPerson(personId, PersonFetchProfile.ATTRIBUTES);
+        person.addAttribute(personAttribute);
+        try {
+            personAttributeRepository.saveAndFlush(personAttribute);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateAttributeValueException.from(e).orElseThrow(() -> e);
+        }
+        personEventOutbox.record(PersonChangeEvent.Type.ATTRIBUTE_ADDED, personId);
+        return personAttributeMapper.toDto(person.getPreferredAttribute(attributeType.getPersonAttributeTypeId()));
     }
 
     /**
@@ -335,24 +671,26 @@ public class PersonServiceImpl implements PersonService {
      * @return a PersonDto representation of the person with the updated name
      */
     @Override
+    @Transactional
     public PersonNameDto updatePersonName(long personId, long personNameId, boolean preferred) {
-        Person person = getPerson(personId);
-        return person.getNames().stream()
-                .filter(name -> name.getPersonNameId() == personNameId)
-                .findFirst()
-                .map(name -> {
-                    if (!name.isPreferred() && preferred) {
-                        person.getPreferredName().setPreferred(false);
-                        name.setPreferred(true);
-                        name.setLastModifiedAt(LocalDateTime.now());
-                        name.setLastModifiedBy(CurrentUser.getCurrentUser().getPersonId());
-                        personRepository.save(person);
-                        return personNameMapper.personNameToPersonNameDto(person.getPreferredName());
-                    } else {
-                        throw new IllegalArgumentException("Preferred name cannot be updated, add a new name instead");
-                    }
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person name not found"));
+        PersonName personName = personNameRepository.findOfPerson(personId, personNameId)
+                .orElseThrow(() -> notFound(personId, "Person name not found"));
+        lock(personName.getPerson());
+        if (personName.isPreferred() || !preferred) {
+            throw new IllegalArgumentException("Preferred name cannot be updated, add a new name instead");
+        }
+        // The flip is written by bulk updates, the detached name only carries the response.
+        entityManager.detach(personName);
+        LocalDateTime lastModifiedAt = LocalDateTime.now();
+        long lastModifiedBy = CurrentUser.getCurrentUser().getPersonId();
+        personNameRepository.clearPreferred(personId);
+        personNameRepository.markPreferred(personId, personNameId, lastModifiedAt, lastModifiedBy);
+        personSummaryRepository.refresh(personId);
+        personName.setPreferred(true);
+        personName.setLastModifiedAt(lastModifiedAt);
+        personName.setLastModifiedBy(lastModifiedBy);
+        personEventOutbox.record(PersonChangeEvent.Type.NAME_PREFERRED_CHANGED, personId, personNameId);
+        return personNameMapper.personNameToPersonNameDto(personName);
     }
 
     /**
@@ -366,24 +704,28 @@ public class PersonServiceImpl implements PersonService {
     @Override
     public PersonAddressDto updateAddress(long personId, long personAddressId, boolean preferred,
                                           String correlationId) {
-        Person person = getPerson(personId);
-        return person.getAddresses().stream()
-                .filter(address -> address.getPersonAddressId() == personAddressId)
-                .findFirst()
-                .map(address -> {
-                    if (!address.isPreferred() && preferred) {
-                        person.getPreferredAddress().setPreferred(false);
-                        address.setPreferred(true);
-                        address.setLastModifiedAt(LocalDateTime.now());
-                        address.setLastModifiedBy(CurrentUser.getCurrentUser().getPersonId());
-                        personRepository.save(person);
-                        return fetchAddress(correlationId, person.getPreferredAddress());
-                    } else {
-                        throw new IllegalArgumentException(
-                                "Preferred address cannot be updated, add another preferred address instead");
-                    }
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person address not found"));
+        PersonAddress personAddress = transactionTemplate.execute(status -> {
+            PersonAddress address = personAddressRepository.findOfPerson(personId, personAddressId)
+                    .orElseThrow(() -> notFound(personId, "Person address not found"));
+            lock(address.getPerson());
+            if (address.isPreferred() || !preferred) {
+                throw new IllegalArgumentException(
+                        "Preferred address cannot be updated, add another preferred address instead");
+            }
+            // The flip is written by bulk updates, the detached address only carries the response.
+            entityManager.detach(address);
+            LocalDateTime lastModifiedAt = LocalDateTime.now();
+            long lastModifiedBy = CurrentUser.getCurrentUser().getPersonId();
+            personAddressRepository.clearPreferred(personId);
+            personAddressRepository.markPreferred(personId, personAddressId, lastModifiedAt, lastModifiedBy);
+            personSummaryRepository.refresh(personId);
+            address.setPreferred(true);
+            address.setLastModifiedAt(lastModifiedAt);
+            address.setLastModifiedBy(lastModifiedBy);
+            personEventOutbox.record(PersonChangeEvent.Type.ADDRESS_PREFERRED_CHANGED, personId, personAddressId);
+            return address;
+        });
+        return fetchAddress(correlationId, personAddress);
     }
 
     /**
@@ -395,42 +737,27 @@ public class PersonServiceImpl implements PersonService {
      * @return a PersonDto representation of the person with the updated attribute
      */
     @Override
+    @Transactional
     public PersonAttributeDto updateAttribute(long personId, long personAttributeId, boolean preferred) {
-
-        Person person = personRepository
-                .findById(personId)
-                .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
-
-        if (preferred) {
-
-            PersonAttributeType personAttributeType = person.getAttributes()
-                    .stream()
-                    .filter(attribute -> attribute.getPersonAttributeId() == personAttributeId)
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Person attribute not found"))
-                    .getPersonAttributeType();
-
-            person.getAttributes().stream()
-                    .filter(attribute -> attribute.getPersonAttributeId() != personAttributeId
-                            && attribute.getPersonAttributeType().getPersonAttributeTypeId()
-                            == personAttributeType.getPersonAttributeTypeId())
-                    .forEach(attribute -> attribute.setPreferred(false));
-
-            person.getAttributes().stream()
-                    .filter(attribute -> attribute.getPersonAttributeId() == personAttributeId)
-                    .findFirst()
-                    .ifPresent(attribute -> {
-                        attribute.setPreferred(true);
-                        attribute.setLastModifiedAt(LocalDateTime.now());
-                        attribute.setLastModifiedBy(CurrentUser.getCurrentUser().getPersonId());
-                        personRepository.save(person);
-                    });
-            return personAttributeMapper.toDto(person.getPreferredAttribute(
-                    personAttributeType.getPersonAttributeTypeId()));
-        } else {
+        PersonAttribute personAttribute = personAttributeRepository.findOfPerson(personId, personAttributeId)
+                .orElseThrow(() -> notFound(personId, "Person attribute not found"));
+        lock(personAttribute.getPerson());
+        if (!preferred) {
             throw new IllegalArgumentException(
                     "Preferred Attribute cannot be changed, instead add another preferred attribute");
         }
+        // The flip is written by bulk updates, the detached attribute only carries the response.
+        entityManager.detach(personAttribute);
+        LocalDateTime lastModifiedAt = LocalDateTime.now();
+        long lastModifiedBy = CurrentUser.getCurrentUser().getPersonId();
+        personAttributeRepository.clearPreferred(personId,
+                personAttribute.getPersonAttributeType().getPersonAttributeTypeId());
+        personAttributeRepository.markPreferred(personId, personAttributeId, lastModifiedAt, lastModifiedBy);
+        personAttribute.setPreferred(true);
+        personAttribute.setLastModifiedAt(lastModifiedAt);
+        personAttribute.setLastModifiedBy(lastModifiedBy);
+        personEventOutbox.record(PersonChangeEvent.Type.ATTRIBUTE_PREFERRED_CHANGED, personId, personAttributeId);
+        return personAttributeMapper.toDto(personAttribute);
     }
 
     /**
@@ -441,19 +768,19 @@ public class PersonServiceImpl implements PersonService {
      * @param voidRequest the RecordVoidRequest containing the void reason for the address
      */
     @Override
+    @Transactional
     public void deleteAddress(long personId, long personAddressId, RecordVoidRequest voidRequest) {
-        Person person = getPerson(personId);
-        person.getAddresses().stream()
-                .filter(address -> address.getPersonAddressId() == personAddressId)
-                .findFirst()
-                .map(address -> {
-                    address.setVoided(true);
-                    address.setVoidedAt(LocalDateTime.now());
-                    address.setVoidedBy(CurrentUser.getCurrentUser().getPersonId());
-                    address.setVoidReason(voidRequest.getVoidReason());
-                    return personRepository.save(person);
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person address not found"));
+        PersonAddress personAddress = personAddressRepository.findOfPerson(personId, personAddressId)
+                .orElseThrow(() -> notFound(personId, "Person address not found"));
+        lock(personAddress.getPerson());
+        personAddress.setVoided(true);
+        personAddress.setVoidedAt(LocalDateTime.now());
+        personAddress.setVoidedBy(CurrentUser.getCurrentUser().getPersonId());
+        personAddress.setVoidReason(voidRequest.getVoidReason());
+        if (personAddress.isPreferred()) {
+            personSummaryRepository.refresh(personId);
+        }
+        personEventOutbox.record(PersonChangeEvent.Type.ADDRESS_VOIDED, personId, personAddressId);
     }
 
     /**
@@ -464,19 +791,16 @@ public class PersonServiceImpl implements PersonService {
      * @param voidRequest the RecordVoidRequest containing the void reason for the attribute
      */
     @Override
+    @Transactional
     public void deleteAttribute(long personId, long personAttributeId, RecordVoidRequest voidRequest) {
-        Person person = getPerson(personId);
-        person.getAttributes().stream()
-                .filter(attribute -> attribute.getPersonAttributeId() == personAttributeId)
-                .findFirst()
-                .map(attribute -> {
-                    attribute.setVoided(true);
-                    attribute.setVoidedAt(LocalDateTime.now());
-                    attribute.setVoidedBy(CurrentUser.getCurrentUser().getPersonId());
-                    attribute.setVoidReason(voidRequest.getVoidReason());
-                    return personRepository.save(person);
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Person attribute not found"));
+        PersonAttribute personAttribute = personAttributeRepository.findOfPerson(personId, personAttributeId)
+                .orElseThrow(() -> notFound(personId, "Person attribute not found"));
+        lock(personAttribute.getPerson());
+        personAttribute.setVoided(true);
+        personAttribute.setVoidedAt(LocalDateTime.now());
+        personAttribute.setVoidedBy(CurrentUser.getCurrentUser().getPersonId());
+        personAttribute.setVoidReason(voidRequest.getVoidReason());
+        personEventOutbox.record(PersonChangeEvent.Type.ATTRIBUTE_VOIDED, personId, personAttributeId);
     }
 
     /**
@@ -488,7 +812,7 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public PersonAddressDto getPersonAddress(long personId, long personAddressId) {
-        return personRepository.findCompleteById(personId)
+        return personRepository.findById(personId, PersonFetchProfile.ADDRESSES)
                 .map(Person::getAddresses)
                 .map(addresses -> addresses.stream()
                         .filter(address -> address.getPersonAddressId() == personAddressId)
@@ -506,7 +830,7 @@ public class PersonServiceImpl implements PersonService {
      */
     @Override
     public Set<PersonAddressDto> getPersonAddresses(long personId) {
-        return personRepository.findCompleteById(personId)
+        return personRepository.findById(personId, PersonFetchProfile.ADDRESSES)
                 .map(Person::getAddresses)
                 .map(addresses -> addresses.stream()
                         .map(personAddressMapper::toDto)
@@ -514,29 +838,29 @@ public class PersonServiceImpl implements PersonService {
                 .orElseThrow(() -> new ResourceNotFoundException("Person not found"));
     }
 
-    private void fetchPersonAddresses(String correlationId, Person person, PersonDto personDto) {
-
-        if (personDto.getAddress() == null) {
-            personDto.setAddress(new HashSet<>());
-        }
+    /**
+     * Replaces the addresses of the person with their enriched representation.
+     *
+     * @return whether some locations were left unresolved
+     */
+    private boolean fetchPersonAddresses(String correlationId, Person person, PersonDto personDto) {
 
         try {
+            Map<LocationKey, ResolvedLocation> locations = locationService.resolveAll(correlationId,
+                    person.getAddresses().stream()
+                            .filter(address -> address.getCountry() > 0)
+                            .map(LocationKey::of)
+                            .toList());
+            Set<PersonAddressDto> personAddressDtos = new HashSet<>(person.getAddresses().size() * 4 / 3 + 1);
+            if (personDto.getAddress() != null) {
+                personAddressDtos.addAll(personDto.getAddress());
+            }
             person.getAddresses()
-                    .forEach(address -> {
-                        try {
-                            PersonAddressDto perssonAddressDto = fetchAddress(correlationId, address);
-                            if (perssonAddressDto != null) {
-                                Set<PersonAddressDto> personAddressDtos = new HashSet<>(personDto.getAddress());
-                                personAddressDtos.add(perssonAddressDto);
-                                personDto.setAddress(personAddressDtos);
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                            throw new IllegalStateException("Error getting address", e);
-                        }
-                    });
+                    .forEach(address -> personAddressDtos.add(toAddressDto(address, locations)));
+            personDto.setAddress(personAddressDtos);
+            return locations.containsValue(ResolvedLocation.EMPTY);
         } catch (Exception e) {
-            throw new IllegalStateException("Error getting country", e);
+            throw new IllegalStateException("Error getting address", e);
         }
     }
 
@@ -547,65 +871,15 @@ public class PersonServiceImpl implements PersonService {
         }
         PersonAddressDto personAddressDto = personAddressMapper.toDto(address);
         if (address.getCountry() > 0) {
-            CountryDto countryDto = metadataFeignClient.getPersonLocation(correlationId, address.getCountry(),
-                    address.getState(), address.getCounty(), address.getCity(), address.getCommunity()).getBody();
-            if (countryDto != null) {
-
-                personAddressDto.setCountry(
-                        CountryDto.builder()
-                                .countryId(address.getCountry())
-                                .countryName(countryDto.getCountryName())
-                                .build()
-                );
-                StateDto stateDto = countryDto.getStates().stream()
-                        .filter(state -> state.getStateId() == address.getState())
-                        .findFirst()
-                        .orElse(null);
-                if (stateDto != null) {
-                    personAddressDto.setState(
-                            StateDto.builder()
-                                    .stateId(address.getState())
-                                    .stateName(stateDto.getStateName())
-                                    .build()
-                    );
-                    CountyDto countyDto = stateDto.getCounties().stream()
-                            .filter(county -> county.getCountyId() == address.getCounty())
-                            .findFirst()
-                            .orElse(null);
-                    if (countyDto != null) {
-                        personAddressDto.setCounty(
-                                CountyDto.builder()
-                                        .countyId(address.getCounty())
-                                        .countyName(countyDto.getCountyName())
-                                        .build()
-                        );
-                        CityDto cityDto = countyDto.getCities().stream()
-                                .filter(city -> city.getCityId() == address.getCity())
-                                .findFirst()
-                                .orElse(null);
-                        if (cityDto != null) {
-                            personAddressDto.setCity(
-                                    CityDto.builder()
-                                            .cityId(address.getCity())
-                                            .cityName(cityDto.getCityName())
-                                            .build()
-                            );
-
-                            cityDto.getCommunities().stream()
-                                    .filter(community ->
-                                            community.getCommunityId() == address.getCommunity())
-                                    .findFirst()
-                                    .ifPresent(communityDto -> personAddressDto.setCommunity(
-                                            CommunityDto.builder()
-                                                    .communityId(address.getCommunity())
-                                                    .communityName(communityDto.getCommunityName())
-                                                    .build()
-                                    ));
-                        }
-
-                    }
-                }
-            }
+            locationService.resolve(correlationId, LocationKey.of(address)).applyTo(personAddressDto);
+        }
+        return personAddressDto;
+    }
+
+    private PersonAddressDto toAddressDto(PersonAddress address, Map<LocationKey, ResolvedLocation> locations) {
+        PersonAddressDto personAddressDto = personAddressMapper.toDto(address);
+        if (address.getCountry() > 0) {
+            locations.getOrDefault(LocationKey.of(address), ResolvedLocation.EMPTY).applyTo(personAddressDto);
         }
         return personAddressDto;
     }
@@ -0,0 +1,118 @@
+package com.alienworkspace.cdr.demographic.service.impl;
+
+import com.alienworkspace.cdr.demographic.config.SummaryConfig;
+import com.alienworkspace.cdr.demographic.model.dto.SummaryRebuildResult;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonSummaryRepository;
+import com.alienworkspace.cdr.demographic.service.PersonSummaryService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of {@link PersonSummaryService}.
+ *
+ * <p>The rebuild seeks the person IDs in keyset chunks of {@link SummaryConfig#getRebuildChunkSize()} and hands
+ * each chunk to a worker that replaces its rows with one {@code REPLACE ... SELECT} in its own transaction. Rows
+ * whose person no longer exists are deleted at the end; rows are not aged out by their refresh time, as a
+ * registration in flight when the rebuild starts is stamped before it but never seen by the seek. The table is
+ * never emptied, so summaries stay readable while it is rebuilt.</p>
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Service
+@AllArgsConstructor
+public class PersonSummaryServiceImpl implements PersonSummaryService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final PersonRepository personRepository;
+    private final PersonSummaryRepository personSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SummaryConfig summaryConfig;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Override
+    public SummaryRebuildResult rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("A summary rebuild is already running");
+        }
+        try {
+            long started = System.nanoTime();
+            int parallelism = summaryConfig.getParallelism() > 0
+                    ? summaryConfig.getParallelism() : Runtime.getRuntime().availableProcessors();
+            int chunkSize = summaryConfig.getRebuildChunkSize();
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            // Keeps the seek from running far ahead of the writes.
+            Semaphore pending = new Semaphore(parallelism * 2);
+            List<Future<?>> writes = new ArrayList<>();
+            long people = 0;
+            try {
+                long afterId = 0L;
+                List<Long> chunk;
+                while (!(chunk = personRepository.findPersonIdsAfter(afterId, Limit.of(chunkSize))).isEmpty()) {
+                    pending.acquire();
+                    List<Long> personIds = chunk;
+                    writes.add(executor.submit(() -> {
+                        try {
+                            transactionTemplate.executeWithoutResult(status ->
+                                    personSummaryRepository.refresh(personIds));
+                        } finally {
+                            pending.release();
+                        }
+                    }));
+                    people += chunk.size();
+                    afterId = chunk.get(chunk.size() - 1);
+                }
+                for (Future<?> write : writes) {
+                    write.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rebuilding person summaries", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error rebuilding person summaries", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+            Integer removed = transactionTemplate.execute(status -> personSummaryRepository.deleteOrphans());
+
+            SummaryRebuildResult result = SummaryRebuildResult.builder()
+                    .people(people)
+                    .chunks(writes.size())
+                    .removed(removed == null ? 0 : removed)
+                    .durationMillis((System.nanoTime() - started) / 1_000_000)
+                    .build();
+            logger.info("Summary rebuild refreshed {} people in {} chunks on {} threads and removed {} rows in {} ms",
+                    people, result.getChunks(), parallelism, result.getRemoved(), result.getDurationMillis());
+            return result;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Rebuilds the summary table on the configured schedule, so that age buckets follow birthdays.
+     */
+    @Scheduled(cron = "${demographic.summary.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (IllegalStateException e) {
+            logger.warn("Scheduled summary rebuild skipped", e);
+        }
+    }
+}
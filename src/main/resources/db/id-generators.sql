@@ -0,0 +1,58 @@
+-- Seeds the pooled id generator rows (see IdGeneration) from the ids already in use.
+--
+-- Entities used GenerationType.AUTO before, so existing rows were numbered by other generators. Each
+-- row is raised to one allocation block above the highest existing id, because the pooled optimizer
+-- hands out the block below the stored value. A row that is already ahead is left alone, so the script
+-- is safe to run on every start.
+--
+-- The offset 51 is IdGeneration.ALLOCATION_SIZE + 1 and must change with it; IdGenerationTest fails
+-- when they disagree or when an entity on the table generator has no row here.
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person' AS sequence_name, COALESCE(MAX(person_id), 0) + 51 AS seed_val
+      FROM person) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_name' AS sequence_name, COALESCE(MAX(person_name_id), 0) + 51 AS seed_val
+      FROM person_name) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_address' AS sequence_name, COALESCE(MAX(person_address_id), 0) + 51 AS seed_val
+      FROM person_address) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_attribute' AS sequence_name, COALESCE(MAX(person_attribute_id), 0) + 51 AS seed_val
+      FROM person_attribute) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_attribute_type' AS sequence_name, COALESCE(MAX(person_attribute_type_id), 0) + 51 AS seed_val
+      FROM person_attribute_type) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_duplicate_candidate' AS sequence_name,
+             COALESCE(MAX(person_duplicate_candidate_id), 0) + 51 AS seed_val
+      FROM person_duplicate_candidate) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_outbox_event' AS sequence_name, COALESCE(MAX(person_outbox_event_id), 0) + 51 AS seed_val
+      FROM person_outbox_event) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT seed.sequence_name, seed.seed_val
+FROM (SELECT 'person_duplicate_scan' AS sequence_name, COALESCE(MAX(person_duplicate_scan_id), 0) + 51 AS seed_val
+      FROM person_duplicate_scan) seed
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_generator.next_val, seed.seed_val);
@@ -0,0 +1,120 @@
+package com.alienworkspace.cdr.demographic.benchmark;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the people and location trees the benchmarks run against, without a database or Spring context.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds a person with the given number of names and attributes. Attributes are spread over
+     * {@code attributeTypes} types, and the last attribute of each type is the preferred one, so a lookup of the
+     * preferred attribute has to walk most of the set.
+     */
+    static Person person(long personId, int names, int attributes, int attributeTypes) {
+        Person person = Person.builder()
+                .personId(personId)
+                .gender('F')
+                .birthDate(LocalDate.parse("1985-05-05"))
+                .build();
+        person.setCreatedAt(LocalDateTime.parse("2024-01-01T08:00:00"));
+        person.setCreatedBy(1L);
+        Set<PersonName> personNames = new HashSet<>(names * 4 / 3 + 1);
+        for (int i = 0; i < names; i++) {
+            PersonName name = PersonName.builder()
+                    .personNameId(personId * 1_000 + i)
+                    .firstName("First" + i)
+                    .middleName("Middle" + i)
+                    .lastName("Last" + i)
+                    .preferred(i == names - 1)
+                    .build();
+            name.setPerson(person);
+            personNames.add(name);
+        }
+        person.setNames(personNames);
+        List<PersonAttributeType> types = new ArrayList<>(attributeTypes);
+        for (int i = 1; i <= attributeTypes; i++) {
+            types.add(PersonAttributeType.builder()
+                    .personAttributeTypeId(i)
+                    .name("Attribute Type " + i)
+                    .format("identifier")
+                    .build());
+        }
+        Set<PersonAttribute> personAttributes = new HashSet<>(attributes * 4 / 3 + 1);
+        for (int i = 0; i < attributes; i++) {
+            personAttributes.add(PersonAttribute.builder()
+                    .personAttributeId(personId * 1_000 + i)
+                    .person(person)
+                    .personAttributeType(types.get(i % attributeTypes))
+                    .attributeValue("VALUE-" + i)
+                    .preferred(i >= attributes - attributeTypes)
+                    .build());
+        }
+        person.setAttributes(personAttributes);
+        return person;
+    }
+
+    /**
+     * Builds a country tree with {@code breadth} siblings at every level below the country. Only the siblings
+     * with the highest IDs have children, mirroring how the metadata service returns the whole list of each
+     * level along the requested path.
+     */
+    static CountryDto countryTree(int breadth) {
+        return CountryDto.builder()
+                .countryId(1)
+                .countryName("Country")
+                .states(level(breadth, id -> StateDto.builder()
+                        .stateId(id)
+                        .stateName("State " + id)
+                        .counties(id == breadth ? counties(breadth) : null)
+                        .build()))
+                .build();
+    }
+
+    private static List<CountyDto> counties(int breadth) {
+        return level(breadth, id -> CountyDto.builder()
+                .countyId(id)
+                .countyName("County " + id)
+                .cities(id == breadth ? cities(breadth) : null)
+                .build());
+    }
+
+    private static List<CityDto> cities(int breadth) {
+        return level(breadth, id -> CityDto.builder()
+                .cityId(id)
+                .cityName("City " + id)
+                .communities(id == breadth ? level(breadth, communityId -> CommunityDto.builder()
+                        .communityId(communityId)
+                        .communityName("Community " + communityId)
+                        .build()) : null)
+                .build());
+    }
+
+    private static <T> List<T> level(int breadth, IntFunction<T> node) {
+        List<T> nodes = new ArrayList<>(breadth);
+        for (int id = 1; id <= breadth; id++) {
+            nodes.add(node.apply(id));
+        }
+        return nodes;
+    }
+}
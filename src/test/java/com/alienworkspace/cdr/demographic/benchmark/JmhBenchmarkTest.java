@@ -0,0 +1,48 @@
+package com.alienworkspace.cdr.demographic.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks of this package and writes their results as JSON to
+ * {@code target/jmh-results.json}, so runs can be compared across changes. Run with {@code mvn test -Pbenchmark},
+ * and narrow the run with {@code -Djmh.include=<regex>}, for example {@code -Djmh.include=PersonMapper}.
+ */
+@Tag("benchmark")
+public class JmhBenchmarkTest {
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JmhBenchmarkTest.class.getPackageName() + "\\..*"
+                        + System.getProperty("jmh.include", "Benchmark") + ".*")
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-results.json")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.alienworkspace.cdr.demographic.benchmark;
+
+import com.alienworkspace.cdr.demographic.config.EnrichmentConfig;
+import com.alienworkspace.cdr.demographic.config.LocationCacheConfig;
+import com.alienworkspace.cdr.demographic.model.location.LocationKey;
+import com.alienworkspace.cdr.demographic.model.location.ResolvedLocation;
+import com.alienworkspace.cdr.demographic.service.LocationService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.demographic.service.impl.LocationServiceImpl;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Measures address enrichment: walking the country tree returned by the metadata service down to the
+ * requested community, and resolving a location through {@link LocationService} with and without its cache.
+ *
+ * <p>The metadata service is a stub answering from memory, so only the work done in this service is
+ * measured.</p>
+ */
+@State(Scope.Benchmark)
+public class LocationEnrichmentBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int breadth;
+
+    private LocationKey locationKey;
+    private CountryDto countryTree;
+    private ExecutorService executor;
+    private LocationService uncachedLocationService;
+    private LocationService cachedLocationService;
+
+    @Setup
+    public void setup() {
+        locationKey = new LocationKey(1, breadth, breadth, breadth, breadth);
+        countryTree = BenchmarkFixtures.countryTree(breadth);
+        executor = Executors.newSingleThreadExecutor();
+
+        MetadataFeignClient metadataFeignClient = stub(countryTree);
+        LocationCacheConfig uncached = new LocationCacheConfig();
+        uncached.setMaximumSize(0);
+        uncachedLocationService = new LocationServiceImpl(metadataFeignClient, uncached, new EnrichmentConfig(),
+                executor, new SimpleMeterRegistry());
+        cachedLocationService = new LocationServiceImpl(metadataFeignClient, new LocationCacheConfig(),
+                new EnrichmentConfig(), executor, new SimpleMeterRegistry());
+        cachedLocationService.resolve("BENCHMARK", locationKey);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static MetadataFeignClient stub(CountryDto countryTree) {
+        ResponseEntity<CountryDto> response = ResponseEntity.ok(countryTree);
+        return (MetadataFeignClient) Proxy.newProxyInstance(MetadataFeignClient.class.getClassLoader(),
+                new Class<?>[] {MetadataFeignClient.class}, (proxy, method, args) -> {
+                    if ("getPersonLocation".equals(method.getName())) {
+                        return response;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public ResolvedLocation walkTree() {
+        return ResolvedLocation.from(locationKey, countryTree);
+    }
+
+    @Benchmark
+    public ResolvedLocation resolveUncached() {
+        return uncachedLocationService.resolve("BENCHMARK", locationKey);
+    }
+
+    @Benchmark
+    public ResolvedLocation resolveCached() {
+        return cachedLocationService.resolve("BENCHMARK", locationKey);
+    }
+}
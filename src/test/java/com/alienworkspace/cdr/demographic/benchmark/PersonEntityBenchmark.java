@@ -0,0 +1,47 @@
+package com.alienworkspace.cdr.demographic.benchmark;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the person entity methods run on every write: finding the preferred attribute of a type, which
+ * scans the attribute set, and the field-by-field {@code hashCode} and {@code equals}.
+ */
+@State(Scope.Benchmark)
+public class PersonEntityBenchmark {
+
+    private static final int ATTRIBUTE_TYPES = 10;
+
+    @Param({"10", "100", "1000"})
+    private int attributes;
+
+    private Person person;
+    private Person copy;
+
+    @Setup
+    public void setup() {
+        person = BenchmarkFixtures.person(1L, 1, attributes, ATTRIBUTE_TYPES);
+        copy = BenchmarkFixtures.person(1L, 1, attributes, ATTRIBUTE_TYPES);
+        copy.setUuid(person.getUuid());
+    }
+
+    @Benchmark
+    public PersonAttribute getPreferredAttribute() {
+        return person.getPreferredAttribute(ATTRIBUTE_TYPES);
+    }
+
+    @Benchmark
+    public int personHashCode() {
+        return person.hashCode();
+    }
+
+    @Benchmark
+    public boolean personEquals() {
+        return person.equals(copy);
+    }
+}
@@ -0,0 +1,35 @@
+package com.alienworkspace.cdr.demographic.benchmark;
+
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures mapping a person entity with its names and attributes to the DTO returned by every read endpoint.
+ */
+@State(Scope.Benchmark)
+public class PersonMapperBenchmark {
+
+    @Param({"1", "5"})
+    private int names;
+
+    @Param({"5", "50", "500"})
+    private int attributes;
+
+    private Person person;
+
+    @Setup
+    public void setup() {
+        person = BenchmarkFixtures.person(1L, names, attributes, 5);
+    }
+
+    @Benchmark
+    public PersonDto personToPersonDto() {
+        return PersonMapper.INSTANCE.personToPersonDto(person);
+    }
+}
@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.demographic.controller;
 
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
 import com.alienworkspace.cdr.demographic.helpers.Constants;
 import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeService;
 import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
@@ -131,4 +132,25 @@ class PersonAttributeTypeControllerTest {
                         .content(objectMapper.writeValueAsString(voidRequest)))
                 .andExpect(status().isOk());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test turning on uniqueness of person attribute type values")
+    void testSetUniqueValues() throws Exception {
+        mockMvc.perform(put(Constants.PERSON_ATTRIBUTE_TYPE_BASE_URL + "/1/unique-values")
+                        .param("enabled", "true"))
+                .andExpect(status().isNoContent());
+
+        verify(personAttributeTypeService).setUniqueValues(1, true);
+    }
+
+    @Test
+    @DisplayName("Test uniqueness is refused while values are shared")
+    void testSetUniqueValuesConflict() throws Exception {
+        doThrow(new DuplicateAttributeValueException("Values [AB1234] of person attribute type 1 are held by "
+                + "more than one person")).when(personAttributeTypeService).setUniqueValues(1, true);
+
+        mockMvc.perform(put(Constants.PERSON_ATTRIBUTE_TYPE_BASE_URL + "/1/unique-values")
+                        .param("enabled", "true"))
+                .andExpect(status().isConflict());
+    }
+}
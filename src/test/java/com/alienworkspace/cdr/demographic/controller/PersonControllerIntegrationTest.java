@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -29,6 +30,7 @@ import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -87,6 +89,53 @@ public class PersonControllerIntegrationTest extends AbstractionContainerBaseTes
                 .andExpect(jsonPath("$.birthDate").value("1990-01-01"));
     }
 
+    @DisplayName("Test bulk add persons from NDJSON")
+    @Test
+    public void testAddPersonsBulkNdjson() throws Exception {
+        // given
+        String body = objectMapper.writeValueAsString(personDtoBuilder.build()) + "\n"
+                + objectMapper.writeValueAsString(PersonDto.builder().gender('F').build()) + "\n"
+                + objectMapper.writeValueAsString(personDtoBuilder.gender('F').build()) + "\n";
+
+        // when
+        ResultActions response = mockMvc.perform(post(Constants.PERSON_BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.outcomes[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.outcomes[2].personId").value(CoreMatchers.notNullValue()));
+        assertEquals(2, personRepository.count());
+    }
+
+    @DisplayName("Test bulk add persons from a JSON array with an unreadable element")
+    @Test
+    public void testAddPersonsBulkWithUnreadableElement() throws Exception {
+        // given
+        String body = "[" + objectMapper.writeValueAsString(personDtoBuilder.build()) + ","
+                + "{\"gender\": \"M\", \"birthDate\": \"not a date\"},"
+                + objectMapper.writeValueAsString(personDtoBuilder.gender('F').build()) + "]";
+
+        // when
+        ResultActions response = mockMvc.perform(post(Constants.PERSON_BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+
+        // then
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.outcomes[1].index").value(1))
+                .andExpect(jsonPath("$.outcomes[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.outcomes[2].personId").value(CoreMatchers.notNullValue()));
+        assertEquals(2, personRepository.count());
+    }
+
     @DisplayName("Test update person")
     @Test
     public void testUpdatePerson() throws Exception {
@@ -143,6 +192,45 @@ public class PersonControllerIntegrationTest extends AbstractionContainerBaseTes
                 .andExpect(jsonPath("$.birthDate").value("1990-01-01"));
     }
 
+    @DisplayName("Test conditional get person is invalidated by a write")
+    @Test
+    public void testConditionalGetPerson() throws Exception {
+        // given
+        String responseEntity = mockMvc.perform(post(Constants.PERSON_BASE_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(personDtoBuilder.build())))
+                .andReturn().getResponse().getContentAsString();
+        PersonDto savedPerson = objectMapper.readValue(responseEntity, PersonDto.class);
+        String etag = mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}",
+                        savedPerson.getPersonId(), false)
+                        .header("X-cdr-correlation-id", "CORRELATION-ID"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}", savedPerson.getPersonId(), false)
+                        .header("X-cdr-correlation-id", "CORRELATION-ID")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/{personId}/names", savedPerson.getPersonId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PersonNameDto.builder()
+                                .firstName("John")
+                                .lastName("Doe")
+                                .build())))
+                .andExpect(status().isOk());
+
+        String newEtag = mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}",
+                        savedPerson.getPersonId(), false)
+                        .header("X-cdr-correlation-id", "CORRELATION-ID")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name[0].firstName").value("John"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
     @DisplayName("Test get persons")
     @Test
     public void testGetPersons() throws Exception {
@@ -165,7 +253,7 @@ public class PersonControllerIntegrationTest extends AbstractionContainerBaseTes
         // then
         response.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2));
+                .andExpect(jsonPath("$.content.size()").value(2));
     }
 
     @DisplayName("Test delete person")
@@ -207,7 +295,7 @@ public class PersonControllerIntegrationTest extends AbstractionContainerBaseTes
         ResultActions listResponse = mockMvc.perform(get(Constants.PERSON_BASE_URL));
         listResponse.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[?(@.personId == " + savedPerson.getPersonId() + ")]").doesNotExist());
+                .andExpect(jsonPath("$.content[?(@.personId == " + savedPerson.getPersonId() + ")]").doesNotExist());
     }
 
     @DisplayName("Test unknown delete person")
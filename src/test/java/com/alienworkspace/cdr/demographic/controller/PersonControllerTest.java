@@ -1,7 +1,30 @@
 package com.alienworkspace.cdr.demographic.controller;
 
+import com.alienworkspace.cdr.demographic.exception.DuplicatePersonException;
+import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.demographic.helpers.Constants;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonOutcome;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonResult;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidRequest;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidResult;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChange;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.model.dto.PersonPage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchHit;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummary;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummaryPage;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeLookupService;
+import com.alienworkspace.cdr.demographic.service.PersonBulkService;
+import com.alienworkspace.cdr.demographic.service.PersonChangeFeedService;
+import com.alienworkspace.cdr.demographic.service.PersonDeduplicationService;
+import com.alienworkspace.cdr.demographic.service.PersonResponseCache;
 import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.alienworkspace.cdr.demographic.service.PersonSummaryService;
 import com.alienworkspace.cdr.model.dto.metadata.*;
 import com.alienworkspace.cdr.model.dto.person.*;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
@@ -12,20 +35,36 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.mockito.Mockito.doNothing;
 
@@ -35,6 +74,24 @@ class PersonControllerTest {
     @MockitoBean
     private PersonService personService;
 
+    @MockitoBean
+    private PersonBulkService personBulkService;
+
+    @MockitoBean
+    private PersonResponseCache personResponseCache;
+
+    @MockitoBean
+    private PersonDeduplicationService personDeduplicationService;
+
+    @MockitoBean
+    private PersonAttributeLookupService personAttributeLookupService;
+
+    @MockitoBean
+    private PersonChangeFeedService personChangeFeedService;
+
+    @MockitoBean
+    private PersonSummaryService personSummaryService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -58,16 +115,174 @@ class PersonControllerTest {
         PersonDto person1 = personDtoBuilder.personId(1L).build();
         PersonDto person2 = personDtoBuilder.personId(2L).build();
         List<PersonDto> persons = Arrays.asList(person1, person2);
+        PersonPage page = PersonPage.builder()
+                .content(persons)
+                .size(2)
+                .nextCursor("next-cursor")
+                .build();
+
+        when(personService.getPersons(null, 2)).thenReturn(page);
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL).param("size", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].personId").value(1))
+                .andExpect(jsonPath("$.content[1].personId").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    @DisplayName("Test get persons with the summary view")
+    void testGetPersonSummaries() throws Exception {
+        // given
+        PersonSummaryPage page = PersonSummaryPage.builder()
+                .content(List.of(PersonSummary.builder().personId(1L).gender('M').firstName("John").build()))
+                .size(1)
+                .build();
+        when(personService.getPersonSummaries("cursor", 10)).thenReturn(page);
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL)
+                        .param("view", "summary")
+                        .param("cursor", "cursor")
+                        .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].personId").value(1))
+                .andExpect(jsonPath("$.content[0].firstName").value("John"))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist());
+        verify(personService, never()).getPersons(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test get person with the summary view")
+    void testGetPersonSummary() throws Exception {
+        // given
+        when(personService.getPersonSummary(1L)).thenReturn(PersonSummary.builder()
+                .personId(1L)
+                .lastName("Doe")
+                .personAddressId(5L)
+                .countryId(1)
+                .build());
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}", 1L, false)
+                        .param("view", "summary"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName").value("Doe"))
+                .andExpect(jsonPath("$.personAddressId").value(5))
+                .andExpect(jsonPath("$.countryId").value(1));
+        verify(personResponseCache, never()).getPerson(anyString(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Test get person with the summary view answers 404 for an unknown person")
+    void testGetPersonSummaryNotFound() throws Exception {
+        when(personService.getPersonSummary(9L))
+                .thenThrow(new ResourceNotFoundException("Person with Id of 9 not found."));
+
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}", 9L, false)
+                        .param("view", "summary"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test get person changes passes the watermark to the service")
+    void testGetChanges() throws Exception {
+        // given
+        LocalDateTime since = LocalDateTime.parse("2025-03-01T08:30:00");
+        PersonChangePage page = PersonChangePage.builder()
+                .content(List.of(PersonChange.builder()
+                        .personId(4L)
+                        .changedAt(LocalDateTime.parse("2025-03-01T09:15:00"))
+                        .voided(true)
+                        .build()))
+                .size(1)
+                .nextCursor("next-cursor")
+                .more(false)
+                .build();
+        when(personChangeFeedService.getChanges(since, null, 100)).thenReturn(page);
 
-        when(personService.getPersons()).thenReturn(persons);
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/changes")
+                        .param("since", "2025-03-01T08:30:00")
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].personId").value(4))
+                .andExpect(jsonPath("$.content[0].voided").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+                .andExpect(jsonPath("$.more").value(false));
+    }
+
+    @Test
+    @DisplayName("Test search persons passes the filters to the service")
+    void testSearchPersons() throws Exception {
+        // given
+        PersonSearchHit hit = PersonSearchHit.builder()
+                .score(1.8)
+                .person(personDtoBuilder.personId(1L).build())
+                .build();
+        when(personService.searchPersons(any(PersonSearchQuery.class))).thenReturn(List.of(hit));
 
         // when & then
-        mockMvc.perform(get(Constants.PERSON_BASE_URL))
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/search")
+                        .param("q", "John Smith")
+                        .param("gender", "M")
+                        .param("birthDateFrom", "1990-01-01")
+                        .param("limit", "5"))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].personId").value(1))
-                .andExpect(jsonPath("$[1].personId").value(2));
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].score").value(1.8))
+                .andExpect(jsonPath("$[0].person.personId").value(1));
+        verify(personService).searchPersons(argThat(query -> "John Smith".equals(query.getText())
+                && Character.valueOf('M').equals(query.getGender())
+                && LocalDate.parse("1990-01-01").equals(query.getBirthDateFrom())
+                && query.getBirthDateTo() == null
+                && query.getMaxEdits() == null
+                && Integer.valueOf(5).equals(query.getLimit())));
+    }
+
+    @Test
+    @DisplayName("Test search persons answers 400 for an invalid query")
+    void testSearchPersonsBadRequest() throws Exception {
+        when(personService.searchPersons(any(PersonSearchQuery.class)))
+                .thenThrow(new IllegalArgumentException("Search limit must be greater than zero"));
+
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/search").param("q", "John").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Test stream all persons as NDJSON")
+    void testStreamPersons() throws Exception {
+        // given
+        PersonDto person1 = personDtoBuilder.personId(1L).build();
+        PersonDto person2 = personDtoBuilder.personId(2L).build();
+        doAnswer(invocation -> {
+            Consumer<PersonDto> consumer = invocation.getArgument(0);
+            consumer.accept(person1);
+            consumer.accept(person2);
+            return null;
+        }).when(personService).streamPersons(any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get(Constants.PERSON_BASE_URL + "/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], PersonDto.class).getPersonId());
+        assertEquals(2L, objectMapper.readValue(lines[1], PersonDto.class).getPersonId());
     }
 
     @Test
@@ -86,6 +301,45 @@ class PersonControllerTest {
                 .andExpect(jsonPath("$.birthDate").value("1990-01-01"));
     }
 
+    @Test
+    @DisplayName("Test get person returns a strong ETag")
+    void testGetPersonReturnsEtag() throws Exception {
+        // given
+        RenderedPerson renderedPerson = RenderedPerson.builder()
+                .person(personDtoBuilder.personId(1L).build())
+                .includeVoided(false)
+                .lastModifiedAt(LocalDateTime.parse("2025-01-01T10:15:30.123456"))
+                .build();
+        when(personResponseCache.getPerson("CORRELATION_ID", 1L, false)).thenReturn(renderedPerson);
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}", 1L, false)
+                        .header("X-cdr-correlation-id", "CORRELATION_ID"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-active-1735726530.123456\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.personId").value(1));
+    }
+
+    @Test
+    @DisplayName("Test get person answers 304 when the ETag matches")
+    void testGetPersonNotModified() throws Exception {
+        // given
+        RenderedPerson renderedPerson = RenderedPerson.builder()
+                .person(personDtoBuilder.personId(1L).build())
+                .includeVoided(true)
+                .lastModifiedAt(LocalDateTime.parse("2025-01-01T10:15:30"))
+                .build();
+        when(personResponseCache.getPerson("CORRELATION_ID", 1L, true)).thenReturn(renderedPerson);
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{id}/{includeVoided}", 1L, true)
+                        .header("X-cdr-correlation-id", "CORRELATION_ID")
+                        .header(HttpHeaders.IF_NONE_MATCH, renderedPerson.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Test add person")
     void testAddPerson() throws Exception {
@@ -93,7 +347,7 @@ class PersonControllerTest {
         PersonDto personDto = personDtoBuilder.build();
         PersonDto savedPerson = personDtoBuilder.personId(1L).build();
         
-        when(personService.addPerson(any(PersonDto.class), anyString())).thenReturn(savedPerson);
+        when(personService.addPerson(any(PersonDto.class), anyString(), eq(false))).thenReturn(savedPerson);
 
         // when & then
         mockMvc.perform(post(Constants.PERSON_BASE_URL)
@@ -106,6 +360,250 @@ class PersonControllerTest {
                 .andExpect(jsonPath("$.birthDate").value("1990-01-01"));
     }
 
+    @Test
+    @DisplayName("Test add person answers 409 for a likely duplicate and passes allowDuplicate on")
+    void testAddDuplicatePerson() throws Exception {
+        // given
+        PersonDto personDto = personDtoBuilder.build();
+        PersonMatch match = PersonMatch.builder().personId(7L).score(20.5).status(PersonMatch.Status.MATCH).build();
+        when(personService.addPerson(any(PersonDto.class), anyString(), eq(false)))
+                .thenThrow(new DuplicatePersonException(List.of(match)));
+        when(personService.addPerson(any(PersonDto.class), anyString(), eq(true)))
+                .thenReturn(personDtoBuilder.personId(8L).build());
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL)
+                        .header("X-cdr-correlation-id", "CORRELATION-ID")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(personDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage").value("Person matches registered people [7]"));
+        mockMvc.perform(post(Constants.PERSON_BASE_URL)
+                        .header("X-cdr-correlation-id", "CORRELATION-ID")
+                        .param("allowDuplicate", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(personDto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.personId").value(8));
+    }
+
+    @Test
+    @DisplayName("Test lookup of persons by attribute value")
+    void testGetPersonsByAttribute() throws Exception {
+        // given
+        when(personAttributeLookupService.findPersons(3, "0803 123 4567"))
+                .thenReturn(List.of(personDtoBuilder.personId(5L).build()));
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/by-attribute/{typeId}/{value}", 3, "0803 123 4567"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].personId").value(5));
+    }
+
+    @Test
+    @DisplayName("Test batch resolution of attribute values")
+    void testResolvePersonsByAttribute() throws Exception {
+        // given
+        Map<String, List<Long>> resolved = new LinkedHashMap<>();
+        resolved.put("AB-1234", List.of(1L));
+        resolved.put("ZZ-0000", List.of());
+        when(personAttributeLookupService.resolvePersonIds(4, List.of("AB-1234", "ZZ-0000"))).thenReturn(resolved);
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/by-attribute/{typeId}", 4)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of("AB-1234", "ZZ-0000"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['AB-1234'][0]").value(1))
+                .andExpect(jsonPath("$['ZZ-0000']").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test lookup by an unknown attribute type")
+    void testGetPersonsByUnknownAttributeType() throws Exception {
+        // given
+        when(personAttributeLookupService.findPersons(99, "x"))
+                .thenThrow(new ResourceNotFoundException("Person attribute type not found"));
+
+        // when & then
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/by-attribute/{typeId}/{value}", 99, "x"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test duplicate scan and candidate lookup")
+    void testDuplicates() throws Exception {
+        // given
+        when(personDeduplicationService.startScan()).thenReturn(DuplicateScanResult.builder()
+                .scanId(7L)
+                .status(DuplicateScanResult.Status.RUNNING)
+                .build());
+        when(personDeduplicationService.getScan(7L)).thenReturn(DuplicateScanResult.builder()
+                .scanId(7L)
+                .status(DuplicateScanResult.Status.COMPLETED)
+                .people(3)
+                .blocks(2)
+                .comparisons(2)
+                .candidatePairs(1)
+                .build());
+        when(personDeduplicationService.getCandidates(1L)).thenReturn(List.of(PersonMatch.builder()
+                .personId(2L)
+                .score(9.5)
+                .status(PersonMatch.Status.POSSIBLE_MATCH)
+                .build()));
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/duplicates/scan"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.scanId").value(7))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/duplicates/scans/{scanId}", 7L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.people").value(3))
+                .andExpect(jsonPath("$.candidatePairs").value(1));
+        mockMvc.perform(get(Constants.PERSON_BASE_URL + "/{personId}/duplicates", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].personId").value(2))
+                .andExpect(jsonPath("$[0].status").value("POSSIBLE_MATCH"));
+    }
+
+    @Test
+    @DisplayName("Test bulk add persons from a JSON array")
+    void testAddPersonsBulk() throws Exception {
+        // given
+        List<PersonDto> persons = List.of(personDtoBuilder.build(), personDtoBuilder.build());
+        BulkPersonResult result = BulkPersonResult.builder()
+                .created(2)
+                .outcomes(List.of(
+                        BulkPersonOutcome.builder()
+                                .index(0).status(BulkPersonOutcome.Status.CREATED).personId(1L).build(),
+                        BulkPersonOutcome.builder()
+                                .index(1).status(BulkPersonOutcome.Status.CREATED).personId(2L).build()))
+                .build();
+        when(personBulkService.addPersons(any())).thenReturn(result);
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(persons)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.outcomes[1].personId").value(2));
+    }
+
+    @Test
+    @DisplayName("Test bulk add persons from a JSON array reports invalid elements at their index")
+    void testAddPersonsBulkWithInvalidElements() throws Exception {
+        // given
+        String body = "[" + objectMapper.writeValueAsString(personDtoBuilder.build()) + ","
+                + "{\"birthDate\": \"not a date\"},"
+                + objectMapper.writeValueAsString(personDtoBuilder.build()) + ","
+                + "{not json]";
+        List<String> read = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterator<PersonDto> persons = invocation.getArgument(0);
+            while (persons.hasNext()) {
+                try {
+                    read.add(String.valueOf(persons.next().getGender()));
+                } catch (IllegalArgumentException e) {
+                    read.add("invalid");
+                }
+            }
+            return BulkPersonResult.builder().created(2).failed(2).outcomes(List.of()).build();
+        }).when(personBulkService).addPersons(any());
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(2));
+        assertEquals(List.of("M", "invalid", "M", "invalid"), read);
+    }
+
+    @Test
+    @DisplayName("Test bulk add persons answers 400 for a body that is not a JSON array")
+    void testAddPersonsBulkNotAnArray() throws Exception {
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(personDtoBuilder.build())))
+                .andExpect(status().isBadRequest());
+        verify(personBulkService, never()).addPersons(any());
+    }
+
+    @Test
+    @DisplayName("Test bulk add persons from NDJSON reports unreadable lines")
+    void testAddPersonsBulkNdjson() throws Exception {
+        // given
+        String body = objectMapper.writeValueAsString(personDtoBuilder.build()) + "\n"
+                + "{not json\n"
+                + "\n"
+                + objectMapper.writeValueAsString(personDtoBuilder.build()) + "\n";
+        List<String> read = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterator<PersonDto> persons = invocation.getArgument(0);
+            while (persons.hasNext()) {
+                try {
+                    read.add(String.valueOf(persons.next().getGender()));
+                } catch (IllegalArgumentException e) {
+                    read.add("invalid");
+                }
+            }
+            return BulkPersonResult.builder().created(2).failed(1).outcomes(List.of()).build();
+        }).when(personBulkService).addPersons(any());
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1));
+        assertEquals(List.of("M", "invalid", "M"), read);
+    }
+
+    @Test
+    @DisplayName("Test bulk void persons by ID")
+    void testVoidPersons() throws Exception {
+        // given
+        BulkVoidRequest request = BulkVoidRequest.builder()
+                .personIds(List.of(1L, 2L))
+                .voidRequest(RecordVoidRequest.builder().voidReason("Test data").build())
+                .cascade(true)
+                .build();
+        when(personBulkService.voidPersons(any(BulkVoidRequest.class)))
+                .thenReturn(BulkVoidResult.builder().people(2).names(3).chunks(1).build());
+
+        // when & then
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/void")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.people").value(2))
+                .andExpect(jsonPath("$.names").value(3));
+        verify(personBulkService).voidPersons(argThat(voidRequest -> voidRequest.isCascade()
+                && voidRequest.getPersonIds().equals(List.of(1L, 2L))
+                && "Test data".equals(voidRequest.getVoidRequest().getVoidReason())));
+    }
+
+    @Test
+    @DisplayName("Test bulk void persons answers 400 for an invalid request")
+    void testVoidPersonsBadRequest() throws Exception {
+        when(personBulkService.voidPersons(any(BulkVoidRequest.class)))
+                .thenThrow(new IllegalArgumentException("A void reason is required"));
+
+        mockMvc.perform(post(Constants.PERSON_BASE_URL + "/void")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"personIds\": [1]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Test update person")
     void testUpdatePerson() throws Exception {
@@ -145,6 +643,7 @@ class PersonControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.statusCode").value(200))
                 .andExpect(jsonPath("$.statusMessage").value("Person deleted successfully"));
+        verify(personResponseCache).evict(1L);
     }
 
     @Test
@@ -193,6 +692,22 @@ class PersonControllerTest {
                 .andExpect(jsonPath("$.personId").value(1));
     }
 
+    @Test
+    @DisplayName("Test a change that lost the race against another change of the person is a conflict")
+    void testUpdatePersonNameConflict() throws Exception {
+        // given
+        when(personService.updatePersonName(eq(1L), eq(2L), any(Boolean.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Person.class, 1L));
+
+        // when & then
+        mockMvc.perform(put(Constants.PERSON_BASE_URL + "/{personId}/names/{nameId}", 1L, 2L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(true)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value(409));
+    }
+
     @Test
     @DisplayName("Test delete person name")
     void testDeletePersonName() throws Exception {
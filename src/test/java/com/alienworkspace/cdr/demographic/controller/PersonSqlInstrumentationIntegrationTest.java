@@ -0,0 +1,85 @@
+package com.alienworkspace.cdr.demographic.controller;
+
+import com.alienworkspace.cdr.demographic.helpers.Constants;
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonSqlInstrumentationIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setUp() {
+        personRepository.deleteAll();
+    }
+
+    @DisplayName("Test the SQL work of a request is recorded by route and by person service method")
+    @Test
+    public void testSqlActivityIsRecorded() throws Exception {
+        // given
+        PersonDto personDto = PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(PersonNameDto.builder().firstName("Ada").lastName("Okafor").preferred(true).build()))
+                .build();
+        String route = "POST " + Constants.PERSON_BASE_URL;
+
+        // when
+        mockMvc.perform(post(Constants.PERSON_BASE_URL)
+                        .header("X-cdr-correlation-id", "CORRELATION-ID")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(personDto)))
+                .andExpect(status().isCreated());
+
+        // then
+        DistributionSummary requestStatements = meterRegistry.find("demographic.sql.request.statements")
+                .tag("route", route).summary();
+        Timer requestTime = meterRegistry.find("demographic.sql.request.time").tag("route", route).timer();
+        DistributionSummary methodStatements = meterRegistry.find("demographic.sql.service.statements")
+                .tag("method", "PersonService.addPerson").summary();
+        assertNotNull(requestStatements);
+        assertNotNull(requestTime);
+        assertNotNull(methodStatements);
+        assertTrue(requestStatements.totalAmount() > 0);
+        assertTrue(methodStatements.totalAmount() > 0);
+        assertTrue(methodStatements.totalAmount() <= requestStatements.totalAmount());
+    }
+}
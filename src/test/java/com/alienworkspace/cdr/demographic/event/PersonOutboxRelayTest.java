@@ -0,0 +1,204 @@
+package com.alienworkspace.cdr.demographic.event;
+
+import com.alienworkspace.cdr.demographic.config.OutboxConfig;
+import com.alienworkspace.cdr.demographic.model.PersonOutboxEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.repository.PersonOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PersonOutboxRelayTest {
+
+    private PersonOutboxEventRepository personOutboxEventRepository;
+    private RabbitTemplate rabbitTemplate;
+    private OutboxConfig outboxConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private PersonOutboxRelay personOutboxRelay;
+
+    @BeforeEach
+    void setup() {
+        personOutboxEventRepository = mock(PersonOutboxEventRepository.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        outboxConfig = new OutboxConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        personOutboxRelay = new PersonOutboxRelay(personOutboxEventRepository, rabbitTemplate,
+                new ObjectMapper().findAndRegisterModules(), outboxConfig,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+    }
+
+    private static PersonOutboxEvent event(long id, PersonChangeEvent.Type type) {
+        return PersonOutboxEvent.builder()
+                .personOutboxEventId(id)
+                .eventType(type)
+                .personId(7L)
+                .occurredAt(LocalDateTime.parse("2025-01-01T10:00:00"))
+                .eventSequence(id + 100)
+                .build();
+    }
+
+    private void confirm(Set<String> refusedIds) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(
+                    !refusedIds.contains(correlationData.getId()), null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(PersonOutboxRelay.METRIC_PREFIX + name).counter().count();
+    }
+
+    @Test
+    @DisplayName("Test a confirmed batch is published with routing keys by type and deleted")
+    void testRelayBatch() {
+        // given
+        when(personOutboxEventRepository.findNextBatch(Limit.of(500))).thenReturn(List.of(
+                event(1L, PersonChangeEvent.Type.PERSON_CREATED),
+                event(2L, PersonChangeEvent.Type.ADDRESS_PREFERRED_CHANGED)));
+        confirm(Set.of());
+
+        // when
+        int published = personOutboxRelay.relayBatch();
+
+        // then
+        assertEquals(2, published);
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("demographic.person.events"), eq("person.person_created"),
+                messages.capture(), any(CorrelationData.class));
+        verify(rabbitTemplate).send(eq("demographic.person.events"), eq("person.address_preferred_changed"),
+                any(Message.class), any(CorrelationData.class));
+        Message message = messages.getValue();
+        assertEquals("1", message.getMessageProperties().getMessageId());
+        assertTrue(new String(message.getBody()).contains("\"type\":\"PERSON_CREATED\""));
+        assertTrue(new String(message.getBody()).contains("\"sequence\":101"));
+        verify(personOutboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2.0, counter(".published"));
+    }
+
+    @Test
+    @DisplayName("Test only the events confirmed before the first refusal are deleted")
+    void testRelayBatchWithRefusal() {
+        // given
+        when(personOutboxEventRepository.findNextBatch(Limit.of(500))).thenReturn(List.of(
+                event(1L, PersonChangeEvent.Type.NAME_ADDED),
+                event(2L, PersonChangeEvent.Type.NAME_VOIDED),
+                event(3L, PersonChangeEvent.Type.PERSON_UPDATED)));
+        confirm(Set.of("2"));
+
+        // when
+        int published = personOutboxRelay.relayBatch();
+
+        // then
+        assertEquals(1, published);
+        verify(personOutboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        assertEquals(2.0, counter(".failed"));
+    }
+
+    @Test
+    @DisplayName("Test full batches are drained back to back")
+    void testRelay() {
+        // given
+        outboxConfig.setBatchSize(2);
+        when(personOutboxEventRepository.findNextBatch(Limit.of(2)))
+                .thenReturn(List.of(event(1L, PersonChangeEvent.Type.PERSON_CREATED),
+                        event(2L, PersonChangeEvent.Type.PERSON_CREATED)))
+                .thenReturn(List.of(event(3L, PersonChangeEvent.Type.PERSON_VOIDED)));
+        confirm(Set.of());
+
+        // when
+        personOutboxRelay.relay();
+
+        // then
+        verify(personOutboxEventRepository, times(2)).findNextBatch(Limit.of(2));
+        verify(personOutboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        assertEquals(3.0, counter(".published"));
+    }
+
+    @Test
+    @DisplayName("Test events stay in the outbox when the broker is unreachable")
+    void testRelayBatchWithBrokerDown() {
+        // given
+        when(personOutboxEventRepository.findNextBatch(Limit.of(500)))
+                .thenReturn(List.of(event(1L, PersonChangeEvent.Type.PERSON_CREATED)));
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // when
+        int published = personOutboxRelay.relayBatch();
+
+        // then
+        assertEquals(0, published);
+        verify(personOutboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Test an event that can not be serialized is parked and the events behind it are published")
+    void testRelayBatchParksUnserializableEvent() throws Exception {
+        // given
+        ObjectMapper objectMapper = mock(ObjectMapper.class);
+        personOutboxRelay = new PersonOutboxRelay(personOutboxEventRepository, rabbitTemplate, objectMapper,
+                outboxConfig, new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+        doThrow(new JsonProcessingException("Unserializable") {
+        }).doReturn("{}".getBytes()).when(objectMapper).writeValueAsBytes(any());
+        PersonOutboxEvent unserializable = event(1L, PersonChangeEvent.Type.PERSON_CREATED);
+        when(personOutboxEventRepository.findNextBatch(Limit.of(500))).thenReturn(List.of(
+                unserializable, event(2L, PersonChangeEvent.Type.PERSON_UPDATED)));
+        confirm(Set.of());
+
+        // when
+        int relayed = personOutboxRelay.relayBatch();
+
+        // then
+        assertEquals(2, relayed);
+        assertNotNull(unserializable.getParkedAt());
+        verify(rabbitTemplate, times(1)).send(anyString(), anyString(), any(Message.class),
+                any(CorrelationData.class));
+        verify(personOutboxEventRepository).deleteAllByIdInBatch(List.of(2L));
+        assertEquals(1.0, counter(".parked"));
+        assertEquals(1.0, counter(".published"));
+    }
+
+    @Test
+    @DisplayName("Test a relay backs off while another instance holds the head of the outbox")
+    void testRelayBatchWhileAnotherRelayRuns() {
+        when(personOutboxEventRepository.findNextBatch(Limit.of(500)))
+                .thenThrow(new PessimisticLockingFailureException("Lock wait: NOWAIT is set"));
+
+        assertEquals(0, personOutboxRelay.relayBatch());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    @DisplayName("Test an empty outbox publishes nothing")
+    void testRelayBatchWithEmptyOutbox() {
+        when(personOutboxEventRepository.findNextBatch(Limit.of(500))).thenReturn(List.of());
+
+        assertEquals(0, personOutboxRelay.relayBatch());
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
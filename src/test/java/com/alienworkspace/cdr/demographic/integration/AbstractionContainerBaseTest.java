@@ -22,5 +22,7 @@ public abstract class AbstractionContainerBaseTest {
         registry.add("spring.datasource.url", MY_SQL_CONTAINER::getJdbcUrl);
         registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
         registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
+        // No broker runs in the tests; events stay in the outbox table.
+        registry.add("demographic.outbox.relay-enabled", () -> "false");
     }
 }
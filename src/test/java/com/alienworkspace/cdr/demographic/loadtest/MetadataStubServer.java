@@ -0,0 +1,137 @@
+package com.alienworkspace.cdr.demographic.loadtest;
+
+import com.alienworkspace.cdr.demographic.helpers.Constants;
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for the metadata service, answering person location lookups after a configurable latency.
+ *
+ * <p>Each lookup answers with a country tree holding exactly the requested path, named after the IDs. The
+ * bytes allocated while answering are tracked, so the load test can leave them out of the service's own
+ * allocation.</p>
+ */
+final class MetadataStubServer {
+
+    private static final String PERSON_LOCATION = Constants.METADATA_BASE_URL + "/person-location/";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final Duration latency;
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    private MetadataStubServer(Duration latency) throws IOException {
+        this.latency = latency;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext(PERSON_LOCATION, this::personLocation);
+    }
+
+    /**
+     * Starts a stub on a free local port.
+     *
+     * @param latency how long every answer is delayed
+     * @return the started stub
+     */
+    static MetadataStubServer start(Duration latency) {
+        try {
+            MetadataStubServer stub = new MetadataStubServer(latency);
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the metadata stub", e);
+        }
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long allocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void personLocation(HttpExchange exchange) throws IOException {
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        try {
+            Thread.sleep(latency.toMillis());
+            String[] ids = exchange.getRequestURI().getPath().substring(PERSON_LOCATION.length()).split("/");
+            if (ids.length != 5) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = objectMapper.writeValueAsBytes(countryTree(ids));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+            requests.increment();
+            allocatedBytes.add(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        }
+    }
+
+    private static CountryDto countryTree(String[] ids) {
+        int countryId = Integer.parseInt(ids[0]);
+        int stateId = Integer.parseInt(ids[1]);
+        int countyId = Integer.parseInt(ids[2]);
+        int cityId = Integer.parseInt(ids[3]);
+        int communityId = Integer.parseInt(ids[4]);
+        return CountryDto.builder()
+                .countryId(countryId)
+                .countryName("Country " + countryId)
+                .states(List.of(StateDto.builder()
+                        .stateId(stateId)
+                        .stateName("State " + stateId)
+                        .counties(List.of(CountyDto.builder()
+                                .countyId(countyId)
+                                .countyName("County " + countyId)
+                                .cities(List.of(CityDto.builder()
+                                        .cityId(cityId)
+                                        .cityName("City " + cityId)
+                                        .communities(List.of(CommunityDto.builder()
+                                                .communityId(communityId)
+                                                .communityName("Community " + communityId)
+                                                .build()))
+                                        .build()))
+                                .build()))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,447 @@
+package com.alienworkspace.cdr.demographic.loadtest;
+
+import com.alienworkspace.cdr.demographic.helpers.Constants;
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.PersonAttributeTypeService;
+import com.alienworkspace.cdr.demographic.service.PersonBulkService;
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAddressDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives mixed read and write traffic across every person endpoint, over HTTP, against a MySQL container and a
+ * local stand-in for the metadata service. Reports throughput, p50/p95/p99 latency per route, SQL statements
+ * per request and heap allocated per request. Run with {@code mvn test -Pbenchmark -Dtest=PersonLoadTest}.
+ *
+ * <p>The run is tuned with system properties: {@code loadtest.warmup-seconds} (10),
+ * {@code loadtest.duration-seconds} (30), {@code loadtest.concurrency} (16), {@code loadtest.people} (500)
+ * and {@code loadtest.metadata-latency-millis} (20).</p>
+ *
+ * <p>Allocation is read from the JVM's per-thread counters, leaving out the load driver and the metadata stub,
+ * so it is approximate: it still holds the HTTP client's selector thread and background work.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "eureka.client.enabled=false"})
+public class PersonLoadTest extends AbstractionContainerBaseTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonLoadTest.class);
+
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int PEOPLE = Integer.getInteger("loadtest.people", 500);
+
+    private static final MetadataStubServer METADATA = MetadataStubServer.start(
+            Duration.ofMillis(Long.getLong("loadtest.metadata-latency-millis", 20)));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonBulkService personBulkService;
+
+    @Autowired
+    private PersonAttributeTypeService personAttributeTypeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final LongAdder driverAllocatedBytes = new LongAdder();
+
+    private ExecutorService driver;
+    private List<Operation> operations;
+    private int totalWeight;
+    private PersonAttributeTypeDto attributeType;
+    private List<Long> personIds;
+    private Map<Long, Long> addressIds;
+
+    @DynamicPropertySource
+    public static void metadataProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.openfeign.client.config.metadata.url", METADATA::baseUrl);
+    }
+
+    @AfterAll
+    public static void stopMetadata() {
+        METADATA.stop();
+    }
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        attributeType = personAttributeTypeService.savePersonAttributeType(PersonAttributeTypeDto.builder()
+                .name("Hospital Number")
+                .description("Number given by the registering hospital")
+                .format("identifier")
+                .build());
+        personBulkService.addPersons(IntStream.range(0, PEOPLE).mapToObj(this::person).iterator());
+        personIds = jdbcTemplate.queryForList("SELECT person_id FROM person", Long.class);
+        addressIds = new HashMap<>();
+        jdbcTemplate.query("SELECT person_id, person_address_id FROM person_address", row -> {
+            addressIds.put(row.getLong(1), row.getLong(2));
+        });
+        driver = Executors.newFixedThreadPool(CONCURRENCY);
+        operations = List.of(
+                new Operation("get person", 25, this::getPerson),
+                new Operation("list people", 8, random -> send("GET", "", "?size=50")),
+                new Operation("change feed", 4, random -> send("GET", "/changes", "/changes?size=100")),
+                new Operation("search", 8, random -> send("GET", "/search", "/search?q=Jane+Doe"
+                        + random.nextInt(PEOPLE))),
+                new Operation("list addresses", 8, random -> send("GET", "/{personId}/addresses",
+                        "/" + randomPersonId(random) + "/addresses")),
+                new Operation("get address", 4, this::getAddress),
+                new Operation("find by attribute", 5, random -> send("GET",
+                        "/by-attribute/{personAttributeTypeId}/{value}", "/by-attribute/"
+                                + attributeType.getPersonAttributeTypeId() + "/hn-" + random.nextInt(PEOPLE))),
+                new Operation("resolve by attribute", 3, this::resolveByAttribute),
+                new Operation("get duplicates", 3, random -> send("GET", "/{personId}/duplicates",
+                        "/" + randomPersonId(random) + "/duplicates")),
+                new Operation("stream", 1, random -> send("GET", "/stream", "/stream")),
+                new Operation("person lifecycle", 8, this::personLifecycle),
+                new Operation("name lifecycle", 6, this::nameLifecycle),
+                new Operation("address lifecycle", 6, this::addressLifecycle),
+                new Operation("attribute lifecycle", 6, this::attributeLifecycle),
+                new Operation("bulk json", 2, random -> sendJson("POST", "/bulk", "/bulk", people(random, 10))),
+                new Operation("bulk ndjson", 2, this::bulkNdjson),
+                new Operation("duplicate scan", 1, random -> send("POST", "/duplicates/scan", "/duplicates/scan")));
+        totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        driver.shutdownNow();
+    }
+
+    @Test
+    public void loadTest() throws Exception {
+        LOGGER.info("Warming up for {} with {} clients", WARMUP, CONCURRENCY);
+        drive(WARMUP);
+
+        registry.clear();
+        driverAllocatedBytes.reset();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long metadataRequests = METADATA.requests();
+        long metadataAllocatedBytes = METADATA.allocatedBytes();
+        long allocatedBytes = allocatedBytes();
+        long start = System.nanoTime();
+
+        drive(DURATION);
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long serviceAllocatedBytes = allocatedBytes() - allocatedBytes - driverAllocatedBytes.sum()
+                - (METADATA.allocatedBytes() - metadataAllocatedBytes);
+        long requests = registry.find("loadtest.requests").timers().stream().mapToLong(Timer::count).sum();
+        long errors = (long) registry.find("loadtest.errors").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+
+        LOGGER.info("{} requests in {}s with {} clients: {} req/s, {} errors", requests,
+                String.format("%.1f", seconds), CONCURRENCY, String.format("%.0f", requests / seconds), errors);
+        LOGGER.info("Per request: {} SQL statements, {} entities loaded, {} KB allocated, {} metadata calls",
+                String.format("%.2f", (double) statistics.getPrepareStatementCount() / requests),
+                String.format("%.2f", (double) statistics.getEntityLoadCount() / requests),
+                String.format("%.1f", serviceAllocatedBytes / 1024.0 / requests),
+                String.format("%.2f", (double) (METADATA.requests() - metadataRequests) / requests));
+        LOGGER.info(String.format("%-58s %8s %8s %8s %8s %8s %7s", "route", "count", "req/s", "p50 ms", "p95 ms",
+                "p99 ms", "errors"));
+        registry.find("loadtest.requests").timers().stream()
+                .sorted(Comparator.comparingLong(Timer::count).reversed())
+                .forEach(timer -> {
+                    String route = timer.getId().getTag("route");
+                    double[] percentiles = Arrays.stream(timer.takeSnapshot().percentileValues())
+                            .mapToDouble(value -> value.value(TimeUnit.MILLISECONDS))
+                            .toArray();
+                    LOGGER.info(String.format("%-58s %8d %8.1f %8.1f %8.1f %8.1f %7.0f", route, timer.count(),
+                            timer.count() / seconds, percentiles[0], percentiles[1], percentiles[2],
+                            registry.counter("loadtest.errors", "route", route).count()));
+                });
+
+        assertTrue(requests > 0);
+        assertTrue(errors < requests / 10, "More than one request in ten failed");
+    }
+
+    private void drive(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Callable<Void>> clients = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.add(() -> {
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(random);
+                    try {
+                        operation.action().run(random);
+                    } catch (Exception e) {
+                        LOGGER.debug("{} failed", operation.name(), e);
+                        registry.counter("loadtest.errors", "route", operation.name()).increment();
+                    }
+                }
+                driverAllocatedBytes.add(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                return null;
+            });
+        }
+        driver.invokeAll(clients);
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Operation weights changed while driving traffic");
+    }
+
+    private long allocatedBytes() {
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+    }
+
+    private void getPerson(ThreadLocalRandom random) throws Exception {
+        send("GET", "/{id}/{includeVoided}", "/" + randomPersonId(random) + "/false");
+    }
+
+    private void getAddress(ThreadLocalRandom random) throws Exception {
+        long personId = randomPersonId(random);
+        Long addressId = addressIds.get(personId);
+        if (addressId != null) {
+            send("GET", "/{personId}/addresses/{personAddressId}", "/" + personId + "/addresses/" + addressId);
+        }
+    }
+
+    private void resolveByAttribute(ThreadLocalRandom random) throws Exception {
+        List<String> values = IntStream.range(0, 20)
+                .mapToObj(i -> "HN " + random.nextInt(PEOPLE))
+                .toList();
+        sendJson("POST", "/by-attribute/{personAttributeTypeId}",
+                "/by-attribute/" + attributeType.getPersonAttributeTypeId(), values);
+    }
+
+    private void personLifecycle(ThreadLocalRandom random) throws Exception {
+        String created = sendJson("POST", "", "", person(PEOPLE + random.nextInt(PEOPLE)));
+        if (created == null) {
+            return;
+        }
+        PersonDto person = objectMapper.readValue(created, PersonDto.class);
+        person.setBirthDate(person.getBirthDate().plusDays(1));
+        sendJson("PUT", "/{id}", "/" + person.getPersonId(), person);
+        sendJson("DELETE", "/{id}", "/" + person.getPersonId(), voidRequest());
+    }
+
+    private void nameLifecycle(ThreadLocalRandom random) throws Exception {
+        long personId = randomPersonId(random);
+        String created = sendJson("POST", "/{personId}/names", "/" + personId + "/names", PersonNameDto.builder()
+                .firstName("Janet")
+                .lastName("Doe")
+                .preferred(false)
+                .build());
+        if (created == null) {
+            return;
+        }
+        long personNameId = objectMapper.readValue(created, PersonNameDto.class).getPersonNameId();
+        sendJson("PUT", "/{personId}/names/{personNameId}", "/" + personId + "/names/" + personNameId, true);
+        sendJson("DELETE", "/{personId}/names/{personNameId}", "/" + personId + "/names/" + personNameId,
+                voidRequest());
+    }
+
+    private void addressLifecycle(ThreadLocalRandom random) throws Exception {
+        long personId = randomPersonId(random);
+        PersonAddressDto address = address(random.nextInt(10), false);
+        String created = sendJson("POST", "/{personId}/addresses", "/" + personId + "/addresses", address);
+        if (created == null) {
+            return;
+        }
+        long personAddressId = objectMapper.readValue(created, PersonAddressDto.class).getPersonAddressId();
+        String path = "/" + personId + "/addresses/" + personAddressId;
+        sendJson("PUT", "/{personId}/addresses/{personAddressId}", path, true);
+        sendJson("DELETE", "/{personId}/addresses/{personAddressId}", path, voidRequest());
+    }
+
+    private void attributeLifecycle(ThreadLocalRandom random) throws Exception {
+        long personId = randomPersonId(random);
+        String created = sendJson("POST", "/{personId}/attributes", "/" + personId + "/attributes",
+                attribute("HN-X" + random.nextInt(1_000_000), false));
+        if (created == null) {
+            return;
+        }
+        long personAttributeId = objectMapper.readValue(created, PersonAttributeDto.class).getPersonAttributeId();
+        String path = "/" + personId + "/attributes/" + personAttributeId;
+        sendJson("PUT", "/{personId}/attributes/{personAttributeId}", path, true);
+        sendJson("DELETE", "/{personId}/attributes/{personAttributeId}", path, voidRequest());
+    }
+
+    private void bulkNdjson(ThreadLocalRandom random) throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (PersonDto person : people(random, 10)) {
+            body.append(objectMapper.writeValueAsString(person)).append('\n');
+        }
+        send("POST", "/bulk (ndjson)", "/bulk", MediaType.APPLICATION_NDJSON_VALUE, body.toString());
+    }
+
+    private long randomPersonId(ThreadLocalRandom random) {
+        return personIds.get(random.nextInt(personIds.size()));
+    }
+
+    private String send(String method, String route, String path) throws Exception {
+        return send(method, route, path, MediaType.APPLICATION_JSON_VALUE, null);
+    }
+
+    private String sendJson(String method, String route, String path, Object body) throws Exception {
+        return send(method, route, path, MediaType.APPLICATION_JSON_VALUE, objectMapper.writeValueAsString(body));
+    }
+
+    /**
+     * Sends one request and records its latency under its route template, so requests to different people
+     * are reported together. Answers with an error status are counted as errors.
+     *
+     * @return the response body, or {@code null} if the request failed
+     */
+    private String send(String method, String route, String path, String contentType, String body)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + Constants.PERSON_BASE_URL + path))
+                .header("X-cdr-correlation-id", "LOAD-TEST")
+                .header("Content-Type", contentType)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        String name = method + " " + Constants.PERSON_BASE_URL + route;
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        Timer.builder("loadtest.requests")
+                .tag("route", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticExpiry(WARMUP.plus(DURATION))
+                .distributionStatisticBufferLength(1)
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (response.statusCode() >= 400) {
+            registry.counter("loadtest.errors", "route", name).increment();
+            return null;
+        }
+        return response.body();
+    }
+
+    private List<PersonDto> people(ThreadLocalRandom random, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> person(PEOPLE + random.nextInt(1_000_000)))
+                .collect(Collectors.toList());
+    }
+
+    private PersonDto person(int i) {
+        return PersonDto.builder()
+                .gender(i % 2 == 0 ? 'F' : 'M')
+                .birthDate(LocalDate.parse("1960-01-01").plusDays(i % 20_000))
+                .name(Set.of(PersonNameDto.builder().firstName("Jane").lastName("Doe" + i).preferred(true).build()))
+                .attributes(Set.of(attribute("hn-" + i, true)))
+                .address(Set.of(address(i % 10, true)))
+                .build();
+    }
+
+    private PersonAttributeDto attribute(String value, boolean preferred) {
+        return PersonAttributeDto.builder()
+                .personAttributeType(attributeType)
+                .value(value)
+                .preferred(preferred)
+                .build();
+    }
+
+    private static PersonAddressDto address(int location, boolean preferred) {
+        return PersonAddressDto.builder()
+                .country(CountryDto.builder().countryId(1).build())
+                .state(StateDto.builder().stateId(1 + location % 3).build())
+                .county(CountyDto.builder().countyId(1 + location % 5).build())
+                .city(CityDto.builder().cityId(1 + location).build())
+                .community(CommunityDto.builder().communityId(1 + location).build())
+                .addressLine1(location + " Main St")
+                .startDate(LocalDate.of(2023, 1, 1))
+                .postalCode("12345")
+                .preferred(preferred)
+                .build();
+    }
+
+    private static RecordVoidRequest voidRequest() {
+        return RecordVoidRequest.builder().voidReason("load test").build();
+    }
+
+    private record Operation(String name, int weight, Action action) {
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(ThreadLocalRandom random) throws Exception;
+    }
+}
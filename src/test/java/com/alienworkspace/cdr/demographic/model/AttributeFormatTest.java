@@ -0,0 +1,40 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttributeFormatTest {
+
+    @Test
+    @DisplayName("Test the format is resolved from the attribute type format")
+    void testOf() {
+        assertEquals(AttributeFormat.INTEGER, AttributeFormat.of("java.lang.Integer"));
+        assertEquals(AttributeFormat.PHONE, AttributeFormat.of(" Phone "));
+        assertEquals(AttributeFormat.IDENTIFIER, AttributeFormat.of("national_id"));
+        assertEquals(AttributeFormat.TEXT, AttributeFormat.of("java.lang.String"));
+        assertEquals(AttributeFormat.TEXT, AttributeFormat.of(null));
+    }
+
+    @Test
+    @DisplayName("Test values are normalized according to their format")
+    void testNormalize() {
+        assertEquals("42", AttributeFormat.INTEGER.normalize(" 0042 "));
+        assertEquals("1000000", AttributeFormat.INTEGER.normalize("1,000,000"));
+        assertEquals("n/a", AttributeFormat.INTEGER.normalize("N/A"));
+        assertEquals("+2348031234567", AttributeFormat.PHONE.normalize("+234 (803) 123-4567"));
+        assertEquals("08031234567", AttributeFormat.PHONE.normalize("0803 123 4567"));
+        assertEquals("AB1234", AttributeFormat.IDENTIFIER.normalize(" ab-12.34 "));
+        assertEquals("o negative", AttributeFormat.TEXT.normalize("  O   Negative "));
+    }
+
+    @Test
+    @DisplayName("Test blank values are not normalized")
+    void testNormalizeBlank() {
+        assertNull(AttributeFormat.TEXT.normalize(null));
+        assertNull(AttributeFormat.TEXT.normalize("   "));
+        assertNull(AttributeFormat.PHONE.normalize("ext."));
+        assertNull(AttributeFormat.IDENTIFIER.normalize("--"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.alienworkspace.cdr.demographic.model;
+
+import jakarta.persistence.TableGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGenerationTest {
+
+    private static final List<Class<?>> ENTITIES = List.of(Person.class, PersonName.class, PersonAddress.class,
+            PersonAttribute.class, PersonAttributeType.class, PersonDuplicateCandidate.class,
+            PersonDuplicateScan.class, PersonOutboxEvent.class);
+
+    private static String seedScript() throws IOException {
+        try (InputStream script = IdGenerationTest.class.getResourceAsStream("/db/id-generators.sql")) {
+            assertNotNull(script);
+            return new String(script.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static TableGenerator tableGenerator(Class<?> entity) {
+        for (Field field : entity.getDeclaredFields()) {
+            TableGenerator generator = field.getAnnotation(TableGenerator.class);
+            if (generator != null) {
+                return generator;
+            }
+        }
+        return fail(entity.getSimpleName() + " has no table generator");
+    }
+
+    @Test
+    @DisplayName("Test the seed script raises every generator row one allocation block above the ids in use")
+    void testSeedOffsetMatchesAllocationSize() throws IOException {
+        Matcher offsets = Pattern.compile("COALESCE\\(MAX\\(\\w+\\), 0\\) \\+ (\\d+) AS seed_val")
+                .matcher(seedScript());
+        int seeds = 0;
+        while (offsets.find()) {
+            assertEquals(IdGeneration.ALLOCATION_SIZE + 1, Integer.parseInt(offsets.group(1)));
+            seeds++;
+        }
+        assertEquals(ENTITIES.size(), seeds);
+    }
+
+    @Test
+    @DisplayName("Test the seed script covers the row of every entity on the pooled table generator")
+    void testSeedScriptCoversEveryGenerator() throws IOException {
+        Matcher names = Pattern.compile("'(\\w+)' AS sequence_name").matcher(seedScript());
+        Set<String> seeded = new HashSet<>();
+        while (names.find()) {
+            seeded.add(names.group(1));
+        }
+        Set<String> generated = new HashSet<>();
+        for (Class<?> entity : ENTITIES) {
+            TableGenerator generator = tableGenerator(entity);
+            assertEquals(IdGeneration.TABLE, generator.table());
+            assertEquals(IdGeneration.ALLOCATION_SIZE, generator.allocationSize());
+            generated.add(generator.pkColumnValue());
+        }
+        assertEquals(generated, seeded);
+    }
+}
@@ -35,6 +35,22 @@ class PersonAttributeTest {
         assertTrue(attribute.isPreferred());
     }
 
+    @Test
+    void testNormalizeAttributeValue() {
+        // given
+        PersonAttribute attribute = PersonAttribute.builder()
+                .personAttributeType(PersonAttributeType.builder().personAttributeTypeId(2).format("phone").build())
+                .attributeValue("0803 123 4567")
+                .build();
+
+        // when
+        attribute.normalizeAttributeValue();
+
+        // then
+        assertEquals("0803 123 4567", attribute.getAttributeValue());
+        assertEquals("08031234567", attribute.getNormalizedValue());
+    }
+
     @Test
     void testAuditTrailFields() {
         // given
@@ -0,0 +1,150 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAddress;
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the legacy single-statement join fetch of the person aggregate with the multi-query loading
+ * behind {@link PersonRepository#findCompleteAllByIds}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonCompleteFetchBenchmarkIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonCompleteFetchBenchmarkIntegrationTest.class);
+
+    private static final int PEOPLE = 100;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private static final String LEGACY_FETCH = "SELECT DISTINCT p FROM Person p "
+            + "LEFT JOIN FETCH p.names "
+            + "LEFT JOIN FETCH p.addresses "
+            + "LEFT JOIN FETCH p.attributes p_at "
+            + "LEFT JOIN FETCH p_at.personAttributeType "
+            + "WHERE p.personId IN :personIds";
+
+    private static final String LEGACY_ROWS = "SELECT COUNT(*) FROM person p "
+            + "LEFT JOIN person_name n ON n.person_id = p.person_id "
+            + "LEFT JOIN person_address a ON a.person_id = p.person_id "
+            + "LEFT JOIN person_attribute pa ON pa.person_id = p.person_id "
+            + "WHERE p.person_id IN (:personIds)";
+
+    private static final String MULTI_QUERY_ROWS = "SELECT "
+            + "(SELECT COUNT(*) FROM person WHERE person_id IN (:personIds)) "
+            + "+ (SELECT COUNT(*) FROM person_name WHERE person_id IN (:personIds)) "
+            + "+ (SELECT COUNT(*) FROM person_address WHERE person_id IN (:personIds)) "
+            + "+ (SELECT COUNT(*) FROM person_attribute WHERE person_id IN (:personIds))";
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonAttributeTypeRepository personAttributeTypeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "{0} names, {1} addresses, {2} attributes")
+    @CsvSource({"1, 1, 1", "3, 4, 10", "5, 5, 25"})
+    public void benchmarkCompleteFetch(int names, int addresses, int attributes) {
+        List<Long> personIds = seed(names, addresses, attributes);
+
+        long legacyRows = countRows(LEGACY_ROWS, personIds);
+        long multiQueryRows = countRows(MULTI_QUERY_ROWS, personIds);
+        double legacyMillis = time(() -> transactionTemplate.execute(status -> entityManager
+                .createQuery(LEGACY_FETCH, Person.class)
+                .setParameter("personIds", personIds)
+                .getResultList()));
+        double multiQueryMillis = time(() -> personRepository.findCompleteAllByIds(personIds));
+
+        LOGGER.info("fan-out {}x{}x{} for {} people: join fetch {} rows {} ms, multi-query {} rows {} ms",
+                names, addresses, attributes, PEOPLE, legacyRows, String.format("%.2f", legacyMillis),
+                multiQueryRows, String.format("%.2f", multiQueryMillis));
+
+        assertEquals((long) PEOPLE * names * addresses * attributes, legacyRows);
+        assertEquals((long) PEOPLE * (1 + names + addresses + attributes), multiQueryRows);
+        assertEquals(PEOPLE, personRepository.findCompleteAllByIds(personIds).size());
+    }
+
+    private List<Long> seed(int names, int addresses, int attributes) {
+        PersonAttributeType attributeType = personAttributeTypeRepository.save(PersonAttributeType.builder()
+                .name("Benchmark")
+                .description("Benchmark attribute")
+                .build());
+        List<Long> personIds = new ArrayList<>(PEOPLE);
+        for (int i = 0; i < PEOPLE; i++) {
+            Person person = Person.builder()
+                    .gender('F')
+                    .birthDate(LocalDate.parse("1990-01-01"))
+                    .build();
+            for (int n = 0; n < names; n++) {
+                person.addName(PersonName.builder().firstName("First" + n).lastName("Last" + i).build());
+            }
+            for (int a = 0; a < addresses; a++) {
+                person.addAddress(PersonAddress.builder().addressLine1("Line " + a).build());
+            }
+            for (int at = 0; at < attributes; at++) {
+                person.addAttribute(PersonAttribute.builder()
+                        .personAttributeType(attributeType)
+                        .attributeValue(String.valueOf(at))
+                        .build());
+            }
+            personIds.add(personRepository.save(person).getPersonId());
+        }
+        return personIds;
+    }
+
+    private long countRows(String sql, List<Long> personIds) {
+        return ((Number) entityManager.createNativeQuery(sql)
+                .setParameter("personIds", personIds)
+                .getSingleResult()).longValue();
+    }
+
+    private double time(Supplier<List<Person>> load) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(PEOPLE, load.get().size());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            load.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+}
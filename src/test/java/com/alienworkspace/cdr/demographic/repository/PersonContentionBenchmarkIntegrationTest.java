@@ -0,0 +1,117 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the throughput of concurrent changes to the names of a single person, and checks that every change
+ * either commits or fails with a concurrency conflict, so that none is lost. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonContentionBenchmarkIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonContentionBenchmarkIntegrationTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final int CHANGES_PER_THREAD = 50;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private long personId;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        personId = personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(PersonNameDto.builder().firstName("Jane").lastName("Doe").preferred(true).build()))
+                .build(), "CORRELATION-ID").getPersonId();
+    }
+
+    @Test
+    public void benchmarkConcurrentNameChanges() throws Exception {
+        long initialVersion = version();
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>(THREADS);
+        for (int thread = 0; thread < THREADS; thread++) {
+            int worker = thread;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int change = 0; change < CHANGES_PER_THREAD; change++) {
+                    try {
+                        personService.addPersonName(personId, PersonNameDto.builder()
+                                .firstName("Jane")
+                                .lastName("Doe-" + worker + "-" + change)
+                                .preferred(change % 2 == 0)
+                                .build());
+                        committed.incrementAndGet();
+                    } catch (ConcurrencyFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double millis = (System.nanoTime() - begin) / 1_000_000.0;
+        executor.shutdown();
+
+        LOGGER.info("{} threads changing one person: {} changes/s, {} committed, {} conflicts",
+                THREADS, String.format("%.0f", committed.get() * 1000 / millis), committed.get(), conflicts.get());
+
+        PersonDto person = personService.getPerson("CORRELATION-ID", personId, true);
+        assertEquals(THREADS * CHANGES_PER_THREAD, committed.get() + conflicts.get());
+        assertEquals(1 + committed.get(), person.getName().size());
+        assertEquals(1, person.getName().stream().filter(PersonNameDto::getPreferred).count());
+        assertEquals(initialVersion + committed.get(), version());
+    }
+
+    private long version() {
+        return personRepository.findById(personId).map(Person::getVersion).orElseThrow();
+    }
+}
@@ -0,0 +1,169 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class PersonFetchProfileIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private Statistics statistics;
+    private PersonDto savedPerson;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        savedPerson = personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(
+                        PersonNameDto.builder().firstName("Jane").lastName("Doe").preferred(true).build(),
+                        PersonNameDto.builder().firstName("Janet").lastName("Doe").preferred(false).build()))
+                .build(), "CORRELATION-ID");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private long nonPreferredNameId() {
+        return savedPerson.getName().stream()
+                .filter(name -> !name.getPreferred())
+                .findFirst()
+                .orElseThrow()
+                .getPersonNameId();
+    }
+
+    @DisplayName("Core profile loads the person row only")
+    @Test
+    public void testCoreProfile() {
+        Person person = personRepository.findById(savedPerson.getPersonId(), PersonFetchProfile.CORE).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(person.getNames()));
+        assertFalse(Hibernate.isInitialized(person.getAddresses()));
+        assertFalse(Hibernate.isInitialized(person.getAttributes()));
+    }
+
+    @DisplayName("Names profile loads the person and names in one statement")
+    @Test
+    public void testNamesProfile() {
+        Person person = personRepository.findById(savedPerson.getPersonId(), PersonFetchProfile.NAMES).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, person.getNames().size());
+        assertFalse(Hibernate.isInitialized(person.getAddresses()));
+        assertFalse(Hibernate.isInitialized(person.getAttributes()));
+    }
+
+    @DisplayName("Full profile loads the person and then each collection in its own statement")
+    @Test
+    public void testFullProfile() {
+        Person person = personRepository.findById(savedPerson.getPersonId(), PersonFetchProfile.FULL).orElseThrow();
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(2, person.getNames().size());
+        assertTrue(Hibernate.isInitialized(person.getAddresses()));
+        assertTrue(Hibernate.isInitialized(person.getAttributes()));
+    }
+
+    @DisplayName("Preferred-only profile loads the preferred children only")
+    @Test
+    public void testPreferredOnlyProfile() {
+        Person person = personRepository.findById(savedPerson.getPersonId(), PersonFetchProfile.PREFERRED_ONLY)
+                .orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, person.getNames().size());
+        assertEquals("Jane", person.getPreferredName().getFirstName());
+    }
+
+    @DisplayName("Active-only profile loads the person and then each collection in its own statement, "
+            + "without the voided rows")
+    @Test
+    public void testActiveOnlyProfile() {
+        personService.deletePersonName(savedPerson.getPersonId(), nonPreferredNameId(),
+                RecordVoidRequest.builder().voidReason("test").build());
+        statistics.clear();
+
+        Person person = personRepository.findById(savedPerson.getPersonId(), PersonFetchProfile.ACTIVE_ONLY)
+                .orElseThrow();
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        // The person and its one active name; the voided name is never read.
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(1, person.getNames().size());
+        assertTrue(Hibernate.isInitialized(person.getAddresses()));
+        assertTrue(Hibernate.isInitialized(person.getAttributes()));
+    }
+
+    @DisplayName("Rendering a person without voided records loads the active rows and the latest void time")
+    @Test
+    public void testActiveOnlyRenderStatementCount() {
+        personService.deletePersonName(savedPerson.getPersonId(), nonPreferredNameId(),
+                RecordVoidRequest.builder().voidReason("test").build());
+        statistics.clear();
+
+        RenderedPerson rendered = personService.renderPerson("CORRELATION-ID", savedPerson.getPersonId(), false);
+
+        // The person, one statement per collection and the latest void time of the voided records.
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertEquals(List.of("Jane"),
+                rendered.getPerson().getName().stream().map(PersonNameDto::getFirstName).toList());
+    }
+
+    @DisplayName("Voiding a person selects the person row, updates it, refreshes its summary row and records "
+            + "the event")
+    @Test
+    public void testDeletePersonStatementCount() {
+        personService.deletePerson(savedPerson.getPersonId(), RecordVoidRequest.builder().voidReason("test").build());
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @DisplayName("Voiding a name selects the person with names, updates the name and the version of the person "
+            + "and records the event")
+    @Test
+    public void testDeletePersonNameStatementCount() {
+        personService.deletePersonName(savedPerson.getPersonId(), nonPreferredNameId(),
+                RecordVoidRequest.builder().voidReason("test").build());
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
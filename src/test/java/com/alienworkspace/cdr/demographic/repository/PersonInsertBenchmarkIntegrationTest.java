@@ -0,0 +1,187 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.IdGeneration;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures person row insert throughput with the identity ids entities used before against the pooled table
+ * generator they use now. Both run the same insert path: rows shaped like {@code person} are persisted in
+ * transactions of {@link #CHUNK_SIZE}, flushed and cleared, as the bulk import does, so the only difference is
+ * the id strategy. Identity ids need the row inserted to learn its id, which rules out JDBC batching; pooled
+ * ids cost one generator round trip per {@link IdGeneration#ALLOCATION_SIZE} rows. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class PersonInsertBenchmarkIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonInsertBenchmarkIntegrationTest.class);
+
+    private static final int ROWS = 5_000;
+
+    private static final int CHUNK_SIZE = 100;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM IdentityPersonRow").executeUpdate();
+            entityManager.createQuery("DELETE FROM PooledPersonRow").executeUpdate();
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Warms the insert path and the generator row up, so neither run pays for the first use.
+        insert(CHUNK_SIZE, IdentityPersonRow::new);
+        insert(CHUNK_SIZE, PooledPersonRow::new);
+    }
+
+    @Test
+    public void benchmarkIdStrategy() {
+        statistics.clear();
+        long start = System.nanoTime();
+        insert(ROWS, IdentityPersonRow::new);
+        double identityMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long identityStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        insert(ROWS, PooledPersonRow::new);
+        double pooledMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long pooledStatements = statistics.getPrepareStatementCount();
+
+        LOGGER.info("{} rows: identity {} rows/s {} statements, pooled table generator {} rows/s {} statements",
+                ROWS, String.format("%.0f", ROWS * 1000 / identityMillis), identityStatements,
+                String.format("%.0f", ROWS * 1000 / pooledMillis), pooledStatements);
+
+        assertEquals(ROWS + CHUNK_SIZE, count("IdentityPersonRow"));
+        assertEquals(ROWS + CHUNK_SIZE, count("PooledPersonRow"));
+        // One insert per row, against one per batch plus one generator update per allocation block.
+        assertTrue(identityStatements >= ROWS);
+        assertTrue(pooledStatements <= 2L * ROWS / CHUNK_SIZE + 2L * ROWS / IdGeneration.ALLOCATION_SIZE);
+    }
+
+    private void insert(int rows, IntFunction<Object> row) {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < Math.min(chunkStart + CHUNK_SIZE, rows); i++) {
+                    entityManager.persist(row.apply(i));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private long count(String entityName) {
+        return entityManager.createQuery("SELECT COUNT(r) FROM " + entityName + " r", Long.class)
+                .getSingleResult();
+    }
+
+    /**
+     * A person row numbered by the database, as entities were with {@link GenerationType#AUTO} on MySQL.
+     */
+    @Entity(name = "IdentityPersonRow")
+    @Table(name = "benchmark_identity_person")
+    public static class IdentityPersonRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "person_id")
+        private Long personId;
+
+        @Column(name = "gender", length = 1, nullable = false)
+        private Character gender = 'F';
+
+        @Column(name = "birth_date", nullable = false)
+        private LocalDate birthDate;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt = LocalDateTime.now();
+
+        @Column(name = "created_by")
+        private long createdBy = 1L;
+
+        public IdentityPersonRow() {}
+
+        IdentityPersonRow(int i) {
+            birthDate = LocalDate.parse("1990-01-01").plusDays(i % 10_000);
+        }
+    }
+
+    /**
+     * A person row numbered by the pooled table generator, with the settings every entity uses.
+     */
+    @Entity(name = "PooledPersonRow")
+    @Table(name = "benchmark_pooled_person")
+    public static class PooledPersonRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "benchmark_pooled_person_id")
+        @TableGenerator(name = "benchmark_pooled_person_id", table = IdGeneration.TABLE,
+                pkColumnName = IdGeneration.KEY_COLUMN, valueColumnName = IdGeneration.VALUE_COLUMN,
+                pkColumnValue = "benchmark_pooled_person", allocationSize = IdGeneration.ALLOCATION_SIZE)
+        @Column(name = "person_id")
+        private Long personId;
+
+        @Column(name = "gender", length = 1, nullable = false)
+        private Character gender = 'F';
+
+        @Column(name = "birth_date", nullable = false)
+        private LocalDate birthDate;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt = LocalDateTime.now();
+
+        @Column(name = "created_by")
+        private long createdBy = 1L;
+
+        public PooledPersonRow() {}
+
+        PooledPersonRow(int i) {
+            birthDate = LocalDate.parse("1990-01-01").plusDays(i % 10_000);
+        }
+    }
+}
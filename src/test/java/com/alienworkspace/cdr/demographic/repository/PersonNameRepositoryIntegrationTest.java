@@ -0,0 +1,95 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonNameRepositoryIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonNameRepository personNameRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private PersonDto person;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        person = personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(
+                        PersonNameDto.builder().firstName("Jane").lastName("Doe").preferred(true).build(),
+                        PersonNameDto.builder().firstName("Janet").lastName("Doe").preferred(false).build()))
+                .build(), "CORRELATION-ID");
+    }
+
+    private long nameId(boolean preferred) {
+        return person.getName().stream()
+                .filter(name -> name.getPreferred() == preferred)
+                .findFirst()
+                .orElseThrow()
+                .getPersonNameId();
+    }
+
+    @DisplayName("Test the preferred name is moved with two bulk updates")
+    @Test
+    public void testMovePreferred() {
+        // when
+        int cleared = transactionTemplate.execute(status -> personNameRepository.clearPreferred(person.getPersonId()));
+        int marked = transactionTemplate.execute(status -> personNameRepository.markPreferred(person.getPersonId(),
+                nameId(false), LocalDateTime.now(), 1L));
+
+        // then
+        assertEquals(1, cleared);
+        assertEquals(1, marked);
+        assertTrue(personNameRepository.findById(nameId(false)).orElseThrow().isPreferred());
+        assertFalse(personNameRepository.findById(nameId(true)).orElseThrow().isPreferred());
+    }
+
+    @DisplayName("Test a second preferred name of a person is refused by the database")
+    @Test
+    public void testSecondPreferredRefused() {
+        assertThrows(DataIntegrityViolationException.class, () -> transactionTemplate.execute(status ->
+                personNameRepository.markPreferred(person.getPersonId(), nameId(false), LocalDateTime.now(), 1L)));
+    }
+
+    @DisplayName("Test a name of another person is not made preferred")
+    @Test
+    public void testMarkPreferredOfOtherPerson() {
+        int marked = transactionTemplate.execute(status -> personNameRepository.markPreferred(
+                person.getPersonId() + 1, nameId(false), LocalDateTime.now(), 1L));
+
+        assertEquals(0, marked);
+    }
+}
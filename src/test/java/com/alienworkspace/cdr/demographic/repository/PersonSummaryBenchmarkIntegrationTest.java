@@ -0,0 +1,115 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.helpers.Constants;
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAddress;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.service.PersonSummaryService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares the bytes and latency of a page of full person records with a page of person summaries. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonSummaryBenchmarkIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonSummaryBenchmarkIntegrationTest.class);
+
+    private static final int PEOPLE = 100;
+    private static final int NAMES = 3;
+    private static final int ADDRESSES = 3;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonSummaryService personSummaryService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        for (int i = 0; i < PEOPLE; i++) {
+            Person person = Person.builder()
+                    .gender('F')
+                    .birthDate(LocalDate.parse("1990-01-01"))
+                    .build();
+            for (int n = 0; n < NAMES; n++) {
+                person.addName(PersonName.builder().firstName("First" + n).lastName("Last" + i).preferred(n == 0)
+                        .build());
+            }
+            for (int a = 0; a < ADDRESSES; a++) {
+                person.addAddress(PersonAddress.builder().addressLine1("Line " + a).preferred(a == 0).build());
+            }
+            personRepository.save(person);
+        }
+        personSummaryService.rebuild();
+    }
+
+    @Test
+    public void benchmarkSummaryView() throws Exception {
+        MockHttpServletRequestBuilder full = get(Constants.PERSON_BASE_URL).param("size", String.valueOf(PEOPLE));
+        MockHttpServletRequestBuilder summary = get(Constants.PERSON_BASE_URL)
+                .param("size", String.valueOf(PEOPLE))
+                .param("view", "summary");
+
+        int fullBytes = bytes(full);
+        int summaryBytes = bytes(summary);
+        double fullMillis = time(full);
+        double summaryMillis = time(summary);
+
+        LOGGER.info("page of {} people with {} names and {} addresses: full {} bytes {} ms, summary {} bytes {} ms",
+                PEOPLE, NAMES, ADDRESSES, fullBytes, String.format("%.2f", fullMillis), summaryBytes,
+                String.format("%.2f", summaryMillis));
+
+        assertTrue(summaryBytes < fullBytes);
+    }
+
+    private int bytes(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray()
+                .length;
+    }
+
+    private double time(MockHttpServletRequestBuilder request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            bytes(request);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes(request);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+}
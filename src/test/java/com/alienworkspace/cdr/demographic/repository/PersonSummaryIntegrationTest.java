@@ -0,0 +1,208 @@
+package com.alienworkspace.cdr.demographic.repository;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAddress;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummary;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSummaryPage;
+import com.alienworkspace.cdr.demographic.model.dto.SummaryRebuildResult;
+import com.alienworkspace.cdr.demographic.service.PersonService;
+import com.alienworkspace.cdr.demographic.service.PersonSummaryService;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonSummaryIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonNameRepository personNameRepository;
+
+    @Autowired
+    private PersonSummaryRepository personSummaryRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonSummaryService personSummaryService;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+    }
+
+    private long save(String firstName, boolean withAddress, boolean voided) {
+        Person person = Person.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .build();
+        person.setVoided(voided);
+        person.addName(PersonName.builder().firstName(firstName).lastName("Doe").preferred(true).build());
+        person.addName(PersonName.builder().firstName(firstName + "-alias").lastName("Doe").build());
+        if (withAddress) {
+            person.addAddress(PersonAddress.builder().preferred(true).country(1).state(2).city(4).build());
+            person.addAddress(PersonAddress.builder().country(9).build());
+        }
+        return personRepository.save(person).getPersonId();
+    }
+
+    private long addPerson(String firstName, String alias) {
+        return personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(PersonNameDto.builder().firstName(firstName).lastName("Doe").preferred(true).build(),
+                        PersonNameDto.builder().firstName(alias).lastName("Doe").build()))
+                .build(), "CORRELATION-ID").getPersonId();
+    }
+
+    @DisplayName("Test a summary holds the preferred name and the location IDs of the preferred address")
+    @Test
+    public void testGetPersonSummary() {
+        // given
+        long personId = save("Jane", true, false);
+        personSummaryService.rebuild();
+
+        // when
+        PersonSummary summary = personService.getPersonSummary(personId);
+
+        // then
+        assertEquals(personId, summary.getPersonId());
+        assertEquals('F', summary.getGender());
+        assertEquals(LocalDate.parse("1990-01-01"), summary.getBirthDate());
+        assertEquals(Period.between(LocalDate.parse("1990-01-01"), LocalDate.now()).getYears() / 10 * 10,
+                summary.getAgeBucket());
+        assertEquals("Jane", summary.getFirstName());
+        assertNotNull(summary.getPersonAddressId());
+        assertEquals(1, summary.getCountryId());
+        assertEquals(2, summary.getStateId());
+        assertEquals(4, summary.getCityId());
+    }
+
+    @DisplayName("Test a summary of a person without a preferred address has no address fields")
+    @Test
+    public void testGetPersonSummaryWithoutAddress() {
+        long personId = save("Jane", false, false);
+        personSummaryService.rebuild();
+
+        PersonSummary summary = personService.getPersonSummary(personId);
+
+        assertEquals("Jane", summary.getFirstName());
+        assertNull(summary.getPersonAddressId());
+        assertNull(summary.getCountryId());
+    }
+
+    @DisplayName("Test summaries are paged by person ID and skip voided people")
+    @Test
+    public void testGetPersonSummaries() {
+        // given
+        long adaId = save("Ada", true, false);
+        save("Bola", true, true);
+        long chiId = save("Chi", false, false);
+        personSummaryService.rebuild();
+
+        // when
+        PersonSummaryPage first = personService.getPersonSummaries(null, 1);
+        PersonSummaryPage second = personService.getPersonSummaries(first.getNextCursor(), 1);
+
+        // then
+        assertEquals(List.of(adaId), first.getContent().stream().map(PersonSummary::getPersonId).toList());
+        assertEquals(List.of(chiId), second.getContent().stream().map(PersonSummary::getPersonId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @DisplayName("Test a rebuild writes the summaries of people saved without one")
+    @Test
+    public void testRebuild() {
+        // given
+        long personId = save("Jane", true, false);
+        save("Janet", false, true);
+        assertTrue(personSummaryRepository.findSummaryById(personId).isEmpty());
+
+        // when
+        SummaryRebuildResult result = personSummaryService.rebuild();
+
+        // then
+        assertEquals(2, result.getPeople());
+        assertEquals(0, result.getRemoved());
+        assertEquals(2, personSummaryRepository.count());
+        assertEquals("Jane", personService.getPersonSummary(personId).getFirstName());
+    }
+
+    @DisplayName("Test a rebuild removes the summaries of people that no longer exist and keeps the others")
+    @Test
+    public void testRebuildRemovesOrphans() {
+        // given
+        long keptId = addPerson("Jane", "Janie");
+        long removedId = addPerson("Janet", "Jan");
+        personRepository.deleteById(removedId);
+
+        // when
+        SummaryRebuildResult result = personSummaryService.rebuild();
+
+        // then
+        assertEquals(1, result.getRemoved());
+        assertTrue(personSummaryRepository.findSummaryById(removedId).isEmpty());
+        assertEquals("Jane", personService.getPersonSummary(keptId).getFirstName());
+    }
+
+    @DisplayName("Test a summary refresh outside a transaction is refused")
+    @Test
+    public void testRefreshRequiresTransaction() {
+        long personId = save("Jane", false, false);
+
+        assertThrows(IllegalTransactionStateException.class, () -> personSummaryRepository.refresh(personId));
+    }
+
+    @DisplayName("Test the summary follows the changes made through the person service")
+    @Test
+    public void testSummaryMaintainedOnWrites() {
+        // given
+        long personId = addPerson("Jane", "Janie");
+        assertEquals("Jane", personService.getPersonSummary(personId).getFirstName());
+        long aliasId = personNameRepository.findAll().stream()
+                .filter(name -> name.getFirstName().equals("Janie"))
+                .findFirst()
+                .orElseThrow()
+                .getPersonNameId();
+
+        // when
+        personService.updatePersonName(personId, aliasId, true);
+
+        // then
+        PersonSummary renamed = personService.getPersonSummary(personId);
+        assertEquals("Janie", renamed.getFirstName());
+        assertEquals(aliasId, renamed.getPersonNameId());
+
+        // when
+        personService.deletePerson(personId, RecordVoidRequest.builder().voidReason("Test data").build());
+
+        // then
+        assertTrue(personService.getPersonSummary(personId).isVoided());
+        assertTrue(personService.getPersonSummaries(null, 10).getContent().isEmpty());
+    }
+}
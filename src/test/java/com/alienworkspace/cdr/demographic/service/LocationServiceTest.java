@@ -0,0 +1,262 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.EnrichmentConfig;
+import com.alienworkspace.cdr.demographic.config.LocationCacheConfig;
+import com.alienworkspace.cdr.demographic.model.location.LocationKey;
+import com.alienworkspace.cdr.demographic.model.location.ResolvedLocation;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.demographic.service.impl.LocationServiceImpl;
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LocationServiceTest {
+
+    private static final LocationKey LOCATION = new LocationKey(1, 2, 3, 4, 5);
+
+    private MetadataFeignClient metadataFeignClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EnrichmentConfig enrichmentConfig;
+
+    private ExecutorService executor;
+
+    private LocationService locationService;
+
+    @BeforeEach
+    public void setup() {
+        metadataFeignClient = mock(MetadataFeignClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        enrichmentConfig = new EnrichmentConfig();
+        executor = Executors.newFixedThreadPool(4);
+        locationService = new LocationServiceImpl(metadataFeignClient, new LocationCacheConfig(), enrichmentConfig,
+                executor, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static CountryDto countryTree() {
+        return CountryDto.builder()
+                .countryId(1)
+                .countryName("Country")
+                .states(List.of(
+                        StateDto.builder().stateId(9).stateName("Other State").build(),
+                        StateDto.builder().stateId(2).stateName("State")
+                                .counties(List.of(CountyDto.builder().countyId(3).countyName("County")
+                                        .cities(List.of(CityDto.builder().cityId(4).cityName("City")
+                                                .communities(List.of(CommunityDto.builder().communityId(5)
+                                                        .communityName("Community").build()))
+                                                .build()))
+                                        .build()))
+                                .build()))
+                .build();
+    }
+
+    @DisplayName("Test resolve walks every level of the location tree")
+    @Test
+    public void testResolve() {
+        // given
+        when(metadataFeignClient.getPersonLocation("CORRELATION-ID", 1, 2, 3, 4, 5))
+                .thenReturn(ResponseEntity.ok(countryTree()));
+
+        // when
+        ResolvedLocation location = locationService.resolve("CORRELATION-ID", LOCATION);
+
+        // then
+        assertEquals("Country", location.getCountry().getCountryName());
+        assertEquals("State", location.getState().getStateName());
+        assertEquals("County", location.getCounty().getCountyName());
+        assertEquals("City", location.getCity().getCityName());
+        assertEquals("Community", location.getCommunity().getCommunityName());
+    }
+
+    @DisplayName("Test resolve serves repeated lookups from the cache")
+    @Test
+    public void testResolveIsCached() {
+        // given
+        when(metadataFeignClient.getPersonLocation("CORRELATION-ID", 1, 2, 3, 4, 5))
+                .thenReturn(ResponseEntity.ok(countryTree()));
+
+        // when
+        ResolvedLocation first = locationService.resolve("CORRELATION-ID", LOCATION);
+        ResolvedLocation second = locationService.resolve("CORRELATION-ID", LOCATION);
+
+        // then
+        assertSame(first, second);
+        verify(metadataFeignClient, times(1)).getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @DisplayName("Test resolve all looks duplicate locations up once")
+    @Test
+    public void testResolveAllCollapsesDuplicates() {
+        // given
+        when(metadataFeignClient.getPersonLocation("CORRELATION-ID", 1, 2, 3, 4, 5))
+                .thenReturn(ResponseEntity.ok(countryTree()));
+
+        // when
+        Map<LocationKey, ResolvedLocation> locations = locationService.resolveAll("CORRELATION-ID",
+                List.of(LOCATION, new LocationKey(1, 2, 3, 4, 5), LOCATION));
+
+        // then
+        assertEquals(1, locations.size());
+        verify(metadataFeignClient, times(1)).getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt());
+    }
+
+    @DisplayName("Test resolve does not cache an empty fallback answer")
+    @Test
+    public void testResolveDoesNotCacheEmptyAnswer() {
+        // given
+        when(metadataFeignClient.getPersonLocation("CORRELATION-ID", 1, 2, 3, 4, 5))
+                .thenReturn(ResponseEntity.ok(null));
+
+        // when
+        ResolvedLocation first = locationService.resolve("CORRELATION-ID", LOCATION);
+        locationService.resolve("CORRELATION-ID", LOCATION);
+
+        // then
+        assertNull(first.getCountry());
+        verify(metadataFeignClient, times(2)).getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt());
+    }
+
+    @DisplayName("Test resolve all looks distinct locations up concurrently")
+    @Test
+    public void testResolveAllRunsConcurrently() {
+        // given
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(metadataFeignClient.getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    bothStarted.countDown();
+                    // Only returns when the other lookup is running at the same time.
+                    bothStarted.await(1, TimeUnit.SECONDS);
+                    return ResponseEntity.ok(countryTree());
+                });
+
+        // when
+        Map<LocationKey, ResolvedLocation> locations = locationService.resolveAll("CORRELATION-ID",
+                List.of(LOCATION, new LocationKey(1, 2, 3, 4, 6)));
+
+        // then
+        assertEquals(0, bothStarted.getCount());
+        assertEquals("Community", locations.get(LOCATION).getCommunity().getCommunityName());
+        assertNull(locations.get(new LocationKey(1, 2, 3, 4, 6)).getCommunity());
+    }
+
+    @DisplayName("Test resolve all returns partial results when a lookup misses the deadline")
+    @Test
+    public void testResolveAllReturnsPartialResultsOnTimeout() {
+        // given
+        enrichmentConfig.setTimeout(Duration.ofMillis(100));
+        when(metadataFeignClient.getPersonLocation("CORRELATION-ID", 1, 2, 3, 4, 5))
+                .thenReturn(ResponseEntity.ok(countryTree()));
+        when(metadataFeignClient.getPersonLocation("CORRELATION-ID", 7, 2, 3, 4, 5))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5_000);
+                    return ResponseEntity.ok(countryTree());
+                });
+
+        // when
+        Map<LocationKey, ResolvedLocation> locations = locationService.resolveAll("CORRELATION-ID",
+                List.of(LOCATION, new LocationKey(7, 2, 3, 4, 5)));
+
+        // then
+        assertEquals("Country", locations.get(LOCATION).getCountry().getCountryName());
+        assertSame(ResolvedLocation.EMPTY, locations.get(new LocationKey(7, 2, 3, 4, 5)));
+        assertEquals(1.0, meterRegistry.get("demographic.locations.dropped").counter().count());
+    }
+
+    @DisplayName("Test lookups made one after the other still stop at the deadline")
+    @Test
+    public void testResolveAllSequentialHonoursDeadline() {
+        // given
+        enrichmentConfig.setParallel(false);
+        enrichmentConfig.setTimeout(Duration.ofMillis(100));
+        when(metadataFeignClient.getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5_000);
+                    return ResponseEntity.ok(countryTree());
+                });
+
+        // when
+        long started = System.nanoTime();
+        Map<LocationKey, ResolvedLocation> locations = locationService.resolveAll("CORRELATION-ID",
+                List.of(LOCATION, new LocationKey(7, 2, 3, 4, 5)));
+
+        // then
+        assertSame(ResolvedLocation.EMPTY, locations.get(LOCATION));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(2.0, meterRegistry.get("demographic.locations.dropped").counter().count());
+    }
+
+    @DisplayName("Test a lookup rejected by a saturated executor is dropped instead of run by the caller")
+    @Test
+    public void testResolveAllDropsRejectedLookups() {
+        // given
+        executor.shutdownNow();
+        when(metadataFeignClient.getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(ResponseEntity.ok(countryTree()));
+
+        // when
+        Map<LocationKey, ResolvedLocation> locations = locationService.resolveAll("CORRELATION-ID",
+                List.of(LOCATION, new LocationKey(7, 2, 3, 4, 5)));
+
+        // then
+        assertSame(ResolvedLocation.EMPTY, locations.get(LOCATION));
+        assertEquals(2.0, meterRegistry.get("demographic.locations.dropped").counter().count());
+        verify(metadataFeignClient, never()).getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt());
+    }
+
+    @DisplayName("Test resolve all fails when a lookup misses the deadline and partial results are disabled")
+    @Test
+    public void testResolveAllFailsOnTimeout() {
+        // given
+        enrichmentConfig.setTimeout(Duration.ofMillis(100));
+        enrichmentConfig.setPartialResultPolicy(EnrichmentConfig.PartialResultPolicy.FAIL);
+        when(metadataFeignClient.getPersonLocation(anyString(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(5_000);
+                    return ResponseEntity.ok(countryTree());
+                });
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> locationService.resolveAll("CORRELATION-ID",
+                List.of(LOCATION, new LocationKey(7, 2, 3, 4, 5))));
+    }
+}
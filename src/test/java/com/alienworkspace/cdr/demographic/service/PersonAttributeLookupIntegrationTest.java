@@ -0,0 +1,116 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonAttributeLookupIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonAttributeTypeService personAttributeTypeService;
+
+    @Autowired
+    private PersonAttributeLookupService personAttributeLookupService;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private int hospitalNumberTypeId;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        hospitalNumberTypeId = personAttributeTypeService.savePersonAttributeType(PersonAttributeTypeDto.builder()
+                .name("Hospital Number")
+                .description("Number given by the registering hospital")
+                .format("identifier")
+                .build()).getPersonAttributeTypeId();
+    }
+
+    private PersonDto person(String firstName, String hospitalNumber) {
+        return PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1985-05-05"))
+                .name(Set.of(PersonNameDto.builder().firstName(firstName).lastName("Okafor").preferred(true).build()))
+                .attributes(Set.of(PersonAttributeDto.builder()
+                        .personAttributeType(PersonAttributeTypeDto.builder()
+                                .personAttributeTypeId(hospitalNumberTypeId)
+                                .build())
+                        .value(hospitalNumber)
+                        .preferred(true)
+                        .build()))
+                .build();
+    }
+
+    @DisplayName("Test people are found by a normalized attribute value, one at a time and in a batch")
+    @Test
+    public void testLookup() {
+        // given
+        long adaId = personService.addPerson(person("Ada", "hn-0001"), "CORRELATION-ID").getPersonId();
+        long ngoziId = personService.addPerson(person("Ngozi", "HN 0002"), "CORRELATION-ID").getPersonId();
+
+        // when
+        List<PersonDto> found = personAttributeLookupService.findPersons(hospitalNumberTypeId, "HN0001");
+        Map<String, List<Long>> resolved = personAttributeLookupService.resolvePersonIds(hospitalNumberTypeId,
+                List.of("hn.0002", "HN-0001", "HN-9999"));
+
+        // then
+        assertEquals(List.of(adaId), found.stream().map(PersonDto::getPersonId).toList());
+        assertEquals(List.of(ngoziId), resolved.get("hn.0002"));
+        assertEquals(List.of(adaId), resolved.get("HN-0001"));
+        assertEquals(List.of(), resolved.get("HN-9999"));
+    }
+
+    @DisplayName("Test a unique attribute value can only be held by one person")
+    @Test
+    public void testUniqueValues() {
+        // given
+        personService.addPerson(person("Ada", "hn-0003"), "CORRELATION-ID");
+        personAttributeTypeService.setUniqueValues(hospitalNumberTypeId, true);
+
+        // when & then
+        assertThrows(DuplicateAttributeValueException.class,
+                () -> personService.addPerson(person("Chioma", "HN 0003"), "CORRELATION-ID", true));
+        assertNotNull(personService.addPerson(person("Chioma", "HN 0004"), "CORRELATION-ID", true));
+        assertEquals(1, personAttributeLookupService.findPersons(hospitalNumberTypeId, "hn0003").size());
+    }
+
+    @DisplayName("Test uniqueness is refused while a value is shared")
+    @Test
+    public void testUniqueValuesWithSharedValue() {
+        // given
+        personService.addPerson(person("Ada", "hn-0005"), "CORRELATION-ID");
+        personService.addPerson(person("Chioma", "HN0005"), "CORRELATION-ID", true);
+
+        // when & then
+        assertThrows(DuplicateAttributeValueException.class,
+                () -> personAttributeTypeService.setUniqueValues(hospitalNumberTypeId, true));
+    }
+}
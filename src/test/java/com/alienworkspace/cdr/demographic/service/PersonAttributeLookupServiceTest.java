@@ -0,0 +1,279 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.AttributeLookupConfig;
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAttribute;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.impl.PersonAttributeLookupServiceImpl;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class PersonAttributeLookupServiceTest {
+
+    private PersonAttributeRepository personAttributeRepository;
+    private PersonAttributeTypeRepository personAttributeTypeRepository;
+    private PersonRepository personRepository;
+    private PersonMapper personMapper;
+    private AttributeLookupConfig attributeLookupConfig;
+    private PersonAttributeLookupService personAttributeLookupService;
+    private PersonAttributeType nationalId;
+
+    @BeforeEach
+    void setup() {
+        personAttributeRepository = mock(PersonAttributeRepository.class);
+        personAttributeTypeRepository = mock(PersonAttributeTypeRepository.class);
+        personRepository = mock(PersonRepository.class);
+        personMapper = mock(PersonMapper.class);
+        PersonAttributeTypeRegistry attributeTypeRegistry = mock(PersonAttributeTypeRegistry.class);
+        attributeLookupConfig = new AttributeLookupConfig();
+        personAttributeLookupService = new PersonAttributeLookupServiceImpl(personAttributeRepository,
+                personAttributeTypeRepository, personRepository, attributeTypeRegistry, personMapper,
+                attributeLookupConfig, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        nationalId = PersonAttributeType.builder()
+                .personAttributeTypeId(2)
+                .name("National ID")
+                .format("identifier")
+                .uniqueValues(true)
+                .build();
+        when(attributeTypeRegistry.findById(2)).thenReturn(Optional.of(nationalId));
+    }
+
+    private static PersonAttributeRepository.AttributeHolder holder(String normalizedValue, long personId) {
+        return new PersonAttributeRepository.AttributeHolder() {
+            @Override
+            public String getNormalizedValue() {
+                return normalizedValue;
+            }
+
+            @Override
+            public Long getPersonId() {
+                return personId;
+            }
+        };
+    }
+
+    private static PersonAttributeTypeRepository.Uniqueness uniqueness(int personAttributeTypeId,
+                                                                       boolean uniqueValues) {
+        return new PersonAttributeTypeRepository.Uniqueness() {
+            @Override
+            public Integer getPersonAttributeTypeId() {
+                return personAttributeTypeId;
+            }
+
+            @Override
+            public Boolean getUniqueValues() {
+                return uniqueValues;
+            }
+        };
+    }
+
+    private static PersonAttributeRepository.AttributeValue value(long personAttributeId, String attributeValue) {
+        return new PersonAttributeRepository.AttributeValue() {
+            @Override
+            public Long getPersonAttributeId() {
+                return personAttributeId;
+            }
+
+            @Override
+            public String getAttributeValue() {
+                return attributeValue;
+            }
+
+            @Override
+            public String getFormat() {
+                return "phone";
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Test a lookup normalizes the value with the format of the attribute type")
+    void testFindPersons() {
+        // given
+        Person person = Person.builder().personId(7L).build();
+        PersonDto personDto = PersonDto.builder().personId(7L).build();
+        when(personAttributeRepository.findHolders(2, List.of("AB1234"))).thenReturn(List.of(holder("AB1234", 7L)));
+        when(personRepository.findCompleteAllByIds(Set.of(7L))).thenReturn(List.of(person));
+        when(personMapper.personToPersonDto(person)).thenReturn(personDto);
+
+        // when
+        List<PersonDto> persons = personAttributeLookupService.findPersons(2, "ab-1234");
+
+        // then
+        assertEquals(List.of(personDto), persons);
+    }
+
+    @Test
+    @DisplayName("Test a lookup without holders does not load any person")
+    void testFindPersonsWithoutMatch() {
+        when(personAttributeRepository.findHolders(eq(2), anyCollection())).thenReturn(List.of());
+
+        assertTrue(personAttributeLookupService.findPersons(2, "ZZ 9").isEmpty());
+        verifyNoInteractions(personRepository);
+    }
+
+    @Test
+    @DisplayName("Test a lookup by an unknown attribute type or a blank value is refused")
+    void testFindPersonsValidation() {
+        assertThrows(ResourceNotFoundException.class, () -> personAttributeLookupService.findPersons(9, "x"));
+        assertThrows(IllegalArgumentException.class, () -> personAttributeLookupService.findPersons(2, " - "));
+    }
+
+    @Test
+    @DisplayName("Test a batch is resolved with one query per chunk of distinct values")
+    void testResolvePersonIds() {
+        // given
+        attributeLookupConfig.setQueryChunkSize(2);
+        when(personAttributeRepository.findHolders(2, List.of("AB1234", "CD5678")))
+                .thenReturn(List.of(holder("AB1234", 7L), holder("AB1234", 3L)));
+        when(personAttributeRepository.findHolders(2, List.of("EF9")))
+                .thenReturn(List.of(holder("EF9", 4L)));
+
+        // when
+        Map<String, List<Long>> resolved = personAttributeLookupService.resolvePersonIds(2,
+                List.of("ab-1234", "AB 1234", "CD5678", "ef.9"));
+
+        // then
+        assertEquals(List.of("ab-1234", "AB 1234", "CD5678", "ef.9"), List.copyOf(resolved.keySet()));
+        assertEquals(List.of(3L, 7L), resolved.get("ab-1234"));
+        assertEquals(List.of(3L, 7L), resolved.get("AB 1234"));
+        assertEquals(List.of(), resolved.get("CD5678"));
+        assertEquals(List.of(4L), resolved.get("ef.9"));
+        verify(personAttributeRepository, times(2)).findHolders(eq(2), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Test a batch must hold between one and the maximum number of values")
+    void testResolvePersonIdsValidation() {
+        attributeLookupConfig.setMaxBatchSize(2);
+
+        assertThrows(IllegalArgumentException.class, () -> personAttributeLookupService.resolvePersonIds(2,
+                List.of()));
+        assertThrows(IllegalArgumentException.class, () -> personAttributeLookupService.resolvePersonIds(2,
+                List.of("a", "b", "c")));
+        verifyNoInteractions(personAttributeRepository);
+    }
+
+    @Test
+    @DisplayName("Test a unique value held by another person is refused")
+    void testCheckUnique() {
+        // given
+        when(personAttributeTypeRepository.lockUniqueness(Set.of(2))).thenReturn(List.of(uniqueness(2, true)));
+        when(personAttributeRepository.findHolders(2, List.of("AB1234"))).thenReturn(List.of(holder("AB1234", 7L)));
+        PersonAttribute attribute = PersonAttribute.builder()
+                .personAttributeType(nationalId)
+                .attributeValue("ab 1234")
+                .build();
+
+        // when
+        DuplicateAttributeValueException exception = assertThrows(DuplicateAttributeValueException.class,
+                () -> personAttributeLookupService.checkUnique(0L, List.of(attribute)));
+
+        // then
+        assertEquals("National ID ab 1234 is already held by person [7]", exception.getMessage());
+        assertTrue(attribute.isUniqueScope());
+        assertDoesNotThrow(() -> personAttributeLookupService.checkUnique(7L, List.of(attribute)));
+    }
+
+    @Test
+    @DisplayName("Test attributes take their uniqueness from the locked attribute type row")
+    void testMarkUnique() {
+        // given the registry still holds the type as unique while the database no longer does
+        when(personAttributeTypeRepository.lockUniqueness(Set.of(2))).thenReturn(List.of(uniqueness(2, false)));
+        PersonAttribute attribute = PersonAttribute.builder()
+                .personAttributeType(nationalId)
+                .attributeValue("ab 1234")
+                .uniqueScope(true)
+                .build();
+
+        // when
+        Set<Integer> uniqueTypeIds = personAttributeLookupService.markUnique(List.of(attribute));
+
+        // then
+        assertEquals(Set.of(), uniqueTypeIds);
+        assertFalse(attribute.isUniqueScope());
+        verify(personAttributeRepository, never()).findHolders(anyInt(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Test a shared value refused by the unique key is reported as a duplicate")
+    void testSetUniqueScopeWithSharedValues() {
+        when(personAttributeRepository.setUniqueScope(2, true)).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry '2-AB1234' for key 'person_attribute.uk_person_attribute_unique_value'"));
+        when(personAttributeRepository.setUniqueScope(3, true)).thenThrow(new DataIntegrityViolationException(
+                "Column 'normalized_value' cannot be null"));
+
+        assertThrows(DuplicateAttributeValueException.class,
+                () -> personAttributeLookupService.setUniqueScope(2, true));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> personAttributeLookupService.setUniqueScope(3, true));
+    }
+
+    @Test
+    @DisplayName("Test values of attribute types that are not unique are not checked")
+    void testCheckUniqueSkipsOtherTypes() {
+        PersonAttribute attribute = PersonAttribute.builder()
+                .personAttributeType(PersonAttributeType.builder().personAttributeTypeId(1).format("phone").build())
+                .attributeValue("0803 123 4567")
+                .build();
+
+        personAttributeLookupService.checkUnique(0L, List.of(attribute));
+
+        verifyNoInteractions(personAttributeRepository);
+    }
+
+    @Test
+    @DisplayName("Test uniqueness is refused while values are shared")
+    void testCheckNoSharedValues() {
+        when(personAttributeRepository.findSharedValues(2, Limit.of(10))).thenReturn(List.of("AB1234"));
+
+        assertThrows(DuplicateAttributeValueException.class,
+                () -> personAttributeLookupService.checkNoSharedValues(2));
+    }
+
+    @Test
+    @DisplayName("Test stored values are normalized in keyset chunks")
+    void testNormalizeMissing() {
+        // given
+        attributeLookupConfig.setBackfillChunkSize(2);
+        List<PersonAttributeRepository.AttributeValue> firstChunk = List.of(value(1L, "0803 123 4567"),
+                value(4L, "+234 803"));
+        List<PersonAttributeRepository.AttributeValue> secondChunk = List.of(value(9L, "   "));
+        when(personAttributeRepository.findUnnormalizedAfter(0L, Limit.of(2))).thenReturn(firstChunk);
+        when(personAttributeRepository.findUnnormalizedAfter(4L, Limit.of(2))).thenReturn(secondChunk);
+
+        // when
+        int normalized = personAttributeLookupService.normalizeMissing();
+
+        // then
+        assertEquals(3, normalized);
+        verify(personAttributeRepository).updateNormalizedValue(1L, "08031234567");
+        verify(personAttributeRepository).updateNormalizedValue(4L, "+234803");
+        verify(personAttributeRepository).updateNormalizedValue(9L, null);
+        verify(personAttributeRepository, never()).findUnnormalizedAfter(eq(9L), any(Limit.class));
+    }
+}
@@ -0,0 +1,136 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.event.PersonAttributeTypesChangedEvent;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.service.impl.PersonAttributeTypeRegistryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PersonAttributeTypeRegistryTest {
+
+    private PersonAttributeTypeRepository personAttributeTypeRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private BusProperties busProperties;
+    private Destination.Factory destinationFactory;
+    private PersonAttributeTypeRegistryImpl registry;
+
+    private PersonAttributeType phone;
+    private PersonAttributeType email;
+
+    @BeforeEach
+    void setup() {
+        personAttributeTypeRepository = mock(PersonAttributeTypeRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        busProperties = new BusProperties();
+        busProperties.setId("demographic:8020:local");
+        destinationFactory = new PathDestinationFactory();
+        registry = new PersonAttributeTypeRegistryImpl(personAttributeTypeRepository, eventPublisher, busProperties,
+                destinationFactory);
+
+        phone = PersonAttributeType.builder().personAttributeTypeId(2).name("Phone Number").build();
+        email = PersonAttributeType.builder().personAttributeTypeId(1).name("Email").build();
+        PersonAttributeType voided = PersonAttributeType.builder().personAttributeTypeId(3).name("Fax").build();
+        voided.setVoided(true);
+        when(personAttributeTypeRepository.findAll()).thenReturn(List.of(phone, email, voided));
+    }
+
+    @Test
+    @DisplayName("Test registry is empty until refreshed")
+    void testEmptyBeforeRefresh() {
+        assertTrue(registry.findById(1).isEmpty());
+        assertTrue(registry.getActive().isEmpty());
+        verifyNoInteractions(personAttributeTypeRepository);
+    }
+
+    @Test
+    @DisplayName("Test registry indexes attribute types by id and active name")
+    void testRefresh() {
+        // when
+        registry.refresh();
+
+        // then
+        assertSame(phone, registry.findById(2).orElseThrow());
+        assertTrue(registry.findById(3).isPresent());
+        assertSame(email, registry.findActiveByName("Email").orElseThrow());
+        assertTrue(registry.findActiveByName("Fax").isEmpty());
+        assertEquals(List.of(email, phone), registry.getActive());
+    }
+
+    @Test
+    @DisplayName("Test lookups do not hit the repository")
+    void testLookupsAreServedFromMemory() {
+        // given
+        registry.refresh();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            registry.findById(1);
+        }
+
+        // then
+        verify(personAttributeTypeRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Test publish change reloads and broadcasts on the bus")
+    void testPublishChange() {
+        // when
+        registry.publishChange();
+
+        // then
+        ArgumentCaptor<PersonAttributeTypesChangedEvent> event =
+                ArgumentCaptor.forClass(PersonAttributeTypesChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("demographic:8020:local", event.getValue().getOriginService());
+        assertTrue(registry.findById(2).isPresent());
+    }
+
+    @Test
+    @DisplayName("Test a failed broadcast does not fail the local change")
+    void testPublishChangeWithoutBus() {
+        // given
+        doThrow(new IllegalStateException("broker down")).when(eventPublisher).publishEvent(any(ApplicationEvent.class));
+
+        // when
+        assertDoesNotThrow(() -> registry.publishChange());
+
+        // then
+        assertTrue(registry.findById(2).isPresent());
+    }
+
+    @Test
+    @DisplayName("Test a change from another instance reloads the registry")
+    void testRemoteChange() {
+        // when
+        registry.onPersonAttributeTypesChanged(new PersonAttributeTypesChangedEvent(this, "demographic:8021:other",
+                destinationFactory.getDestination(null)));
+
+        // then
+        assertTrue(registry.findById(1).isPresent());
+    }
+
+    @Test
+    @DisplayName("Test a change echoed from this instance is ignored")
+    void testOwnChangeIgnored() {
+        // when
+        registry.onPersonAttributeTypesChanged(new PersonAttributeTypesChangedEvent(this, "demographic:8020:local",
+                destinationFactory.getDestination(null)));
+
+        // then
+        verifyNoInteractions(personAttributeTypeRepository);
+    }
+}
@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.demographic.service;
 
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
 import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonAttributeTypeMapper;
@@ -10,6 +11,8 @@ import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,12 +20,15 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class PersonAttributeTypeServiceTest {
 
     private PersonAttributeTypeRepository personAttributeTypeRepository;
     private PersonAttributeTypeMapper personAttributeTypeMapper;
+    private PersonAttributeTypeRegistry personAttributeTypeRegistry;
+    private PersonAttributeLookupService personAttributeLookupService;
     private PersonAttributeTypeServiceImpl personAttributeTypeService;
     private PersonAttributeTypeDto.PersonAttributeTypeDtoBuilder attributeTypeDtoBuilder;
     private PersonAttributeType.PersonAttributeTypeBuilder attributeTypeBuilder;
@@ -33,7 +39,11 @@ class PersonAttributeTypeServiceTest {
      void setup() {
         personAttributeTypeRepository = mock(PersonAttributeTypeRepository.class);
         personAttributeTypeMapper = mock(PersonAttributeTypeMapper.class);
-        personAttributeTypeService = new PersonAttributeTypeServiceImpl(personAttributeTypeRepository, personAttributeTypeMapper);
+        personAttributeTypeRegistry = mock(PersonAttributeTypeRegistry.class);
+        personAttributeLookupService = mock(PersonAttributeLookupService.class);
+        personAttributeTypeService = new PersonAttributeTypeServiceImpl(personAttributeTypeRepository, personAttributeTypeMapper,
+                personAttributeTypeRegistry, personAttributeLookupService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
 
         attributeTypeDtoBuilder = PersonAttributeTypeDto.builder()
                 .name("Test Type")
@@ -65,6 +75,7 @@ class PersonAttributeTypeServiceTest {
         assertEquals(attributeTypeDto.getName(), response.getName());
         assertEquals(attributeTypeDto.getDescription(), response.getDescription());
         assertEquals(attributeTypeDto.getFormat(), response.getFormat());
+        verify(personAttributeTypeRegistry).publishChange();
     }
 
     @Test
@@ -102,6 +113,54 @@ class PersonAttributeTypeServiceTest {
         assertEquals(updatedTypeDto.getName(), response.getName());
         assertEquals(updatedTypeDto.getDescription(), response.getDescription());
         assertEquals(updatedTypeDto.getFormat(), response.getFormat());
+        verify(personAttributeLookupService).renormalize(1);
+    }
+
+    @Test
+    @DisplayName("Test values are not normalized again when the format keeps its meaning")
+     void testUpdatePersonAttributeTypeWithEquivalentFormat() {
+        // given
+        when(personAttributeTypeRepository.findById(1)).thenReturn(Optional.of(savedAttributeType));
+        when(personAttributeTypeRepository.save(any(PersonAttributeType.class))).thenReturn(savedAttributeType);
+        when(personAttributeTypeMapper.toDto(savedAttributeType)).thenReturn(attributeTypeDto);
+
+        // when
+        personAttributeTypeService.updatePersonAttributeType(1, attributeTypeDtoBuilder.format("text").build());
+
+        // then
+        verify(personAttributeLookupService, never()).renormalize(anyInt());
+    }
+
+    @Test
+    @DisplayName("Test uniqueness is turned on once no value is shared")
+     void testSetUniqueValues() {
+        // given
+        when(personAttributeTypeRepository.findForUpdate(1)).thenReturn(Optional.of(savedAttributeType));
+
+        // when
+        personAttributeTypeService.setUniqueValues(1, true);
+
+        // then
+        verify(personAttributeLookupService).checkNoSharedValues(1);
+        assertTrue(savedAttributeType.isUniqueValues());
+        verify(personAttributeTypeRepository).save(savedAttributeType);
+        verify(personAttributeLookupService).setUniqueScope(1, true);
+        verify(personAttributeTypeRegistry).publishChange();
+    }
+
+    @Test
+    @DisplayName("Test uniqueness is not turned on while values are shared")
+     void testSetUniqueValuesWithSharedValues() {
+        // given
+        when(personAttributeTypeRepository.findForUpdate(1)).thenReturn(Optional.of(savedAttributeType));
+        doThrow(new DuplicateAttributeValueException("shared")).when(personAttributeLookupService)
+                .checkNoSharedValues(1);
+
+        // when & then
+        assertThrows(DuplicateAttributeValueException.class,
+                () -> personAttributeTypeService.setUniqueValues(1, true));
+        assertFalse(savedAttributeType.isUniqueValues());
+        verify(personAttributeTypeRepository, never()).save(any(PersonAttributeType.class));
     }
 
     @Test
@@ -149,7 +208,7 @@ class PersonAttributeTypeServiceTest {
     @DisplayName("Test get all person attribute types")
      void testGetAllPersonAttributeTypes() {
         // given
-        when(personAttributeTypeRepository.findAll()).thenReturn(List.of(savedAttributeType));
+        when(personAttributeTypeRegistry.getActive()).thenReturn(List.of(savedAttributeType));
         when(personAttributeTypeMapper.toDto(savedAttributeType)).thenReturn(attributeTypeDto);
 
         // when
@@ -183,6 +242,7 @@ class PersonAttributeTypeServiceTest {
 
         // then
         verify(personAttributeTypeRepository).save(any(PersonAttributeType.class));
+        verify(personAttributeTypeRegistry).publishChange();
     }
 
     @Test
@@ -198,5 +258,6 @@ class PersonAttributeTypeServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> 
             personAttributeTypeService.deletePersonAttributeType(1, voidRequest));
         verify(personAttributeTypeRepository, never()).save(any(PersonAttributeType.class));
+        verify(personAttributeTypeRegistry, never()).publishChange();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,318 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.BulkImportConfig;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonAttributeType;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonOutcome;
+import com.alienworkspace.cdr.demographic.model.dto.BulkPersonResult;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidRequest;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonVoidFilter;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonAddressMapper;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonAttributeMapper;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
+import com.alienworkspace.cdr.demographic.model.mapper.PersonNameMapper;
+import com.alienworkspace.cdr.demographic.repository.PersonAddressRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonSummaryRepository;
+import com.alienworkspace.cdr.demographic.service.impl.PersonBulkServiceImpl;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PersonBulkServiceTest {
+
+    private PersonAttributeTypeRegistry attributeTypeRegistry;
+
+    private EntityManager entityManager;
+
+    private PersonAttributeLookupService personAttributeLookupService;
+
+    private PersonEventOutbox personEventOutbox;
+
+    private BulkImportConfig bulkImportConfig;
+
+    private PersonRepository personRepository;
+
+    private PersonNameRepository personNameRepository;
+
+    private PersonResponseCache personResponseCache;
+
+    private PersonBulkServiceImpl personBulkService;
+
+    @BeforeEach
+    public void setup() {
+        attributeTypeRegistry = mock(PersonAttributeTypeRegistry.class);
+        entityManager = mock(EntityManager.class);
+        personAttributeLookupService = mock(PersonAttributeLookupService.class);
+        personEventOutbox = mock(PersonEventOutbox.class);
+        bulkImportConfig = new BulkImportConfig();
+        bulkImportConfig.setChunkSize(2);
+        bulkImportConfig.setVoidChunkSize(2);
+        personRepository = mock(PersonRepository.class);
+        personNameRepository = mock(PersonNameRepository.class);
+        personResponseCache = mock(PersonResponseCache.class);
+        personBulkService = new PersonBulkServiceImpl(attributeTypeRegistry, PersonMapper.INSTANCE,
+                PersonNameMapper.INSTANCE, PersonAddressMapper.INSTANCE, PersonAttributeMapper.INSTANCE,
+                entityManager, new TransactionTemplate(mock(PlatformTransactionManager.class)), bulkImportConfig,
+                mock(PersonSearchIndex.class), personAttributeLookupService, personEventOutbox, personRepository,
+                personNameRepository, mock(PersonAddressRepository.class), mock(PersonAttributeRepository.class),
+                mock(PersonSummaryRepository.class), personResponseCache);
+
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            invocation.<Person>getArgument(0).setPersonId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Person.class));
+        when(attributeTypeRegistry.findById(1)).thenReturn(Optional.of(
+                PersonAttributeType.builder().personAttributeTypeId(1).name("Phone Number").build()));
+        when(attributeTypeRegistry.findById(2)).thenReturn(Optional.of(PersonAttributeType.builder()
+                .personAttributeTypeId(2).name("National ID").format("identifier").uniqueValues(true).build()));
+    }
+
+    @DisplayName("Test bulk add persons in chunks")
+    @Test
+    public void testAddPersons() {
+        // when
+        BulkPersonResult result = personBulkService.addPersons(List.of(person(1), person(1), person(1)).iterator());
+
+        // then
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getFailed());
+        assertEquals(List.of(1L, 2L, 3L), result.getOutcomes().stream().map(BulkPersonOutcome::getPersonId).toList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(3)).persist(any(Person.class));
+        verify(personEventOutbox).record(PersonChangeEvent.Type.PERSON_CREATED, 3L);
+    }
+
+    @DisplayName("Test bulk add persons reports an unknown attribute type without aborting")
+    @Test
+    public void testAddPersonsWithUnknownAttributeType() {
+        // when
+        BulkPersonResult result = personBulkService.addPersons(List.of(person(1), person(9), person(1)).iterator());
+
+        // then
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        BulkPersonOutcome failed = result.getOutcomes().get(1);
+        assertEquals(BulkPersonOutcome.Status.FAILED, failed.getStatus());
+        assertEquals("Person attribute type 9 not found", failed.getError());
+        assertNull(failed.getPersonId());
+    }
+
+    @DisplayName("Test bulk add persons reports unreadable records in submission order")
+    @Test
+    public void testAddPersonsWithUnreadableRecord() {
+        // given
+        Iterator<PersonDto> persons = List.of(person(1), person(1)).iterator();
+        Iterator<PersonDto> reader = new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < 3;
+            }
+
+            @Override
+            public PersonDto next() {
+                if (index++ == 1) {
+                    throw new IllegalArgumentException("Invalid person record");
+                }
+                return persons.next();
+            }
+        };
+
+        // when
+        BulkPersonResult result = personBulkService.addPersons(reader);
+
+        // then
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(BulkPersonOutcome.Status.CREATED, BulkPersonOutcome.Status.FAILED,
+                        BulkPersonOutcome.Status.CREATED),
+                result.getOutcomes().stream().map(BulkPersonOutcome::getStatus).toList());
+        assertEquals(List.of(0, 1, 2), result.getOutcomes().stream().map(BulkPersonOutcome::getIndex).toList());
+    }
+
+    @DisplayName("Test bulk add persons retries a failed chunk one record at a time")
+    @Test
+    public void testAddPersonsRetriesFailedChunk() {
+        // given
+        doThrow(new PersistenceException("Duplicate entry"))
+                .doNothing()
+                .doThrow(new PersistenceException("Duplicate entry"))
+                .when(entityManager).flush();
+
+        // when
+        BulkPersonResult result = personBulkService.addPersons(List.of(person(1), person(1)).iterator());
+
+        // then
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BulkPersonOutcome.Status.CREATED, result.getOutcomes().get(0).getStatus());
+        assertEquals("Duplicate entry", result.getOutcomes().get(1).getError());
+        verify(entityManager, times(3)).flush();
+    }
+
+    @DisplayName("Test bulk add persons rejects values of unique attribute types that are already held")
+    @Test
+    public void testAddPersonsWithTakenUniqueValues() {
+        // given
+        bulkImportConfig.setChunkSize(4);
+        when(personAttributeLookupService.findHolders(eq(2), anyCollection()))
+                .thenReturn(Map.of("AB1234", Set.of(7L)));
+
+        // when
+        BulkPersonResult result = personBulkService.addPersons(List.of(person(2, "ab-1234"), person(2, "CD 99"),
+                person(2, "cd-99"), person(1)).iterator());
+
+        // then
+        assertEquals(List.of(BulkPersonOutcome.Status.FAILED, BulkPersonOutcome.Status.CREATED,
+                        BulkPersonOutcome.Status.FAILED, BulkPersonOutcome.Status.CREATED),
+                result.getOutcomes().stream().map(BulkPersonOutcome::getStatus).toList());
+        assertEquals("National ID AB1234 is already held by person [7]", result.getOutcomes().get(0).getError());
+        assertEquals("National ID CD99 is already held by record 1", result.getOutcomes().get(2).getError());
+        verify(personAttributeLookupService).findHolders(2, Set.of("AB1234", "CD99"));
+        verify(entityManager, times(2)).persist(any(Person.class));
+    }
+
+    @DisplayName("Test bulk add persons rejects records without required fields")
+    @Test
+    public void testAddPersonsWithMissingBirthDate() {
+        // given
+        PersonDto invalid = PersonDto.builder().gender('F').build();
+
+        // when
+        BulkPersonResult result = personBulkService.addPersons(List.of(invalid).iterator());
+
+        // then
+        assertEquals(0, result.getCreated());
+        assertEquals("Gender and birth date are required", result.getOutcomes().get(0).getError());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @DisplayName("Test bulk void persons by ID in chunks, skipping voided persons")
+    @Test
+    public void testVoidPersonsByIds() {
+        // given
+        when(personRepository.findActivePersonIdsIn(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(personRepository.findActivePersonIdsIn(List.of(3L))).thenReturn(List.of());
+        when(personRepository.voidAll(eq(List.of(1L, 2L)), any(LocalDateTime.class), eq(1L), eq("Test data")))
+                .thenReturn(2);
+        when(personNameRepository.voidOfPersons(eq(List.of(1L, 2L)), any(LocalDateTime.class), eq(1L),
+                eq("Test data"))).thenReturn(3);
+
+        // when
+        BulkVoidResult result = personBulkService.voidPersons(BulkVoidRequest.builder()
+                .personIds(List.of(1L, 2L, 3L, 1L))
+                .voidRequest(voidRequest())
+                .cascade(true)
+                .build());
+
+        // then
+        assertEquals(2, result.getPeople());
+        assertEquals(3, result.getNames());
+        assertEquals(2, result.getChunks());
+        verify(personRepository, times(1)).voidAll(anyCollection(), any(), anyLong(), anyString());
+        verify(personEventOutbox).record(PersonChangeEvent.Type.PERSON_VOIDED, 2L);
+        verify(personEventOutbox, never()).record(PersonChangeEvent.Type.PERSON_VOIDED, 3L);
+        verify(personResponseCache).evict(1L);
+    }
+
+    @DisplayName("Test bulk void persons by filter pages by person ID and leaves children alone without cascade")
+    @Test
+    public void testVoidPersonsByFilter() {
+        // given
+        LocalDateTime createdTo = LocalDateTime.parse("2024-01-01T00:00:00");
+        when(personRepository.findActivePersonIdsAfter(0L, null, createdTo, null, Limit.of(2)))
+                .thenReturn(List.of(4L, 7L));
+        when(personRepository.findActivePersonIdsAfter(7L, null, createdTo, null, Limit.of(2)))
+                .thenReturn(List.of());
+        when(personRepository.findActivePersonIdsIn(List.of(4L, 7L))).thenReturn(List.of(4L, 7L));
+        when(personRepository.voidAll(anyCollection(), any(), anyLong(), anyString())).thenReturn(2);
+
+        // when
+        BulkVoidResult result = personBulkService.voidPersons(BulkVoidRequest.builder()
+                .filter(PersonVoidFilter.builder().createdTo(createdTo).build())
+                .voidRequest(voidRequest())
+                .build());
+
+        // then
+        assertEquals(2, result.getPeople());
+        assertEquals(1, result.getChunks());
+        verify(personNameRepository, never()).voidOfPersons(anyCollection(), any(), anyLong(), anyString());
+    }
+
+    @DisplayName("Test bulk void persons refuses requests without a single way to choose the persons")
+    @Test
+    public void testVoidPersonsWithInvalidRequest() {
+        assertThrows(IllegalArgumentException.class, () -> personBulkService.voidPersons(BulkVoidRequest.builder()
+                .voidRequest(voidRequest())
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> personBulkService.voidPersons(BulkVoidRequest.builder()
+                .personIds(List.of(1L))
+                .filter(PersonVoidFilter.builder().createdBy(1L).build())
+                .voidRequest(voidRequest())
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> personBulkService.voidPersons(BulkVoidRequest.builder()
+                .filter(new PersonVoidFilter())
+                .voidRequest(voidRequest())
+                .build()));
+        assertThrows(IllegalArgumentException.class, () -> personBulkService.voidPersons(BulkVoidRequest.builder()
+                .personIds(List.of(1L))
+                .build()));
+        verifyNoInteractions(personRepository);
+    }
+
+    private RecordVoidRequest voidRequest() {
+        return RecordVoidRequest.builder().voidReason("Test data").build();
+    }
+
+    private PersonDto person(int attributeTypeId) {
+        return person(attributeTypeId, "2345987667");
+    }
+
+    private PersonDto person(int attributeTypeId, String value) {
+        return PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(PersonNameDto.builder().firstName("Jane").lastName("Doe").preferred(true).build()))
+                .attributes(Set.of(PersonAttributeDto.builder()
+                        .personAttributeType(PersonAttributeTypeDto.builder()
+                                .personAttributeTypeId(attributeTypeId)
+                                .build())
+                        .value(value)
+                        .preferred(true)
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidRequest;
+import com.alienworkspace.cdr.demographic.model.dto.BulkVoidResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChange;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonVoidFilter;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "demographic.change-feed.settle-time=0s")
+@AutoConfigureMockMvc
+public class PersonBulkVoidIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonNameRepository personNameRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonBulkService personBulkService;
+
+    @Autowired
+    private PersonChangeFeedService personChangeFeedService;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+    }
+
+    private long addPerson(String firstName) {
+        return personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(PersonNameDto.builder().firstName(firstName).lastName("Doe").preferred(true).build()))
+                .build(), "CORRELATION-ID").getPersonId();
+    }
+
+    private Person person(long personId) {
+        return personRepository.findById(personId).orElseThrow();
+    }
+
+    private boolean nameVoided(String firstName) {
+        return personNameRepository.findAll().stream()
+                .filter(name -> name.getFirstName().equals(firstName))
+                .allMatch(PersonName::isVoided);
+    }
+
+    @DisplayName("Test people are voided by ID with their names, and voided people are skipped")
+    @Test
+    public void testVoidPersonsByIds() {
+        // given
+        long janeId = addPerson("Jane");
+        long janetId = addPerson("Janet");
+        long joanId = addPerson("Joan");
+        long versionBefore = person(janeId).getVersion();
+
+        // when
+        BulkVoidResult result = personBulkService.voidPersons(BulkVoidRequest.builder()
+                .personIds(List.of(janeId, janetId))
+                .voidRequest(RecordVoidRequest.builder().voidReason("Test data").build())
+                .cascade(true)
+                .build());
+        BulkVoidResult repeated = personBulkService.voidPersons(BulkVoidRequest.builder()
+                .personIds(List.of(janeId, janetId))
+                .voidRequest(RecordVoidRequest.builder().voidReason("Test data").build())
+                .cascade(true)
+                .build());
+
+        // then
+        assertEquals(2, result.getPeople());
+        assertEquals(2, result.getNames());
+        assertEquals(0, result.getAddresses());
+        assertEquals(0, repeated.getPeople());
+        assertEquals(0, repeated.getNames());
+        Person jane = person(janeId);
+        assertTrue(jane.isVoided());
+        assertEquals("Test data", jane.getVoidReason());
+        assertEquals(versionBefore + 1, jane.getVersion());
+        assertTrue(nameVoided("Jane"));
+        assertTrue(nameVoided("Janet"));
+        assertFalse(person(joanId).isVoided());
+        assertFalse(nameVoided("Joan"));
+    }
+
+    @DisplayName("Test people are voided by filter without cascading to their names")
+    @Test
+    public void testVoidPersonsByFilter() {
+        // given
+        long janeId = addPerson("Jane");
+        addPerson("Janet");
+
+        // when
+        BulkVoidResult result = personBulkService.voidPersons(BulkVoidRequest.builder()
+                .filter(PersonVoidFilter.builder().createdTo(LocalDateTime.now().plusMinutes(1)).build())
+                .voidRequest(RecordVoidRequest.builder().voidReason("Test data").build())
+                .build());
+
+        // then
+        assertEquals(2, result.getPeople());
+        assertEquals(0, result.getNames());
+        assertTrue(person(janeId).isVoided());
+        assertFalse(nameVoided("Jane"));
+    }
+
+    @DisplayName("Test bulk voided people reach the change feed after its cursor")
+    @Test
+    public void testVoidPersonsReachChangeFeed() {
+        // given
+        long janeId = addPerson("Jane");
+        long janetId = addPerson("Janet");
+        long joanId = addPerson("Joan");
+        PersonChangePage before = personChangeFeedService.getChanges(null, null, 10);
+
+        // when
+        personBulkService.voidPersons(BulkVoidRequest.builder()
+                .personIds(List.of(janeId, janetId))
+                .voidRequest(RecordVoidRequest.builder().voidReason("Test data").build())
+                .cascade(true)
+                .build());
+        PersonChangePage changes = personChangeFeedService.getChanges(null, before.getNextCursor(), 10);
+
+        // then
+        assertEquals(Set.of(janeId, janetId), changes.getContent().stream()
+                .map(PersonChange::getPersonId).collect(Collectors.toSet()));
+        assertTrue(changes.getContent().stream().allMatch(PersonChange::isVoided));
+        assertFalse(changes.getContent().stream().anyMatch(change -> change.getPersonId() == joanId));
+    }
+}
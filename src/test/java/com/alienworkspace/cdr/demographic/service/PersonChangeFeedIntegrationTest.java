@@ -0,0 +1,81 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChange;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "demographic.change-feed.settle-time=0s")
+@AutoConfigureMockMvc
+public class PersonChangeFeedIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonChangeFeedService personChangeFeedService;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+    }
+
+    private long addPerson(String firstName) {
+        return personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1992-07-21"))
+                .name(Set.of(PersonNameDto.builder().firstName(firstName).lastName("Eze").preferred(true).build()))
+                .build(), "CORRELATION-ID").getPersonId();
+    }
+
+    @DisplayName("Test the feed lists each changed person once, in change order, including changes to children")
+    @Test
+    public void testChangeFeed() {
+        // given
+        long adaezeId = addPerson("Adaeze");
+        long chiomaId = addPerson("Chioma");
+        PersonChangePage firstPage = personChangeFeedService.getChanges(null, null, 1);
+        PersonChangePage secondPage = personChangeFeedService.getChanges(null, firstPage.getNextCursor(), 1);
+
+        // when
+        personService.addPersonName(adaezeId, PersonNameDto.builder().firstName("Ada").lastName("Eze")
+                .preferred(false).build());
+        personService.deletePerson(chiomaId, RecordVoidRequest.builder().voidReason("Registered in error").build());
+        PersonChangePage changes = personChangeFeedService.getChanges(null, secondPage.getNextCursor(), 10);
+
+        // then
+        assertEquals(List.of(adaezeId), firstPage.getContent().stream().map(PersonChange::getPersonId).toList());
+        assertTrue(firstPage.isMore());
+        assertEquals(List.of(chiomaId), secondPage.getContent().stream().map(PersonChange::getPersonId).toList());
+        assertFalse(secondPage.isMore());
+        assertEquals(List.of(adaezeId, chiomaId), changes.getContent().stream()
+                .map(PersonChange::getPersonId).toList());
+        assertFalse(changes.getContent().get(0).isVoided());
+        assertTrue(changes.getContent().get(1).isVoided());
+        assertTrue(changes.getContent().get(0).getChangedAt().isAfter(firstPage.getContent().get(0).getChangedAt()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.ChangeFeedConfig;
+import com.alienworkspace.cdr.demographic.helpers.ChangeCursor;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChange;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangePage;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.impl.PersonChangeFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PersonChangeFeedServiceTest {
+
+    private static final LocalDateTime SINCE = LocalDateTime.parse("2025-03-01T08:30:00");
+
+    private PersonRepository personRepository;
+    private ChangeFeedConfig changeFeedConfig;
+    private PersonChangeFeedService personChangeFeedService;
+
+    @BeforeEach
+    void setup() {
+        personRepository = mock(PersonRepository.class);
+        changeFeedConfig = new ChangeFeedConfig();
+        personChangeFeedService = new PersonChangeFeedServiceImpl(personRepository, changeFeedConfig);
+    }
+
+    private static PersonRepository.PersonChangeRow row(long personId, String changedAt, boolean voided) {
+        return new PersonRepository.PersonChangeRow() {
+            @Override
+            public Long getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public LocalDateTime getChangedAt() {
+                return LocalDateTime.parse(changedAt);
+            }
+
+            @Override
+            public Boolean getVoided() {
+                return voided;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Test the first page lists the people changed after the watermark and asks for one extra row")
+    void testGetChangesSince() {
+        // given
+        when(personRepository.findChangesAfter(eq(SINCE), eq(Long.MAX_VALUE), any(LocalDateTime.class), eq(3)))
+                .thenReturn(List.of(row(4L, "2025-03-01T09:00:00", false), row(2L, "2025-03-01T09:15:00", true),
+                        row(9L, "2025-03-01T09:15:00", false)));
+
+        // when
+        PersonChangePage page = personChangeFeedService.getChanges(SINCE, null, 2);
+
+        // then
+        assertEquals(List.of(4L, 2L), page.getContent().stream().map(PersonChange::getPersonId).toList());
+        assertTrue(page.getContent().get(1).isVoided());
+        assertTrue(page.isMore());
+        assertEquals(new ChangeCursor.Position(LocalDateTime.parse("2025-03-01T09:15:00"), 2L),
+                ChangeCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Test a cursor takes precedence over the watermark and is kept when nothing changed")
+    void testGetChangesWithCursor() {
+        // given
+        ChangeCursor.Position position = new ChangeCursor.Position(LocalDateTime.parse("2025-03-01T09:15:00"), 2L);
+        String cursor = ChangeCursor.encode(position);
+        when(personRepository.findChangesAfter(eq(position.changedAt()), eq(2L), any(LocalDateTime.class),
+                eq(1001))).thenReturn(List.of());
+
+        // when
+        PersonChangePage page = personChangeFeedService.getChanges(SINCE, cursor, null);
+
+        // then
+        assertEquals(0, page.getSize());
+        assertFalse(page.isMore());
+        assertEquals(cursor, page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test changes still settling are not queried")
+    void testGetChangesWithinSettleTime() {
+        changeFeedConfig.setSettleTime(Duration.ofMinutes(1));
+
+        PersonChangePage page = personChangeFeedService.getChanges(LocalDateTime.now(), null, null);
+
+        assertTrue(page.getContent().isEmpty());
+        verify(personRepository, never()).findChangesAfter(any(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test an invalid cursor or page size is refused")
+    void testGetChangesValidation() {
+        assertThrows(IllegalArgumentException.class, () -> personChangeFeedService.getChanges(null, "bm9wZQ", 10));
+        assertThrows(IllegalArgumentException.class, () -> personChangeFeedService.getChanges(null, null, 0));
+    }
+}
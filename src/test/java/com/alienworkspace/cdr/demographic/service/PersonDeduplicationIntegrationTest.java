@@ -0,0 +1,103 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.exception.DuplicatePersonException;
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "demographic.deduplication.pre-insert-policy=reject")
+@AutoConfigureMockMvc
+public class PersonDeduplicationIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonDeduplicationService personDeduplicationService;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+    }
+
+    private static PersonDto person(String firstName, String lastName, String birthDate) {
+        return PersonDto.builder()
+                .gender('M')
+                .birthDate(LocalDate.parse(birthDate))
+                .name(Set.of(PersonNameDto.builder().firstName(firstName).lastName(lastName).preferred(true).build()))
+                .build();
+    }
+
+    @DisplayName("Test a likely duplicate is refused unless confirmed")
+    @Test
+    public void testPreInsertCheck() {
+        // given
+        long firstId = personService.addPerson(person("Zebedee", "Quixote", "1970-04-04"), "CORRELATION-ID")
+                .getPersonId();
+
+        // when
+        DuplicatePersonException exception = assertThrows(DuplicatePersonException.class,
+                () -> personService.addPerson(person("Zebedee", "Quixotte", "1970-04-04"), "CORRELATION-ID"));
+        PersonDto confirmed = personService.addPerson(person("Zebedee", "Quixotte", "1970-04-04"),
+                "CORRELATION-ID", true);
+
+        // then
+        assertEquals(List.of(firstId), exception.getMatches().stream().map(PersonMatch::getPersonId).toList());
+        assertTrue(confirmed.getPersonId() > firstId);
+        assertNotNull(personService.addPerson(person("Ophelia", "Quixote", "1970-04-04"), "CORRELATION-ID"));
+    }
+
+    @DisplayName("Test the background scan stores the pairs of likely duplicates")
+    @Test
+    public void testScan() throws InterruptedException {
+        // given
+        long firstId = personService.addPerson(person("Bartholomew", "Nightingale", "1966-11-30"),
+                "CORRELATION-ID").getPersonId();
+        long secondId = personService.addPerson(person("Bartholomew", "Nightingail", "1966-11-30"),
+                "CORRELATION-ID", true).getPersonId();
+        long unrelatedId = personService.addPerson(person("Cuthbert", "Ravenscroft", "1944-02-02"),
+                "CORRELATION-ID").getPersonId();
+
+        // when
+        DuplicateScanResult result = personDeduplicationService.startScan();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (result.getStatus() == DuplicateScanResult.Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            result = personDeduplicationService.getScan(result.getScanId());
+        }
+
+        // then
+        assertEquals(DuplicateScanResult.Status.COMPLETED, result.getStatus());
+        assertTrue(result.getPeople() >= 3);
+        assertTrue(result.getCandidatePairs() >= 1);
+        List<PersonMatch> candidates = personDeduplicationService.getCandidates(firstId);
+        assertEquals(List.of(secondId), candidates.stream().map(PersonMatch::getPersonId).toList());
+        assertEquals(PersonMatch.Status.MATCH, candidates.get(0).getStatus());
+        assertTrue(personDeduplicationService.getCandidates(unrelatedId).isEmpty());
+    }
+}
@@ -0,0 +1,322 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.DeduplicationConfig;
+import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonDuplicateCandidate;
+import com.alienworkspace.cdr.demographic.model.PersonDuplicateScan;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.dto.DuplicateScanResult;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.repository.PersonAddressRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonDuplicateCandidateRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonDuplicateScanRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.impl.PersonDeduplicationServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PersonDeduplicationServiceTest {
+
+    private static final LocalDate SCAN_START = LocalDate.of(1, 1, 1);
+
+    private PersonRepository personRepository;
+    private PersonNameRepository personNameRepository;
+    private PersonDuplicateCandidateRepository candidateRepository;
+    private PersonDuplicateScanRepository scanRepository;
+    private PersonSearchIndex personSearchIndex;
+    private EntityManager entityManager;
+    private DeduplicationConfig deduplicationConfig;
+    private PersonDeduplicationService personDeduplicationService;
+
+    @BeforeEach
+    void setup() {
+        personRepository = mock(PersonRepository.class);
+        personNameRepository = mock(PersonNameRepository.class);
+        candidateRepository = mock(PersonDuplicateCandidateRepository.class);
+        scanRepository = mock(PersonDuplicateScanRepository.class);
+        personSearchIndex = mock(PersonSearchIndex.class);
+        entityManager = mock(EntityManager.class);
+        deduplicationConfig = new DeduplicationConfig();
+        personDeduplicationService = new PersonDeduplicationServiceImpl(personRepository, personNameRepository,
+                mock(PersonAddressRepository.class), mock(PersonAttributeRepository.class), candidateRepository,
+                scanRepository, personSearchIndex, deduplicationConfig, entityManager,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        when(scanRepository.save(any(PersonDuplicateScan.class))).thenAnswer(invocation -> {
+            PersonDuplicateScan scan = invocation.getArgument(0);
+            if (scan.getPersonDuplicateScanId() == 0) {
+                scan.setPersonDuplicateScanId(7L);
+            }
+            return scan;
+        });
+    }
+
+    private static Person person(long personId, char gender, String birthDate, String firstName, String lastName) {
+        PersonName name = PersonName.builder().firstName(firstName).lastName(lastName).preferred(true).build();
+        return Person.builder()
+                .personId(personId)
+                .gender(gender)
+                .birthDate(LocalDate.parse(birthDate))
+                .names(new HashSet<>(Set.of(name)))
+                .build();
+    }
+
+    private static PersonRepository.LinkagePerson linkage(Person person) {
+        return new PersonRepository.LinkagePerson() {
+            @Override
+            public Long getPersonId() {
+                return person.getPersonId();
+            }
+
+            @Override
+            public Character getGender() {
+                return person.getGender();
+            }
+
+            @Override
+            public LocalDate getBirthDate() {
+                return person.getBirthDate();
+            }
+        };
+    }
+
+    private static PersonNameRepository.LinkageName linkageName(long personId, PersonName name) {
+        return new PersonNameRepository.LinkageName() {
+            @Override
+            public Long getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public String getFirstName() {
+                return name.getFirstName();
+            }
+
+            @Override
+            public String getLastName() {
+                return name.getLastName();
+            }
+        };
+    }
+
+    /**
+     * Serves the linkage projections of the people, in the given order, to a query for their IDs.
+     */
+    private List<PersonRepository.LinkagePerson> stubLinkage(Person... people) {
+        List<Long> personIds = Arrays.stream(people).map(Person::getPersonId).toList();
+        when(personNameRepository.findLinkageNames(personIds)).thenReturn(Arrays.stream(people)
+                .flatMap(person -> person.getNames().stream().map(name -> linkageName(person.getPersonId(), name)))
+                .toList());
+        return Arrays.stream(people).map(PersonDeduplicationServiceTest::linkage).toList();
+    }
+
+    @Test
+    @DisplayName("Test a new person is scored against the people found through the search index")
+    void testFindDuplicates() {
+        // given
+        Person newPerson = person(0L, 'M', "1990-01-01", "John", "Smith");
+        Person sameDetails = person(2L, 'M', "1990-01-01", "JOHN", "Smith");
+        Person otherBirthDate = person(3L, 'M', "1985-07-20", "John", "Smith");
+        Person someoneElse = person(4L, 'F', "1990-01-01", "Mary", "Jones");
+        when(personSearchIndex.search(any(PersonSearchQuery.class))).thenReturn(List.of(
+                new PersonSearchIndex.Match(2L, 2.0), new PersonSearchIndex.Match(3L, 2.0),
+                new PersonSearchIndex.Match(4L, 0.5)));
+        List<PersonRepository.LinkagePerson> candidates = stubLinkage(sameDetails, otherBirthDate, someoneElse);
+        when(personRepository.findActiveLinkagePeople(List.of(2L, 3L, 4L))).thenReturn(candidates);
+
+        // when
+        List<PersonMatch> matches = personDeduplicationService.findDuplicates(newPerson);
+
+        // then
+        assertEquals(2, matches.size());
+        assertEquals(2L, matches.get(0).getPersonId());
+        assertEquals(PersonMatch.Status.MATCH, matches.get(0).getStatus());
+        assertEquals(3L, matches.get(1).getPersonId());
+        assertEquals(PersonMatch.Status.POSSIBLE_MATCH, matches.get(1).getStatus());
+
+        ArgumentCaptor<PersonSearchQuery> queries = ArgumentCaptor.forClass(PersonSearchQuery.class);
+        verify(personSearchIndex, times(2)).search(queries.capture());
+        PersonSearchQuery surnameBlock = queries.getAllValues().get(0);
+        assertEquals("smith", surnameBlock.getText());
+        assertEquals('M', surnameBlock.getGender());
+        assertEquals(LocalDate.parse("1990-01-01"), surnameBlock.getBirthDateFrom());
+        assertEquals(LocalDate.parse("1990-12-31"), surnameBlock.getBirthDateTo());
+        verify(personRepository, never()).findCompleteAllByIds(any());
+    }
+
+    @Test
+    @DisplayName("Test a person without candidates in the index is not compared")
+    void testFindDuplicatesWithoutCandidates() {
+        when(personSearchIndex.search(any(PersonSearchQuery.class))).thenReturn(List.of());
+
+        assertTrue(personDeduplicationService.findDuplicates(person(0L, 'M', "1990-01-01", "John", "Smith"))
+                .isEmpty());
+        verifyNoInteractions(personRepository);
+    }
+
+    @Test
+    @DisplayName("Test the scan only compares people sharing a block and writes the pairs under the scan")
+    void testScan() {
+        // given
+        List<PersonRepository.LinkagePerson> people = stubLinkage(
+                person(3L, 'F', "1975-06-06", "Mary", "Jones"),
+                person(1L, 'M', "1990-01-01", "John", "Smith"),
+                person(2L, 'M', "1990-01-01", "John", "Smyth"),
+                // Same name, but neither the birth year nor the birth date block is shared.
+                person(4L, 'M', "1991-03-04", "John", "Smith"));
+        when(personRepository.findActiveLinkagePeopleAfter(SCAN_START, 0L, Limit.of(1000))).thenReturn(people);
+
+        // when
+        DuplicateScanResult result = personDeduplicationService.scan();
+
+        // then
+        assertEquals(7L, result.getScanId());
+        assertEquals(DuplicateScanResult.Status.COMPLETED, result.getStatus());
+        assertEquals(4, result.getPeople());
+        assertEquals(2, result.getBlocks());
+        assertEquals(2, result.getComparisons());
+        assertEquals(1, result.getCandidatePairs());
+        verify(personRepository, never()).findCompleteAllByIds(any());
+        ArgumentCaptor<PersonDuplicateCandidate> captor = ArgumentCaptor.forClass(PersonDuplicateCandidate.class);
+        verify(entityManager).persist(captor.capture());
+        assertEquals(1L, captor.getValue().getPersonId());
+        assertEquals(2L, captor.getValue().getOtherPersonId());
+        assertEquals(7L, captor.getValue().getScanId());
+        assertTrue(captor.getValue().getScore() >= deduplicationConfig.getMatchThreshold());
+        verify(candidateRepository).deleteOtherScans(7L, deduplicationConfig.getWriteChunkSize());
+        verify(candidateRepository, never()).deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Test the scan reads people in keyset chunks and writes pairs in chunked transactions")
+    void testScanStreamsChunks() {
+        // given
+        deduplicationConfig.setScanChunkSize(2);
+        deduplicationConfig.setWriteChunkSize(1);
+        Person first = person(1L, 'M', "1990-01-01", "John", "Smith");
+        Person second = person(2L, 'M', "1990-01-01", "John", "Smith");
+        Person third = person(3L, 'M', "1990-01-01", "John", "Smith");
+        List<PersonRepository.LinkagePerson> firstChunk = stubLinkage(first, second);
+        List<PersonRepository.LinkagePerson> secondChunk = stubLinkage(third);
+        when(personRepository.findActiveLinkagePeopleAfter(SCAN_START, 0L, Limit.of(2))).thenReturn(firstChunk);
+        when(personRepository.findActiveLinkagePeopleAfter(LocalDate.parse("1990-01-01"), 2L, Limit.of(2)))
+                .thenReturn(secondChunk);
+
+        // when
+        DuplicateScanResult result = personDeduplicationService.scan();
+
+        // then
+        assertEquals(3, result.getPeople());
+        assertEquals(3, result.getCandidatePairs());
+        verify(entityManager, times(3)).persist(any(PersonDuplicateCandidate.class));
+        verify(entityManager, times(3)).flush();
+    }
+
+    @Test
+    @DisplayName("Test an oversized block is compared within a sliding window")
+    void testScanWindowsOversizedBlocks() {
+        // given
+        deduplicationConfig.setMaxBlockSize(2);
+        deduplicationConfig.setWindowSize(1);
+        List<PersonRepository.LinkagePerson> people = stubLinkage(
+                person(1L, 'M', "1990-01-01", "John", "Smith"),
+                person(2L, 'M', "1990-01-01", "John", "Smith"),
+                person(3L, 'M', "1990-01-01", "John", "Smith"));
+        when(personRepository.findActiveLinkagePeopleAfter(SCAN_START, 0L, Limit.of(1000))).thenReturn(people);
+
+        // when
+        DuplicateScanResult result = personDeduplicationService.scan();
+
+        // then
+        assertEquals(2, result.getBlocks());
+        assertEquals(4, result.getComparisons());
+        assertEquals(2, result.getCandidatePairs());
+    }
+
+    @Test
+    @DisplayName("Test a failed scan is recorded and keeps the pairs of the previous scan")
+    void testScanFailure() {
+        when(personRepository.findActiveLinkagePeopleAfter(SCAN_START, 0L, Limit.of(1000)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> personDeduplicationService.scan());
+
+        ArgumentCaptor<PersonDuplicateScan> captor = ArgumentCaptor.forClass(PersonDuplicateScan.class);
+        verify(scanRepository, atLeastOnce()).save(captor.capture());
+        assertEquals(DuplicateScanResult.Status.FAILED, captor.getValue().getStatus());
+        assertEquals("connection lost", captor.getValue().getError());
+        verify(candidateRepository, never()).deleteOtherScans(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test a started scan runs in the background and a second one is refused meanwhile")
+    void testStartScan() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        when(personRepository.findActiveLinkagePeopleAfter(SCAN_START, 0L, Limit.of(1000))).thenAnswer(invocation -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return List.of();
+        });
+
+        // when
+        DuplicateScanResult started = personDeduplicationService.startScan();
+
+        // then
+        assertEquals(7L, started.getScanId());
+        assertEquals(DuplicateScanResult.Status.RUNNING, started.getStatus());
+        assertThrows(IllegalStateException.class, () -> personDeduplicationService.startScan());
+        release.countDown();
+        ArgumentCaptor<PersonDuplicateScan> captor = ArgumentCaptor.forClass(PersonDuplicateScan.class);
+        verify(scanRepository, timeout(5000).times(2)).save(captor.capture());
+        assertEquals(DuplicateScanResult.Status.COMPLETED, captor.getValue().getStatus());
+    }
+
+    @Test
+    @DisplayName("Test an unknown scan is not found")
+    void testGetScanNotFound() {
+        when(scanRepository.findById(8L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> personDeduplicationService.getScan(8L));
+    }
+
+    @Test
+    @DisplayName("Test stored candidates of the latest completed scan are reported from the side of the person")
+    void testGetCandidates() {
+        when(scanRepository.findFirstByStatusOrderByFinishedAtDesc(DuplicateScanResult.Status.COMPLETED))
+                .thenReturn(Optional.of(PersonDuplicateScan.builder().personDuplicateScanId(7L).build()));
+        when(candidateRepository.findByPerson(7L, 5L)).thenReturn(List.of(
+                new PersonDuplicateCandidate(1L, 2L, 5L, 14.0, LocalDateTime.now(), 7L),
+                new PersonDuplicateCandidate(2L, 5L, 9L, 7.0, LocalDateTime.now(), 7L)));
+
+        List<PersonMatch> candidates = personDeduplicationService.getCandidates(5L);
+
+        assertEquals(List.of(2L, 9L), candidates.stream().map(PersonMatch::getPersonId).toList());
+        assertEquals(PersonMatch.Status.MATCH, candidates.get(0).getStatus());
+        assertEquals(PersonMatch.Status.POSSIBLE_MATCH, candidates.get(1).getStatus());
+    }
+}
@@ -0,0 +1,118 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.PersonOutboxEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.repository.PersonOutboxEventRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class PersonEventOutboxIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonOutboxEventRepository personOutboxEventRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonAttributeTypeService personAttributeTypeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private int nationalIdTypeId;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        personOutboxEventRepository.deleteAll();
+        nationalIdTypeId = personAttributeTypeService.savePersonAttributeType(PersonAttributeTypeDto.builder()
+                .name("National ID")
+                .description("National identification number")
+                .format("identifier")
+                .build()).getPersonAttributeTypeId();
+        personAttributeTypeService.setUniqueValues(nationalIdTypeId, true);
+    }
+
+    private PersonDto person(String nationalId) {
+        return PersonDto.builder()
+                .gender('M')
+                .birthDate(LocalDate.parse("1979-02-11"))
+                .name(Set.of(PersonNameDto.builder().firstName("Emeka").lastName("Nwosu").preferred(true).build()))
+                .attributes(Set.of(PersonAttributeDto.builder()
+                        .personAttributeType(PersonAttributeTypeDto.builder()
+                                .personAttributeTypeId(nationalIdTypeId)
+                                .build())
+                        .value(nationalId)
+                        .preferred(true)
+                        .build()))
+                .build();
+    }
+
+    private List<PersonOutboxEvent> outbox() {
+        return transactionTemplate.execute(status -> personOutboxEventRepository.findNextBatch(Limit.of(100)));
+    }
+
+    @DisplayName("Test changes to a person are recorded in the outbox in the order they were made")
+    @Test
+    public void testEventsRecorded() {
+        // given
+        long personId = personService.addPerson(person("NG-1001"), "CORRELATION-ID").getPersonId();
+
+        // when
+        personService.addPersonName(personId, PersonNameDto.builder().firstName("Emmanuel").lastName("Nwosu")
+                .preferred(false).build());
+        personService.deletePerson(personId, RecordVoidRequest.builder().voidReason("Registered in error").build());
+
+        // then
+        List<PersonOutboxEvent> events = outbox();
+        assertEquals(List.of(PersonChangeEvent.Type.PERSON_CREATED, PersonChangeEvent.Type.NAME_ADDED,
+                        PersonChangeEvent.Type.PERSON_VOIDED),
+                events.stream().map(PersonOutboxEvent::getEventType).toList());
+        assertTrue(events.stream().allMatch(event -> event.getPersonId() == personId));
+    }
+
+    @DisplayName("Test a refused change records no event")
+    @Test
+    public void testNoEventForRefusedChange() {
+        // given
+        personService.addPerson(person("NG-1002"), "CORRELATION-ID");
+
+        // when
+        assertThrows(DuplicateAttributeValueException.class,
+                () -> personService.addPerson(person("ng 1002"), "CORRELATION-ID", true));
+
+        // then
+        assertEquals(1, outbox().size());
+    }
+}
@@ -0,0 +1,124 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.ResponseCacheConfig;
+import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.demographic.model.dto.RenderedPerson;
+import com.alienworkspace.cdr.demographic.service.impl.PersonResponseCacheImpl;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PersonResponseCacheTest {
+
+    private PersonService personService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PersonResponseCache personResponseCache;
+
+    @BeforeEach
+    public void setup() {
+        personService = mock(PersonService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        personResponseCache = new PersonResponseCacheImpl(personService, new ResponseCacheConfig(), meterRegistry);
+    }
+
+    private static RenderedPerson rendered(boolean includeVoided, String lastModifiedAt) {
+        return RenderedPerson.builder()
+                .person(PersonDto.builder().personId(1L).build())
+                .includeVoided(includeVoided)
+                .lastModifiedAt(LocalDateTime.parse(lastModifiedAt))
+                .build();
+    }
+
+    @DisplayName("A rendered person is reused until it is evicted")
+    @Test
+    public void testGetPersonIsCachedUntilEvicted() {
+        RenderedPerson first = rendered(false, "2025-01-01T10:15:30");
+        RenderedPerson second = rendered(false, "2025-01-01T10:16:00");
+        when(personService.renderPerson("CORRELATION-ID", 1L, false)).thenReturn(first, second);
+
+        assertSame(first, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        assertSame(first, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        personResponseCache.evict(1L);
+        RenderedPerson afterEviction = personResponseCache.getPerson("CORRELATION-ID", 1L, false);
+
+        assertSame(second, afterEviction);
+        assertNotEquals(first.getEtag(), afterEviction.getEtag());
+        verify(personService, times(2)).renderPerson("CORRELATION-ID", 1L, false);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @DisplayName("Representations with and without voided records are cached and tagged separately")
+    @Test
+    public void testIncludeVoidedIsPartOfTheKey() {
+        when(personService.renderPerson("CORRELATION-ID", 1L, false)).thenReturn(rendered(false, "2025-01-01T10:15:30"));
+        when(personService.renderPerson("CORRELATION-ID", 1L, true)).thenReturn(rendered(true, "2025-01-01T10:15:30"));
+
+        RenderedPerson active = personResponseCache.getPerson("CORRELATION-ID", 1L, false);
+        RenderedPerson all = personResponseCache.getPerson("CORRELATION-ID", 1L, true);
+
+        assertEquals("\"1-active-1735726530.000000\"", active.getEtag());
+        assertEquals("\"1-all-1735726530.000000\"", all.getEtag());
+    }
+
+    @DisplayName("A degraded render is returned but not cached")
+    @Test
+    public void testDegradedRenderIsNotCached() {
+        RenderedPerson degraded = RenderedPerson.builder()
+                .person(PersonDto.builder().personId(1L).build())
+                .lastModifiedAt(LocalDateTime.parse("2025-01-01T10:15:30"))
+                .degraded(true)
+                .build();
+        RenderedPerson complete = rendered(false, "2025-01-01T10:15:30");
+        when(personService.renderPerson("CORRELATION-ID", 1L, false)).thenReturn(degraded, complete);
+
+        assertSame(degraded, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        assertSame(complete, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        assertSame(complete, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        verify(personService, times(2)).renderPerson("CORRELATION-ID", 1L, false);
+    }
+
+    @DisplayName("A render started before an eviction is not served after it")
+    @Test
+    public void testRenderRacingAnEvictionIsNotServed() {
+        RenderedPerson stale = rendered(false, "2025-01-01T10:15:30");
+        RenderedPerson fresh = rendered(false, "2025-01-01T10:16:00");
+        when(personService.renderPerson("CORRELATION-ID", 1L, false))
+                .thenAnswer(invocation -> {
+                    // A write commits and evicts the person while this render is in flight.
+                    personResponseCache.evict(1L);
+                    return stale;
+                })
+                .thenReturn(fresh);
+
+        assertSame(stale, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        assertSame(fresh, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        assertSame(fresh, personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        verify(personService, times(2)).renderPerson("CORRELATION-ID", 1L, false);
+    }
+
+    @DisplayName("A missing person is not cached and keeps its exception type")
+    @Test
+    public void testNotFoundIsNotCached() {
+        when(personService.renderPerson("CORRELATION-ID", 1L, false))
+                .thenThrow(new ResourceNotFoundException("Person with Id of 1 not found."));
+
+        assertThrows(ResourceNotFoundException.class, () -> personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        assertThrows(ResourceNotFoundException.class, () -> personResponseCache.getPerson("CORRELATION-ID", 1L, false));
+        verify(personService, times(2)).renderPerson("CORRELATION-ID", 1L, false);
+    }
+}
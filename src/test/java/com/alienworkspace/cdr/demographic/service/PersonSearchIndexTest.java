@@ -0,0 +1,194 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.config.SearchConfig;
+import com.alienworkspace.cdr.demographic.event.PersonSearchIndexChangedEvent;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.PersonName;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.impl.PersonSearchIndexImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PersonSearchIndexTest {
+
+    private PersonRepository personRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private BusProperties busProperties;
+    private Destination.Factory destinationFactory;
+    private PersonSearchIndex personSearchIndex;
+
+    private Person johnSmith;
+    private Person janeSmith;
+    private Person johnnyDoe;
+
+    @BeforeEach
+    void setup() {
+        personRepository = mock(PersonRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        busProperties = new BusProperties();
+        busProperties.setId("demographic:8020:local");
+        destinationFactory = new PathDestinationFactory();
+        personSearchIndex = new PersonSearchIndexImpl(personRepository, new SearchConfig(), eventPublisher,
+                busProperties, destinationFactory);
+
+        johnSmith = person(1L, 'M', "1990-05-01", name("John", "Smith"));
+        janeSmith = person(2L, 'F', "1985-02-10", name("Jane", "Smith"));
+        johnnyDoe = person(3L, 'M', "2001-01-01", name("Jöhnny", "Doe"));
+        // No transaction is active, so the change is applied straight away.
+        personSearchIndex.index(List.of(johnSmith, janeSmith, johnnyDoe));
+    }
+
+    private static PersonName name(String firstName, String lastName) {
+        return PersonName.builder().firstName(firstName).lastName(lastName).build();
+    }
+
+    private static Person person(long personId, char gender, String birthDate, PersonName... names) {
+        return Person.builder()
+                .personId(personId)
+                .gender(gender)
+                .birthDate(LocalDate.parse(birthDate))
+                .names(new HashSet<>(Set.of(names)))
+                .build();
+    }
+
+    private List<PersonSearchIndex.Match> search(String text) {
+        return personSearchIndex.search(PersonSearchQuery.builder().text(text).limit(20).build());
+    }
+
+    private static List<Long> ids(List<PersonSearchIndex.Match> matches) {
+        return matches.stream().map(PersonSearchIndex.Match::personId).toList();
+    }
+
+    @Test
+    @DisplayName("Test exact matches score highest and ties are ordered by id")
+    void testExactMatch() {
+        List<PersonSearchIndex.Match> matches = search("SMITH");
+
+        assertEquals(List.of(1L, 2L), ids(matches));
+        assertEquals(1.0, matches.get(0).score());
+        verify(eventPublisher).publishEvent(any(PersonSearchIndexChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Test prefix, fuzzy and phonetic matches")
+    void testPrefixFuzzyAndPhoneticMatch() {
+        List<PersonSearchIndex.Match> prefix = search("Jo");
+        assertEquals(List.of(1L, 3L), ids(prefix));
+        assertEquals(0.8, prefix.get(0).score());
+
+        List<PersonSearchIndex.Match> fuzzy = search("Smyth");
+        assertEquals(List.of(1L, 2L), ids(fuzzy));
+        assertEquals(0.7, fuzzy.get(0).score());
+
+        List<PersonSearchIndex.Match> phonetic = search("Jon");
+        assertTrue(ids(phonetic).contains(1L), "Jon should sound like John");
+        assertEquals(0.5, phonetic.stream().filter(match -> match.personId() == 1L).findFirst().orElseThrow().score());
+    }
+
+    @Test
+    @DisplayName("Test accents are folded away")
+    void testAccentFolding() {
+        List<PersonSearchIndex.Match> matches = search("JÖHNNY");
+
+        assertEquals(3L, matches.get(0).personId());
+        assertEquals(1.0, matches.get(0).score());
+    }
+
+    @Test
+    @DisplayName("Test every query word must match and scores are summed")
+    void testAllWordsMustMatch() {
+        List<PersonSearchIndex.Match> matches = search("John Smith");
+
+        assertEquals(List.of(1L, 2L), ids(matches));
+        assertEquals(2.0, matches.get(0).score());
+        assertTrue(matches.get(1).score() < matches.get(0).score());
+        assertTrue(search("John Nobody").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test gender and birth date filters")
+    void testFilters() {
+        assertEquals(List.of(2L), ids(personSearchIndex.search(PersonSearchQuery.builder()
+                .text("smith").gender('f').limit(20).build())));
+        assertEquals(List.of(1L), ids(personSearchIndex.search(PersonSearchQuery.builder()
+                .text("smith").birthDateFrom(LocalDate.parse("1989-01-01")).limit(20).build())));
+        assertEquals(List.of(2L), ids(personSearchIndex.search(PersonSearchQuery.builder()
+                .text("smith").birthDateTo(LocalDate.parse("1985-02-10")).limit(20).build())));
+    }
+
+    @Test
+    @DisplayName("Test limit and edit budget")
+    void testLimitAndMaxEdits() {
+        assertEquals(List.of(1L), ids(personSearchIndex.search(PersonSearchQuery.builder()
+                .text("smith").limit(1).build())));
+        assertTrue(personSearchIndex.search(PersonSearchQuery.builder()
+                .text("smyth").maxEdits(0).limit(20).build()).stream().noneMatch(match -> match.score() > 0.5));
+        assertThrows(IllegalArgumentException.class, () -> personSearchIndex.search(PersonSearchQuery.builder()
+                .text("smith").maxEdits(-1).limit(20).build()));
+        assertThrows(IllegalArgumentException.class, () -> search(" - "));
+    }
+
+    @Test
+    @DisplayName("Test removed, voided and renamed people leave the index")
+    void testRemoveAndReindex() {
+        personSearchIndex.remove(1L);
+        janeSmith.setVoided(true);
+        personSearchIndex.index(janeSmith);
+        johnnyDoe.getNames().iterator().next().setVoided(true);
+        johnnyDoe.getNames().add(name("Johnny", "Walker"));
+        personSearchIndex.index(johnnyDoe);
+
+        assertTrue(search("smith").isEmpty());
+        assertTrue(search("doe").isEmpty());
+        assertEquals(List.of(3L), ids(search("walker")));
+    }
+
+    @Test
+    @DisplayName("Test rebuild loads active people in chunks")
+    void testRebuild() {
+        PersonSearchIndex index = new PersonSearchIndexImpl(personRepository, new SearchConfig(), eventPublisher,
+                busProperties, destinationFactory);
+        when(personRepository.findActivePersonIdsAfter(0L, Limit.of(500))).thenReturn(List.of(1L, 2L));
+        when(personRepository.findWithNamesByPersonIdIn(List.of(1L, 2L))).thenReturn(List.of(johnSmith, janeSmith));
+
+        index.rebuild();
+
+        assertEquals(List.of(1L, 2L), ids(index.search(PersonSearchQuery.builder().text("smith").limit(20).build())));
+        verify(personRepository, never()).findActivePersonIdsAfter(eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("Test change events from other instances reload the people and own events are ignored")
+    void testChangeEvents() {
+        ArgumentCaptor<PersonSearchIndexChangedEvent> captor =
+                ArgumentCaptor.forClass(PersonSearchIndexChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        PersonSearchIndexImpl impl = (PersonSearchIndexImpl) personSearchIndex;
+
+        impl.onPersonSearchIndexChanged(captor.getValue());
+        verifyNoInteractions(personRepository);
+
+        when(personRepository.findWithNamesByPersonIdIn(List.of(1L))).thenReturn(List.of());
+        impl.onPersonSearchIndexChanged(new PersonSearchIndexChangedEvent(this, "demographic:8021:other",
+                destinationFactory.getDestination(null), List.of(1L)));
+
+        assertEquals(List.of(2L), ids(search("smith")));
+    }
+}
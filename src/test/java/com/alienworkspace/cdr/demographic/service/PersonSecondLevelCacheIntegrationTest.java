@@ -0,0 +1,163 @@
+package com.alienworkspace.cdr.demographic.service;
+
+import com.alienworkspace.cdr.demographic.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.repository.PersonRepository;
+import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonAttributeTypeDto;
+import com.alienworkspace.cdr.model.dto.person.PersonDto;
+import com.alienworkspace.cdr.model.dto.person.PersonNameDto;
+import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "demographic.second-level-cache.enabled=true",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+@AutoConfigureMockMvc
+public class PersonSecondLevelCacheIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final String NAMES_ROLE = Person.class.getName() + ".names";
+    private static final String ADDRESSES_ROLE = Person.class.getName() + ".addresses";
+    private static final String ATTRIBUTES_ROLE = Person.class.getName() + ".attributes";
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonAttributeTypeService personAttributeTypeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private MetadataFeignClient metadataFeignClient;
+
+    private Statistics statistics;
+    private Cache cache;
+    private PersonAttributeTypeDto attributeType;
+    private long personId;
+
+    @BeforeEach
+    public void setup() {
+        personRepository.deleteAll();
+        attributeType = personAttributeTypeService.savePersonAttributeType(PersonAttributeTypeDto.builder()
+                .name("Phone Number")
+                .description("Person Phone Number")
+                .build());
+        personId = personService.addPerson(PersonDto.builder()
+                .gender('F')
+                .birthDate(LocalDate.parse("1990-01-01"))
+                .name(Set.of(
+                        PersonNameDto.builder().firstName("Jane").lastName("Doe").preferred(true).build(),
+                        PersonNameDto.builder().firstName("Janet").lastName("Doe").preferred(false).build()))
+                .attributes(Set.of(PersonAttributeDto.builder()
+                        .personAttributeType(attributeType)
+                        .value("2345987667")
+                        .build()))
+                .build(), "CORRELATION-ID").getPersonId();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        cache = sessionFactory.getCache();
+        // Warm every region of the aggregate.
+        personService.getPerson("CORRELATION-ID", personId, true);
+        statistics.clear();
+    }
+
+    @DisplayName("A warm read of the complete person does not touch the database")
+    @Test
+    public void testWarmReadIsServedFromCache() {
+        PersonDto person = personService.getPerson("CORRELATION-ID", personId, true);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals(2, person.getName().size());
+        assertEquals(1, person.getAttributes().size());
+    }
+
+    @DisplayName("Adding a name evicts the names collection of the person only")
+    @Test
+    public void testAddNameEvictsNamesCollection() {
+        assertTrue(cache.containsCollection(NAMES_ROLE, personId));
+
+        personService.addPersonName(personId, PersonNameDto.builder().firstName("Jenny").lastName("Doe").build());
+
+        assertFalse(cache.containsCollection(NAMES_ROLE, personId));
+        assertTrue(cache.containsCollection(ADDRESSES_ROLE, personId));
+        assertTrue(cache.containsCollection(ATTRIBUTES_ROLE, personId));
+        assertEquals(3, personService.getPerson("CORRELATION-ID", personId, true).getName().size());
+    }
+
+    @DisplayName("Adding an attribute evicts the attributes collection of the person only")
+    @Test
+    public void testAddAttributeEvictsAttributesCollection() {
+        personService.addAttribute(personId, PersonAttributeDto.builder()
+                .personAttributeType(attributeType)
+                .value("2345987668")
+                .preferred(true)
+                .build());
+
+        assertFalse(cache.containsCollection(ATTRIBUTES_ROLE, personId));
+        assertTrue(cache.containsCollection(NAMES_ROLE, personId));
+        assertEquals(2, personService.getPerson("CORRELATION-ID", personId, true).getAttributes().size());
+    }
+
+    @DisplayName("Updating a person replaces the cached person entry")
+    @Test
+    public void testUpdatePersonRefreshesPersonEntry() {
+        personService.updatePerson(personId, PersonDto.builder()
+                .personId(personId)
+                .causeOfDeath("Natural causes")
+                .build(), "CORRELATION-ID");
+
+        assertTrue(cache.containsEntity(Person.class, personId));
+        statistics.clear();
+        assertEquals("Natural causes",
+                personService.getPerson("CORRELATION-ID", personId, true).getCauseOfDeath());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("Voiding a name updates its entry and keeps the names collection cached")
+    @Test
+    public void testDeletePersonNameKeepsCollection() {
+        long personNameId = personService.getPerson("CORRELATION-ID", personId, true).getName().stream()
+                .filter(name -> !name.getPreferred())
+                .findFirst()
+                .orElseThrow()
+                .getPersonNameId();
+
+        personService.deletePersonName(personId, personNameId,
+                RecordVoidRequest.builder().voidReason("test").build());
+
+        assertTrue(cache.containsCollection(NAMES_ROLE, personId));
+        assertEquals(1, personService.getPerson("CORRELATION-ID", personId, false).getName().size());
+    }
+
+    @DisplayName("Voiding a person replaces the cached person entry")
+    @Test
+    public void testDeletePersonRefreshesPersonEntry() {
+        personService.deletePerson(personId, RecordVoidRequest.builder().voidReason("test").build());
+
+        assertTrue(personService.getPerson("CORRELATION-ID", personId, true).getVoided());
+    }
+}
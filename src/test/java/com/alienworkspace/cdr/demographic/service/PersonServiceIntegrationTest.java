@@ -173,7 +173,7 @@ public class PersonServiceIntegrationTest extends AbstractionContainerBaseTest {
         // when
         personService.addPerson(personDto, "CORRELATION-ID");
         personService.addPerson(personDto2, "CORRELATION-ID");
-        List<PersonDto> response = personService.getPersons();
+        List<PersonDto> response = personService.getPersons(null, null).getContent();
 
         // then
         assertTrue(response.size() == 2);
@@ -371,4 +371,32 @@ public class PersonServiceIntegrationTest extends AbstractionContainerBaseTest {
         assertNotNull(savedPersonAttribute);
         assertEquals(1, updatedPerson.getAttributes().size());
     }
+
+    @DisplayName("Test get person without voided records leaves out voided names and addresses")
+    @Test
+    void testGetPersonWithoutVoidedRecords() {
+        // given
+        long personId = personService.addPerson(personDtoBuilder.build(), "CORRELATION-ID").getPersonId();
+        personService.addPersonName(personId, personNameDtoBuilder.firstName("John").preferred(true).build());
+        PersonNameDto voidedName = personService.addPersonName(personId,
+                personNameDtoBuilder.firstName("Queen").preferred(false).build());
+        PersonAddressDto voidedAddress = personService.addAddress(personId,
+                personAddressDtoBuilder.addressLine1("Old Address").preferred(false).build(), "CORRELATION-ID");
+        personService.addAddress(personId,
+                personAddressDtoBuilder.addressLine1("New Address").preferred(true).build(), "CORRELATION-ID");
+        RecordVoidRequest voidRequest = RecordVoidRequest.builder().voidReason("Test data").build();
+        personService.deletePersonName(personId, voidedName.getPersonNameId(), voidRequest);
+        personService.deleteAddress(personId, voidedAddress.getPersonAddressId(), voidRequest);
+
+        // when
+        PersonDto active = personService.getPerson("CORRELATION-ID", personId, false);
+        PersonDto all = personService.getPerson("CORRELATION-ID", personId, true);
+
+        // then
+        assertEquals(List.of("John"), active.getName().stream().map(PersonNameDto::getFirstName).toList());
+        assertEquals(List.of("New Address"),
+                active.getAddress().stream().map(PersonAddressDto::getAddressLine1).toList());
+        assertEquals(2, all.getName().size());
+        assertEquals(2, all.getAddress().size());
+    }
 }
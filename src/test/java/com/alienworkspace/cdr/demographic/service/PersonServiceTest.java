@@ -1,25 +1,45 @@
 package com.alienworkspace.cdr.demographic.service;
 
+import com.alienworkspace.cdr.demographic.config.DeduplicationConfig;
+import com.alienworkspace.cdr.demographic.config.PaginationConfig;
+import com.alienworkspace.cdr.demographic.config.SearchConfig;
+import com.alienworkspace.cdr.demographic.exception.DuplicateAttributeValueException;
+import com.alienworkspace.cdr.demographic.exception.DuplicatePersonException;
 import com.alienworkspace.cdr.demographic.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.demographic.helpers.PersonCursor;
 import com.alienworkspace.cdr.demographic.model.Person;
+import com.alienworkspace.cdr.demographic.model.dto.PersonChangeEvent;
+import com.alienworkspace.cdr.demographic.model.dto.PersonMatch;
+import com.alienworkspace.cdr.demographic.model.dto.PersonPage;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchHit;
+import com.alienworkspace.cdr.demographic.model.dto.PersonSearchQuery;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonAddressMapper;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonAttributeMapper;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonMapper;
 import com.alienworkspace.cdr.demographic.model.mapper.PersonNameMapper;
-import com.alienworkspace.cdr.demographic.repository.PersonAttributeTypeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAddressRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonAttributeRepository;
+import com.alienworkspace.cdr.demographic.repository.PersonFetchProfile;
+import com.alienworkspace.cdr.demographic.repository.PersonNameRepository;
 import com.alienworkspace.cdr.demographic.repository.PersonRepository;
-import com.alienworkspace.cdr.demographic.service.client.MetadataFeignClient;
+import com.alienworkspace.cdr.demographic.repository.PersonSummaryRepository;
 import com.alienworkspace.cdr.demographic.service.impl.PersonServiceImpl;
 import com.alienworkspace.cdr.model.dto.person.PersonDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.alienworkspace.cdr.model.helper.ResponseDto;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +47,8 @@ import java.util.UUID;
 import static org.hibernate.validator.internal.util.Contracts.assertTrue;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class PersonServiceTest {
@@ -37,6 +59,22 @@ public class PersonServiceTest {
 
     private PersonServiceImpl personService;
 
+    private PaginationConfig paginationConfig;
+
+    private PersonSearchIndex personSearchIndex;
+
+    private PersonDeduplicationService personDeduplicationService;
+
+    private DeduplicationConfig deduplicationConfig;
+
+    private PersonAttributeLookupService personAttributeLookupService;
+
+    private PersonEventOutbox personEventOutbox;
+
+    private LocationService locationService;
+
+    private PlatformTransactionManager transactionManager;
+
     private PersonDto.PersonDtoBuilder personDtoBuilder;
 
     private Person.PersonBuilder personBuilder;
@@ -48,14 +86,26 @@ public class PersonServiceTest {
     @BeforeEach
     public void setup() {
         personRepository = mock(PersonRepository.class);
-        PersonAttributeTypeRepository personAttributeTypeRepository = mock(PersonAttributeTypeRepository.class);
+        PersonAttributeTypeRegistry personAttributeTypeRegistry = mock(PersonAttributeTypeRegistry.class);
         personMapper = mock(PersonMapper.class);
         PersonNameMapper personNameMapper = mock(PersonNameMapper.class);
         PersonAddressMapper personAddressMapper = mock(PersonAddressMapper.class);
         PersonAttributeMapper personAttributeMapper = mock(PersonAttributeMapper.class);
-        MetadataFeignClient metadataFeignClient = mock(MetadataFeignClient.class);
-        personService = new PersonServiceImpl(personRepository, personAttributeTypeRepository, personMapper,
-                personNameMapper, personAddressMapper, personAttributeMapper, metadataFeignClient);
+        locationService = mock(LocationService.class);
+        paginationConfig = new PaginationConfig();
+        personSearchIndex = mock(PersonSearchIndex.class);
+        personDeduplicationService = mock(PersonDeduplicationService.class);
+        deduplicationConfig = new DeduplicationConfig();
+        personAttributeLookupService = mock(PersonAttributeLookupService.class);
+        personEventOutbox = mock(PersonEventOutbox.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        personService = new PersonServiceImpl(personRepository, mock(PersonNameRepository.class),
+                mock(PersonAddressRepository.class), mock(PersonAttributeRepository.class),
+                mock(PersonSummaryRepository.class), personAttributeTypeRegistry, personMapper, personNameMapper,
+                personAddressMapper, personAttributeMapper, locationService, mock(EntityManager.class),
+                paginationConfig, personSearchIndex, new SearchConfig(), personDeduplicationService,
+                deduplicationConfig, personAttributeLookupService, personEventOutbox,
+                new TransactionTemplate(transactionManager));
 
         personDtoBuilder = PersonDto.builder()
                 .gender('M')
@@ -95,6 +145,85 @@ public class PersonServiceTest {
         assertEquals(personDto.getDead(), response.getDead());
         assertEquals(personDto.getDeathDate(), response.getDeathDate());
         assertEquals(personDto.getCauseOfDeath(), response.getCauseOfDeath());
+        verify(personEventOutbox).record(PersonChangeEvent.Type.PERSON_CREATED, savedPerson.getPersonId());
+    }
+
+    @DisplayName("Test add person is refused when it matches a registered person under the reject policy")
+    @Test
+    public void testAddPersonRejectsDuplicate() {
+        // given
+        deduplicationConfig.setPreInsertPolicy(DeduplicationConfig.PreInsertPolicy.REJECT);
+        PersonMatch match = PersonMatch.builder().personId(7L).score(20.5).status(PersonMatch.Status.MATCH).build();
+        when(personMapper.personDtoToPerson(personDtoBuilder.build())).thenReturn(personBuilder.build());
+        when(personDeduplicationService.findDuplicates(any(Person.class))).thenReturn(List.of(match));
+
+        // when
+        DuplicatePersonException exception = assertThrows(DuplicatePersonException.class,
+                () -> personService.addPerson(personDtoBuilder.build(), "CORRELATION-ID"));
+
+        // then
+        assertEquals(List.of(match), exception.getMatches());
+        verify(personRepository, never()).save(any(Person.class));
+    }
+
+    @DisplayName("Test add person registers a confirmed or possible duplicate")
+    @Test
+    public void testAddPersonAllowsConfirmedDuplicate() {
+        // given
+        deduplicationConfig.setPreInsertPolicy(DeduplicationConfig.PreInsertPolicy.REJECT);
+        PersonMatch match = PersonMatch.builder().personId(7L).score(20.5).status(PersonMatch.Status.MATCH).build();
+        PersonMatch possibleMatch = PersonMatch.builder()
+                .personId(8L)
+                .score(8.0)
+                .status(PersonMatch.Status.POSSIBLE_MATCH)
+                .build();
+        when(personMapper.personDtoToPerson(personDtoBuilder.build())).thenReturn(personBuilder.build());
+        when(personRepository.save(any(Person.class))).thenReturn(savedPerson);
+        when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
+        when(personDeduplicationService.findDuplicates(any(Person.class)))
+                .thenReturn(List.of(match), List.of(possibleMatch));
+
+        // when
+        PersonDto confirmed = personService.addPerson(personDtoBuilder.build(), "CORRELATION-ID", true);
+        PersonDto possible = personService.addPerson(personDtoBuilder.build(), "CORRELATION-ID", false);
+
+        // then
+        assertSame(personDto, confirmed);
+        assertSame(personDto, possible);
+        verify(personSearchIndex, times(2)).index(savedPerson);
+    }
+
+    @DisplayName("Test add person skips the duplicate check when the policy is off")
+    @Test
+    public void testAddPersonWithDuplicateCheckOff() {
+        // given
+        deduplicationConfig.setPreInsertPolicy(DeduplicationConfig.PreInsertPolicy.OFF);
+        when(personMapper.personDtoToPerson(personDtoBuilder.build())).thenReturn(personBuilder.build());
+        when(personRepository.save(any(Person.class))).thenReturn(savedPerson);
+        when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
+
+        // when
+        personService.addPerson(personDtoBuilder.build(), "CORRELATION-ID");
+
+        // then
+        verifyNoInteractions(personDeduplicationService);
+    }
+
+    @DisplayName("Test add person is refused before saving when a unique attribute value is already held")
+    @Test
+    public void testAddPersonWithTakenUniqueValue() {
+        // given
+        when(personMapper.personDtoToPerson(personDtoBuilder.build())).thenReturn(personBuilder.build());
+        doThrow(new DuplicateAttributeValueException("National ID AB1234 is already held by person [7]"))
+                .when(personAttributeLookupService).checkUnique(eq(0L), anyCollection());
+
+        // when
+        DuplicateAttributeValueException exception = assertThrows(DuplicateAttributeValueException.class,
+                () -> personService.addPerson(personDtoBuilder.build(), "CORRELATION-ID"));
+
+        // then
+        assertEquals("National ID AB1234 is already held by person [7]", exception.getMessage());
+        verify(personRepository, never()).save(any(Person.class));
     }
 
     @DisplayName("Test add person with null birthdate")
@@ -114,13 +243,14 @@ public class PersonServiceTest {
     @Test
     public void testGetPerson() {
         // given
-        when(personRepository.findCompleteById(any(Long.class))).thenReturn(Optional.of(savedPerson));
+        when(personRepository.findById(1L, PersonFetchProfile.ACTIVE_ONLY)).thenReturn(Optional.of(savedPerson));
         when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
 
         // when
         PersonDto response = personService.getPerson("CORRELATION-ID", 1L, false);
 
         // then
+        verify(personRepository, never()).findById(1L, PersonFetchProfile.FULL);
         assertEquals(personDto.getPersonId(), response.getPersonId());
         assertEquals(personDto.getGender(), response.getGender());
         assertEquals(personDto.getBirthDate(), response.getBirthDate());
@@ -143,14 +273,113 @@ public class PersonServiceTest {
     @Test
     public void testGetPersons() {
         // given
-        when(personRepository.findCompleteAll()).thenReturn(List.of(savedPerson));
+        when(personRepository.findActivePersonIdsAfter(0L, Limit.of(51))).thenReturn(List.of(1L));
+        when(personRepository.findCompleteAllByIds(List.of(1L))).thenReturn(List.of(savedPerson));
+        when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
+
+        // when
+        PersonPage response = personService.getPersons(null, null);
+
+        // then
+        assertEquals(List.of(personDto), response.getContent());
+        assertNull(response.getNextCursor());
+    }
+
+    @DisplayName("Test get persons returns a cursor when more pages exist")
+    @Test
+    public void testGetPersonsWithNextPage() {
+        // given
+        Person nextPerson = personBuilder.personId(2L).build();
+        when(personRepository.findActivePersonIdsAfter(0L, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(personRepository.findCompleteAllByIds(List.of(1L))).thenReturn(List.of(savedPerson));
+        when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
+
+        // when
+        PersonPage firstPage = personService.getPersons(null, 1);
+
+        // then
+        assertEquals(1, firstPage.getSize());
+        assertEquals(PersonCursor.encode(1L), firstPage.getNextCursor());
+
+        // when
+        when(personRepository.findActivePersonIdsAfter(1L, Limit.of(2))).thenReturn(List.of(2L));
+        when(personRepository.findCompleteAllByIds(List.of(2L))).thenReturn(List.of(nextPerson));
+        PersonPage secondPage = personService.getPersons(firstPage.getNextCursor(), 1);
+
+        // then
+        assertEquals(1, secondPage.getSize());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @DisplayName("Test get persons rejects an invalid cursor")
+    @Test
+    public void testGetPersonsWithInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> personService.getPersons("not-a-cursor", null));
+    }
+
+    @DisplayName("Test search persons loads the matches in ranking order")
+    @Test
+    public void testSearchPersons() {
+        // given
+        Person otherPerson = personBuilder.personId(2L).build();
+        PersonDto otherPersonDto = personDtoBuilder.personId(2L).build();
+        PersonSearchQuery query = PersonSearchQuery.builder().text("John").build();
+        when(personSearchIndex.search(query)).thenReturn(List.of(
+                new PersonSearchIndex.Match(2L, 1.0), new PersonSearchIndex.Match(1L, 0.5)));
+        when(personRepository.findCompleteAllByIds(List.of(2L, 1L))).thenReturn(List.of(savedPerson, otherPerson));
+        when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
+        when(personMapper.personToPersonDto(otherPerson)).thenReturn(otherPersonDto);
+
+        // when
+        List<PersonSearchHit> hits = personService.searchPersons(query);
+
+        // then
+        assertEquals(20, query.getLimit());
+        assertEquals(2, hits.size());
+        assertSame(otherPersonDto, hits.get(0).getPerson());
+        assertEquals(1.0, hits.get(0).getScore());
+        assertSame(personDto, hits.get(1).getPerson());
+    }
+
+    @DisplayName("Test search persons caps the limit and rejects an inverted birth date range")
+    @Test
+    public void testSearchPersonsValidation() {
+        PersonSearchQuery query = PersonSearchQuery.builder().text("John").limit(1_000).build();
+        when(personSearchIndex.search(query)).thenReturn(List.of());
+
+        assertTrue(personService.searchPersons(query).isEmpty(), "No match should give no hits");
+        assertEquals(100, query.getLimit());
+        assertThrows(IllegalArgumentException.class, () -> personService.searchPersons(PersonSearchQuery.builder()
+                .text("John").limit(0).build()));
+        assertThrows(IllegalArgumentException.class, () -> personService.searchPersons(PersonSearchQuery.builder()
+                .text("John")
+                .birthDateFrom(LocalDate.parse("2000-01-01"))
+                .birthDateTo(LocalDate.parse("1990-01-01"))
+                .build()));
+        verify(personRepository, never()).findCompleteAllByIds(any());
+    }
+
+    @DisplayName("Test stream persons walks every chunk")
+    @Test
+    public void testStreamPersons() {
+        // given
+        paginationConfig.setStreamChunkSize(1);
+        Person nextPerson = personBuilder.personId(2L).build();
+        PersonDto nextPersonDto = personDtoBuilder.personId(2L).build();
+        when(personRepository.findActivePersonIdsAfter(0L, Limit.of(1))).thenReturn(List.of(1L));
+        when(personRepository.findActivePersonIdsAfter(1L, Limit.of(1))).thenReturn(List.of(2L));
+        when(personRepository.findActivePersonIdsAfter(2L, Limit.of(1))).thenReturn(List.of());
+        when(personRepository.findCompleteAllByIds(List.of(1L))).thenReturn(List.of(savedPerson));
+        when(personRepository.findCompleteAllByIds(List.of(2L))).thenReturn(List.of(nextPerson));
         when(personMapper.personToPersonDto(savedPerson)).thenReturn(personDto);
+        when(personMapper.personToPersonDto(nextPerson)).thenReturn(nextPersonDto);
 
         // when
-        List<PersonDto> response = personService.getPersons();
+        List<PersonDto> streamed = new ArrayList<>();
+        personService.streamPersons(streamed::add);
 
         // then
-        assertEquals(List.of(personDto), response);
+        assertEquals(List.of(personDto, nextPersonDto), streamed);
     }
 
     @Test
@@ -168,7 +397,7 @@ public class PersonServiceTest {
                 .personId(1L)
                 .gender('F')
                 .build();
-        when(personRepository.findCompleteById(any(Long.class))).thenReturn(Optional.of(savedPerson));
+        when(personRepository.findById(1L, PersonFetchProfile.FULL)).thenReturn(Optional.of(savedPerson));
         when(personRepository.save(any(Person.class))).thenReturn(updatedPerson);
         when(personMapper.personToPersonDto(any(Person.class))).thenReturn(updatedPersonDto);
 
@@ -185,6 +414,23 @@ public class PersonServiceTest {
         assertEquals(updatedPersonDto.getCauseOfDeath(), response.getCauseOfDeath());
     }
 
+    @DisplayName("Test update person commits before the addresses are enriched from the metadata service")
+    @Test
+    public void testUpdatePersonEnrichesAfterCommit() {
+        // given
+        when(personRepository.findById(1L, PersonFetchProfile.FULL)).thenReturn(Optional.of(savedPerson));
+        when(personMapper.personToPersonDto(any(Person.class))).thenReturn(personDto);
+
+        // when
+        personService.updatePerson(personDto.getPersonId(), personDto, "CORRELATION-ID");
+
+        // then
+        InOrder inOrder = inOrder(personEventOutbox, transactionManager, locationService);
+        inOrder.verify(personEventOutbox).record(PersonChangeEvent.Type.PERSON_UPDATED, 1L);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(locationService).resolveAll(eq("CORRELATION-ID"), anyCollection());
+    }
+
     @DisplayName("Test update non existing person.")
     @Test
     public void testUpdateNonExistingPerson() {
@@ -215,7 +461,7 @@ public class PersonServiceTest {
         updatedPerson.setVoidedBy(1L);
         updatedPerson.setUuid(UUID.randomUUID().toString());
 
-        when(personRepository.findById(any(Long.class))).thenReturn(Optional.of(savedPerson));
+        when(personRepository.findById(1L, PersonFetchProfile.CORE)).thenReturn(Optional.of(savedPerson));
         when(personRepository.save(any(Person.class))).thenReturn(updatedPerson);
         
         // Create ArgumentCaptor to capture the Person object passed to save()
@@ -225,7 +471,7 @@ public class PersonServiceTest {
         ResponseDto response = personService.deletePerson(1, recordVoidRequest);
 
         // then
-        verify(personRepository).findById(1L);
+        verify(personRepository).findById(1L, PersonFetchProfile.CORE);
         verify(personRepository).save(personCaptor.capture());
         
         // Verify the captured Person object
@@ -236,6 +482,8 @@ public class PersonServiceTest {
         assertEquals(1L, capturedPerson.getVoidedBy(), "Voided by should be set to 1");
         
         assertEquals("Person deleted successfully", response.getStatusMessage());
+        verify(personSearchIndex).remove(1L);
+        verify(personEventOutbox).record(PersonChangeEvent.Type.PERSON_VOIDED, 1L);
     }
 
     @DisplayName("Test delete non existing person.")
@@ -245,7 +493,7 @@ public class PersonServiceTest {
         RecordVoidRequest recordVoidRequest = RecordVoidRequest.builder()
                 .voidReason("Test reason")
                 .build();
-        when(personRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(personRepository.findById(1L, PersonFetchProfile.CORE)).thenReturn(Optional.empty());
 
         // when
         assertThrows(ResourceNotFoundException.class, () -> personService.deletePerson(1, recordVoidRequest));